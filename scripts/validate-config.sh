@@ -93,6 +93,11 @@ if [ -n "$JWT_SECRET" ]; then
     fi
 fi
 check_optional "JWT_EXPIRATION" "86400000"
+check_required "MFA_BACKUP_CODE_PEPPER"
+if [ -n "$MFA_BACKUP_CODE_PEPPER" ] && [ "$MFA_BACKUP_CODE_PEPPER" = "$JWT_SECRET" ]; then
+    echo -e "${RED}✗ MFA_BACKUP_CODE_PEPPER must differ from JWT_SECRET${NC}"
+    ((ERRORS++))
+fi
 echo ""
 
 echo -e "${BLUE}Email Configuration:${NC}"
@@ -7,13 +7,10 @@ import com.westbethel.motel_booking.availability.model.AvailabilityResult.RoomTy
 import com.westbethel.motel_booking.availability.service.AvailabilityService;
 import com.westbethel.motel_booking.common.model.BookingStatus;
 import com.westbethel.motel_booking.common.model.Money;
-import com.westbethel.motel_booking.common.model.RoomStatus;
+import com.westbethel.motel_booking.common.reference.ReferenceDataService;
+import com.westbethel.motel_booking.common.reference.ReferenceDataSnapshot;
 import com.westbethel.motel_booking.inventory.domain.RoomType;
-import com.westbethel.motel_booking.inventory.repository.RoomRepository;
-import com.westbethel.motel_booking.inventory.repository.RoomTypeRepository;
 import com.westbethel.motel_booking.property.domain.Property;
-import com.westbethel.motel_booking.property.repository.PropertyRepository;
-import com.westbethel.motel_booking.reservation.domain.Booking;
 import com.westbethel.motel_booking.reservation.repository.BookingRepository;
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -23,7 +20,6 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
 import java.math.RoundingMode;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
@@ -38,19 +34,13 @@ public class DefaultAvailabilityService implements AvailabilityService {
             BookingStatus.CONFIRMED,
             BookingStatus.CHECKED_IN);
 
-    private final PropertyRepository propertyRepository;
-    private final RoomTypeRepository roomTypeRepository;
-    private final RoomRepository roomRepository;
+    private final ReferenceDataService referenceDataService;
     private final BookingRepository bookingRepository;
 
     public DefaultAvailabilityService(
-            PropertyRepository propertyRepository,
-            RoomTypeRepository roomTypeRepository,
-            RoomRepository roomRepository,
+            ReferenceDataService referenceDataService,
             BookingRepository bookingRepository) {
-        this.propertyRepository = propertyRepository;
-        this.roomTypeRepository = roomTypeRepository;
-        this.roomRepository = roomRepository;
+        this.referenceDataService = referenceDataService;
         this.bookingRepository = bookingRepository;
     }
 
@@ -58,28 +48,25 @@ public class DefaultAvailabilityService implements AvailabilityService {
     @Cacheable(cacheNames = "availability")
     public AvailabilityResult searchAvailability(AvailabilityQuery query) {
         validateQuery(query);
+        ReferenceDataSnapshot referenceData = referenceDataService.current();
 
-        Property property = propertyRepository.findById(query.getPropertyId())
+        Property property = referenceData.property(query.getPropertyId())
                 .orElseThrow(() -> new IllegalArgumentException("Property not found"));
 
-        List<RoomType> roomTypes = resolveRoomTypes(property.getId(), query.getRoomTypeCodes());
+        List<RoomType> roomTypes = resolveRoomTypes(referenceData, property.getId(), query.getRoomTypeCodes());
         if (roomTypes.isEmpty()) {
             throw new IllegalArgumentException("No matching room types for property");
         }
 
-        Set<UUID> bookedRoomIds = bookingRepository.findOverlappingBookings(
-                        property.getId(),
-                        ACTIVE_BOOKING_STATUSES,
-                        query.getStartDate(),
-                        query.getEndDate())
-                .stream()
-                .flatMap(booking -> booking.getRoomIds().stream())
-                .collect(Collectors.toSet());
+        Set<UUID> bookedRoomIds = bookingRepository.findBookedRoomIds(
+                property.getId(),
+                ACTIVE_BOOKING_STATUSES,
+                query.getStartDate(),
+                query.getEndDate());
 
         List<RoomTypeAvailability> availability = new ArrayList<>();
         for (RoomType roomType : roomTypes) {
-            long totalRooms = roomRepository.findByPropertyIdAndRoomTypeIdAndStatus(
-                            property.getId(), roomType.getId(), RoomStatus.AVAILABLE)
+            long totalRooms = referenceData.availableRooms(property.getId(), roomType.getId())
                     .stream()
                     .filter(room -> !bookedRoomIds.contains(room.getId()))
                     .count();
@@ -96,11 +83,15 @@ public class DefaultAvailabilityService implements AvailabilityService {
                 .build();
     }
 
-    private List<RoomType> resolveRoomTypes(UUID propertyId, Set<String> roomTypeCodes) {
+    private List<RoomType> resolveRoomTypes(ReferenceDataSnapshot referenceData, UUID propertyId,
+                                            Set<String> roomTypeCodes) {
+        List<RoomType> roomTypes = referenceData.roomTypes(propertyId);
         if (roomTypeCodes == null || roomTypeCodes.isEmpty()) {
-            return roomTypeRepository.findByPropertyId(propertyId);
+            return roomTypes;
         }
-        return roomTypeRepository.findByPropertyIdAndCodeIn(propertyId, roomTypeCodes);
+        return roomTypes.stream()
+                .filter(roomType -> roomTypeCodes.contains(roomType.getCode()))
+                .toList();
     }
 
     private List<NightlyRate> buildNightlyRates(AvailabilityQuery query, Property property, Money baseRate) {
@@ -1,5 +1,6 @@
 package com.westbethel.motel_booking.cache;
 
+import com.westbethel.motel_booking.common.reference.ReferenceDataService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
@@ -21,6 +22,7 @@ import org.springframework.stereotype.Component;
 public class CacheWarmer {
 
     private final CacheService cacheService;
+    private final ReferenceDataService referenceDataService;
 
     /**
      * Warm caches on application startup
@@ -32,14 +34,9 @@ public class CacheWarmer {
         long startTime = System.currentTimeMillis();
 
         try {
-            // TODO: Implement cache warming logic
-            // Examples:
-            // - Load all active room types
-            // - Load all active rate plans
-            // - Load property configurations
-            // - Pre-calculate popular date ranges for availability
+            warmReferenceData();
 
-            // For now, just log that warming would occur here
+            // TODO: Pre-calculate popular date ranges for availability
             log.info("Cache warming completed in {}ms", System.currentTimeMillis() - startTime);
         } catch (Exception e) {
             log.error("Error during cache warming", e);
@@ -47,26 +44,10 @@ public class CacheWarmer {
     }
 
     /**
-     * Example: Warm room types cache
+     * Load the reference data snapshot: properties, room types, rate plans and rooms
      */
-    private void warmRoomTypesCache() {
-        // Implementation would load room types and cache them
-        log.debug("Warming room types cache...");
-    }
-
-    /**
-     * Example: Warm rate plans cache
-     */
-    private void warmRatePlansCache() {
-        // Implementation would load active rate plans and cache them
-        log.debug("Warming rate plans cache...");
-    }
-
-    /**
-     * Example: Warm property config cache
-     */
-    private void warmPropertyConfigCache() {
-        // Implementation would load property configurations and cache them
-        log.debug("Warming property config cache...");
+    private void warmReferenceData() {
+        log.debug("Warming reference data snapshot...");
+        log.info("Reference data snapshot version {} loaded", referenceDataService.current().version());
     }
 }
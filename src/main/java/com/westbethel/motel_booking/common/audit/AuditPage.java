@@ -0,0 +1,16 @@
+package com.westbethel.motel_booking.common.audit;
+
+import java.util.List;
+
+/**
+ * One page of audit search results.
+ *
+ * @param entries    entries, newest first
+ * @param nextCursor opaque cursor for the following page, or null on the last page
+ */
+public record AuditPage(List<AuditEntry> entries, String nextCursor) {
+
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,184 @@
+package com.westbethel.motel_booking.common.audit;
+
+import com.westbethel.motel_booking.common.datasource.Workload;
+import com.westbethel.motel_booking.common.datasource.WorkloadClass;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maintains the monthly partitions of {@code audit_entries} (see V12 migration).
+ *
+ * - Creates partitions {@code audit.partitions.premake-months} ahead so inserts never fall
+ *   into the default partition
+ * - Enforces retention by detaching and dropping whole partitions older than
+ *   {@code audit.retention.months}; no row-by-row DELETE, no table bloat, no vacuum debt
+ * - The default partition is never dropped; its expired rows are deleted in batches instead.
+ *   It only catches rows outside the monthly partitions, so it stays small
+ *
+ * Runs once at startup and then daily.
+ */
+@Component
+@Slf4j
+public class AuditPartitionMaintenance {
+
+    static final Pattern PARTITION_NAME = Pattern.compile("audit_entries_p(\\d{6})");
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    static final int PURGE_BATCH_SIZE = 10_000;
+
+    private static final String LIST_PARTITIONS_SQL = """
+            SELECT c.relname
+            FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = 'audit_entries'::regclass
+            """;
+
+    static final String PURGE_DEFAULT_PARTITION_SQL = """
+            DELETE FROM audit_entries_default
+            WHERE ctid IN (SELECT ctid FROM audit_entries_default WHERE occurred_at < ? LIMIT ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final boolean enabled;
+    private final int retentionMonths;
+    private final int premakeMonths;
+
+    @Autowired
+    public AuditPartitionMaintenance(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${audit.partitions.enabled:true}") boolean enabled,
+            @Value("${audit.retention.months:24}") int retentionMonths,
+            @Value("${audit.partitions.premake-months:3}") int premakeMonths) {
+        this(jdbcTemplate, transactionManager, Clock.systemUTC(), enabled, retentionMonths, premakeMonths);
+    }
+
+    AuditPartitionMaintenance(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, Clock clock,
+                              boolean enabled, int retentionMonths, int premakeMonths) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.enabled = enabled;
+        this.retentionMonths = retentionMonths;
+        this.premakeMonths = premakeMonths;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Workload(WorkloadClass.BACKGROUND)
+    public void onStartup() {
+        maintain();
+    }
+
+    /**
+     * Create upcoming partitions and drop expired ones, then purge expired rows from the default partition.
+     */
+    @Scheduled(cron = "${audit.partitions.maintenance-cron:0 15 3 * * *}")
+    @Workload(WorkloadClass.BACKGROUND)
+    public void maintain() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            createUpcomingPartitions();
+            dropExpiredPartitions();
+            purgeExpiredDefaultRows();
+        } catch (Exception e) {
+            log.error("Audit partition maintenance failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Ensure the current month and the next {@code premakeMonths} months have partitions.
+     */
+    void createUpcomingPartitions() {
+        YearMonth current = YearMonth.now(clock);
+        for (int i = 0; i <= premakeMonths; i++) {
+            OffsetDateTime monthStart = current.plusMonths(i).atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC);
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.queryForList("SELECT create_audit_partition(?)", monthStart));
+        }
+    }
+
+    /**
+     * Detach and drop every monthly partition that lies entirely before the retention cutoff.
+     *
+     * @return names of the dropped partitions
+     */
+    List<String> dropExpiredPartitions() {
+        YearMonth oldestRetained = YearMonth.now(clock).minusMonths(retentionMonths);
+        List<String> dropped = new ArrayList<>();
+
+        for (String partition : jdbcTemplate.queryForList(LIST_PARTITIONS_SQL, String.class)) {
+            YearMonth month = partitionMonth(partition);
+            if (month == null || !month.isBefore(oldestRetained)) {
+                continue;
+            }
+
+            // Detaching first keeps the parent's lock short; the drop then only touches the orphaned table
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.execute("ALTER TABLE audit_entries DETACH PARTITION " + partition));
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition));
+            dropped.add(partition);
+            log.info("Dropped expired audit partition {} (retention {} months)", partition, retentionMonths);
+        }
+        return dropped;
+    }
+
+    /**
+     * Delete rows older than the retention cutoff from the default partition, one batch per
+     * transaction so no single statement holds locks for long.
+     *
+     * @return number of rows deleted
+     */
+    long purgeExpiredDefaultRows() {
+        OffsetDateTime cutoff = YearMonth.now(clock).minusMonths(retentionMonths)
+                .atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC);
+        long deleted = 0;
+        int batch;
+        do {
+            batch = transactionTemplate.execute(status ->
+                    jdbcTemplate.update(PURGE_DEFAULT_PARTITION_SQL, cutoff, PURGE_BATCH_SIZE));
+            deleted += batch;
+        } while (batch == PURGE_BATCH_SIZE);
+
+        if (deleted > 0) {
+            log.info("Deleted {} expired audit entries from the default partition (retention {} months)",
+                    deleted, retentionMonths);
+        }
+        return deleted;
+    }
+
+    /**
+     * Parse the month from a partition name such as {@code audit_entries_p202401}.
+     *
+     * @return the month, or null for partitions outside the monthly scheme (e.g. the default partition)
+     */
+    static YearMonth partitionMonth(String partitionName) {
+        Matcher matcher = PARTITION_NAME.matcher(partitionName);
+        if (!matcher.matches()) {
+            return null;
+        }
+        return YearMonth.parse(matcher.group(1), PARTITION_SUFFIX);
+    }
+}
@@ -0,0 +1,45 @@
+package com.westbethel.motel_booking.common.audit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Admin API for security investigations over the audit log.
+ * Requires ADMIN role for access.
+ */
+@RestController
+@RequestMapping("/api/v1/admin/audit")
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+public class AuditSearchController {
+
+    private final AuditSearchService auditSearchService;
+
+    /**
+     * Search audit entries, newest first. Defaults to the last 30 days.
+     * Pass the returned {@code nextCursor} as {@code cursor} to fetch the next page.
+     */
+    @GetMapping
+    public ResponseEntity<AuditPage> search(
+            @RequestParam(required = false) String entityType,
+            @RequestParam(required = false) String entityId,
+            @RequestParam(required = false) String performedBy,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        OffsetDateTime end = to != null ? to : OffsetDateTime.now();
+        OffsetDateTime start = from != null ? from : end.minusDays(30);
+        return ResponseEntity.ok(auditSearchService.search(
+                entityType, entityId, performedBy, action, start, end, cursor, size));
+    }
+}
@@ -0,0 +1,135 @@
+package com.westbethel.motel_booking.common.audit;
+
+import com.westbethel.motel_booking.common.datasource.Workload;
+import com.westbethel.motel_booking.common.datasource.WorkloadClass;
+import com.westbethel.motel_booking.exception.InvalidDateRangeException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keyset-paginated search over {@code audit_entries}.
+ *
+ * Pages are ordered by {@code (occurred_at, id)} descending and continue from the last row
+ * of the previous page, so page N costs the same as page 1 regardless of how deep the
+ * investigation goes. Every query is bounded by a time window, which lets PostgreSQL prune
+ * the monthly partitions it does not need.
+ */
+@Service
+@RequiredArgsConstructor
+public class AuditSearchService {
+
+    static final int MAX_PAGE_SIZE = 500;
+    static final Duration MAX_WINDOW = Duration.ofDays(366);
+
+    private static final String SELECT =
+            "SELECT id, entity_type, entity_id, action, performed_by, details, occurred_at FROM audit_entries"
+                    + " WHERE occurred_at >= ? AND occurred_at < ?";
+
+    private static final RowMapper<AuditEntry> ROW_MAPPER = (rs, rowNum) -> AuditEntry.builder()
+            .id(rs.getObject("id", UUID.class))
+            .entityType(rs.getString("entity_type"))
+            .entityId(rs.getString("entity_id"))
+            .action(rs.getString("action"))
+            .performedBy(rs.getString("performed_by"))
+            .details(rs.getString("details"))
+            .occurredAt(rs.getObject("occurred_at", OffsetDateTime.class))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Search audit entries.
+     *
+     * @param entityType  optional entity type filter
+     * @param entityId    optional entity ID filter (requires entityType to use the entity index)
+     * @param performedBy optional actor filter
+     * @param action      optional action filter
+     * @param from        inclusive lower time bound
+     * @param to          exclusive upper time bound
+     * @param cursor      cursor from the previous page, or null for the first page
+     * @param size        page size (capped at {@value #MAX_PAGE_SIZE})
+     * @return the page of entries
+     */
+    @Transactional(readOnly = true)
+    @Workload(WorkloadClass.REPORTING)
+    public AuditPage search(String entityType, String entityId, String performedBy, String action,
+                            OffsetDateTime from, OffsetDateTime to, String cursor, int size) {
+        if (!from.isBefore(to)) {
+            throw new InvalidDateRangeException("Audit search 'from' must be before 'to'");
+        }
+        if (Duration.between(from, to).compareTo(MAX_WINDOW) > 0) {
+            throw new InvalidDateRangeException("Audit search window cannot exceed " + MAX_WINDOW.toDays() + " days");
+        }
+
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        StringBuilder sql = new StringBuilder(SELECT);
+        List<Object> args = new ArrayList<>();
+        args.add(from);
+        args.add(to);
+
+        appendFilter(sql, args, "entity_type", entityType);
+        appendFilter(sql, args, "entity_id", entityId);
+        appendFilter(sql, args, "performed_by", performedBy);
+        appendFilter(sql, args, "action", action);
+
+        if (cursor != null && !cursor.isBlank()) {
+            Cursor position = Cursor.decode(cursor);
+            sql.append(" AND (occurred_at, id) < (?, ?)");
+            args.add(position.occurredAt());
+            args.add(position.id());
+        }
+
+        // Fetch one extra row to learn whether another page exists without a COUNT
+        sql.append(" ORDER BY occurred_at DESC, id DESC LIMIT ?");
+        args.add(pageSize + 1);
+
+        List<AuditEntry> rows = jdbcTemplate.query(sql.toString(), ROW_MAPPER, args.toArray());
+        if (rows.size() <= pageSize) {
+            return new AuditPage(rows, null);
+        }
+
+        List<AuditEntry> page = rows.subList(0, pageSize);
+        AuditEntry last = page.get(pageSize - 1);
+        return new AuditPage(List.copyOf(page), new Cursor(last.getOccurredAt(), last.getId()).encode());
+    }
+
+    private static void appendFilter(StringBuilder sql, List<Object> args, String column, String value) {
+        if (value != null && !value.isBlank()) {
+            sql.append(" AND ").append(column).append(" = ?");
+            args.add(value);
+        }
+    }
+
+    /**
+     * Position of the last row of a page, encoded as URL-safe Base64 of {@code occurredAt|id}.
+     */
+    record Cursor(OffsetDateTime occurredAt, UUID id) {
+
+        String encode() {
+            String raw = occurredAt + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.indexOf('|');
+                return new Cursor(OffsetDateTime.parse(raw.substring(0, separator)),
+                        UUID.fromString(raw.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid audit search cursor");
+            }
+        }
+    }
+}
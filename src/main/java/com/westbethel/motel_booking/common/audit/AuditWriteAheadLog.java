@@ -0,0 +1,300 @@
+package com.westbethel.motel_booking.common.audit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Append-only local spill file for audit entries (one JSON object per line).
+ *
+ * Every entry is appended before it is handed to the in-memory buffer, and entries still
+ * in the file on the next start are replayed. The file is truncated once the buffer has
+ * been fully committed.
+ * Appends only copy into a write buffer. An entry is durable only after {@link #flush()}
+ * has handed it to the OS and {@link #sync()} has forced it to disk, which the writer does
+ * once per batch before inserting it. Entries appended since the last sync are lost if the
+ * process or the machine crashes.
+ *
+ * Replay streams the file from a byte offset with a {@link Reader}, so a caller can resume
+ * where the last committed batch ended instead of rereading the whole file.
+ *
+ * Not thread-safe on its own; {@link BufferedAuditWriter} serializes access.
+ * {@link #encode(AuditEntry)} may be called from any thread.
+ */
+@Slf4j
+class AuditWriteAheadLog implements AutoCloseable {
+
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Path file;
+    private FileChannel channel;
+    private OutputStream out;
+    private long entries;
+    private long length;
+
+    AuditWriteAheadLog(Path file) {
+        this.file = file;
+        try {
+            Files.createDirectories(file.getParent());
+            this.out = open();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open audit write-ahead log " + file, e);
+        }
+    }
+
+    /**
+     * Serialize an entry to one log line, including the trailing newline. Thread-safe.
+     *
+     * @param entry the audit entry
+     * @return the encoded line
+     * @throws IOException if the entry cannot be serialized
+     */
+    byte[] encode(AuditEntry entry) throws IOException {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("id", entry.getId().toString());
+        node.put("entityType", entry.getEntityType());
+        node.put("entityId", entry.getEntityId());
+        node.put("action", entry.getAction());
+        node.put("performedBy", entry.getPerformedBy());
+        node.put("details", entry.getDetails());
+        node.put("occurredAt", entry.getOccurredAt().toString());
+        byte[] json = objectMapper.writeValueAsBytes(node);
+        byte[] line = Arrays.copyOf(json, json.length + 1);
+        line[json.length] = '\n';
+        return line;
+    }
+
+    /**
+     * Append an encoded entry to the write buffer.
+     *
+     * @param line a line from {@link #encode(AuditEntry)}
+     * @throws IOException if the write buffer could not be emptied to the file
+     */
+    void append(byte[] line) throws IOException {
+        out.write(line);
+        length += line.length;
+        entries++;
+    }
+
+    /**
+     * Encode and append an entry.
+     *
+     * @param entry the audit entry
+     * @throws IOException if the entry could not be written
+     */
+    void append(AuditEntry entry) throws IOException {
+        append(encode(entry));
+    }
+
+    /**
+     * Hand buffered appends to the OS.
+     *
+     * @return length of the log in bytes, i.e. the offset just past the last appended entry
+     * @throws IOException if the buffer cannot be written
+     */
+    long flush() throws IOException {
+        out.flush();
+        return length;
+    }
+
+    /**
+     * Force everything flushed so far to the storage device. May run while other threads
+     * append, but not concurrently with {@link #truncate()}.
+     *
+     * @throws IOException if the file cannot be synced
+     */
+    void sync() throws IOException {
+        channel.force(false);
+    }
+
+    /**
+     * Number of entries appended since the last truncation.
+     */
+    long size() {
+        return entries;
+    }
+
+    /**
+     * Read every entry currently in the log. Unparseable lines (e.g. a torn final write) are skipped.
+     *
+     * @return logged entries in append order
+     * @throws IOException if the file cannot be read
+     */
+    List<AuditEntry> readAll() throws IOException {
+        List<AuditEntry> result;
+        try (Reader reader = reader(0, flush())) {
+            result = reader.next(Integer.MAX_VALUE);
+        }
+        entries = result.size();
+        return result;
+    }
+
+    /**
+     * Stream the entries between two byte offsets. Both must lie on line boundaries, e.g. 0,
+     * a value returned by {@link #flush()} or a {@link Reader#position()}; the range must have
+     * been flushed.
+     *
+     * @param from offset to start reading at
+     * @param to offset to stop reading at
+     * @return a reader, to be closed by the caller
+     * @throws IOException if the file cannot be opened
+     */
+    Reader reader(long from, long to) throws IOException {
+        return new Reader(from, to);
+    }
+
+    /**
+     * Discard all logged entries once they are committed to the database.
+     *
+     * @throws IOException if the file cannot be truncated
+     */
+    void truncate() throws IOException {
+        out.close();
+        channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        out = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_BYTES);
+        entries = 0;
+        length = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    /**
+     * Opens the file for appending. A torn final line from a crash is terminated first, so the
+     * next append starts on a line of its own.
+     */
+    private OutputStream open() throws IOException {
+        boolean torn = false;
+        if (Files.exists(file) && Files.size(file) > 0) {
+            try (var lines = Files.lines(file, StandardCharsets.UTF_8)) {
+                entries = lines.filter(line -> !line.isBlank()).count();
+            }
+            try (SeekableByteChannel channel = Files.newByteChannel(file, StandardOpenOption.READ)) {
+                ByteBuffer last = ByteBuffer.allocate(1);
+                channel.position(channel.size() - 1).read(last);
+                torn = last.get(0) != '\n';
+            }
+        }
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE);
+        OutputStream stream = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_BYTES);
+        if (torn) {
+            stream.write('\n');
+            stream.flush();
+        }
+        length = Files.size(file);
+        return stream;
+    }
+
+    private AuditEntry decode(String line) throws IOException {
+        JsonNode node = objectMapper.readTree(line);
+        return AuditEntry.builder()
+                .id(UUID.fromString(node.get("id").asText()))
+                .entityType(node.get("entityType").asText())
+                .entityId(node.get("entityId").asText())
+                .action(node.get("action").asText())
+                .performedBy(textOrNull(node, "performedBy"))
+                .details(textOrNull(node, "details"))
+                .occurredAt(OffsetDateTime.parse(node.get("occurredAt").asText()))
+                .build();
+    }
+
+    private static String textOrNull(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    /**
+     * Forward-only cursor over a range of the log. {@link #position()} is always on a line
+     * boundary between calls to {@link #next(int)}.
+     */
+    final class Reader implements AutoCloseable {
+
+        private final InputStream in;
+        private final long end;
+        private long position;
+
+        private Reader(long from, long to) throws IOException {
+            SeekableByteChannel channel = Files.newByteChannel(file, StandardOpenOption.READ).position(from);
+            this.in = new BufferedInputStream(Channels.newInputStream(channel), BUFFER_BYTES);
+            this.end = to;
+            this.position = from;
+        }
+
+        /**
+         * Read up to {@code max} entries. Unparseable lines are skipped.
+         *
+         * @param max maximum number of entries
+         * @return the entries read; empty once the end of the range is reached
+         * @throws IOException if the file cannot be read
+         */
+        List<AuditEntry> next(int max) throws IOException {
+            List<AuditEntry> result = new ArrayList<>(Math.min(max, 1024));
+            ByteArrayOutputStream line = new ByteArrayOutputStream(512);
+            while (result.size() < max && position < end) {
+                int b = in.read();
+                if (b < 0) {
+                    break;
+                }
+                position++;
+                if (b == '\n') {
+                    parse(line, result);
+                    line.reset();
+                } else {
+                    line.write(b);
+                }
+            }
+            parse(line, result);
+            return result;
+        }
+
+        /**
+         * Offset just past the last line returned.
+         */
+        long position() {
+            return position;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+
+        private void parse(ByteArrayOutputStream line, List<AuditEntry> into) {
+            String text = line.toString(StandardCharsets.UTF_8);
+            if (text.isBlank()) {
+                return;
+            }
+            try {
+                into.add(decode(text));
+            } catch (Exception e) {
+                log.warn("Skipping unreadable audit write-ahead log line: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,401 @@
+package com.westbethel.motel_booking.common.audit;
+
+import com.westbethel.motel_booking.common.datasource.WorkloadClass;
+import com.westbethel.motel_booking.common.datasource.WorkloadContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous, batched writer for {@code audit_entries}.
+ *
+ * Request threads only append the entry to a local write-ahead log and a bounded in-memory
+ * buffer; the log append is a memory copy, and the drain loop flushes and fsyncs the log
+ * once per batch, before inserting it. {@link #submit(AuditEntry)} returns before that, so
+ * entries submitted since the last batch are lost if the process or machine crashes. A single drain loop on the {@code auditExecutor} pool takes up to
+ * {@code audit.buffer.batch-size} entries at a time and inserts them with one multi-row
+ * statement. Inserts are idempotent on the primary key (ID plus timestamp) so replaying the
+ * write-ahead log never duplicates rows.
+ *
+ * Backpressure:
+ * - When the buffer is full (database slow or down) entries stay only in the write-ahead log
+ *   and are replayed once the buffer drains ({@code audit.entries.spilled})
+ * - Failed batches are likewise replayed from the write-ahead log, streamed from the offset
+ *   of the last committed replay batch
+ * - Entries are only dropped if both the buffer is full and the log cannot be written
+ *   ({@code audit.entries.dropped})
+ */
+@Component
+@Slf4j
+public class BufferedAuditWriter {
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO audit_entries (id, entity_type, entity_id, action, performed_by, details, occurred_at) VALUES ";
+    private static final String INSERT_ROW = "(?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_SUFFIX = " ON CONFLICT (id, occurred_at) DO NOTHING";
+    private static final int COLUMNS = 7;
+    private static final long FAILURE_BACKOFF_MILLIS = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor auditExecutor;
+    private final BlockingQueue<AuditEntry> buffer;
+    private final AuditWriteAheadLog writeAheadLog;
+    /** Guards the write-ahead log; request threads hold it only to copy into the log's write buffer. */
+    private final Object logLock = new Object();
+    private final CountDownLatch stopped = new CountDownLatch(1);
+    private final int batchSize;
+    private final long pollIntervalMillis;
+    private final String fullBatchSql;
+
+    private final Counter writtenCounter;
+    private final Counter spilledCounter;
+    private final Counter droppedCounter;
+    private final Counter failedBatchCounter;
+    private final Timer batchTimer;
+
+    private volatile boolean running = true;
+    private volatile boolean spilled;
+
+    /** Byte offset up to which the write-ahead log has been replayed; drain thread only. */
+    private long replayOffset;
+
+    public BufferedAuditWriter(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Qualifier("auditExecutor") Executor auditExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${audit.buffer.capacity:10000}") int capacity,
+            @Value("${audit.buffer.batch-size:500}") int batchSize,
+            @Value("${audit.buffer.poll-interval-ms:200}") long pollIntervalMillis,
+            @Value("${audit.wal.enabled:true}") boolean writeAheadLogEnabled,
+            @Value("${audit.wal.path:data/audit/audit-wal.log}") String writeAheadLogPath) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.auditExecutor = auditExecutor;
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.writeAheadLog = writeAheadLogEnabled ? new AuditWriteAheadLog(Path.of(writeAheadLogPath)) : null;
+        this.fullBatchSql = insertSql(batchSize);
+
+        this.writtenCounter = Counter.builder("audit.entries.written")
+                .description("Audit entries committed to the database")
+                .register(meterRegistry);
+        this.spilledCounter = Counter.builder("audit.entries.spilled")
+                .description("Audit entries kept only in the write-ahead log because the buffer was full")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("audit.entries.dropped")
+                .description("Audit entries lost because the buffer was full and the log was unavailable")
+                .register(meterRegistry);
+        this.failedBatchCounter = Counter.builder("audit.batch.failures")
+                .description("Audit batch inserts that failed and will be replayed")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("audit.batch.duration")
+                .description("Time to insert one audit batch")
+                .register(meterRegistry);
+        Gauge.builder("audit.buffer.depth", buffer, BlockingQueue::size)
+                .description("Audit entries waiting to be written")
+                .register(meterRegistry);
+        Gauge.builder("audit.buffer.remaining", buffer, BlockingQueue::remainingCapacity)
+                .description("Free audit buffer slots")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (writeAheadLog != null && writeAheadLog.size() > 0) {
+            log.warn("Audit write-ahead log holds {} entries from a previous run; replaying", writeAheadLog.size());
+            spilled = true;
+        }
+        auditExecutor.execute(this::drainLoop);
+    }
+
+    /**
+     * Accept an audit entry for asynchronous persistence. Never blocks on the database or the
+     * disk: the entry is serialized outside the lock and only copied into the log's write buffer
+     * under it.
+     *
+     * @param entry the audit entry
+     */
+    public void submit(AuditEntry entry) {
+        byte[] line = encode(entry);
+        boolean logged = false;
+        boolean accepted;
+        IOException logFailure = null;
+        synchronized (logLock) {
+            if (line != null) {
+                try {
+                    writeAheadLog.append(line);
+                    logged = true;
+                } catch (IOException e) {
+                    logFailure = e;
+                }
+            }
+            accepted = buffer.offer(entry);
+            if (!accepted && logged) {
+                spilled = true;
+            }
+        }
+
+        if (logFailure != null) {
+            log.error("Failed to append audit entry to write-ahead log: {}", logFailure.getMessage());
+        }
+        if (!accepted) {
+            if (logged) {
+                spilledCounter.increment();
+            } else {
+                droppedCounter.increment();
+                log.error("CRITICAL: Audit buffer full, entry dropped: entityType={}, action={}",
+                        entry.getEntityType(), entry.getAction());
+            }
+        }
+    }
+
+    /**
+     * Number of entries waiting in memory.
+     */
+    public int pending() {
+        return buffer.size();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (!stopped.await(30, TimeUnit.SECONDS)) {
+            log.error("Audit writer did not drain within 30s; {} entries remain in the write-ahead log", buffer.size());
+        }
+        if (writeAheadLog != null) {
+            synchronized (logLock) {
+                try {
+                    writeAheadLog.close();
+                } catch (IOException e) {
+                    log.warn("Failed to close audit write-ahead log: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void drainLoop() {
+        try (WorkloadContext.Scope ignored = WorkloadContext.enter(WorkloadClass.BACKGROUND)) {
+            while (running || !buffer.isEmpty()) {
+                if (!drainOnce()) {
+                    if (!running) {
+                        // Shutting down with the database unavailable; the write-ahead log keeps the rest
+                        break;
+                    }
+                    Thread.sleep(FAILURE_BACKOFF_MILLIS);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Audit drain loop stopped unexpectedly", e);
+        } finally {
+            stopped.countDown();
+        }
+    }
+
+    /**
+     * One drain cycle: write up to one batch from the buffer, then replay or truncate the
+     * write-ahead log.
+     *
+     * @return false if a write failed and the caller should back off
+     */
+    boolean drainOnce() throws InterruptedException {
+        AuditEntry first = buffer.poll(pollIntervalMillis, TimeUnit.MILLISECONDS);
+        if (first != null) {
+            List<AuditEntry> batch = new ArrayList<>(batchSize);
+            batch.add(first);
+            buffer.drainTo(batch, batchSize - 1);
+            flushWriteAheadLog();
+            if (!write(batch)) {
+                spilled = true;
+                return false;
+            }
+        }
+        return checkpoint();
+    }
+
+    /**
+     * Replay spilled entries, then truncate the write-ahead log once everything it holds is committed.
+     *
+     * @return false if the replay failed
+     */
+    private boolean checkpoint() {
+        if (writeAheadLog == null) {
+            return true;
+        }
+
+        if (spilled && !replayWriteAheadLog()) {
+            return false;
+        }
+
+        synchronized (logLock) {
+            if (!spilled && buffer.isEmpty() && writeAheadLog.size() > 0) {
+                try {
+                    writeAheadLog.truncate();
+                    replayOffset = 0;
+                } catch (IOException e) {
+                    log.error("Failed to truncate audit write-ahead log: {}", e.getMessage());
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Stream the log from {@code replayOffset} in batches, advancing the offset after each
+     * committed batch so a retry resumes there rather than at the start of the file.
+     *
+     * The end offset is taken under the lock while the buffer is empty. Every entry appended
+     * before it is then either committed or spilled, and entries appended after it are at or
+     * past it, so nothing uncommitted is ever left behind the offset.
+     *
+     * @return false if a batch failed
+     */
+    private boolean replayWriteAheadLog() {
+        long end;
+        synchronized (logLock) {
+            if (!buffer.isEmpty()) {
+                return true;
+            }
+            try {
+                end = writeAheadLog.flush();
+            } catch (IOException e) {
+                log.error("Failed to flush audit write-ahead log: {}", e.getMessage());
+                return false;
+            }
+            spilled = false;
+        }
+        syncWriteAheadLog();
+
+        int replayed = 0;
+        try (AuditWriteAheadLog.Reader reader = writeAheadLog.reader(replayOffset, end)) {
+            List<AuditEntry> batch;
+            while (!(batch = reader.next(batchSize)).isEmpty()) {
+                if (!write(batch)) {
+                    spilled = true;
+                    return false;
+                }
+                replayOffset = reader.position();
+                replayed += batch.size();
+            }
+            replayOffset = end;
+        } catch (IOException e) {
+            log.error("Failed to read audit write-ahead log: {}", e.getMessage());
+            spilled = true;
+            return false;
+        }
+        log.info("Replayed {} audit entries from write-ahead log", replayed);
+        return true;
+    }
+
+    /**
+     * Make the appends of the batch about to be written durable, so they survive a crash of
+     * this process or the machine while the batch is in flight. Only the flush holds the
+     * lock; submitters keep appending during the fsync.
+     */
+    private void flushWriteAheadLog() {
+        if (writeAheadLog == null) {
+            return;
+        }
+        synchronized (logLock) {
+            try {
+                writeAheadLog.flush();
+            } catch (IOException e) {
+                log.error("Failed to flush audit write-ahead log: {}", e.getMessage());
+                return;
+            }
+        }
+        syncWriteAheadLog();
+    }
+
+    /**
+     * Force flushed appends to disk. Runs on the drain thread, which is also the only one that
+     * truncates the log.
+     */
+    private void syncWriteAheadLog() {
+        try {
+            writeAheadLog.sync();
+        } catch (IOException e) {
+            log.error("Failed to sync audit write-ahead log: {}", e.getMessage());
+        }
+    }
+
+    private byte[] encode(AuditEntry entry) {
+        if (writeAheadLog == null) {
+            return null;
+        }
+        try {
+            return writeAheadLog.encode(entry);
+        } catch (IOException e) {
+            log.error("Failed to encode audit entry for write-ahead log: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private boolean write(List<AuditEntry> entries) {
+        try {
+            String sql = entries.size() == batchSize ? fullBatchSql : insertSql(entries.size());
+            Object[] args = new Object[entries.size() * COLUMNS];
+            int i = 0;
+            for (AuditEntry entry : entries) {
+                args[i++] = entry.getId();
+                args[i++] = entry.getEntityType();
+                args[i++] = entry.getEntityId();
+                args[i++] = entry.getAction();
+                args[i++] = entry.getPerformedBy();
+                args[i++] = entry.getDetails();
+                args[i++] = entry.getOccurredAt();
+            }
+            batchTimer.record(() -> transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(sql, args)));
+            writtenCounter.increment(entries.size());
+            return true;
+        } catch (Exception e) {
+            failedBatchCounter.increment();
+            log.error("Failed to write {} audit entries; they will be replayed: {}", entries.size(), e.getMessage());
+            if (writeAheadLog == null) {
+                // Without a log the only copy is in memory; put back what fits
+                entries.forEach(entry -> {
+                    if (!buffer.offer(entry)) {
+                        droppedCounter.increment();
+                    }
+                });
+            }
+            return false;
+        }
+    }
+
+    private static String insertSql(int rows) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + rows * (INSERT_ROW.length() + 2) + INSERT_SUFFIX.length());
+        sql.append(INSERT_PREFIX);
+        for (int row = 0; row < rows; row++) {
+            if (row > 0) {
+                sql.append(", ");
+            }
+            sql.append(INSERT_ROW);
+        }
+        return sql.append(INSERT_SUFFIX).toString();
+    }
+}
@@ -1,6 +1,5 @@
 package com.westbethel.motel_booking.common.audit;
 
-import com.westbethel.motel_booking.common.audit.repository.AuditEntryRepository;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,10 +19,10 @@ import java.util.UUID;
 public class SecurityAuditService {
 
     private static final Logger logger = LoggerFactory.getLogger(SecurityAuditService.class);
-    private final AuditEntryRepository auditEntryRepository;
+    private final BufferedAuditWriter auditWriter;
 
-    public SecurityAuditService(AuditEntryRepository auditEntryRepository) {
-        this.auditEntryRepository = auditEntryRepository;
+    public SecurityAuditService(BufferedAuditWriter auditWriter) {
+        this.auditWriter = auditWriter;
     }
 
     /**
@@ -143,7 +142,7 @@ public class SecurityAuditService {
     }
 
     /**
-     * Core method to create and save audit entry
+     * Core method to create an audit entry and hand it to the asynchronous writer
      */
     private void auditSecurityEvent(String entityType, String entityId, String action, String details) {
         try {
@@ -157,7 +156,7 @@ public class SecurityAuditService {
                     .occurredAt(OffsetDateTime.now())
                     .build();
 
-            auditEntryRepository.save(entry);
+            auditWriter.submit(entry);
         } catch (Exception e) {
             // Log error but don't throw - auditing failure shouldn't break the application
             logger.error("Failed to save audit entry: entityType={}, action={}, error={}",
@@ -0,0 +1,15 @@
+package com.westbethel.motel_booking.common.datasource;
+
+/**
+ * Connection pools the {@link RoutingDataSource} can route a transaction to.
+ */
+public enum DataSourceRoute {
+    /** Read-write pool on the primary database */
+    PRIMARY,
+    /** Read-only pool on the streaming replica */
+    REPLICA,
+    /** Small pool on the primary for reports */
+    REPORTING,
+    /** Small pool on the primary for scheduled and queue work */
+    BACKGROUND
+}
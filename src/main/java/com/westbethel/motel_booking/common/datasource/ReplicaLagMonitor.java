@@ -0,0 +1,104 @@
+package com.westbethel.motel_booking.common.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Replica Lag Monitor
+ *
+ * Measures how far the replica's replay trails the primary and decides whether
+ * read-only transactions may use it. The replica is usable only while:
+ * - the last probe succeeded and is recent (within three probe intervals)
+ * - the measured lag is at most {@code datasource.replica.max-lag-ms}
+ *
+ * Until the first probe succeeds, reads stay on the primary.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    /**
+     * Replay lag in milliseconds. An idle primary makes the last replay timestamp old,
+     * so a replica that has replayed everything it received counts as current.
+     */
+    static final String LAG_QUERY = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+            END
+            """;
+
+    private static final long UNKNOWN = -1;
+
+    private final DataSource replica;
+    private final long maxLagMs;
+    private final long staleAfterNanos;
+    private final LongSupplier nanoClock;
+
+    private volatile long lagMs = UNKNOWN;
+    private volatile long checkedAtNanos;
+
+    public ReplicaLagMonitor(DataSource replica, MeterRegistry meterRegistry, long maxLagMs, long checkIntervalMs) {
+        this(replica, meterRegistry, maxLagMs, checkIntervalMs, System::nanoTime);
+    }
+
+    ReplicaLagMonitor(DataSource replica, MeterRegistry meterRegistry, long maxLagMs, long checkIntervalMs,
+                      LongSupplier nanoClock) {
+        this.replica = replica;
+        this.maxLagMs = maxLagMs;
+        this.staleAfterNanos = TimeUnit.MILLISECONDS.toNanos(checkIntervalMs * 3);
+        this.nanoClock = nanoClock;
+
+        Gauge.builder("db.replica.lag", this, monitor -> monitor.lagMs == UNKNOWN ? Double.NaN : monitor.lagMs)
+                .description("Replica replay lag behind the primary")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.lag-check-interval-ms:1000}")
+    public void check() {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+            resultSet.next();
+            record(Math.max(0, Math.round(resultSet.getDouble(1))));
+        } catch (SQLException e) {
+            // Leave the last result to age out; reads fall back to the primary once it is stale
+            log.warn("Replica lag check failed: {}", e.getMessage());
+        }
+    }
+
+    void record(long lagMs) {
+        if (lagMs > maxLagMs && (this.lagMs == UNKNOWN || this.lagMs <= maxLagMs)) {
+            log.warn("Replica lag {}ms exceeds {}ms, routing reads to the primary", lagMs, maxLagMs);
+        }
+        this.lagMs = lagMs;
+        this.checkedAtNanos = nanoClock.getAsLong();
+    }
+
+    /**
+     * True if read-only transactions may use the replica.
+     */
+    public boolean isUsable() {
+        long lag = lagMs;
+        return lag != UNKNOWN
+                && lag <= maxLagMs
+                && nanoClock.getAsLong() - checkedAtNanos <= staleAfterNanos;
+    }
+
+    /**
+     * Last measured lag in milliseconds, or -1 before the first successful check.
+     */
+    public long getLagMs() {
+        return lagMs;
+    }
+}
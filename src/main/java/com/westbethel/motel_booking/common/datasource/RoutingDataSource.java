@@ -0,0 +1,161 @@
+package com.westbethel.motel_booking.common.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.lang.Nullable;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Routing DataSource
+ *
+ * Picks the connection pool when a transaction first needs a connection:
+ * - work running as a {@link WorkloadClass} with its own pool (reports, background jobs)
+ *   uses that pool, so it can exhaust only its own connections
+ * - read-write transactions use the primary
+ * - {@code @Transactional(readOnly = true)} transactions use the replica, unless it is
+ *   lagging or unreachable (see {@link ReplicaLagMonitor})
+ * - read-only transactions of a user who committed a write within the read-your-writes
+ *   window stay on the primary, so they see their own booking
+ *
+ * The transaction's read-only flag is only known after it has begun, so this must sit
+ * behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}.
+ * Decisions are counted in {@code db.routing}, tagged by route and reason.
+ */
+public class RoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final long MAX_TRACKED_WRITERS = 100_000;
+
+    private final Set<WorkloadClass> isolatedWorkloads = EnumSet.noneOf(WorkloadClass.class);
+    @Nullable
+    private final ReplicaLagMonitor replicaLagMonitor;
+    private final Cache<String, Boolean> recentWriters;
+    private final Map<Decision, Counter> decisions = new EnumMap<>(Decision.class);
+
+    public RoutingDataSource(
+            DataSource primary,
+            Map<WorkloadClass, DataSource> workloadPools,
+            @Nullable DataSource replica,
+            @Nullable ReplicaLagMonitor replicaLagMonitor,
+            Duration readYourWritesWindow,
+            MeterRegistry meterRegistry) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(DataSourceRoute.PRIMARY, primary);
+        if (replica != null) {
+            targets.put(DataSourceRoute.REPLICA, replica);
+        }
+        workloadPools.forEach((workload, pool) -> {
+            if (workload != WorkloadClass.OLTP) {
+                targets.put(workload.route(), pool);
+                isolatedWorkloads.add(workload);
+            }
+        });
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+
+        this.replicaLagMonitor = replica != null ? replicaLagMonitor : null;
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(readYourWritesWindow)
+                .maximumSize(MAX_TRACKED_WRITERS)
+                .build();
+
+        for (Decision decision : Decision.values()) {
+            decisions.put(decision, Counter.builder("db.routing")
+                    .tag("route", decision.route.name().toLowerCase())
+                    .tag("reason", decision.name().toLowerCase())
+                    .description("Connection pool routing decisions")
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String writer = currentUser();
+        Decision decision = decide(
+                WorkloadContext.current(),
+                TransactionSynchronizationManager.isCurrentTransactionReadOnly(),
+                writer);
+        decisions.get(decision).increment();
+
+        if (decision == Decision.READ_WRITE && writer != null
+                && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recordWrite(writer);
+                }
+            });
+        }
+        return decision.route;
+    }
+
+    Decision decide(WorkloadClass workload, boolean readOnly, @Nullable String user) {
+        if (isolatedWorkloads.contains(workload)) {
+            return workload == WorkloadClass.REPORTING ? Decision.REPORTING_WORKLOAD : Decision.BACKGROUND_WORKLOAD;
+        }
+        if (!readOnly) {
+            return Decision.READ_WRITE;
+        }
+        if (replicaLagMonitor == null) {
+            return Decision.NO_REPLICA;
+        }
+        if (user != null && recentWriters.getIfPresent(user) != null) {
+            return Decision.READ_YOUR_WRITES;
+        }
+        if (!replicaLagMonitor.isUsable()) {
+            return Decision.REPLICA_UNAVAILABLE;
+        }
+        return Decision.READ_ONLY;
+    }
+
+    void recordWrite(String user) {
+        recentWriters.put(user, Boolean.TRUE);
+    }
+
+    @Nullable
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    /**
+     * Why a transaction was routed where it was.
+     */
+    enum Decision {
+        READ_WRITE(DataSourceRoute.PRIMARY),
+        READ_ONLY(DataSourceRoute.REPLICA),
+        NO_REPLICA(DataSourceRoute.PRIMARY),
+        REPLICA_UNAVAILABLE(DataSourceRoute.PRIMARY),
+        READ_YOUR_WRITES(DataSourceRoute.PRIMARY),
+        REPORTING_WORKLOAD(DataSourceRoute.REPORTING),
+        BACKGROUND_WORKLOAD(DataSourceRoute.BACKGROUND);
+
+        private final DataSourceRoute route;
+
+        Decision(DataSourceRoute route) {
+            this.route = route;
+        }
+
+        DataSourceRoute route() {
+            return route;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.westbethel.motel_booking.common.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs a bean method, or every public method of a bean, as the given workload class,
+ * so the transactions it starts use that workload's connection pool.
+ *
+ * Applies to calls through the Spring proxy only; for self-invocation or work on
+ * other threads use {@link WorkloadContext#enter(WorkloadClass)}.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface Workload {
+
+    WorkloadClass value();
+}
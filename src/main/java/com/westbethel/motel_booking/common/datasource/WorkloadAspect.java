@@ -0,0 +1,34 @@
+package com.westbethel.motel_booking.common.datasource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies {@link Workload} annotations. Runs outside the transaction interceptor,
+ * so the workload is set before the transaction asks for a connection.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class WorkloadAspect {
+
+    @Around("@annotation(workload)")
+    public Object aroundMethod(ProceedingJoinPoint joinPoint, Workload workload) throws Throwable {
+        return proceed(joinPoint, workload);
+    }
+
+    @Around("@within(workload) && !@annotation(com.westbethel.motel_booking.common.datasource.Workload)")
+    public Object aroundType(ProceedingJoinPoint joinPoint, Workload workload) throws Throwable {
+        return proceed(joinPoint, workload);
+    }
+
+    private Object proceed(ProceedingJoinPoint joinPoint, Workload workload) throws Throwable {
+        try (WorkloadContext.Scope ignored = WorkloadContext.enter(workload.value())) {
+            return joinPoint.proceed();
+        }
+    }
+}
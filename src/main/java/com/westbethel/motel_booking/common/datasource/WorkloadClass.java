@@ -0,0 +1,27 @@
+package com.westbethel.motel_booking.common.datasource;
+
+/**
+ * Workload classes with their own connection pool, so heavy work cannot exhaust
+ * the connections bookings need.
+ */
+public enum WorkloadClass {
+    /** Interactive requests: bookings, search, account management */
+    OLTP(DataSourceRoute.PRIMARY),
+    /** Report generation and other long analytical reads */
+    REPORTING(DataSourceRoute.REPORTING),
+    /** Scheduled jobs, queue processing and maintenance */
+    BACKGROUND(DataSourceRoute.BACKGROUND);
+
+    private final DataSourceRoute route;
+
+    WorkloadClass(DataSourceRoute route) {
+        this.route = route;
+    }
+
+    /**
+     * Pool this workload uses when its pool is configured.
+     */
+    public DataSourceRoute route() {
+        return route;
+    }
+}
@@ -0,0 +1,44 @@
+package com.westbethel.motel_booking.common.datasource;
+
+/**
+ * Workload class of the current thread, read by the {@link RoutingDataSource}
+ * when a transaction needs a connection. Threads default to {@link WorkloadClass#OLTP}.
+ *
+ * Scopes nest; closing one restores the enclosing workload.
+ */
+public final class WorkloadContext {
+
+    private static final ThreadLocal<WorkloadClass> CURRENT = new ThreadLocal<>();
+
+    private WorkloadContext() {
+    }
+
+    public static WorkloadClass current() {
+        WorkloadClass workload = CURRENT.get();
+        return workload != null ? workload : WorkloadClass.OLTP;
+    }
+
+    /**
+     * Switch the current thread to the given workload until the scope is closed.
+     */
+    public static Scope enter(WorkloadClass workload) {
+        WorkloadClass previous = CURRENT.get();
+        CURRENT.set(workload);
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    /**
+     * Workload scope; close on the thread that opened it.
+     */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
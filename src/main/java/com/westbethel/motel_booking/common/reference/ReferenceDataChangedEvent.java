@@ -0,0 +1,8 @@
+package com.westbethel.motel_booking.common.reference;
+
+/**
+ * A property, room type, rate plan or room was inserted, updated or deleted.
+ * Handled after the surrounding transaction commits.
+ */
+public record ReferenceDataChangedEvent(Class<?> entityType, Object entityId) {
+}
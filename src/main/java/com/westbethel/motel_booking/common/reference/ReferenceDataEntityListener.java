@@ -0,0 +1,46 @@
+package com.westbethel.motel_booking.common.reference;
+
+import com.westbethel.motel_booking.inventory.domain.Room;
+import com.westbethel.motel_booking.inventory.domain.RoomType;
+import com.westbethel.motel_booking.pricing.domain.RatePlan;
+import com.westbethel.motel_booking.property.domain.Property;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA listener on the reference data entities; publishes a {@link ReferenceDataChangedEvent}
+ * for every write. Instantiated by Hibernate through the Spring bean container.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReferenceDataEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    void changed(Object entity) {
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(entity.getClass(), idOf(entity)));
+    }
+
+    private static Object idOf(Object entity) {
+        if (entity instanceof Property property) {
+            return property.getId();
+        }
+        if (entity instanceof RoomType roomType) {
+            return roomType.getId();
+        }
+        if (entity instanceof RatePlan ratePlan) {
+            return ratePlan.getId();
+        }
+        if (entity instanceof Room room) {
+            return room.getId();
+        }
+        return null;
+    }
+}
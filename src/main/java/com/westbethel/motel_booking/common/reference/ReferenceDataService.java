@@ -0,0 +1,213 @@
+package com.westbethel.motel_booking.common.reference;
+
+import com.westbethel.motel_booking.cache.CacheService;
+import com.westbethel.motel_booking.config.CacheConfiguration;
+import com.westbethel.motel_booking.inventory.repository.RoomRepository;
+import com.westbethel.motel_booking.inventory.repository.RoomTypeRepository;
+import com.westbethel.motel_booking.pricing.repository.RatePlanRepository;
+import com.westbethel.motel_booking.property.repository.PropertyRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the current {@link ReferenceDataSnapshot}.
+ *
+ * Callers take one snapshot per request with {@link #current()} and pass it on, so every
+ * lookup of that request reads the same version from memory instead of the database.
+ * - Writes to the reference entities mark the snapshot stale once they commit; the next
+ *   {@link #current()} starts a reload and keeps returning the previous version until it
+ *   completes. The availability cache is evicted once the new version is in place
+ * - {@code booking.reference-data.refresh-interval-ms} reloads periodically, picking up
+ *   changes made by other instances or directly in the database
+ *
+ * Loads run one at a time on {@code referenceDataExecutor}, never on the caller's thread, so
+ * they do not take a second connection while the caller's transaction holds one. Each load
+ * runs in its own read-write transaction: it reads the primary, so a snapshot built right
+ * after a commit includes it, and the loaded entities are not attached to any caller's
+ * persistence context. Only the first load, normally done by {@code CacheWarmer} at startup,
+ * is waited for.
+ */
+@Component
+@Slf4j
+public class ReferenceDataService {
+
+    private final PropertyRepository propertyRepository;
+    private final RoomTypeRepository roomTypeRepository;
+    private final RatePlanRepository ratePlanRepository;
+    private final RoomRepository roomRepository;
+    private final CacheService cacheService;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor executor;
+    private final Clock clock;
+    private final AtomicLong versions = new AtomicLong();
+    private final AtomicReference<CompletableFuture<ReferenceDataSnapshot>> loading = new AtomicReference<>();
+
+    private volatile ReferenceDataSnapshot snapshot;
+    private volatile boolean stale = true;
+
+    @Autowired
+    public ReferenceDataService(
+            PropertyRepository propertyRepository,
+            RoomTypeRepository roomTypeRepository,
+            RatePlanRepository ratePlanRepository,
+            RoomRepository roomRepository,
+            CacheService cacheService,
+            PlatformTransactionManager transactionManager,
+            @Qualifier("referenceDataExecutor") Executor executor,
+            MeterRegistry meterRegistry) {
+        this(propertyRepository, roomTypeRepository, ratePlanRepository, roomRepository, cacheService,
+                transactionManager, executor, meterRegistry, Clock.systemUTC());
+    }
+
+    ReferenceDataService(PropertyRepository propertyRepository, RoomTypeRepository roomTypeRepository,
+                         RatePlanRepository ratePlanRepository, RoomRepository roomRepository,
+                         CacheService cacheService, PlatformTransactionManager transactionManager,
+                         Executor executor, MeterRegistry meterRegistry, Clock clock) {
+        this.propertyRepository = propertyRepository;
+        this.roomTypeRepository = roomTypeRepository;
+        this.ratePlanRepository = ratePlanRepository;
+        this.roomRepository = roomRepository;
+        this.cacheService = cacheService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.executor = executor;
+        this.clock = clock;
+        Gauge.builder("booking.reference.version", versions, AtomicLong::get)
+                .description("Version of the in-memory reference data snapshot")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The current snapshot. If it is stale a reload is started in the background and the
+     * previous version returned; a failed reload is retried on a later call. Only waits when
+     * no snapshot has been loaded yet.
+     */
+    public ReferenceDataSnapshot current() {
+        ReferenceDataSnapshot current = snapshot;
+        if (current == null) {
+            return await(load());
+        }
+        if (stale) {
+            load();
+        }
+        return current;
+    }
+
+    /**
+     * Load a new version now and wait for it. Joins a load that is already running.
+     */
+    public ReferenceDataSnapshot refresh() {
+        return await(load());
+    }
+
+    @Scheduled(fixedDelayString = "${booking.reference-data.refresh-interval-ms:300000}",
+            initialDelayString = "${booking.reference-data.refresh-interval-ms:300000}")
+    public void refreshPeriodically() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            log.error("Reference data refresh failed: {}", e.getMessage(), e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(ReferenceDataChangedEvent event) {
+        log.debug("Reference data changed: {} {}", event.entityType().getSimpleName(), event.entityId());
+        stale = true;
+    }
+
+    /**
+     * Starts a load on the executor unless one is already running, and returns the running load.
+     */
+    private CompletableFuture<ReferenceDataSnapshot> load() {
+        CompletableFuture<ReferenceDataSnapshot> load = new CompletableFuture<>();
+        CompletableFuture<ReferenceDataSnapshot> running = loading.compareAndExchange(null, load);
+        if (running != null) {
+            return running;
+        }
+        try {
+            executor.execute(() -> {
+                ReferenceDataSnapshot loaded = null;
+                RuntimeException failure = null;
+                try {
+                    loaded = reload();
+                } catch (RuntimeException e) {
+                    failure = e;
+                    if (snapshot != null) {
+                        log.warn("Reference data reload failed, serving version {}: {}",
+                                snapshot.version(), e.getMessage());
+                    }
+                }
+                // Cleared before completing, so a caller woken by this load can start the next one
+                loading.set(null);
+                if (failure != null) {
+                    load.completeExceptionally(failure);
+                } else {
+                    load.complete(loaded);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            loading.set(null);
+            load.completeExceptionally(e);
+        }
+        return load;
+    }
+
+    private static ReferenceDataSnapshot await(CompletableFuture<ReferenceDataSnapshot> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Clears the stale flag before reading, so a change committed during the load marks the
+     * new version stale again.
+     */
+    private ReferenceDataSnapshot reload() {
+        stale = false;
+        long start = System.currentTimeMillis();
+        ReferenceDataSnapshot loaded;
+        try {
+            loaded = transactionTemplate.execute(tx -> new ReferenceDataSnapshot(
+                    versions.get() + 1,
+                    Instant.now(clock),
+                    propertyRepository.findAll(),
+                    roomTypeRepository.findAll(),
+                    ratePlanRepository.findAll(),
+                    roomRepository.findAll()));
+        } catch (RuntimeException e) {
+            stale = true;
+            throw e;
+        }
+        versions.set(loaded.version());
+        boolean replaced = snapshot != null;
+        snapshot = loaded;
+        if (replaced) {
+            // Only after the new version is visible, so availability is not recomputed from the old one
+            cacheService.evictCache(CacheConfiguration.AVAILABILITY_CACHE);
+        }
+        log.debug("Loaded {} in {}ms", loaded, System.currentTimeMillis() - start);
+        return loaded;
+    }
+}
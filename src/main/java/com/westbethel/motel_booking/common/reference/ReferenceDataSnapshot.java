@@ -0,0 +1,98 @@
+package com.westbethel.motel_booking.common.reference;
+
+import com.westbethel.motel_booking.common.model.RoomStatus;
+import com.westbethel.motel_booking.inventory.domain.Room;
+import com.westbethel.motel_booking.inventory.domain.RoomType;
+import com.westbethel.motel_booking.pricing.domain.RatePlan;
+import com.westbethel.motel_booking.property.domain.Property;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable, versioned view of properties, room types, rate plans and rooms.
+ *
+ * Lookups mirror the repository queries they replace:
+ * - {@link #ratePlan(UUID, UUID)} only finds rate plans of the given property
+ * - {@link #roomTypes(UUID)} lists a property's room types ordered by code
+ * - {@link #availableRooms(UUID, UUID)} lists rooms in status AVAILABLE ordered by room number
+ *
+ * The entities are detached and have no setters; their collections are loaded eagerly.
+ */
+public final class ReferenceDataSnapshot {
+
+    private final long version;
+    private final Instant loadedAt;
+    private final Map<UUID, Property> properties;
+    private final Map<UUID, RoomType> roomTypes;
+    private final Map<UUID, List<RoomType>> roomTypesByProperty;
+    private final Map<UUID, RatePlan> ratePlans;
+    private final Map<UUID, List<Room>> availableRoomsByRoomType;
+    private final int roomCount;
+
+    public ReferenceDataSnapshot(long version, Instant loadedAt, Collection<Property> properties,
+                                 Collection<RoomType> roomTypes, Collection<RatePlan> ratePlans,
+                                 Collection<Room> rooms) {
+        this.version = version;
+        this.loadedAt = loadedAt;
+        this.properties = index(properties, Property::getId);
+        this.roomTypes = index(roomTypes, RoomType::getId);
+        this.roomTypesByProperty = Map.copyOf(roomTypes.stream()
+                .sorted(Comparator.comparing(RoomType::getCode))
+                .collect(Collectors.groupingBy(RoomType::getPropertyId, Collectors.toUnmodifiableList())));
+        this.ratePlans = index(ratePlans, RatePlan::getId);
+        this.availableRoomsByRoomType = Map.copyOf(rooms.stream()
+                .filter(room -> room.getStatus() == RoomStatus.AVAILABLE)
+                .sorted(Comparator.comparing(Room::getRoomNumber))
+                .collect(Collectors.groupingBy(Room::getRoomTypeId, Collectors.toUnmodifiableList())));
+        this.roomCount = rooms.size();
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public Instant loadedAt() {
+        return loadedAt;
+    }
+
+    public Optional<Property> property(UUID propertyId) {
+        return Optional.ofNullable(properties.get(propertyId));
+    }
+
+    public Optional<RoomType> roomType(UUID roomTypeId) {
+        return Optional.ofNullable(roomTypes.get(roomTypeId));
+    }
+
+    public List<RoomType> roomTypes(UUID propertyId) {
+        return roomTypesByProperty.getOrDefault(propertyId, List.of());
+    }
+
+    public Optional<RatePlan> ratePlan(UUID propertyId, UUID ratePlanId) {
+        return Optional.ofNullable(ratePlans.get(ratePlanId))
+                .filter(ratePlan -> ratePlan.getPropertyId().equals(propertyId));
+    }
+
+    public List<Room> availableRooms(UUID propertyId, UUID roomTypeId) {
+        return availableRoomsByRoomType.getOrDefault(roomTypeId, List.of()).stream()
+                .filter(room -> room.getPropertyId().equals(propertyId))
+                .toList();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ReferenceDataSnapshot[version=%d, properties=%d, roomTypes=%d, ratePlans=%d, rooms=%d]",
+                version, properties.size(), roomTypes.size(), ratePlans.size(), roomCount);
+    }
+
+    private static <T> Map<UUID, T> index(Collection<T> entities, Function<T, UUID> id) {
+        return entities.stream().collect(Collectors.toUnmodifiableMap(id, Function.identity()));
+    }
+}
@@ -0,0 +1,25 @@
+package com.westbethel.motel_booking.common.service.impl;
+
+import com.westbethel.motel_booking.common.audit.AuditEntry;
+import com.westbethel.motel_booking.common.audit.BufferedAuditWriter;
+import com.westbethel.motel_booking.common.service.AuditService;
+import org.springframework.stereotype.Service;
+
+/**
+ * Records audit entries through the asynchronous {@link BufferedAuditWriter}, so callers
+ * never pay for a synchronous insert inside their request.
+ */
+@Service
+public class DefaultAuditService implements AuditService {
+
+    private final BufferedAuditWriter auditWriter;
+
+    public DefaultAuditService(BufferedAuditWriter auditWriter) {
+        this.auditWriter = auditWriter;
+    }
+
+    @Override
+    public void record(AuditEntry entry) {
+        auditWriter.submit(entry);
+    }
+}
@@ -0,0 +1,43 @@
+package com.westbethel.motel_booking.config;
+
+import org.hibernate.dialect.DatabaseVersion;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.jdbc.dialect.spi.DialectResolutionInfo;
+import org.hibernate.exception.spi.TemplatedViolatedConstraintNameExtractor;
+import org.hibernate.exception.spi.ViolatedConstraintNameExtractor;
+
+/**
+ * PostgreSQL dialect that also names violated exclusion constraints.
+ *
+ * Hibernate's PostgreSQL extractor only reports the constraint name of unique, check, foreign
+ * key and not-null violations. A flush rejected by an exclusion constraint (SQLSTATE 23P01,
+ * e.g. {@code booking_rooms_no_double_booking}) would otherwise surface as a
+ * {@code ConstraintViolationException} without a name. Set as the Hibernate dialect in
+ * {@link JpaConfiguration}.
+ */
+public class AppPostgreSQLDialect extends PostgreSQLDialect {
+
+    private static final String EXCLUSION_VIOLATION = "23P01";
+
+    public AppPostgreSQLDialect() {
+        super();
+    }
+
+    public AppPostgreSQLDialect(DialectResolutionInfo info) {
+        super(info);
+    }
+
+    public AppPostgreSQLDialect(DatabaseVersion version) {
+        super(version);
+    }
+
+    @Override
+    public ViolatedConstraintNameExtractor getViolatedConstraintNameExtractor() {
+        ViolatedConstraintNameExtractor standard = super.getViolatedConstraintNameExtractor();
+        // The templated extractor also follows getNextException(), where batched writes report the cause
+        return new TemplatedViolatedConstraintNameExtractor(sqle -> EXCLUSION_VIOLATION.equals(sqle.getSQLState())
+                ? TemplatedViolatedConstraintNameExtractor.extractUsingTemplate(
+                        "violates exclusion constraint \"", "\"", sqle.getMessage())
+                : standard.extractConstraintName(sqle));
+    }
+}
@@ -156,6 +156,47 @@ public class AsyncConfiguration implements AsyncConfigurer {
         return executor;
     }
 
+    /**
+     * Dashboard push executor for Server-Sent Events
+     *
+     * Writes to dashboard streams block on slow clients, so they get their own thread
+     * instead of holding the shared scheduler. At most one push is in flight; the
+     * stream service skips a push while the previous one is still sending.
+     */
+    @Bean(name = "dashboardExecutor")
+    public Executor dashboardExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+
+        executor.setThreadNamePrefix("dashboard-");
+
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Reference data reload executor
+     *
+     * Snapshot reloads run here instead of on the request thread, outside the caller's
+     * transaction. ReferenceDataService runs at most one reload at a time.
+     */
+    @Bean(name = "referenceDataExecutor")
+    public Executor referenceDataExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+
+        executor.setThreadNamePrefix("reference-data-");
+
+        executor.initialize();
+        return executor;
+    }
+
     /**
      * Exception handler for uncaught async exceptions
      *
@@ -23,6 +23,7 @@ import java.util.List;
  * Security validations include:
  * - Presence of all required environment variables
  * - JWT secret strength (minimum 256 bits)
+ * - MFA backup code pepper set and distinct from the JWT secret
  * - Database connection validation
  * - Redis connection validation
  * - Password strength recommendations
@@ -47,6 +48,9 @@ public class ConfigurationValidator {
     @Value("${jwt.secret:#{null}}")
     private String jwtSecret;
 
+    @Value("${security.mfa.backup-code-pepper:#{null}}")
+    private String backupCodePepper;
+
     @Value("${spring.profiles.active:default}")
     private String activeProfile;
 
@@ -86,6 +90,9 @@ public class ConfigurationValidator {
         // Validate JWT configuration
         validateJwtConfiguration(errors, warnings);
 
+        // Validate MFA configuration
+        validateMfaConfiguration(errors);
+
         // Validate email configuration (warnings only)
         validateEmailConfiguration(warnings);
 
@@ -246,6 +253,24 @@ public class ConfigurationValidator {
         }
     }
 
+    /**
+     * Validates MFA configuration
+     */
+    private void validateMfaConfiguration(List<String> errors) {
+        logger.info("Validating MFA configuration...");
+
+        if (backupCodePepper == null || backupCodePepper.trim().isEmpty()) {
+            errors.add("MFA_BACKUP_CODE_PEPPER is required but not set");
+            return;
+        }
+        if (backupCodePepper.equals(jwtSecret)) {
+            errors.add("MFA_BACKUP_CODE_PEPPER must differ from JWT_SECRET. " +
+                      "Reusing the JWT key would make every stored backup code unusable when it is rotated.");
+            return;
+        }
+        logger.info("  ✓ MFA backup code pepper configured");
+    }
+
     /**
      * Validates email configuration (warnings only)
      */
@@ -0,0 +1,141 @@
+package com.westbethel.motel_booking.config;
+
+import com.westbethel.motel_booking.common.datasource.ReplicaLagMonitor;
+import com.westbethel.motel_booking.common.datasource.RoutingDataSource;
+import com.westbethel.motel_booking.common.datasource.WorkloadClass;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * DataSource Routing Configuration
+ *
+ * Separates connection pools so reports, background jobs and search traffic do not
+ * compete with bookings:
+ * - Primary pool (spring.datasource.*): read-write transactions
+ * - Replica pool (datasource.replica.*, optional): read-only transactions
+ * - Reporting and background pools (datasource.workloads.*): small pools on the primary
+ *   with short connection timeouts, selected with {@code @Workload}
+ *
+ * Every pool is a Hikari bean, so each reports its own hikaricp.* metrics (active, pending,
+ * timeouts) under its pool name.
+ * The application DataSource routes between them per transaction (see {@link RoutingDataSource}).
+ */
+@Configuration
+public class DataSourceConfiguration {
+
+    /**
+     * Primary pool, bound exactly as Spring Boot would bind its own
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    /**
+     * Replica pool, created only when a replica is configured
+     */
+    @Bean
+    @ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "true")
+    @ConfigurationProperties("datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            @Value("${datasource.replica.url}") String url,
+            @Value("${datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${datasource.replica.password:${spring.datasource.password:}}") String password) {
+        return DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+    }
+
+    /**
+     * Reporting pool on the primary database
+     */
+    @Bean
+    @ConditionalOnProperty(name = "datasource.workloads.enabled", havingValue = "true", matchIfMissing = true)
+    @ConfigurationProperties("datasource.workloads.reporting.hikari")
+    public HikariDataSource reportingDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    /**
+     * Background pool on the primary database
+     */
+    @Bean
+    @ConditionalOnProperty(name = "datasource.workloads.enabled", havingValue = "true", matchIfMissing = true)
+    @ConfigurationProperties("datasource.workloads.background.hikari")
+    public HikariDataSource backgroundDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "true")
+    public ReplicaLagMonitor replicaLagMonitor(
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            MeterRegistry meterRegistry,
+            @Value("${datasource.replica.max-lag-ms:5000}") long maxLagMs,
+            @Value("${datasource.replica.lag-check-interval-ms:1000}") long checkIntervalMs) {
+        return new ReplicaLagMonitor(replicaDataSource, meterRegistry, maxLagMs, checkIntervalMs);
+    }
+
+    /**
+     * Application DataSource used by JPA, Flyway and JdbcTemplate.
+     * Connections are fetched lazily so routing sees the transaction's read-only flag.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+            @Qualifier("reportingDataSource") ObjectProvider<DataSource> reportingDataSource,
+            @Qualifier("backgroundDataSource") ObjectProvider<DataSource> backgroundDataSource,
+            @Qualifier("replicaDataSource") ObjectProvider<DataSource> replicaDataSource,
+            ObjectProvider<ReplicaLagMonitor> replicaLagMonitor,
+            MeterRegistry meterRegistry,
+            @Value("${datasource.replica.read-your-writes-window-ms:10000}") long readYourWritesWindowMs) {
+        Map<WorkloadClass, DataSource> workloadPools = new EnumMap<>(WorkloadClass.class);
+        reportingDataSource.ifAvailable(pool -> workloadPools.put(WorkloadClass.REPORTING, pool));
+        backgroundDataSource.ifAvailable(pool -> workloadPools.put(WorkloadClass.BACKGROUND, pool));
+
+        RoutingDataSource routing = new RoutingDataSource(
+                primaryDataSource,
+                workloadPools,
+                replicaDataSource.getIfAvailable(),
+                replicaLagMonitor.getIfAvailable(),
+                Duration.ofMillis(readYourWritesWindowMs),
+                meterRegistry);
+        routing.afterPropertiesSet();
+
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy();
+        proxy.setTargetDataSource(routing);
+        // Set up front; otherwise the proxy opens a connection at startup to find them out
+        proxy.setDefaultAutoCommit(primaryDataSource.isAutoCommit());
+        proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        proxy.afterPropertiesSet();
+        return proxy;
+    }
+}
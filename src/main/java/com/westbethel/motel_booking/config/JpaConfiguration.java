@@ -1,5 +1,6 @@
 package com.westbethel.motel_booking.config;
 
+import com.westbethel.motel_booking.performance.SqlStatementInspector;
 import org.hibernate.cfg.AvailableSettings;
 import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.context.annotation.Bean;
@@ -29,6 +30,9 @@ public class JpaConfiguration {
     @Bean
     public HibernatePropertiesCustomizer hibernatePropertiesCustomizer() {
         return (properties) -> {
+            // Names exclusion constraint violations too, so double bookings are recognised
+            properties.put(AvailableSettings.DIALECT, AppPostgreSQLDialect.class.getName());
+
             // ===================================================
             // BATCH PROCESSING OPTIMIZATION
             // ===================================================
@@ -96,6 +100,9 @@ public class JpaConfiguration {
             // Log slow queries (queries taking > 1000ms)
             properties.put(AvailableSettings.LOG_SLOW_QUERY, 1000);
 
+            // Count statements per request (statistics above are global, not per request)
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementInspector());
+
             // ===================================================
             // PERFORMANCE HINTS
             // ===================================================
@@ -1,7 +1,11 @@
 package com.westbethel.motel_booking.config;
 
 import com.westbethel.motel_booking.security.filter.JwtAuthenticationFilter;
+import com.westbethel.motel_booking.security.service.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -14,8 +18,8 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -33,11 +37,26 @@ public class SecurityConfig {
     private final JwtAuthenticationFilter jwtAuthFilter;
     private final UserDetailsService userDetailsService;
 
+    @Value("${security.password-hashing.strength:12}")
+    private int hashStrength;
+
+    @Value("${security.password-hashing.target-latency-ms:250}")
+    private long hashTargetLatencyMs;
+
+    @Value("${security.password-hashing.threads:0}")
+    private int hashThreads;
+
+    @Value("${security.password-hashing.queue-capacity:64}")
+    private int hashQueueCapacity;
+
+    @Value("${security.password-hashing.timeout-ms:5000}")
+    private long hashTimeoutMs;
+
     /**
      * Configure security filter chain with authorization rules.
      */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, PasswordEncoder passwordEncoder) throws Exception {
         http
                 // Disable CSRF for stateless JWT authentication
                 // Note: For traditional web apps with forms, enable CSRF with CookieCsrfTokenRepository
@@ -45,11 +64,16 @@ public class SecurityConfig {
 
                 // Configure authorization rules
                 .authorizeHttpRequests(auth -> auth
+                        // Async dispatches (SSE streams) continue a request that was already authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         // Public endpoints - no authentication required
                         .requestMatchers("/api/v1/auth/**").permitAll()
                         .requestMatchers("/api/v1/csrf").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/v1/availability/**").permitAll()
                         .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/latency/**").hasRole("ADMIN")
+                        .requestMatchers("/actuator/profiling/**").hasRole("ADMIN")
                         .requestMatchers("/error").permitAll()
 
                         // Reservation endpoints - require USER role
@@ -83,7 +107,7 @@ public class SecurityConfig {
                 )
 
                 // Set authentication provider
-                .authenticationProvider(authenticationProvider())
+                .authenticationProvider(authenticationProvider(passwordEncoder))
 
                 // Add JWT filter before UsernamePasswordAuthenticationFilter
                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
@@ -93,21 +117,30 @@ public class SecurityConfig {
 
     /**
      * Configure authentication provider with UserDetailsService and PasswordEncoder.
+     * Hashes below the configured work factor are upgraded on successful login.
      */
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
+        if (userDetailsService instanceof UserDetailsPasswordService passwordService) {
+            authProvider.setUserDetailsPasswordService(passwordService);
+        }
         return authProvider;
     }
 
     /**
-     * Password encoder bean using BCrypt with strength 12.
+     * Password encoder bean using BCrypt on a bounded, CPU-sized executor.
+     * The work factor is pinned in configuration (12 by default); the strength suggested for
+     * this host's hardware is only logged.
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(hashStrength,
+                hashThreads, hashQueueCapacity, hashTimeoutMs, meterRegistry);
+        encoder.logCalibration(hashTargetLatencyMs);
+        return encoder;
     }
 
     /**
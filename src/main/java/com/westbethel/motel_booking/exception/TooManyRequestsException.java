@@ -0,0 +1,23 @@
+package com.westbethel.motel_booking.exception;
+
+/**
+ * Exception thrown when a request is shed because a bounded resource is saturated.
+ */
+public class TooManyRequestsException extends BookingException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super("TOO_MANY_REQUESTS", message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public TooManyRequestsException(String message, long retryAfterSeconds, Throwable cause) {
+        super("TOO_MANY_REQUESTS", message, cause);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -2,8 +2,10 @@ package com.westbethel.motel_booking.inventory.domain;
 
 import com.westbethel.motel_booking.common.model.HousekeepingStatus;
 import com.westbethel.motel_booking.common.model.RoomStatus;
+import com.westbethel.motel_booking.common.reference.ReferenceDataEntityListener;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
@@ -15,6 +17,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 @Entity
+@EntityListeners(ReferenceDataEntityListener.class)
 @Table(name = "rooms")
 @Getter
 @Builder
@@ -1,11 +1,13 @@
 package com.westbethel.motel_booking.inventory.domain;
 
 import com.westbethel.motel_booking.common.model.Money;
+import com.westbethel.motel_booking.common.reference.ReferenceDataEntityListener;
 import jakarta.persistence.CollectionTable;
 import jakarta.persistence.Column;
 import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
@@ -20,6 +22,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 @Entity
+@EntityListeners(ReferenceDataEntityListener.class)
 @Table(name = "room_types")
 @Getter
 @Builder
@@ -33,7 +33,9 @@ public class Alert {
      */
     public enum Type {
         HIGH_ERROR_RATE,
+        ERROR_BUDGET_BURN,
         SLOW_RESPONSE_TIME,
+        LATENCY_SLO_BURN,
         HIGH_MEMORY_USAGE,
         HIGH_DATABASE_CONNECTIONS,
         HIGH_CACHE_MISS_RATE,
@@ -0,0 +1,68 @@
+package com.westbethel.motel_booking.monitoring.alerts;
+
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Alert Rule
+ *
+ * Declarative alert condition: a measured value, the threshold it fires above and the
+ * lower threshold it must fall below before resolving (hysteresis), so a value hovering
+ * around the threshold does not flap.
+ *
+ * The measure returns NaN when there is not enough data to judge; the rule then keeps
+ * its current state.
+ *
+ * @param type           alert raised by this rule, one rule per type
+ * @param severity       severity of the raised alert
+ * @param title          alert title
+ * @param description    what is measured, used in the alert message
+ * @param measure        current value of the condition
+ * @param threshold      fire when the value is above this
+ * @param clearThreshold resolve when the value is below this
+ * @param forEvaluations consecutive evaluations above the threshold before firing
+ * @param displayScale   factor applied to values in the alert, e.g. 100 for ratios shown in %
+ * @param unit           unit of the displayed values
+ */
+@Builder
+public record AlertRule(
+        Alert.Type type,
+        Alert.Severity severity,
+        String title,
+        String description,
+        DoubleSupplier measure,
+        double threshold,
+        double clearThreshold,
+        int forEvaluations,
+        double displayScale,
+        String unit) {
+
+    public AlertRule {
+        if (clearThreshold > threshold) {
+            throw new IllegalArgumentException("Clear threshold above fire threshold for " + type);
+        }
+        forEvaluations = Math.max(forEvaluations, 1);
+        displayScale = displayScale == 0 ? 1 : displayScale;
+    }
+
+    /**
+     * Alert for a breaching value
+     */
+    public Alert toAlert(double value) {
+        String message = String.format("%s is %.2f %s, exceeding threshold of %.2f %s",
+            description, value * displayScale, unit, threshold * displayScale, unit);
+        return Alert.builder()
+            .type(type)
+            .severity(severity)
+            .title(title)
+            .message(message)
+            .currentValue(value * displayScale)
+            .threshold(threshold * displayScale)
+            .unit(unit)
+            .timestamp(LocalDateTime.now())
+            .resolved(false)
+            .build();
+    }
+}
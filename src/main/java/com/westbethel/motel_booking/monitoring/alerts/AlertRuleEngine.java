@@ -0,0 +1,106 @@
+package com.westbethel.motel_booking.monitoring.alerts;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Alert Rule Engine
+ *
+ * Evaluates a fixed set of {@link AlertRule}s and keeps per-rule state:
+ * - OK: below the threshold
+ * - PENDING: above the threshold for fewer than {@code forEvaluations} evaluations
+ * - FIRING: fired, until the value drops below the clear threshold
+ *
+ * Only state changes are reported, so a firing rule produces one alert however many
+ * evaluations it stays above the threshold.
+ *
+ * Not thread-safe; evaluate from a single thread.
+ */
+public class AlertRuleEngine {
+
+    /**
+     * Rule state
+     */
+    public enum State {
+        OK,
+        PENDING,
+        FIRING
+    }
+
+    /**
+     * State change of one rule
+     *
+     * @param rule   the rule
+     * @param value  measured value that caused the change
+     * @param firing true when the rule fired, false when it resolved
+     */
+    public record Transition(AlertRule rule, double value, boolean firing) {
+    }
+
+    private final List<AlertRule> rules;
+    private final State[] states;
+    private final int[] breaches;
+
+    public AlertRuleEngine(List<AlertRule> rules) {
+        this.rules = List.copyOf(rules);
+        this.states = new State[this.rules.size()];
+        this.breaches = new int[this.rules.size()];
+        Arrays.fill(states, State.OK);
+    }
+
+    /**
+     * Evaluate every rule once
+     *
+     * @return rules that fired or resolved in this evaluation
+     */
+    public List<Transition> evaluate() {
+        List<Transition> transitions = new ArrayList<>();
+        for (int i = 0; i < rules.size(); i++) {
+            AlertRule rule = rules.get(i);
+            double value = rule.measure().getAsDouble();
+            if (Double.isNaN(value)) {
+                continue;
+            }
+
+            if (states[i] == State.FIRING) {
+                if (value < rule.clearThreshold()) {
+                    states[i] = State.OK;
+                    breaches[i] = 0;
+                    transitions.add(new Transition(rule, value, false));
+                }
+            } else if (value > rule.threshold()) {
+                breaches[i]++;
+                if (breaches[i] >= rule.forEvaluations()) {
+                    states[i] = State.FIRING;
+                    transitions.add(new Transition(rule, value, true));
+                } else {
+                    states[i] = State.PENDING;
+                }
+            } else {
+                states[i] = State.OK;
+                breaches[i] = 0;
+            }
+        }
+        return transitions;
+    }
+
+    /**
+     * Current state of the rule for an alert type
+     */
+    public State state(Alert.Type type) {
+        for (int i = 0; i < rules.size(); i++) {
+            if (rules.get(i).type() == type) {
+                return states[i];
+            }
+        }
+        throw new IllegalArgumentException("No rule for " + type);
+    }
+
+    /**
+     * Rules in evaluation order
+     */
+    public List<AlertRule> rules() {
+        return rules;
+    }
+}
@@ -1,31 +1,53 @@
 package com.westbethel.motel_booking.monitoring.alerts;
 
+import com.westbethel.motel_booking.monitoring.alerts.MetricWindows.Signal;
+import com.westbethel.motel_booking.monitoring.latency.LatencySnapshot;
+import com.westbethel.motel_booking.monitoring.latency.LatencyTracker;
+import com.westbethel.motel_booking.monitoring.latency.LatencyWindow;
 import com.westbethel.motel_booking.monitoring.metrics.BusinessMetrics;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
 
 /**
  * Alerting Service
  *
  * Monitors system metrics and triggers alerts when thresholds are exceeded.
  * Sends notifications to administrators via email and logs.
+ *
+ * Conditions are declared as {@link AlertRule}s over sliding windows ({@link MetricWindows})
+ * rather than since-startup totals, and evaluated every few seconds by an
+ * {@link AlertRuleEngine}. Each evaluation reads a fixed set of pre-resolved meters and
+ * one snapshot of each latency window, including the minute in progress.
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class AlertingService {
 
-    private final BusinessMetrics businessMetrics;
-    private final MeterRegistry meterRegistry;
+    private final LatencyTracker latencyTracker;
+    private final MetricWindows windows;
+
+    // Fewer requests than this make a p99 too noisy to alert on
+    private static final long MIN_LATENCY_SAMPLES = 50;
+    private static final LatencySnapshot INSUFFICIENT_LATENCY = new LatencySnapshot(
+        LatencyTracker.ALL_ROUTES, null, LatencyWindow.FIVE_MINUTES.label(), 0,
+        Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN);
+
+    // Rules resolve once the value is this far below the threshold
+    private static final double HYSTERESIS = 0.8;
+
+    private static final Duration ONE_MINUTE = Duration.ofMinutes(1);
+    private static final Duration FIVE_MINUTES = Duration.ofMinutes(5);
+    private static final Duration ONE_HOUR = Duration.ofHours(1);
 
     // Alert thresholds (configurable via properties)
     @Value("${monitoring.alerts.error-rate-threshold:0.05}")
@@ -34,6 +56,12 @@ public class AlertingService {
     @Value("${monitoring.alerts.response-time-threshold:1000}")
     private long responseTimeThreshold;
 
+    @Value("${monitoring.alerts.slo-burn-rate-threshold:14.4}")
+    private double sloBurnRateThreshold;
+
+    @Value("${monitoring.alerts.availability-target:0.999}")
+    private double availabilityTarget;
+
     @Value("${monitoring.alerts.memory-threshold:0.80}")
     private double memoryThreshold;
 
@@ -46,215 +74,164 @@ public class AlertingService {
     @Value("${monitoring.alerts.email-queue-threshold:1000}")
     private int emailQueueThreshold;
 
+    @Value("${monitoring.alerts.payment-failure-threshold:0.10}")
+    private double paymentFailureThreshold;
+
+    @Value("${monitoring.alerts.auth-failure-threshold:0.20}")
+    private double authFailureThreshold;
+
+    // Fewer events than this in a window make a ratio too noisy to alert on
+    @Value("${monitoring.alerts.min-window-events:10}")
+    private int minWindowEvents;
+
     // Track active alerts to avoid spam
     private final ConcurrentHashMap<Alert.Type, Alert> activeAlerts = new ConcurrentHashMap<>();
 
-    /**
-     * Check alert conditions every minute
-     */
-    @Scheduled(fixedDelay = 60000) // Every 60 seconds
-    public void checkAlertConditions() {
-        log.trace("Checking alert conditions");
+    // Built on first evaluation, after the thresholds are injected
+    private AlertRuleEngine engine;
 
-        try {
-            checkErrorRate();
-            checkResponseTime();
-            checkMemoryUsage();
-            checkCacheMissRate();
-            checkEmailQueueSize();
-            checkPaymentFailures();
-            checkAuthenticationFailures();
-        } catch (Exception e) {
-            log.error("Error checking alert conditions", e);
-        }
-    }
+    private LatencySnapshot latencyShort;
+    private LatencySnapshot latencyLong;
 
-    /**
-     * Check error rate
-     */
-    private void checkErrorRate() {
-        try {
-            var successCounter = meterRegistry.find("http.server.requests")
-                .tag("status", "200")
-                .counter();
-            var errorCounter = meterRegistry.find("http.server.requests")
-                .tag("status", "500")
-                .counter();
-
-            if (successCounter != null && errorCounter != null) {
-                double total = successCounter.count() + errorCounter.count();
-                if (total > 0) {
-                    double errorRate = errorCounter.count() / total;
-
-                    if (errorRate > errorRateThreshold) {
-                        Alert alert = Alert.critical(
-                            Alert.Type.HIGH_ERROR_RATE,
-                            "High Error Rate Detected",
-                            String.format("Error rate is %.2f%%, exceeding threshold of %.2f%%",
-                                errorRate * 100, errorRateThreshold * 100),
-                            errorRate * 100,
-                            errorRateThreshold * 100,
-                            "%"
-                        );
-                        sendAlert(alert);
-                    } else {
-                        resolveAlert(Alert.Type.HIGH_ERROR_RATE);
-                    }
-                }
-            }
-        } catch (Exception e) {
-            log.debug("Could not check error rate", e);
-        }
+    public AlertingService(BusinessMetrics businessMetrics, MeterRegistry meterRegistry, LatencyTracker latencyTracker) {
+        this.latencyTracker = latencyTracker;
+        this.windows = new MetricWindows(businessMetrics, latencyTracker);
+
+        Gauge.builder("alerts.active", activeAlerts,
+                alerts -> alerts.values().stream().filter(alert -> !alert.isResolved()).count())
+            .description("Active (unresolved) alerts")
+            .register(meterRegistry);
     }
 
     /**
-     * Check response time
+     * Sample the metric windows and evaluate all rules
      */
-    private void checkResponseTime() {
+    @Scheduled(fixedDelayString = "${monitoring.alerts.evaluation-interval-ms:5000}")
+    public synchronized void checkAlertConditions() {
+        log.trace("Checking alert conditions");
+
         try {
-            var timer = meterRegistry.find("http.server.requests").timer();
-            if (timer != null) {
-                long avgResponseTime = (long) timer.mean(TimeUnit.MILLISECONDS);
-
-                if (avgResponseTime > responseTimeThreshold) {
-                    Alert alert = Alert.warning(
-                        Alert.Type.SLOW_RESPONSE_TIME,
-                        "Slow Response Time",
-                        String.format("Average response time is %dms, exceeding threshold of %dms",
-                            avgResponseTime, responseTimeThreshold),
-                        (double) avgResponseTime,
-                        (double) responseTimeThreshold,
-                        "ms"
-                    );
-                    sendAlert(alert);
+            windows.sample();
+            latencyShort = latencyTracker.overall(LatencyWindow.FIVE_MINUTES);
+            latencyLong = latencyTracker.overall(LatencyWindow.ONE_HOUR);
+            for (AlertRuleEngine.Transition transition : engine().evaluate()) {
+                if (transition.firing()) {
+                    sendAlert(transition.rule().toAlert(transition.value()));
                 } else {
-                    resolveAlert(Alert.Type.SLOW_RESPONSE_TIME);
+                    resolveAlert(transition.rule().type());
                 }
             }
         } catch (Exception e) {
-            log.debug("Could not check response time", e);
-        }
-    }
-
-    /**
-     * Check memory usage
-     */
-    private void checkMemoryUsage() {
-        Runtime runtime = Runtime.getRuntime();
-        long maxMemory = runtime.maxMemory();
-        long usedMemory = runtime.totalMemory() - runtime.freeMemory();
-        double usagePercentage = (double) usedMemory / maxMemory;
-
-        if (usagePercentage > memoryThreshold) {
-            Alert alert = Alert.critical(
-                Alert.Type.HIGH_MEMORY_USAGE,
-                "High Memory Usage",
-                String.format("Memory usage is %.2f%%, exceeding threshold of %.2f%%",
-                    usagePercentage * 100, memoryThreshold * 100),
-                usagePercentage * 100,
-                memoryThreshold * 100,
-                "%"
-            );
-            sendAlert(alert);
-        } else {
-            resolveAlert(Alert.Type.HIGH_MEMORY_USAGE);
+            log.error("Error checking alert conditions", e);
         }
     }
 
-    /**
-     * Check cache miss rate
-     */
-    private void checkCacheMissRate() {
-        double cacheHitRatio = businessMetrics.getCacheHitRatio();
-        double cacheMissRate = 1.0 - cacheHitRatio;
-
-        if (cacheMissRate > cacheMissThreshold && cacheHitRatio > 0) {
-            Alert alert = Alert.warning(
-                Alert.Type.HIGH_CACHE_MISS_RATE,
-                "High Cache Miss Rate",
-                String.format("Cache miss rate is %.2f%%, exceeding threshold of %.2f%%",
-                    cacheMissRate * 100, cacheMissThreshold * 100),
-                cacheMissRate * 100,
-                cacheMissThreshold * 100,
-                "%"
-            );
-            sendAlert(alert);
-        } else {
-            resolveAlert(Alert.Type.HIGH_CACHE_MISS_RATE);
+    private AlertRuleEngine engine() {
+        if (engine == null) {
+            engine = new AlertRuleEngine(rules());
         }
+        return engine;
     }
 
     /**
-     * Check email queue size
+     * Alert rules
      */
-    private void checkEmailQueueSize() {
-        try {
-            var gauge = meterRegistry.find("email.queue.size").gauge();
-            if (gauge != null) {
-                int queueSize = (int) gauge.value();
-
-                if (queueSize > emailQueueThreshold) {
-                    Alert alert = Alert.warning(
-                        Alert.Type.LARGE_EMAIL_QUEUE,
-                        "Large Email Queue",
-                        String.format("Email queue size is %d, exceeding threshold of %d",
-                            queueSize, emailQueueThreshold),
-                        (double) queueSize,
-                        (double) emailQueueThreshold,
-                        "emails"
-                    );
-                    sendAlert(alert);
-                } else {
-                    resolveAlert(Alert.Type.LARGE_EMAIL_QUEUE);
-                }
-            }
-        } catch (Exception e) {
-            log.debug("Could not check email queue size", e);
-        }
+    private List<AlertRule> rules() {
+        double availabilityBudget = 1.0 - availabilityTarget;
+        double latencyBudget = 1.0 - latencyTracker.getSloTarget();
+
+        return List.of(
+            rule(Alert.Type.HIGH_ERROR_RATE, Alert.Severity.CRITICAL, "High Error Rate Detected",
+                "Error rate over the last minute", "%", 100,
+                errorRateThreshold,
+                () -> windows.ratio(Signal.SERVER_ERRORS, ONE_MINUTE, minWindowEvents, Signal.REQUESTS)),
+
+            // Multi-window burn rate: the long window shows the error budget is really being
+            // spent, the short one that it is still happening
+            rule(Alert.Type.ERROR_BUDGET_BURN, Alert.Severity.CRITICAL, "Error Budget Burning",
+                "Error budget burn rate (lower of 1h and 5m)", "x", 1,
+                sloBurnRateThreshold,
+                () -> Math.min(
+                    windows.ratio(Signal.SERVER_ERRORS, ONE_HOUR, minWindowEvents, Signal.REQUESTS),
+                    windows.ratio(Signal.SERVER_ERRORS, FIVE_MINUTES, minWindowEvents, Signal.REQUESTS))
+                    / availabilityBudget),
+
+            rule(Alert.Type.SLOW_RESPONSE_TIME, Alert.Severity.WARNING, "Slow Response Time",
+                "p99 response time over the last 5 minutes", "ms", 1,
+                responseTimeThreshold,
+                () -> latency(false).p99Ms()),
+
+            rule(Alert.Type.LATENCY_SLO_BURN, Alert.Severity.CRITICAL, "Latency SLO Burning",
+                "Requests slower than " + latencyTracker.getSloThresholdMillis()
+                    + "ms are burning the error budget (lower of 1h and 5m)", "x", 1,
+                sloBurnRateThreshold,
+                () -> Math.min(latency(true).sloBurnRate(), latency(false).sloBurnRate())),
+
+            AlertRule.builder()
+                .type(Alert.Type.HIGH_MEMORY_USAGE)
+                .severity(Alert.Severity.CRITICAL)
+                .title("High Memory Usage")
+                .description("Memory usage")
+                .measure(() -> windows.latest(Signal.MEMORY_USAGE))
+                .threshold(memoryThreshold)
+                .clearThreshold(memoryThreshold * HYSTERESIS)
+                // Heap usage swings with every collection; only sustained usage counts
+                .forEvaluations(3)
+                .displayScale(100)
+                .unit("%")
+                .build(),
+
+            rule(Alert.Type.HIGH_CACHE_MISS_RATE, Alert.Severity.WARNING, "High Cache Miss Rate",
+                "Cache miss rate over the last 5 minutes", "%", 100,
+                cacheMissThreshold,
+                () -> windows.ratio(Signal.CACHE_MISSES, FIVE_MINUTES, minWindowEvents,
+                    Signal.CACHE_HITS, Signal.CACHE_MISSES)),
+
+            rule(Alert.Type.LARGE_EMAIL_QUEUE, Alert.Severity.WARNING, "Large Email Queue",
+                "Email queue size", "emails", 1,
+                emailQueueThreshold,
+                () -> windows.latest(Signal.EMAIL_QUEUE)),
+
+            rule(Alert.Type.PAYMENT_FAILURE_SPIKE, Alert.Severity.CRITICAL, "High Payment Failure Rate",
+                "Payment failure rate over the last 5 minutes", "%", 100,
+                paymentFailureThreshold,
+                () -> windows.ratio(Signal.PAYMENTS_FAILURE, FIVE_MINUTES, minWindowEvents,
+                    Signal.PAYMENTS_SUCCESS, Signal.PAYMENTS_FAILURE)),
+
+            rule(Alert.Type.FAILED_AUTH_SPIKE, Alert.Severity.WARNING, "High Authentication Failure Rate",
+                "Authentication failure rate over the last 5 minutes", "%", 100,
+                authFailureThreshold,
+                () -> windows.ratio(Signal.AUTH_FAILURE, FIVE_MINUTES, minWindowEvents,
+                    Signal.AUTH_SUCCESS, Signal.AUTH_FAILURE))
+        );
     }
 
-    /**
-     * Check payment failure rate
-     */
-    private void checkPaymentFailures() {
-        double paymentSuccessRate = businessMetrics.getPaymentSuccessRate();
-
-        if (paymentSuccessRate < 0.90 && paymentSuccessRate > 0) {
-            Alert alert = Alert.critical(
-                Alert.Type.PAYMENT_FAILURE_SPIKE,
-                "High Payment Failure Rate",
-                String.format("Payment success rate is %.2f%%, below threshold of 90%%",
-                    paymentSuccessRate * 100),
-                paymentSuccessRate * 100,
-                90.0,
-                "%"
-            );
-            sendAlert(alert);
-        } else {
-            resolveAlert(Alert.Type.PAYMENT_FAILURE_SPIKE);
-        }
+    private static AlertRule rule(Alert.Type type, Alert.Severity severity, String title, String description,
+                                  String unit, double displayScale, double threshold,
+                                  DoubleSupplier measure) {
+        return AlertRule.builder()
+            .type(type)
+            .severity(severity)
+            .title(title)
+            .description(description)
+            .measure(measure)
+            .threshold(threshold)
+            .clearThreshold(threshold * HYSTERESIS)
+            .forEvaluations(1)
+            .displayScale(displayScale)
+            .unit(unit)
+            .build();
     }
 
     /**
-     * Check authentication failure rate
+     * Overall latency over 1h ({@code longWindow}) or 5m, or NaN values with too few samples.
+     * Snapshots are taken once per evaluation, so every latency rule sees the same values.
      */
-    private void checkAuthenticationFailures() {
-        double authSuccessRate = businessMetrics.getAuthSuccessRate();
-
-        if (authSuccessRate < 0.80 && authSuccessRate > 0) {
-            Alert alert = Alert.warning(
-                Alert.Type.FAILED_AUTH_SPIKE,
-                "High Authentication Failure Rate",
-                String.format("Authentication success rate is %.2f%%, below threshold of 80%%",
-                    authSuccessRate * 100),
-                authSuccessRate * 100,
-                80.0,
-                "%"
-            );
-            sendAlert(alert);
-        } else {
-            resolveAlert(Alert.Type.FAILED_AUTH_SPIKE);
+    private LatencySnapshot latency(boolean longWindow) {
+        if (latencyShort.count() < MIN_LATENCY_SAMPLES) {
+            return INSUFFICIENT_LATENCY;
         }
+        return longWindow ? latencyLong : latencyShort;
     }
 
     /**
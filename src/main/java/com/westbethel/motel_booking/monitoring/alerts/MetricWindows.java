@@ -0,0 +1,135 @@
+package com.westbethel.motel_booking.monitoring.alerts;
+
+import com.westbethel.motel_booking.monitoring.latency.LatencyTracker;
+import com.westbethel.motel_booking.monitoring.metrics.BusinessMetrics;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Sliding windows over in-process meter snapshots.
+ *
+ * Every {@link #sample()} reads a fixed set of signals (pre-resolved counters and gauges,
+ * never a registry search) into a ring buffer. Windowed values are differences between the
+ * newest sample and the newest sample at least one window old, so a rate over the last
+ * minute reacts to a spike within one evaluation instead of being diluted by everything
+ * since startup. While less history than the window exists, the oldest sample is used.
+ */
+public class MetricWindows {
+
+    /**
+     * Sampled signals. Cumulative counters unless noted.
+     */
+    public enum Signal {
+        REQUESTS,
+        SERVER_ERRORS,
+        PAYMENTS_SUCCESS,
+        PAYMENTS_FAILURE,
+        AUTH_SUCCESS,
+        AUTH_FAILURE,
+        CACHE_HITS,
+        CACHE_MISSES,
+        /** Gauge: heap used / max */
+        MEMORY_USAGE,
+        /** Gauge: emails waiting to be sent */
+        EMAIL_QUEUE
+    }
+
+    private static final Signal[] SIGNALS = Signal.values();
+
+    // About 5.7 hours at the default 5 s evaluation interval; the 1h window needs an interval
+    // of at least 0.9 s, below that it falls back to the oldest sample
+    static final int CAPACITY = 4096;
+
+    private final BusinessMetrics businessMetrics;
+    private final LatencyTracker latencyTracker;
+    private final LongSupplier nanoClock;
+
+    private final long[] times = new long[CAPACITY];
+    private final double[][] values = new double[CAPACITY][SIGNALS.length];
+    private int newest = -1;
+    private int size;
+
+    public MetricWindows(BusinessMetrics businessMetrics, LatencyTracker latencyTracker) {
+        this(businessMetrics, latencyTracker, System::nanoTime);
+    }
+
+    MetricWindows(BusinessMetrics businessMetrics, LatencyTracker latencyTracker, LongSupplier nanoClock) {
+        this.businessMetrics = businessMetrics;
+        this.latencyTracker = latencyTracker;
+        this.nanoClock = nanoClock;
+        sample();
+    }
+
+    /**
+     * Take one snapshot of every signal.
+     */
+    public synchronized void sample() {
+        newest = (newest + 1) % CAPACITY;
+        size = Math.min(size + 1, CAPACITY);
+        times[newest] = nanoClock.getAsLong();
+
+        double[] row = values[newest];
+        row[Signal.REQUESTS.ordinal()] = latencyTracker.count(LatencyTracker.Outcome.SUCCESS)
+                + latencyTracker.count(LatencyTracker.Outcome.CLIENT_ERROR)
+                + latencyTracker.count(LatencyTracker.Outcome.SERVER_ERROR);
+        row[Signal.SERVER_ERRORS.ordinal()] = latencyTracker.count(LatencyTracker.Outcome.SERVER_ERROR);
+        row[Signal.PAYMENTS_SUCCESS.ordinal()] = businessMetrics.getPaymentsSuccessCounter().count();
+        row[Signal.PAYMENTS_FAILURE.ordinal()] = businessMetrics.getPaymentsFailureCounter().count();
+        row[Signal.AUTH_SUCCESS.ordinal()] = businessMetrics.getAuthSuccessCounter().count();
+        row[Signal.AUTH_FAILURE.ordinal()] = businessMetrics.getAuthFailureCounter().count();
+        row[Signal.CACHE_HITS.ordinal()] = businessMetrics.getCacheHitCounter().count();
+        row[Signal.CACHE_MISSES.ordinal()] = businessMetrics.getCacheMissCounter().count();
+
+        Runtime runtime = Runtime.getRuntime();
+        row[Signal.MEMORY_USAGE.ordinal()] =
+                (double) (runtime.totalMemory() - runtime.freeMemory()) / runtime.maxMemory();
+        row[Signal.EMAIL_QUEUE.ordinal()] = businessMetrics.getEmailQueueSize();
+    }
+
+    /**
+     * Latest value of a signal.
+     */
+    public synchronized double latest(Signal signal) {
+        return values[newest][signal.ordinal()];
+    }
+
+    /**
+     * Increase of a cumulative signal over the window.
+     */
+    public synchronized double increase(Signal signal, Duration window) {
+        int base = baseline(window);
+        return Math.max(values[newest][signal.ordinal()] - values[base][signal.ordinal()], 0.0);
+    }
+
+    /**
+     * {@code numerator / (sum of denominators)} over the window, or NaN if the denominator
+     * grew by fewer than {@code minEvents}.
+     */
+    public synchronized double ratio(Signal numerator, Duration window, double minEvents, Signal... denominators) {
+        double total = 0;
+        for (Signal denominator : denominators) {
+            total += increase(denominator, window);
+        }
+        if (total <= 0 || total < minEvents) {
+            return Double.NaN;
+        }
+        return increase(numerator, window) / total;
+    }
+
+    /**
+     * Newest sample taken at least {@code window} before the newest one, or the oldest sample.
+     */
+    private int baseline(Duration window) {
+        long cutoff = times[newest] - window.toNanos();
+        int index = newest;
+        for (int i = 1; i < size; i++) {
+            int candidate = (newest - i + CAPACITY) % CAPACITY;
+            index = candidate;
+            if (times[candidate] - cutoff <= 0) {
+                break;
+            }
+        }
+        return index;
+    }
+}
@@ -0,0 +1,201 @@
+package com.westbethel.motel_booking.monitoring.dashboard;
+
+import com.westbethel.motel_booking.notification.events.BookingCancelledEvent;
+import com.westbethel.motel_booking.notification.events.BookingCreatedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Incremental aggregation of the dashboard's "today" figures.
+ *
+ * Instead of recomputing totals on every request, each {@link #accumulate()} call reads the
+ * cumulative business and HTTP meters once, adds the delta since the previous call to
+ * today's running totals, and derives request rate and error rate over the interval.
+ * Requests are read from the application's own {@code app.http.requests} timers only, so
+ * Boot's {@code http.server.requests} does not count them twice; errors are those with
+ * outcome {@code SERVER_ERROR}.
+ * Totals reset when the day changes. Recent bookings are kept from booking domain events.
+ *
+ * Driven at a fixed cadence by {@link DashboardStreamService}; cost is independent of
+ * how many dashboards are open.
+ */
+@Slf4j
+@Component
+public class DashboardAggregator {
+
+    private static final int RECENT_BOOKINGS = 10;
+    private static final String REQUESTS_METER = "app.http.requests";
+    private static final String SERVER_ERROR = "SERVER_ERROR";
+
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+
+    // Cumulative meter values at the previous sample
+    private double lastBookingsCreated;
+    private double lastBookingsCancelled;
+    private double lastRevenueCents;
+    private double lastAuthAttempts;
+    private long lastRequests;
+    private long lastServerErrors;
+    private long lastSampleNanos;
+
+    private LocalDate day;
+    private DailyTotals totals;
+
+    private final Deque<DashboardMetrics.RecentBooking> recentBookings = new ArrayDeque<>(RECENT_BOOKINGS);
+
+    @Autowired
+    public DashboardAggregator(MeterRegistry meterRegistry) {
+        this(meterRegistry, Clock.systemDefaultZone());
+    }
+
+    DashboardAggregator(MeterRegistry meterRegistry, Clock clock) {
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        this.day = LocalDate.now(clock);
+        this.totals = DailyTotals.EMPTY;
+        this.lastSampleNanos = System.nanoTime();
+    }
+
+    /**
+     * Fold the meter deltas since the previous call into today's totals.
+     *
+     * @return the updated totals
+     */
+    public synchronized DailyTotals accumulate() {
+        LocalDate today = LocalDate.now(clock);
+        if (!today.equals(day)) {
+            log.debug("Dashboard day rolled over from {} to {}", day, today);
+            day = today;
+            totals = DailyTotals.EMPTY;
+        }
+
+        double bookingsCreated = counter("bookings.created");
+        double bookingsCancelled = counter("bookings.cancelled");
+        double revenueCents = gauge("revenue.total");
+        double authAttempts = counter("auth.success") + counter("auth.failure");
+
+        long requests = 0;
+        long serverErrors = 0;
+        for (Timer timer : meterRegistry.find(REQUESTS_METER).timers()) {
+            long count = timer.count();
+            requests += count;
+            if (SERVER_ERROR.equals(timer.getId().getTag("outcome"))) {
+                serverErrors += count;
+            }
+        }
+
+        long now = System.nanoTime();
+        double elapsedSeconds = Math.max((now - lastSampleNanos) / 1e9, 1e-3);
+        long requestDelta = Math.max(requests - lastRequests, 0);
+        long errorDelta = Math.max(serverErrors - lastServerErrors, 0);
+
+        totals = new DailyTotals(
+                totals.bookings() + delta(bookingsCreated, lastBookingsCreated),
+                totals.cancellations() + delta(bookingsCancelled, lastBookingsCancelled),
+                totals.revenueCents() + delta(revenueCents, lastRevenueCents),
+                totals.authAttempts() + delta(authAttempts, lastAuthAttempts),
+                requestDelta / elapsedSeconds,
+                requestDelta > 0 ? (double) errorDelta / requestDelta : 0.0);
+
+        lastBookingsCreated = bookingsCreated;
+        lastBookingsCancelled = bookingsCancelled;
+        lastRevenueCents = revenueCents;
+        lastAuthAttempts = authAttempts;
+        lastRequests = requests;
+        lastServerErrors = serverErrors;
+        lastSampleNanos = now;
+        return totals;
+    }
+
+    /**
+     * Totals as of the last {@link #accumulate()} call.
+     */
+    public synchronized DailyTotals totals() {
+        return totals;
+    }
+
+    /**
+     * Most recent bookings, newest first.
+     */
+    public List<DashboardMetrics.RecentBooking> recentBookings() {
+        synchronized (recentBookings) {
+            return new ArrayList<>(recentBookings);
+        }
+    }
+
+    @EventListener
+    public void onBookingCreated(BookingCreatedEvent event) {
+        addRecentBooking(DashboardMetrics.RecentBooking.builder()
+                .guestName(event.getFirstName())
+                .amount(event.getTotalAmount())
+                .status("CONFIRMED")
+                .createdAt(event.getOccurredAt().toLocalDateTime())
+                .build());
+    }
+
+    @EventListener
+    public void onBookingCancelled(BookingCancelledEvent event) {
+        addRecentBooking(DashboardMetrics.RecentBooking.builder()
+                .guestName(event.getFirstName())
+                .amount(event.getRefundAmount())
+                .status("CANCELLED")
+                .createdAt(event.getCancelledAt() != null ? event.getCancelledAt().toLocalDateTime() : LocalDateTime.now(clock))
+                .build());
+    }
+
+    private void addRecentBooking(DashboardMetrics.RecentBooking booking) {
+        synchronized (recentBookings) {
+            if (recentBookings.size() == RECENT_BOOKINGS) {
+                recentBookings.removeLast();
+            }
+            recentBookings.addFirst(booking);
+        }
+    }
+
+    private double counter(String name) {
+        Counter counter = meterRegistry.find(name).counter();
+        return counter != null ? counter.count() : 0.0;
+    }
+
+    private double gauge(String name) {
+        Gauge gauge = meterRegistry.find(name).gauge();
+        return gauge != null ? gauge.value() : 0.0;
+    }
+
+    private static long delta(double current, double previous) {
+        return Math.max(Math.round(current - previous), 0);
+    }
+
+    /**
+     * Today's running totals plus rates over the last aggregation interval.
+     */
+    public record DailyTotals(long bookings, long cancellations, long revenueCents, long authAttempts,
+                              double requestsPerSecond, double errorRate) {
+
+        static final DailyTotals EMPTY = new DailyTotals(0, 0, 0, 0, 0.0, 0.0);
+
+        public BigDecimal revenue() {
+            return BigDecimal.valueOf(revenueCents, 2);
+        }
+
+        public double cancellationRate() {
+            return bookings > 0 ? (double) cancellations / bookings : 0.0;
+        }
+    }
+}
@@ -5,16 +5,19 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 /**
  * Dashboard Controller
  *
  * Provides real-time metrics and system health endpoints for admin dashboard.
+ * Metrics are served from the latest pushed snapshot, either polled or streamed over SSE.
  * All endpoints require ADMIN role.
  */
 @Slf4j
@@ -26,6 +29,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class DashboardController {
 
     private final DashboardService dashboardService;
+    private final DashboardStreamService dashboardStreamService;
 
     /**
      * Get current dashboard metrics
@@ -41,10 +45,27 @@ public class DashboardController {
     public ResponseEntity<DashboardMetrics> getMetrics() {
         log.debug("Admin dashboard metrics requested");
 
-        DashboardMetrics metrics = dashboardService.getDashboardMetrics();
+        DashboardMetrics metrics = dashboardStreamService.latest();
         return ResponseEntity.ok(metrics);
     }
 
+    /**
+     * Stream dashboard metrics
+     *
+     * @return Server-Sent Events stream of "metrics" events, one per push interval
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+        summary = "Stream dashboard metrics",
+        description = "Pushes a dashboard metrics snapshot to the client at a fixed interval over Server-Sent Events"
+    )
+    public SseEmitter streamMetrics() {
+        log.debug("Admin dashboard stream opened");
+
+        return dashboardStreamService.subscribe();
+    }
+
     /**
      * Get system health status
      *
@@ -77,7 +98,7 @@ public class DashboardController {
     public ResponseEntity<RecentActivityResponse> getRecentActivity() {
         log.debug("Recent activity requested");
 
-        DashboardMetrics metrics = dashboardService.getDashboardMetrics();
+        DashboardMetrics metrics = dashboardStreamService.latest();
 
         RecentActivityResponse response = RecentActivityResponse.builder()
             .recentBookings(metrics.getRecentBookings())
@@ -1,5 +1,6 @@
 package com.westbethel.motel_booking.monitoring.dashboard;
 
+import com.westbethel.motel_booking.monitoring.latency.LatencySnapshot;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -25,6 +26,11 @@ public class DashboardMetrics {
     private int activeUsers;
     private double requestsPerSecond;
     private long averageResponseTimeMs;
+    private double p50ResponseTimeMs;
+    private double p90ResponseTimeMs;
+    private double p99ResponseTimeMs;
+    private double p999ResponseTimeMs;
+    private double latencySloBurnRate;
     private double errorRate;
     private int totalBookingsToday;
     private BigDecimal revenueToday;
@@ -48,6 +54,7 @@ public class DashboardMetrics {
     // Recent Activity
     private List<RecentBooking> recentBookings;
     private List<RecentError> recentErrors;
+    private List<LatencySnapshot> slowestRoutes;
 
     // Timestamp
     private LocalDateTime timestamp;
@@ -1,15 +1,16 @@
 package com.westbethel.motel_booking.monitoring.dashboard;
 
+import com.westbethel.motel_booking.monitoring.latency.LatencySnapshot;
+import com.westbethel.motel_booking.monitoring.latency.LatencyTracker;
+import com.westbethel.motel_booking.monitoring.latency.LatencyWindow;
 import com.westbethel.motel_booking.monitoring.metrics.BusinessMetrics;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.actuate.health.HealthComponent;
 import org.springframework.boot.actuate.health.HealthEndpoint;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -20,7 +21,9 @@ import java.util.Map;
  * Dashboard Service
  *
  * Aggregates metrics and health data for the admin dashboard.
- * Provides cached real-time data to minimize performance impact.
+ * Daily totals and rates come from the incrementally maintained {@link DashboardAggregator};
+ * response times are percentiles over the last five minutes from {@link LatencyTracker}.
+ * Snapshots are built once per push interval by {@link DashboardStreamService}.
  */
 @Slf4j
 @Service
@@ -30,12 +33,14 @@ public class DashboardService {
     private final BusinessMetrics businessMetrics;
     private final MeterRegistry meterRegistry;
     private final HealthEndpoint healthEndpoint;
+    private final LatencyTracker latencyTracker;
+    private final DashboardAggregator dashboardAggregator;
+
+    private static final int SLOWEST_ROUTES = 5;
 
     /**
-     * Get current dashboard metrics
-     * Cached for 10 seconds to reduce load
+     * Build a dashboard snapshot from the aggregator's current totals
      */
-    @Cacheable(value = "dashboardMetrics", unless = "#result == null")
     public DashboardMetrics getDashboardMetrics() {
         log.debug("Collecting dashboard metrics");
 
@@ -43,15 +48,22 @@ public class DashboardService {
         long memoryUsed = (runtime.totalMemory() - runtime.freeMemory()) / (1024 * 1024);
         long memoryMax = runtime.maxMemory() / (1024 * 1024);
         double memoryUsagePercentage = (double) memoryUsed / memoryMax * 100;
+        LatencySnapshot latency = latencyTracker.overall(LatencyWindow.FIVE_MINUTES);
+        DashboardAggregator.DailyTotals totals = dashboardAggregator.totals();
 
         return DashboardMetrics.builder()
             .activeUsers(getActiveUsersCount())
-            .requestsPerSecond(getRequestsPerSecond())
-            .averageResponseTimeMs(getAverageResponseTime())
-            .errorRate(getErrorRate())
-            .totalBookingsToday(getTotalBookingsToday())
-            .revenueToday(getRevenueToday())
-            .bookingCancellationRate(getBookingCancellationRate())
+            .requestsPerSecond(totals.requestsPerSecond())
+            .averageResponseTimeMs(Math.round(latency.meanMs()))
+            .p50ResponseTimeMs(latency.p50Ms())
+            .p90ResponseTimeMs(latency.p90Ms())
+            .p99ResponseTimeMs(latency.p99Ms())
+            .p999ResponseTimeMs(latency.p999Ms())
+            .latencySloBurnRate(latencyTracker.overall(LatencyWindow.ONE_HOUR).sloBurnRate())
+            .errorRate(totals.errorRate())
+            .totalBookingsToday((int) totals.bookings())
+            .revenueToday(totals.revenue())
+            .bookingCancellationRate(totals.cancellationRate())
             .paymentSuccessRate(businessMetrics.getPaymentSuccessRate())
             .databaseConnections(getDatabaseConnections())
             .cacheHitRatio(businessMetrics.getCacheHitRatio())
@@ -60,11 +72,12 @@ public class DashboardService {
             .memoryMaxMb(memoryMax)
             .memoryUsagePercentage(memoryUsagePercentage)
             .cpuUsagePercentage(getCpuUsage())
-            .authAttemptsToday(getAuthAttemptsToday())
+            .authAttemptsToday(totals.authAttempts())
             .authSuccessRate(businessMetrics.getAuthSuccessRate())
             .activeSessionsCount(getActiveSessionsCount())
-            .recentBookings(getRecentBookings())
+            .recentBookings(dashboardAggregator.recentBookings())
             .recentErrors(getRecentErrors())
+            .slowestRoutes(getSlowestRoutes())
             .timestamp(LocalDateTime.now())
             .build();
     }
@@ -150,85 +163,9 @@ public class DashboardService {
         return 0;
     }
 
-    private double getRequestsPerSecond() {
-        try {
-            var timer = meterRegistry.find("http.server.requests").timer();
-            if (timer != null) {
-                return timer.count() / timer.max(java.util.concurrent.TimeUnit.SECONDS);
-            }
-        } catch (Exception e) {
-            log.debug("Could not calculate requests per second", e);
-        }
-        return 0.0;
-    }
-
-    private long getAverageResponseTime() {
-        try {
-            var timer = meterRegistry.find("http.server.requests").timer();
-            if (timer != null) {
-                return (long) timer.mean(java.util.concurrent.TimeUnit.MILLISECONDS);
-            }
-        } catch (Exception e) {
-            log.debug("Could not calculate average response time", e);
-        }
-        return 0L;
-    }
-
-    private double getErrorRate() {
-        try {
-            var successCounter = meterRegistry.find("http.server.requests")
-                .tag("status", "200")
-                .counter();
-            var errorCounter = meterRegistry.find("http.server.requests")
-                .tag("status", "500")
-                .counter();
-
-            if (successCounter != null && errorCounter != null) {
-                double total = successCounter.count() + errorCounter.count();
-                return total > 0 ? errorCounter.count() / total : 0.0;
-            }
-        } catch (Exception e) {
-            log.debug("Could not calculate error rate", e);
-        }
-        return 0.0;
-    }
-
-    private int getTotalBookingsToday() {
-        try {
-            var counter = meterRegistry.find("bookings.created").counter();
-            return counter != null ? (int) counter.count() : 0;
-        } catch (Exception e) {
-            log.debug("Could not get bookings count", e);
-            return 0;
-        }
-    }
-
-    private BigDecimal getRevenueToday() {
-        try {
-            var gauge = meterRegistry.find("revenue.total").gauge();
-            if (gauge != null) {
-                // Convert from cents to dollars
-                return BigDecimal.valueOf(gauge.value() / 100);
-            }
-        } catch (Exception e) {
-            log.debug("Could not get revenue", e);
-        }
-        return BigDecimal.ZERO;
-    }
-
-    private double getBookingCancellationRate() {
-        try {
-            var created = meterRegistry.find("bookings.created").counter();
-            var cancelled = meterRegistry.find("bookings.cancelled").counter();
-
-            if (created != null && cancelled != null) {
-                double total = created.count();
-                return total > 0 ? cancelled.count() / total : 0.0;
-            }
-        } catch (Exception e) {
-            log.debug("Could not calculate cancellation rate", e);
-        }
-        return 0.0;
+    private List<LatencySnapshot> getSlowestRoutes() {
+        List<LatencySnapshot> routes = latencyTracker.routes(LatencyWindow.FIVE_MINUTES);
+        return List.copyOf(routes.subList(0, Math.min(SLOWEST_ROUTES, routes.size())));
     }
 
     private int getDatabaseConnections() {
@@ -261,20 +198,6 @@ public class DashboardService {
         }
     }
 
-    private long getAuthAttemptsToday() {
-        try {
-            var success = meterRegistry.find("auth.success").counter();
-            var failure = meterRegistry.find("auth.failure").counter();
-
-            if (success != null && failure != null) {
-                return (long) (success.count() + failure.count());
-            }
-        } catch (Exception e) {
-            log.debug("Could not get auth attempts", e);
-        }
-        return 0L;
-    }
-
     private int getActiveSessionsCount() {
         try {
             var gauge = meterRegistry.find("sessions.active").gauge();
@@ -285,12 +208,6 @@ public class DashboardService {
         }
     }
 
-    private List<DashboardMetrics.RecentBooking> getRecentBookings() {
-        // This would query the database for recent bookings
-        // For now, return empty list
-        return new ArrayList<>();
-    }
-
     private List<DashboardMetrics.RecentError> getRecentErrors() {
         // This would retrieve recent errors from logs or monitoring
         // For now, return empty list
@@ -0,0 +1,171 @@
+package com.westbethel.motel_booking.monitoring.dashboard;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.westbethel.motel_booking.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Dashboard Stream Service
+ *
+ * Builds one dashboard snapshot per push interval and fans it out to every connected
+ * admin dashboard over Server-Sent Events. The snapshot is aggregated and serialized
+ * once per interval, so the work per viewer is a single write of a prepared payload.
+ * Polling clients get the same latest snapshot from {@link #latest()}.
+ *
+ * Writes to the emitters block on slow clients, so they run on the {@code dashboardExecutor}
+ * rather than the shared scheduler thread. A push that finds the previous one still sending
+ * is skipped; subscribers get the next snapshot instead.
+ */
+@Slf4j
+@Service
+public class DashboardStreamService {
+
+    static final String EVENT_NAME = "metrics";
+
+    private final DashboardService dashboardService;
+    private final DashboardAggregator dashboardAggregator;
+    private final ObjectMapper objectMapper;
+    private final Executor dashboardExecutor;
+    private final long streamTimeoutMillis;
+    private final int maxSubscribers;
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean sending = new AtomicBoolean();
+
+    private volatile DashboardMetrics latest;
+    private volatile String latestJson;
+
+    public DashboardStreamService(
+            DashboardService dashboardService,
+            DashboardAggregator dashboardAggregator,
+            ObjectMapper objectMapper,
+            @Qualifier("dashboardExecutor") Executor dashboardExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${monitoring.dashboard.stream-timeout-ms:1800000}") long streamTimeoutMillis,
+            @Value("${monitoring.dashboard.max-subscribers:50}") int maxSubscribers) {
+        this.dashboardService = dashboardService;
+        this.dashboardAggregator = dashboardAggregator;
+        this.objectMapper = objectMapper;
+        this.dashboardExecutor = dashboardExecutor;
+        this.streamTimeoutMillis = streamTimeoutMillis;
+        this.maxSubscribers = maxSubscribers;
+
+        Gauge.builder("dashboard.stream.subscribers", emitters, List::size)
+                .description("Connected dashboard streams")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Aggregate and snapshot, then hand the push to all subscribers to the dashboard executor
+     */
+    @Scheduled(fixedRateString = "${monitoring.dashboard.push-interval-ms:5000}")
+    public void publish() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            log.warn("Failed to build dashboard snapshot: {}", e.getMessage());
+            return;
+        }
+
+        if (emitters.isEmpty()) {
+            return;
+        }
+        if (!sending.compareAndSet(false, true)) {
+            log.debug("Previous dashboard push still sending; skipping this one");
+            return;
+        }
+
+        String payload = latestJson;
+        try {
+            dashboardExecutor.execute(() -> {
+                try {
+                    for (SseEmitter emitter : emitters) {
+                        send(emitter, payload);
+                    }
+                } finally {
+                    sending.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            sending.set(false);
+            log.warn("Dashboard push rejected: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Latest snapshot, built on first use if no push has run yet
+     */
+    public DashboardMetrics latest() {
+        DashboardMetrics snapshot = latest;
+        if (snapshot == null) {
+            synchronized (this) {
+                if (latest == null) {
+                    refresh();
+                }
+                snapshot = latest;
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Register a new dashboard stream and send it the latest snapshot immediately
+     *
+     * @throws TooManyRequestsException if the subscriber limit is reached
+     */
+    public SseEmitter subscribe() {
+        if (emitters.size() >= maxSubscribers) {
+            throw new TooManyRequestsException("Too many open dashboard streams", 30);
+        }
+
+        SseEmitter emitter = new SseEmitter(streamTimeoutMillis);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(error -> emitters.remove(emitter));
+        emitters.add(emitter);
+
+        latest();
+        send(emitter, latestJson);
+        return emitter;
+    }
+
+    int subscriberCount() {
+        return emitters.size();
+    }
+
+    private synchronized void refresh() {
+        dashboardAggregator.accumulate();
+        DashboardMetrics snapshot = dashboardService.getDashboardMetrics();
+        try {
+            latestJson = objectMapper.writeValueAsString(snapshot);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize dashboard snapshot", e);
+        }
+        latest = snapshot;
+    }
+
+    private void send(SseEmitter emitter, String payload) {
+        try {
+            emitter.send(SseEmitter.event().name(EVENT_NAME).data(payload, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; drop it without failing the others
+            emitters.remove(emitter);
+            emitter.completeWithError(e);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.westbethel.motel_booking.monitoring.latency;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Latency Actuator Endpoint
+ *
+ * - GET /actuator/latency: all windows
+ * - GET /actuator/latency/{window}: one window (1m, 5m or 1h)
+ *
+ * Each window reports overall and per-route/per-outcome p50/p90/p99/p99.9 and SLO burn rates.
+ */
+@Component
+@Endpoint(id = "latency")
+@RequiredArgsConstructor
+public class LatencyEndpoint {
+
+    private final LatencyTracker latencyTracker;
+
+    @ReadOperation
+    public Map<String, LatencyReport> latency() {
+        Map<String, LatencyReport> reports = new LinkedHashMap<>();
+        for (LatencyWindow window : LatencyWindow.values()) {
+            reports.put(window.label(), report(window));
+        }
+        return reports;
+    }
+
+    @ReadOperation
+    public LatencyReport window(@Selector String window) {
+        try {
+            return report(LatencyWindow.fromLabel(window));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidEndpointRequestException(e.getMessage(), "Expected one of 1m, 5m, 1h");
+        }
+    }
+
+    private LatencyReport report(LatencyWindow window) {
+        return new LatencyReport(
+                window.label(),
+                latencyTracker.getSloThresholdMillis(),
+                latencyTracker.getSloTarget(),
+                latencyTracker.overall(window),
+                latencyTracker.routes(window));
+    }
+
+    /**
+     * Latency report for one window.
+     */
+    public record LatencyReport(String window, long sloThresholdMs, double sloTarget,
+                                LatencySnapshot overall, List<LatencySnapshot> routes) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.westbethel.motel_booking.monitoring.latency;
+
+/**
+ * Latency percentiles for one route and outcome over one window. Times are in milliseconds.
+ *
+ * @param route       route pattern, or {@code *} for all routes
+ * @param outcome     request outcome, or null for all outcomes
+ * @param count       requests in the window
+ * @param sloBurnRate share of requests slower than the SLO threshold divided by the error
+ *                    budget ({@code 1 - target}); 1.0 consumes the budget exactly over the SLO period
+ */
+public record LatencySnapshot(String route, LatencyTracker.Outcome outcome, String window, long count,
+                              double meanMs, double p50Ms, double p90Ms, double p99Ms, double p999Ms,
+                              double maxMs, double sloBurnRate) {
+}
@@ -0,0 +1,223 @@
+package com.westbethel.motel_booking.monitoring.latency;
+
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process tail-latency tracker.
+ *
+ * Keeps HDR histograms per route pattern and outcome over rolling 1m, 5m and 1h windows,
+ * so p50/p90/p99/p99.9 and SLO burn rates are available to the dashboard, alerting and the
+ * {@code latency} actuator endpoint without querying Prometheus.
+ *
+ * Recording is lock-free: one map lookup, one array read and a wait-free histogram write.
+ * Values are kept in microseconds with two significant digits (under 1% error).
+ *
+ * SLO: a request is "good" when it completes within {@code monitoring.latency.slo.threshold-ms};
+ * {@code monitoring.latency.slo.target} is the share of requests that must be good.
+ */
+@Slf4j
+@Component
+public class LatencyTracker {
+
+    public static final String ALL_ROUTES = "*";
+    static final String OVERFLOW_ROUTE = "OTHER";
+
+    /**
+     * Request outcome, derived from the response status.
+     */
+    public enum Outcome {
+        SUCCESS,
+        CLIENT_ERROR,
+        SERVER_ERROR;
+
+        public static Outcome of(int status, boolean failed) {
+            if (failed || status >= 500) {
+                return SERVER_ERROR;
+            }
+            return status >= 400 ? CLIENT_ERROR : SUCCESS;
+        }
+    }
+
+    private static final Outcome[] OUTCOMES = Outcome.values();
+
+    private final Map<String, AtomicReferenceArray<RollingLatencyHistogram>> routes = new ConcurrentHashMap<>();
+    private final LongAdder[] outcomeCounts = new LongAdder[OUTCOMES.length];
+    private final long sloThresholdMillis;
+    private final double sloTarget;
+    private final int maxRoutes;
+
+    public LatencyTracker(
+            @Value("${monitoring.latency.slo.threshold-ms:500}") long sloThresholdMillis,
+            @Value("${monitoring.latency.slo.target:0.99}") double sloTarget,
+            @Value("${monitoring.latency.max-routes:200}") int maxRoutes) {
+        if (sloTarget <= 0.0 || sloTarget >= 1.0) {
+            throw new IllegalArgumentException("monitoring.latency.slo.target must be between 0 and 1: " + sloTarget);
+        }
+        this.sloThresholdMillis = sloThresholdMillis;
+        this.sloTarget = sloTarget;
+        this.maxRoutes = maxRoutes;
+        for (int i = 0; i < outcomeCounts.length; i++) {
+            outcomeCounts[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Record one completed request.
+     *
+     * @param route         matched route pattern
+     * @param outcome       request outcome
+     * @param durationNanos request duration
+     */
+    public void record(String route, Outcome outcome, long durationNanos) {
+        AtomicReferenceArray<RollingLatencyHistogram> byOutcome = routeHistograms(route);
+        RollingLatencyHistogram histogram = byOutcome.get(outcome.ordinal());
+        if (histogram == null) {
+            byOutcome.compareAndSet(outcome.ordinal(), null, new RollingLatencyHistogram());
+            histogram = byOutcome.get(outcome.ordinal());
+        }
+        histogram.record(TimeUnit.NANOSECONDS.toMicros(durationNanos));
+        outcomeCounts[outcome.ordinal()].increment();
+    }
+
+    /**
+     * Requests recorded with this outcome since startup.
+     */
+    public long count(Outcome outcome) {
+        return outcomeCounts[outcome.ordinal()].sum();
+    }
+
+    /**
+     * Close the current one-minute interval for every route.
+     */
+    @Scheduled(fixedRate = 60000)
+    public void rotate() {
+        for (AtomicReferenceArray<RollingLatencyHistogram> byOutcome : routes.values()) {
+            for (int i = 0; i < byOutcome.length(); i++) {
+                RollingLatencyHistogram histogram = byOutcome.get(i);
+                if (histogram != null) {
+                    histogram.rotate();
+                }
+            }
+        }
+    }
+
+    /**
+     * Percentiles over all routes and outcomes.
+     */
+    public LatencySnapshot overall(LatencyWindow window) {
+        Histogram merged = RollingLatencyHistogram.newHistogram();
+        for (AtomicReferenceArray<RollingLatencyHistogram> byOutcome : routes.values()) {
+            addAll(byOutcome, window, merged);
+        }
+        return snapshot(ALL_ROUTES, null, window, merged);
+    }
+
+    /**
+     * Percentiles for one route and outcome, or all outcomes of the route when {@code outcome} is null.
+     */
+    public LatencySnapshot route(String route, Outcome outcome, LatencyWindow window) {
+        Histogram merged = RollingLatencyHistogram.newHistogram();
+        AtomicReferenceArray<RollingLatencyHistogram> byOutcome = routes.get(route);
+        if (byOutcome != null) {
+            if (outcome == null) {
+                addAll(byOutcome, window, merged);
+            } else {
+                RollingLatencyHistogram histogram = byOutcome.get(outcome.ordinal());
+                if (histogram != null) {
+                    histogram.addTo(window, merged);
+                }
+            }
+        }
+        return snapshot(route, outcome, window, merged);
+    }
+
+    /**
+     * Percentiles for every route and outcome with traffic in the window, slowest p99 first.
+     */
+    public List<LatencySnapshot> routes(LatencyWindow window) {
+        List<LatencySnapshot> snapshots = new ArrayList<>();
+        for (Map.Entry<String, AtomicReferenceArray<RollingLatencyHistogram>> entry : routes.entrySet()) {
+            for (Outcome outcome : OUTCOMES) {
+                RollingLatencyHistogram histogram = entry.getValue().get(outcome.ordinal());
+                if (histogram == null) {
+                    continue;
+                }
+                Histogram merged = RollingLatencyHistogram.newHistogram();
+                histogram.addTo(window, merged);
+                if (merged.getTotalCount() > 0) {
+                    snapshots.add(snapshot(entry.getKey(), outcome, window, merged));
+                }
+            }
+        }
+        snapshots.sort(Comparator.comparingDouble(LatencySnapshot::p99Ms).reversed());
+        return snapshots;
+    }
+
+    public long getSloThresholdMillis() {
+        return sloThresholdMillis;
+    }
+
+    public double getSloTarget() {
+        return sloTarget;
+    }
+
+    private AtomicReferenceArray<RollingLatencyHistogram> routeHistograms(String route) {
+        AtomicReferenceArray<RollingLatencyHistogram> byOutcome = routes.get(route);
+        if (byOutcome != null) {
+            return byOutcome;
+        }
+        if (routes.size() >= maxRoutes) {
+            log.debug("Latency route limit {} reached, recording {} as {}", maxRoutes, route, OVERFLOW_ROUTE);
+            route = OVERFLOW_ROUTE;
+        }
+        return routes.computeIfAbsent(route, key -> new AtomicReferenceArray<>(OUTCOMES.length));
+    }
+
+    private static void addAll(AtomicReferenceArray<RollingLatencyHistogram> byOutcome, LatencyWindow window,
+                               Histogram target) {
+        for (int i = 0; i < byOutcome.length(); i++) {
+            RollingLatencyHistogram histogram = byOutcome.get(i);
+            if (histogram != null) {
+                histogram.addTo(window, target);
+            }
+        }
+    }
+
+    private LatencySnapshot snapshot(String route, Outcome outcome, LatencyWindow window, Histogram histogram) {
+        long count = histogram.getTotalCount();
+        double burnRate = 0.0;
+        if (count > 0) {
+            long slow = count - histogram.getCountBetweenValues(0, TimeUnit.MILLISECONDS.toMicros(sloThresholdMillis));
+            burnRate = ((double) slow / count) / (1.0 - sloTarget);
+        }
+        return new LatencySnapshot(
+                route,
+                outcome,
+                window.label(),
+                count,
+                count > 0 ? millis(histogram.getMean()) : 0.0,
+                millis(histogram.getValueAtPercentile(50.0)),
+                millis(histogram.getValueAtPercentile(90.0)),
+                millis(histogram.getValueAtPercentile(99.0)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()),
+                burnRate);
+    }
+
+    private static double millis(double micros) {
+        return micros / 1000.0;
+    }
+}
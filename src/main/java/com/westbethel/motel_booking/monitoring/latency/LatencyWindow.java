@@ -0,0 +1,39 @@
+package com.westbethel.motel_booking.monitoring.latency;
+
+import java.util.Arrays;
+
+/**
+ * Rolling windows reported by {@link LatencyTracker}.
+ *
+ * Windows are built from closed one-minute intervals plus the minute in progress, so a
+ * window covers between its length and one minute more. The one-hour window is kept in
+ * five-minute blocks plus the block currently being filled.
+ */
+public enum LatencyWindow {
+
+    ONE_MINUTE("1m"),
+    FIVE_MINUTES("5m"),
+    ONE_HOUR("1h");
+
+    private final String label;
+
+    LatencyWindow(String label) {
+        this.label = label;
+    }
+
+    public String label() {
+        return label;
+    }
+
+    /**
+     * Resolve a window from its label ({@code 1m}, {@code 5m}, {@code 1h}).
+     *
+     * @throws IllegalArgumentException for unknown labels
+     */
+    public static LatencyWindow fromLabel(String label) {
+        return Arrays.stream(values())
+                .filter(window -> window.label.equalsIgnoreCase(label))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown latency window: " + label));
+    }
+}
@@ -0,0 +1,124 @@
+package com.westbethel.motel_booking.monitoring.latency;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * HDR histograms for one (route, outcome) pair over the 1m, 5m and 1h windows.
+ *
+ * Request threads write to a {@link Recorder}, which is wait-free for writers. Reads and
+ * {@link #rotate()} drain the recorder into the open minute, so every window includes the
+ * minute in progress. Once a minute {@link #rotate()} files the open minute into:
+ * - a ring of five one-minute slots (1m and 5m windows)
+ * - a five-minute block that is filed into a ring of eleven blocks when full (1h window)
+ *
+ * Empty minutes are not stored, so idle routes hold only the recorder. Rotation and
+ * reads synchronize on this instance; recording never does.
+ */
+class RollingLatencyHistogram {
+
+    static final long HIGHEST_TRACKABLE_MICROS = 60_000_000L;
+    static final int SIGNIFICANT_DIGITS = 2;
+
+    private static final int MINUTE_SLOTS = 5;
+    private static final int BLOCK_MINUTES = 5;
+    private static final int BLOCK_SLOTS = 11;
+
+    private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    private final Histogram[] minutes = new Histogram[MINUTE_SLOTS];
+    private final Histogram[] blocks = new Histogram[BLOCK_SLOTS];
+    private Histogram openMinute;
+    private Histogram openBlock;
+    private Histogram interval;
+    private Histogram spare;
+    private long ticks;
+
+    /**
+     * Record one request. Lock-free; values above one minute are clamped.
+     */
+    void record(long durationMicros) {
+        recorder.recordValue(Math.min(Math.max(durationMicros, 0), HIGHEST_TRACKABLE_MICROS));
+    }
+
+    /**
+     * Close the current one-minute interval.
+     */
+    synchronized void rotate() {
+        drain();
+        Histogram minute = openMinute;
+        openMinute = null;
+
+        int slot = (int) (ticks % MINUTE_SLOTS);
+        Histogram evicted = minutes[slot];
+        minutes[slot] = minute;
+        if (minute != null) {
+            if (openBlock == null) {
+                openBlock = newHistogram();
+            }
+            openBlock.add(minute);
+        }
+        if (evicted != null) {
+            evicted.reset();
+            spare = evicted;
+        }
+
+        ticks++;
+        if (ticks % BLOCK_MINUTES == 0) {
+            blocks[(int) ((ticks / BLOCK_MINUTES - 1) % BLOCK_SLOTS)] = openBlock;
+            openBlock = null;
+        }
+    }
+
+    /**
+     * Merge the window into {@code target}: the last one or five closed minutes, or the
+     * last hour of closed minutes, plus the minute in progress.
+     */
+    synchronized void addTo(LatencyWindow window, Histogram target) {
+        drain();
+        switch (window) {
+            case ONE_MINUTE -> {
+                Histogram last = minutes[(int) ((ticks + MINUTE_SLOTS - 1) % MINUTE_SLOTS)];
+                if (ticks > 0 && last != null) {
+                    target.add(last);
+                }
+            }
+            case FIVE_MINUTES -> addAll(minutes, target);
+            case ONE_HOUR -> {
+                addAll(blocks, target);
+                if (openBlock != null) {
+                    target.add(openBlock);
+                }
+            }
+        }
+        if (openMinute != null) {
+            target.add(openMinute);
+        }
+    }
+
+    /**
+     * Move everything recorded since the last drain into the open minute.
+     */
+    private void drain() {
+        interval = recorder.getIntervalHistogram(interval);
+        if (interval.getTotalCount() == 0) {
+            return;
+        }
+        if (openMinute == null) {
+            openMinute = spare != null ? spare : newHistogram();
+            spare = null;
+        }
+        openMinute.add(interval);
+    }
+
+    private static void addAll(Histogram[] histograms, Histogram target) {
+        for (Histogram histogram : histograms) {
+            if (histogram != null) {
+                target.add(histogram);
+            }
+        }
+    }
+
+    static Histogram newHistogram() {
+        return new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    }
+}
@@ -227,6 +227,35 @@ public class BusinessMetrics {
         databaseConnectionPoolSize.set(size);
     }
 
+    // Counter Getters
+    public Counter getPaymentsSuccessCounter() {
+        return paymentsSuccessCounter;
+    }
+
+    public Counter getPaymentsFailureCounter() {
+        return paymentsFailureCounter;
+    }
+
+    public Counter getAuthSuccessCounter() {
+        return authSuccessCounter;
+    }
+
+    public Counter getAuthFailureCounter() {
+        return authFailureCounter;
+    }
+
+    public Counter getCacheHitCounter() {
+        return cacheHitCounter;
+    }
+
+    public Counter getCacheMissCounter() {
+        return cacheMissCounter;
+    }
+
+    public int getEmailQueueSize() {
+        return emailQueueSize.get();
+    }
+
     // Timer Getters
     public Timer getJwtValidationTimer() {
         return jwtValidationTimer;
@@ -0,0 +1,395 @@
+package com.westbethel.motel_booking.monitoring.profiling;
+
+import com.westbethel.motel_booking.monitoring.profiling.ProfilingRecording.Kind;
+import com.westbethel.motel_booking.monitoring.profiling.ProfilingRecording.State;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-process JDK Flight Recorder profiling.
+ *
+ * - Continuous: a low-overhead ring recording ({@code default} settings) holding the last
+ *   few minutes, dumped on demand or after a slow request (at most once per interval)
+ * - On demand: one time-boxed recording at a time, with configurable settings
+ *   ({@code profile} by default, which samples CPU and allocations more often)
+ *
+ * Recordings are written to {@code monitoring.profiling.directory}; only the newest
+ * {@code max-files} are kept. Stopping and dumping run on a background thread, never on
+ * the request thread.
+ */
+@Slf4j
+@Component
+public class JfrProfiler {
+
+    static final String CONTINUOUS_RECORDING_NAME = "motel-booking-continuous";
+    private static final int SUMMARY_SIZE = 20;
+
+    private final Path directory;
+    private final String defaultSettings;
+    private final Duration defaultDuration;
+    private final Duration maxDuration;
+    private final boolean continuousEnabled;
+    private final String continuousSettings;
+    private final Duration continuousMaxAge;
+    private final long continuousMaxSizeBytes;
+    private final long slowRequestDumpIntervalNanos;
+    private final int maxFiles;
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicReference<Entry> onDemand = new AtomicReference<>();
+    private final AtomicLong nextSlowRequestDump = new AtomicLong(System.nanoTime());
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "jfr-profiler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile Recording continuous;
+
+    public JfrProfiler(
+            @Value("${monitoring.profiling.directory:${java.io.tmpdir}/motel-booking/jfr}") String directory,
+            @Value("${monitoring.profiling.settings:profile}") String defaultSettings,
+            @Value("${monitoring.profiling.default-duration-seconds:30}") long defaultDurationSeconds,
+            @Value("${monitoring.profiling.max-duration-seconds:300}") long maxDurationSeconds,
+            @Value("${monitoring.profiling.continuous.enabled:true}") boolean continuousEnabled,
+            @Value("${monitoring.profiling.continuous.settings:default}") String continuousSettings,
+            @Value("${monitoring.profiling.continuous.max-age-minutes:10}") long continuousMaxAgeMinutes,
+            @Value("${monitoring.profiling.continuous.max-size-mb:64}") long continuousMaxSizeMb,
+            @Value("${monitoring.profiling.slow-request-dump-interval-ms:300000}") long slowRequestDumpIntervalMillis,
+            @Value("${monitoring.profiling.max-files:10}") int maxFiles) {
+        this.directory = Path.of(directory);
+        this.defaultSettings = defaultSettings;
+        this.defaultDuration = Duration.ofSeconds(defaultDurationSeconds);
+        this.maxDuration = Duration.ofSeconds(maxDurationSeconds);
+        this.continuousEnabled = continuousEnabled;
+        this.continuousSettings = continuousSettings;
+        this.continuousMaxAge = Duration.ofMinutes(continuousMaxAgeMinutes);
+        this.continuousMaxSizeBytes = continuousMaxSizeMb * 1024 * 1024;
+        this.slowRequestDumpIntervalNanos = TimeUnit.MILLISECONDS.toNanos(slowRequestDumpIntervalMillis);
+        this.maxFiles = maxFiles;
+    }
+
+    /**
+     * Start the continuous ring recording
+     */
+    @PostConstruct
+    public void startContinuous() {
+        if (!continuousEnabled) {
+            return;
+        }
+        if (!FlightRecorder.isAvailable()) {
+            log.info("Flight Recorder is not available in this JVM; continuous profiling disabled");
+            return;
+        }
+        try {
+            Recording recording = new Recording(configuration(continuousSettings));
+            recording.setName(CONTINUOUS_RECORDING_NAME);
+            recording.setToDisk(true);
+            recording.setMaxAge(continuousMaxAge);
+            recording.setMaxSize(continuousMaxSizeBytes);
+            recording.start();
+            continuous = recording;
+            log.info("Continuous JFR recording started ({} settings, last {} kept)", continuousSettings, continuousMaxAge);
+        } catch (RuntimeException e) {
+            log.warn("Could not start continuous JFR recording: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        Entry running = onDemand.getAndSet(null);
+        if (running != null && running.recording != null) {
+            running.recording.close();
+        }
+        Recording recording = continuous;
+        continuous = null;
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    public boolean isAvailable() {
+        return FlightRecorder.isAvailable();
+    }
+
+    public boolean isContinuousRunning() {
+        return continuous != null;
+    }
+
+    /**
+     * Start a time-boxed recording
+     *
+     * @param duration recording length, default when null
+     * @param settings JFR settings name ({@code default}, {@code profile}), default when null
+     * @throws IllegalArgumentException for an unknown settings name or a duration out of range
+     * @throws IllegalStateException    if a recording is already running or JFR is unavailable
+     */
+    public ProfilingRecording start(Duration duration, String settings) {
+        Duration length = duration != null ? duration : defaultDuration;
+        String settingsName = settings != null ? settings : defaultSettings;
+        if (length.isNegative() || length.isZero() || length.compareTo(maxDuration) > 0) {
+            throw new IllegalArgumentException("Duration must be between 1s and " + maxDuration.toSeconds() + "s");
+        }
+        requireAvailable();
+        Configuration configuration = configuration(settingsName);
+
+        Entry entry = newEntry(Kind.ON_DEMAND, "on demand", settingsName, length);
+        if (!onDemand.compareAndSet(null, entry)) {
+            throw new IllegalStateException("A profiling recording is already running");
+        }
+        try {
+            Recording recording = new Recording(configuration);
+            recording.setName(entry.id);
+            recording.setToDisk(true);
+            entry.recording = recording;
+            recording.start();
+        } catch (RuntimeException e) {
+            onDemand.set(null);
+            throw e;
+        }
+        register(entry);
+        executor.schedule(() -> finish(entry), length.toMillis(), TimeUnit.MILLISECONDS);
+
+        log.info("Started {}s JFR recording {} with {} settings", length.toSeconds(), entry.id, settingsName);
+        return entry.toRecording();
+    }
+
+    /**
+     * Dump the continuous recording in the background
+     *
+     * @throws IllegalStateException if there is no continuous recording
+     */
+    public ProfilingRecording dumpContinuous(String reason) {
+        if (continuous == null) {
+            throw new IllegalStateException("Continuous profiling is not running");
+        }
+        return dump(Kind.CONTINUOUS_DUMP, reason);
+    }
+
+    /**
+     * Dump the continuous recording after a slow request, at most once per interval.
+     * Cheap enough to call from the request thread.
+     */
+    public void onSlowRequest(String route, long durationMillis) {
+        if (continuous == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        long next = nextSlowRequestDump.get();
+        if (now - next < 0 || !nextSlowRequestDump.compareAndSet(next, now + slowRequestDumpIntervalNanos)) {
+            return;
+        }
+        try {
+            dump(Kind.SLOW_REQUEST_DUMP, route + " took " + durationMillis + "ms");
+        } catch (RuntimeException e) {
+            log.warn("Could not dump continuous JFR recording: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * All kept recordings, oldest first
+     */
+    public List<ProfilingRecording> recordings() {
+        synchronized (entries) {
+            return entries.values().stream().map(Entry::toRecording).toList();
+        }
+    }
+
+    public Optional<ProfilingRecording> recording(String id) {
+        return entry(id).map(Entry::toRecording);
+    }
+
+    /**
+     * Recording file, once finished
+     */
+    public Optional<Path> file(String id) {
+        return entry(id).filter(entry -> entry.state() == State.FINISHED).map(entry -> entry.file);
+    }
+
+    /**
+     * Parsed summary, once finished. Parsed on first request and kept.
+     *
+     * @throws UncheckedIOException if the file cannot be read
+     */
+    public Optional<ProfileSummary> summary(String id) {
+        Optional<Entry> finished = entry(id).filter(entry -> entry.state() == State.FINISHED);
+        if (finished.isEmpty()) {
+            return Optional.empty();
+        }
+        Entry entry = finished.get();
+        synchronized (entry) {
+            if (entry.summary == null) {
+                try {
+                    entry.summary = JfrSummarizer.summarize(entry.file, SUMMARY_SIZE);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Cannot read recording " + id, e);
+                }
+            }
+            return Optional.of(entry.summary);
+        }
+    }
+
+    private ProfilingRecording dump(Kind kind, String reason) {
+        Entry entry = newEntry(kind, reason, continuousSettings, continuousMaxAge);
+        register(entry);
+        executor.execute(() -> {
+            try {
+                Recording recording = continuous;
+                if (recording == null) {
+                    throw new IllegalStateException("Continuous profiling stopped");
+                }
+                Files.createDirectories(directory);
+                recording.dump(entry.file);
+                log.info("Dumped continuous JFR recording to {} ({})", entry.file, reason);
+            } catch (Exception e) {
+                entry.failed = true;
+                log.warn("Failed to dump continuous JFR recording: {}", e.getMessage());
+            } finally {
+                entry.running = false;
+            }
+        });
+        return entry.toRecording();
+    }
+
+    private void finish(Entry entry) {
+        try {
+            Files.createDirectories(directory);
+            entry.recording.stop();
+            entry.recording.dump(entry.file);
+            log.info("JFR recording {} written to {}", entry.id, entry.file);
+        } catch (Exception e) {
+            entry.failed = true;
+            log.warn("Failed to write JFR recording {}: {}", entry.id, e.getMessage());
+        } finally {
+            entry.recording.close();
+            entry.running = false;
+            onDemand.compareAndSet(entry, null);
+        }
+    }
+
+    private Entry newEntry(Kind kind, String reason, String settings, Duration duration) {
+        String id = kind.name().toLowerCase().replace('_', '-') + "-" + sequence.incrementAndGet();
+        Instant startedAt = Instant.now();
+        Path file = directory.resolve(id + "-" + startedAt.toEpochMilli() + ".jfr");
+        return new Entry(id, kind, reason, settings, startedAt, duration, file);
+    }
+
+    /**
+     * Keep the entry, evicting (and deleting) the oldest finished ones over the limit
+     */
+    private void register(Entry entry) {
+        List<Path> evicted = new ArrayList<>();
+        synchronized (entries) {
+            entries.put(entry.id, entry);
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (entries.size() > maxFiles && iterator.hasNext()) {
+                Entry oldest = iterator.next();
+                if (!oldest.running) {
+                    iterator.remove();
+                    evicted.add(oldest.file);
+                }
+            }
+        }
+        for (Path file : evicted) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.debug("Could not delete old recording {}", file, e);
+            }
+        }
+    }
+
+    private Optional<Entry> entry(String id) {
+        synchronized (entries) {
+            return Optional.ofNullable(entries.get(id));
+        }
+    }
+
+    private void requireAvailable() {
+        if (!FlightRecorder.isAvailable()) {
+            throw new IllegalStateException("Flight Recorder is not available in this JVM");
+        }
+    }
+
+    private static Configuration configuration(String name) {
+        try {
+            return Configuration.getConfiguration(name);
+        } catch (IOException | ParseException e) {
+            List<String> known = Configuration.getConfigurations().stream().map(Configuration::getName).toList();
+            throw new IllegalArgumentException("Unknown JFR settings '" + name + "', expected one of " + known);
+        }
+    }
+
+    private static final class Entry {
+
+        private final String id;
+        private final Kind kind;
+        private final String reason;
+        private final String settings;
+        private final Instant startedAt;
+        private final Duration duration;
+        private final Path file;
+        private volatile Recording recording;
+        private volatile boolean running = true;
+        private volatile boolean failed;
+        private ProfileSummary summary;
+
+        private Entry(String id, Kind kind, String reason, String settings, Instant startedAt, Duration duration,
+                      Path file) {
+            this.id = id;
+            this.kind = kind;
+            this.reason = reason;
+            this.settings = settings;
+            this.startedAt = startedAt;
+            this.duration = duration;
+            this.file = file;
+        }
+
+        private State state() {
+            if (running) {
+                return State.RUNNING;
+            }
+            return failed || !Files.exists(file) ? State.FAILED : State.FINISHED;
+        }
+
+        private ProfilingRecording toRecording() {
+            State state = state();
+            long size = 0;
+            if (state == State.FINISHED) {
+                try {
+                    size = Files.size(file);
+                } catch (IOException e) {
+                    state = State.FAILED;
+                }
+            }
+            return new ProfilingRecording(id, kind, reason, settings, startedAt, duration, state, size);
+        }
+    }
+}
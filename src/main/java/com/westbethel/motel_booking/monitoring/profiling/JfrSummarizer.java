@@ -0,0 +1,182 @@
+package com.westbethel.motel_booking.monitoring.profiling;
+
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Reads a JFR file into a {@link ProfileSummary}.
+ *
+ * Events are streamed one at a time, so memory use depends on the number of distinct
+ * frames, not on the size of the recording.
+ *
+ * - Hot methods: top frame of {@code jdk.ExecutionSample}
+ * - Allocation sites: first application frame of {@code jdk.ObjectAllocationSample}, by weight
+ * - Lock contention: {@code jdk.JavaMonitorEnter} and {@code jdk.ThreadPark}, by total wait
+ * - GC: pauses of {@code jdk.GarbageCollection}
+ */
+final class JfrSummarizer {
+
+    private static final String UNKNOWN_FRAME = "<unknown>";
+
+    private final Map<String, long[]> cpu = new HashMap<>();
+    private final Map<String, long[]> allocations = new HashMap<>();
+    private final Map<String, ContentionStats> contention = new HashMap<>();
+    private final Map<String, Long> collectionsByName = new TreeMap<>();
+    private long executionSamples;
+    private long allocatedBytes;
+    private long collections;
+    private long totalPauseNanos;
+    private long longestPauseNanos;
+
+    private JfrSummarizer() {
+    }
+
+    /**
+     * Summarize a recording, keeping the {@code top} entries of each list.
+     */
+    static ProfileSummary summarize(Path file, int top) throws IOException {
+        JfrSummarizer summarizer = new JfrSummarizer();
+        try (RecordingFile recording = new RecordingFile(file)) {
+            while (recording.hasMoreEvents()) {
+                summarizer.accept(recording.readEvent());
+            }
+        }
+        return summarizer.summary(top);
+    }
+
+    private void accept(RecordedEvent event) {
+        switch (event.getEventType().getName()) {
+            case "jdk.ExecutionSample" -> {
+                executionSamples++;
+                add(cpu, topFrame(event.getStackTrace()), 1);
+            }
+            case "jdk.ObjectAllocationSample" -> {
+                long weight = event.getLong("weight");
+                allocatedBytes += weight;
+                add(allocations, applicationFrame(event.getStackTrace()), weight);
+            }
+            case "jdk.JavaMonitorEnter" -> contended(event, "monitorClass");
+            case "jdk.ThreadPark" -> contended(event, "parkedClass");
+            case "jdk.GarbageCollection" -> {
+                collections++;
+                totalPauseNanos += event.getDuration("sumOfPauses").toNanos();
+                longestPauseNanos = Math.max(longestPauseNanos, event.getDuration("longestPause").toNanos());
+                collectionsByName.merge(event.getString("name"), 1L, Long::sum);
+            }
+            default -> {
+                // Not summarized
+            }
+        }
+    }
+
+    private void contended(RecordedEvent event, String classField) {
+        RecordedClass monitorClass = event.getClass(classField);
+        String monitor = monitorClass != null ? monitorClass.getName() : UNKNOWN_FRAME;
+        String frame = applicationFrame(event.getStackTrace());
+        contention.computeIfAbsent(monitor + '\0' + frame, key -> new ContentionStats(monitor, frame))
+                .add(event.getDuration());
+    }
+
+    private ProfileSummary summary(int top) {
+        List<ProfileSummary.Contention> contended = contention.values().stream()
+                .sorted(Comparator.comparingLong((ContentionStats stats) -> stats.totalNanos).reversed())
+                .limit(top)
+                .map(ContentionStats::toContention)
+                .toList();
+
+        return new ProfileSummary(
+                executionSamples,
+                hotspots(cpu, executionSamples, top),
+                allocatedBytes,
+                hotspots(allocations, allocatedBytes, top),
+                contended,
+                new ProfileSummary.GcPauses(collections, millis(totalPauseNanos), millis(longestPauseNanos),
+                        collectionsByName));
+    }
+
+    private static List<ProfileSummary.Hotspot> hotspots(Map<String, long[]> weights, long total, int top) {
+        return weights.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, long[]> entry) -> entry.getValue()[0]).reversed())
+                .limit(top)
+                .map(entry -> new ProfileSummary.Hotspot(entry.getKey(), entry.getValue()[0],
+                        total > 0 ? (double) entry.getValue()[0] / total : 0.0))
+                .toList();
+    }
+
+    private static void add(Map<String, long[]> weights, String frame, long weight) {
+        weights.computeIfAbsent(frame, key -> new long[1])[0] += weight;
+    }
+
+    private static String topFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return UNKNOWN_FRAME;
+        }
+        return describe(stackTrace.getFrames().get(0));
+    }
+
+    /**
+     * First frame outside the JDK, so allocations and waits are attributed to the code that
+     * caused them rather than to collection or locking internals.
+     */
+    private static String applicationFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return UNKNOWN_FRAME;
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (frame.isJavaFrame() && !isJdkType(frame.getMethod().getType().getName())) {
+                return describe(frame);
+            }
+        }
+        return describe(stackTrace.getFrames().get(0));
+    }
+
+    private static boolean isJdkType(String type) {
+        return type.startsWith("java.") || type.startsWith("javax.") || type.startsWith("jdk.")
+                || type.startsWith("sun.") || type.startsWith("com.sun.");
+    }
+
+    private static String describe(RecordedFrame frame) {
+        String method = frame.getMethod().getType().getName() + '.' + frame.getMethod().getName();
+        return frame.getLineNumber() > 0 ? method + ':' + frame.getLineNumber() : method;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static final class ContentionStats {
+
+        private final String monitor;
+        private final String frame;
+        private long events;
+        private long totalNanos;
+        private long maxNanos;
+
+        private ContentionStats(String monitor, String frame) {
+            this.monitor = monitor;
+            this.frame = frame;
+        }
+
+        private void add(Duration wait) {
+            events++;
+            totalNanos += wait.toNanos();
+            maxNanos = Math.max(maxNanos, wait.toNanos());
+        }
+
+        private ProfileSummary.Contention toContention() {
+            return new ProfileSummary.Contention(monitor, frame, events, millis(totalNanos), millis(maxNanos));
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.westbethel.motel_booking.monitoring.profiling;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Summary of a JFR recording.
+ *
+ * @param executionSamples number of CPU samples
+ * @param hotMethods       frames most often on top of the stack, share of CPU samples
+ * @param allocatedBytes   estimated bytes allocated
+ * @param allocationSites  application frames allocating the most bytes, share of allocated bytes
+ * @param lockContention   monitors and parks threads waited longest on
+ * @param gc               garbage collection pauses
+ */
+public record ProfileSummary(
+        long executionSamples,
+        List<Hotspot> hotMethods,
+        long allocatedBytes,
+        List<Hotspot> allocationSites,
+        List<Contention> lockContention,
+        GcPauses gc) {
+
+    /**
+     * A frame and its weight (samples or bytes).
+     */
+    public record Hotspot(String frame, long weight, double share) {
+    }
+
+    /**
+     * Time threads spent blocked on one monitor class at one frame.
+     */
+    public record Contention(String monitor, String frame, long events, double totalMs, double maxMs) {
+    }
+
+    /**
+     * Garbage collection pauses over the recording.
+     */
+    public record GcPauses(long collections, double totalPauseMs, double longestPauseMs,
+                           Map<String, Long> collectionsByName) {
+    }
+}
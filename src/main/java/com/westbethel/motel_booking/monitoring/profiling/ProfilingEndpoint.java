@@ -0,0 +1,106 @@
+package com.westbethel.motel_booking.monitoring.profiling;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Profiling Actuator Endpoint
+ *
+ * - GET /actuator/profiling: recordings and continuous recording status
+ * - POST /actuator/profiling: start a recording ({@code durationSeconds}, {@code settings})
+ * - POST /actuator/profiling/dump: dump the continuous recording
+ * - GET /actuator/profiling/{id}: recording with its hot-method, allocation, lock and GC summary
+ * - GET /actuator/profiling/{id}/jfr: the .jfr file, for JDK Mission Control
+ */
+@Component
+@WebEndpoint(id = "profiling")
+@RequiredArgsConstructor
+public class ProfilingEndpoint {
+
+    static final String DUMP_ACTION = "dump";
+    static final String JFR_FORMAT = "jfr";
+
+    private final JfrProfiler profiler;
+
+    @ReadOperation
+    public ProfilingStatus status() {
+        return new ProfilingStatus(profiler.isAvailable(), profiler.isContinuousRunning(), profiler.recordings());
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<ProfilingRecording> start(@Nullable Long durationSeconds, @Nullable String settings) {
+        if (!profiler.isAvailable()) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_SERVICE_UNAVAILABLE);
+        }
+        try {
+            Duration duration = durationSeconds != null ? Duration.ofSeconds(durationSeconds) : null;
+            return new WebEndpointResponse<>(profiler.start(duration, settings));
+        } catch (IllegalArgumentException e) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_BAD_REQUEST);
+        } catch (IllegalStateException e) {
+            // One on-demand recording at a time
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_TOO_MANY_REQUESTS);
+        }
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<ProfilingRecording> dump(@Selector String action) {
+        if (!DUMP_ACTION.equals(action)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        try {
+            return new WebEndpointResponse<>(profiler.dumpContinuous("on demand"));
+        } catch (IllegalStateException e) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_SERVICE_UNAVAILABLE);
+        }
+    }
+
+    @ReadOperation
+    public WebEndpointResponse<ProfilingReport> report(@Selector String id) {
+        Optional<ProfilingRecording> recording = profiler.recording(id);
+        if (recording.isEmpty()) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        try {
+            ProfileSummary summary = profiler.summary(id).orElse(null);
+            return new WebEndpointResponse<>(new ProfilingReport(recording.get(), summary));
+        } catch (UncheckedIOException e) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> file(@Selector String id, @Selector String format) {
+        if (!JFR_FORMAT.equals(format)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        return profiler.file(id)
+                .<WebEndpointResponse<Resource>>map(path -> new WebEndpointResponse<>(new FileSystemResource(path)))
+                .orElseGet(() -> new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND));
+    }
+
+    /**
+     * Profiler status.
+     */
+    public record ProfilingStatus(boolean available, boolean continuousRunning, List<ProfilingRecording> recordings) {
+    }
+
+    /**
+     * A recording and, once finished, its summary.
+     */
+    public record ProfilingReport(ProfilingRecording recording, ProfileSummary summary) {
+    }
+}
@@ -0,0 +1,48 @@
+package com.westbethel.motel_booking.monitoring.profiling;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * A JFR recording kept by the {@link JfrProfiler}.
+ *
+ * @param id        recording id, used in endpoint paths
+ * @param kind      how the recording was made
+ * @param reason    why it was made, e.g. the slow route for slow-request dumps
+ * @param settings  JFR settings name
+ * @param startedAt when recording (or dumping) started
+ * @param duration  requested duration of on-demand recordings, or the continuous window dumped
+ * @param state     recording state
+ * @param sizeBytes size of the .jfr file once finished
+ */
+public record ProfilingRecording(
+        String id,
+        Kind kind,
+        String reason,
+        String settings,
+        Instant startedAt,
+        Duration duration,
+        State state,
+        long sizeBytes) {
+
+    /**
+     * How a recording was made.
+     */
+    public enum Kind {
+        /** Time-boxed recording requested through the endpoint */
+        ON_DEMAND,
+        /** Dump of the continuous recording requested through the endpoint */
+        CONTINUOUS_DUMP,
+        /** Dump of the continuous recording after a slow request */
+        SLOW_REQUEST_DUMP
+    }
+
+    /**
+     * Recording state.
+     */
+    public enum State {
+        RUNNING,
+        FINISHED,
+        FAILED
+    }
+}
@@ -1,5 +1,7 @@
 package com.westbethel.motel_booking.notification.queue;
 
+import com.westbethel.motel_booking.common.datasource.Workload;
+import com.westbethel.motel_booking.common.datasource.WorkloadClass;
 import com.westbethel.motel_booking.notification.email.EmailMessage;
 import com.westbethel.motel_booking.notification.email.EmailService;
 import lombok.RequiredArgsConstructor;
@@ -67,6 +69,7 @@ public class EmailQueueService {
      * Sends queued emails and handles retries with exponential backoff.
      */
     @Scheduled(fixedDelay = 10000) // Every 10 seconds
+    @Workload(WorkloadClass.BACKGROUND)
     public void processQueue() {
         if (!queueEnabled) {
             return;
@@ -1,14 +1,16 @@
 package com.westbethel.motel_booking.performance;
 
+import com.westbethel.motel_booking.monitoring.latency.LatencyTracker;
+import com.westbethel.motel_booking.monitoring.profiling.JfrProfiler;
 import io.micrometer.core.instrument.MeterRegistry;
-import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerInterceptor;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * Performance Interceptor
  *
@@ -18,129 +20,74 @@ import org.springframework.web.servlet.HandlerInterceptor;
  * - Record metrics for monitoring
  * - Track endpoint performance
  *
- * Automatically registers metrics in Micrometer for Prometheus export
+ * Automatically registers metrics in Micrometer for Prometheus export.
+ * Requests are tagged with Spring's matched route pattern (e.g. /api/v1/reservations/{id})
+ * and recorded on timers cached per route, method and status class, and in the
+ * {@link LatencyTracker} histograms used for in-process percentiles.
+ * Slow requests trigger a (rate-limited) dump of the continuous {@link JfrProfiler} recording.
  */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class PerformanceInterceptor implements HandlerInterceptor {
 
-    private final MeterRegistry meterRegistry;
-
-    private static final String START_TIME_ATTRIBUTE = "startTime";
+    static final String START_TIME_ATTRIBUTE = PerformanceInterceptor.class.getName() + ".startNanos";
     private static final long SLOW_REQUEST_THRESHOLD_MS = 2000;
     private static final long WARNING_REQUEST_THRESHOLD_MS = 1000;
 
+    private final RequestMeters requestMeters;
+    private final LatencyTracker latencyTracker;
+    private final JfrProfiler jfrProfiler;
+
+    public PerformanceInterceptor(MeterRegistry meterRegistry, LatencyTracker latencyTracker, JfrProfiler jfrProfiler) {
+        this.requestMeters = new RequestMeters(meterRegistry);
+        this.latencyTracker = latencyTracker;
+        this.jfrProfiler = jfrProfiler;
+    }
+
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
-        request.setAttribute(START_TIME_ATTRIBUTE, System.currentTimeMillis());
+        request.setAttribute(START_TIME_ATTRIBUTE, System.nanoTime());
         return true;
     }
 
     @Override
     public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
                                 Object handler, Exception ex) {
-        Long startTime = (Long) request.getAttribute(START_TIME_ATTRIBUTE);
-        if (startTime == null) {
+        Object startTime = request.getAttribute(START_TIME_ATTRIBUTE);
+        if (!(startTime instanceof Long startNanos)) {
             return;
         }
 
-        long duration = System.currentTimeMillis() - startTime;
+        long durationNanos = System.nanoTime() - startNanos;
+        long duration = TimeUnit.NANOSECONDS.toMillis(durationNanos);
         String method = request.getMethod();
-        String uri = getSimplifiedUri(request.getRequestURI());
         int status = response.getStatus();
+        String route = RequestMeters.route(request, status);
 
         // Record metrics
-        recordRequestMetrics(method, uri, status, duration);
+        requestMeters.requestTimer(route, method, status).record(durationNanos, TimeUnit.NANOSECONDS);
+        if (duration > SLOW_REQUEST_THRESHOLD_MS) {
+            requestMeters.slowRequestTimer(route, method, status).record(durationNanos, TimeUnit.NANOSECONDS);
+        }
+        latencyTracker.record(route, LatencyTracker.Outcome.of(status, ex != null), durationNanos);
 
         // Log based on duration
         if (duration > SLOW_REQUEST_THRESHOLD_MS) {
             log.warn("SLOW REQUEST: {} {} - {}ms - Status: {}",
-                method, uri, duration, status);
+                method, route, duration, status);
+            jfrProfiler.onSlowRequest(method + " " + route, duration);
         } else if (duration > WARNING_REQUEST_THRESHOLD_MS) {
             log.info("Request: {} {} - {}ms - Status: {}",
-                method, uri, duration, status);
-        } else {
+                method, route, duration, status);
+        } else if (log.isDebugEnabled()) {
             log.debug("Request: {} {} - {}ms - Status: {}",
-                method, uri, duration, status);
+                method, route, duration, status);
         }
 
         // Log errors
         if (ex != null) {
             log.error("Request failed: {} {} - Exception: {}",
-                method, uri, ex.getMessage(), ex);
-        }
-    }
-
-    /**
-     * Record request metrics in Micrometer
-     */
-    private void recordRequestMetrics(String method, String uri, int status, long durationMs) {
-        // Record request duration
-        Timer.builder("http.server.requests")
-            .tag("method", method)
-            .tag("uri", uri)
-            .tag("status", String.valueOf(status))
-            .tag("outcome", getOutcome(status))
-            .description("HTTP request duration")
-            .register(meterRegistry)
-            .record(durationMs, java.util.concurrent.TimeUnit.MILLISECONDS);
-
-        // Record slow requests separately
-        if (durationMs > SLOW_REQUEST_THRESHOLD_MS) {
-            Timer.builder("http.server.requests.slow")
-                .tag("method", method)
-                .tag("uri", uri)
-                .tag("status", String.valueOf(status))
-                .description("Slow HTTP request duration")
-                .register(meterRegistry)
-                .record(durationMs, java.util.concurrent.TimeUnit.MILLISECONDS);
-        }
-    }
-
-    /**
-     * Simplify URI by removing IDs and dynamic segments
-     * Converts /api/bookings/123 to /api/bookings/{id}
-     */
-    private String getSimplifiedUri(String uri) {
-        if (uri == null) {
-            return "unknown";
-        }
-
-        // Remove query parameters
-        int queryIndex = uri.indexOf('?');
-        if (queryIndex > 0) {
-            uri = uri.substring(0, queryIndex);
-        }
-
-        // Replace UUIDs with {id}
-        uri = uri.replaceAll("/[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}", "/{id}");
-
-        // Replace numeric IDs with {id}
-        uri = uri.replaceAll("/\\d+", "/{id}");
-
-        // Limit URI length for cardinality
-        if (uri.length() > 100) {
-            uri = uri.substring(0, 100);
-        }
-
-        return uri;
-    }
-
-    /**
-     * Determine request outcome based on status code
-     */
-    private String getOutcome(int status) {
-        if (status >= 200 && status < 300) {
-            return "SUCCESS";
-        } else if (status >= 300 && status < 400) {
-            return "REDIRECTION";
-        } else if (status >= 400 && status < 500) {
-            return "CLIENT_ERROR";
-        } else if (status >= 500) {
-            return "SERVER_ERROR";
-        } else {
-            return "UNKNOWN";
+                method, route, ex.getMessage(), ex);
         }
     }
 }
@@ -8,7 +8,12 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 /**
@@ -20,7 +25,9 @@ import java.util.function.Supplier;
  * - Slow query detection and logging
  * - Cache hit/miss tracking
  *
- * Integrates with Micrometer for metrics export to Prometheus
+ * Integrates with Micrometer for metrics export to Prometheus.
+ * Meters are resolved once per name/tag combination and cached, so the hot path is a map
+ * lookup rather than a meter builder and registry lookup. Timing uses {@link System#nanoTime()}.
  */
 @Component
 @RequiredArgsConstructor
@@ -33,6 +40,35 @@ public class PerformanceMonitor {
     private static final long SLOW_QUERY_THRESHOLD_MS = 1000;
     private static final long SLOW_REQUEST_THRESHOLD_MS = 2000;
 
+    private final Map<String, Timer> queryTimers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> slowQueryCounters = new ConcurrentHashMap<>();
+    private final Map<String, Timer> slowQueryTimers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> queryErrorCounters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> cacheHitCounters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> cacheMissCounters = new ConcurrentHashMap<>();
+    private final Map<String, Timer> operationTimers = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Timer>> cacheOperationTimers = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Timer>> requestTimers = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Counter>> slowRequestCounters = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Counter>> requestErrorCounters = new ConcurrentHashMap<>();
+    private final Map<MeterKey, Counter> customCounters = new ConcurrentHashMap<>();
+    private final Map<MeterKey, Timer> customTimers = new ConcurrentHashMap<>();
+
+    // Meter factories are held in fields so that cache hits allocate nothing
+    private final Function<String, Timer> queryTimerFactory = this::newQueryTimer;
+    private final Function<String, Counter> slowQueryCounterFactory = this::newSlowQueryCounter;
+    private final Function<String, Timer> slowQueryTimerFactory = this::newSlowQueryTimer;
+    private final Function<String, Counter> queryErrorCounterFactory = this::newQueryErrorCounter;
+    private final Function<String, Counter> cacheHitCounterFactory = this::newCacheHitCounter;
+    private final Function<String, Counter> cacheMissCounterFactory = this::newCacheMissCounter;
+    private final Function<String, Timer> operationTimerFactory = this::newOperationTimer;
+    private final BiFunction<String, String, Timer> cacheOperationTimerFactory = this::newCacheOperationTimer;
+    private final BiFunction<String, String, Timer> requestTimerFactory = this::newRequestTimer;
+    private final BiFunction<String, String, Counter> slowRequestCounterFactory = this::newSlowRequestCounter;
+    private final BiFunction<String, String, Counter> requestErrorCounterFactory = this::newRequestErrorCounter;
+    private final Function<MeterKey, Counter> customCounterFactory = this::newCustomCounter;
+    private final Function<MeterKey, Timer> customTimerFactory = this::newCustomTimer;
+
     /**
      * Track execution time of a database query
      *
@@ -41,20 +77,17 @@ public class PerformanceMonitor {
      * @return Query result
      */
     public <T> T trackQuery(String queryName, Supplier<T> operation) {
-        Timer timer = Timer.builder("db.query.duration")
-            .tag("query", queryName)
-            .description("Database query execution time")
-            .register(meterRegistry);
+        Timer timer = cached(queryTimers, queryName, queryTimerFactory);
 
-        long startTime = System.currentTimeMillis();
+        long startTime = System.nanoTime();
         try {
-            T result = timer.record(operation);
-            long duration = System.currentTimeMillis() - startTime;
+            T result = operation.get();
+            long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
 
             if (duration > SLOW_QUERY_THRESHOLD_MS) {
                 log.warn("SLOW QUERY DETECTED: {} took {}ms", queryName, duration);
                 recordSlowQuery(queryName, duration);
-            } else {
+            } else if (log.isDebugEnabled()) {
                 log.debug("Query {} completed in {}ms", queryName, duration);
             }
 
@@ -62,6 +95,8 @@ public class PerformanceMonitor {
         } catch (Exception e) {
             recordQueryError(queryName);
             throw e;
+        } finally {
+            timer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
         }
     }
 
@@ -73,13 +108,9 @@ public class PerformanceMonitor {
      * @param action Action to execute
      */
     public <T> T trackCacheOperation(String cacheName, String operation, Supplier<T> action) {
-        Timer timer = Timer.builder("cache.operation.duration")
-            .tag("cache", cacheName)
-            .tag("operation", operation)
-            .description("Cache operation execution time")
-            .register(meterRegistry);
+        Timer timer = cached(cacheOperationTimers, cacheName, operation, cacheOperationTimerFactory);
 
-        return timer.record(action);
+        return timed(timer, action);
     }
 
     /**
@@ -88,11 +119,7 @@ public class PerformanceMonitor {
      * @param cacheName Cache name
      */
     public void recordCacheHit(String cacheName) {
-        Counter.builder("cache.hits")
-            .tag("cache", cacheName)
-            .description("Cache hit count")
-            .register(meterRegistry)
-            .increment();
+        cached(cacheHitCounters, cacheName, cacheHitCounterFactory).increment();
     }
 
     /**
@@ -101,11 +128,7 @@ public class PerformanceMonitor {
      * @param cacheName Cache name
      */
     public void recordCacheMiss(String cacheName) {
-        Counter.builder("cache.misses")
-            .tag("cache", cacheName)
-            .description("Cache miss count")
-            .register(meterRegistry)
-            .increment();
+        cached(cacheMissCounters, cacheName, cacheMissCounterFactory).increment();
     }
 
     /**
@@ -115,17 +138,8 @@ public class PerformanceMonitor {
      * @param durationMs Duration in milliseconds
      */
     private void recordSlowQuery(String queryName, long durationMs) {
-        Counter.builder("db.query.slow")
-            .tag("query", queryName)
-            .description("Slow query count")
-            .register(meterRegistry)
-            .increment();
-
-        Timer.builder("db.query.slow.duration")
-            .tag("query", queryName)
-            .description("Slow query duration")
-            .register(meterRegistry)
-            .record(durationMs, TimeUnit.MILLISECONDS);
+        cached(slowQueryCounters, queryName, slowQueryCounterFactory).increment();
+        cached(slowQueryTimers, queryName, slowQueryTimerFactory).record(durationMs, TimeUnit.MILLISECONDS);
     }
 
     /**
@@ -134,11 +148,7 @@ public class PerformanceMonitor {
      * @param queryName Query name
      */
     private void recordQueryError(String queryName) {
-        Counter.builder("db.query.errors")
-            .tag("query", queryName)
-            .description("Query error count")
-            .register(meterRegistry)
-            .increment();
+        cached(queryErrorCounters, queryName, queryErrorCounterFactory).increment();
     }
 
     /**
@@ -150,16 +160,12 @@ public class PerformanceMonitor {
      * @return Operation result
      */
     public <T> T trackRequest(String endpoint, String method, Supplier<T> operation) {
-        Timer timer = Timer.builder("http.request.duration")
-            .tag("endpoint", endpoint)
-            .tag("method", method)
-            .description("HTTP request execution time")
-            .register(meterRegistry);
+        Timer timer = cached(requestTimers, endpoint, method, requestTimerFactory);
 
-        long startTime = System.currentTimeMillis();
+        long startTime = System.nanoTime();
         try {
-            T result = timer.record(operation);
-            long duration = System.currentTimeMillis() - startTime;
+            T result = operation.get();
+            long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
 
             if (duration > SLOW_REQUEST_THRESHOLD_MS) {
                 log.warn("SLOW REQUEST DETECTED: {} {} took {}ms", method, endpoint, duration);
@@ -170,6 +176,8 @@ public class PerformanceMonitor {
         } catch (Exception e) {
             recordRequestError(endpoint, method);
             throw e;
+        } finally {
+            timer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
         }
     }
 
@@ -181,12 +189,7 @@ public class PerformanceMonitor {
      * @param durationMs Duration in milliseconds
      */
     private void recordSlowRequest(String endpoint, String method, long durationMs) {
-        Counter.builder("http.request.slow")
-            .tag("endpoint", endpoint)
-            .tag("method", method)
-            .description("Slow request count")
-            .register(meterRegistry)
-            .increment();
+        cached(slowRequestCounters, endpoint, method, slowRequestCounterFactory).increment();
     }
 
     /**
@@ -196,12 +199,7 @@ public class PerformanceMonitor {
      * @param method HTTP method
      */
     private void recordRequestError(String endpoint, String method) {
-        Counter.builder("http.request.errors")
-            .tag("endpoint", endpoint)
-            .tag("method", method)
-            .description("Request error count")
-            .register(meterRegistry)
-            .increment();
+        cached(requestErrorCounters, endpoint, method, requestErrorCounterFactory).increment();
     }
 
     /**
@@ -212,14 +210,7 @@ public class PerformanceMonitor {
      * @param tags Optional tags
      */
     public void recordMetric(String metricName, double value, String... tags) {
-        var builder = Counter.builder(metricName);
-
-        // Add tags in pairs (key, value)
-        for (int i = 0; i < tags.length - 1; i += 2) {
-            builder.tag(tags[i], tags[i + 1]);
-        }
-
-        builder.register(meterRegistry).increment(value);
+        cached(customCounters, new MeterKey(metricName, tags), customCounterFactory).increment(value);
     }
 
     /**
@@ -230,12 +221,7 @@ public class PerformanceMonitor {
      * @return Operation result
      */
     public <T> T trackOperation(String operationName, Supplier<T> operation) {
-        Timer timer = Timer.builder("operation.duration")
-            .tag("operation", operationName)
-            .description("Custom operation execution time")
-            .register(meterRegistry);
-
-        return timer.record(operation);
+        return timed(cached(operationTimers, operationName, operationTimerFactory), operation);
     }
 
     /**
@@ -246,12 +232,156 @@ public class PerformanceMonitor {
      * @param tags Optional tags
      */
     public void recordDuration(String metricName, Duration duration, String... tags) {
-        var builder = Timer.builder(metricName);
+        cached(customTimers, new MeterKey(metricName, tags), customTimerFactory).record(duration);
+    }
+
+    private <T> T timed(Timer timer, Supplier<T> operation) {
+        long startTime = System.nanoTime();
+        try {
+            return operation.get();
+        } finally {
+            timer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer newQueryTimer(String queryName) {
+        return Timer.builder("db.query.duration")
+            .tag("query", queryName)
+            .description("Database query execution time")
+            .register(meterRegistry);
+    }
+
+    private Counter newSlowQueryCounter(String queryName) {
+        return Counter.builder("db.query.slow")
+            .tag("query", queryName)
+            .description("Slow query count")
+            .register(meterRegistry);
+    }
+
+    private Timer newSlowQueryTimer(String queryName) {
+        return Timer.builder("db.query.slow.duration")
+            .tag("query", queryName)
+            .description("Slow query duration")
+            .register(meterRegistry);
+    }
+
+    private Counter newQueryErrorCounter(String queryName) {
+        return Counter.builder("db.query.errors")
+            .tag("query", queryName)
+            .description("Query error count")
+            .register(meterRegistry);
+    }
 
-        for (int i = 0; i < tags.length - 1; i += 2) {
-            builder.tag(tags[i], tags[i + 1]);
+    private Counter newCacheHitCounter(String cacheName) {
+        return Counter.builder("cache.hits")
+            .tag("cache", cacheName)
+            .description("Cache hit count")
+            .register(meterRegistry);
+    }
+
+    private Counter newCacheMissCounter(String cacheName) {
+        return Counter.builder("cache.misses")
+            .tag("cache", cacheName)
+            .description("Cache miss count")
+            .register(meterRegistry);
+    }
+
+    private Timer newOperationTimer(String operationName) {
+        return Timer.builder("operation.duration")
+            .tag("operation", operationName)
+            .description("Custom operation execution time")
+            .register(meterRegistry);
+    }
+
+    private Timer newCacheOperationTimer(String cacheName, String operation) {
+        return Timer.builder("cache.operation.duration")
+            .tag("cache", cacheName)
+            .tag("operation", operation)
+            .description("Cache operation execution time")
+            .register(meterRegistry);
+    }
+
+    private Timer newRequestTimer(String endpoint, String method) {
+        return Timer.builder("http.request.duration")
+            .tag("endpoint", endpoint)
+            .tag("method", method)
+            .description("HTTP request execution time")
+            .register(meterRegistry);
+    }
+
+    private Counter newSlowRequestCounter(String endpoint, String method) {
+        return Counter.builder("http.request.slow")
+            .tag("endpoint", endpoint)
+            .tag("method", method)
+            .description("Slow request count")
+            .register(meterRegistry);
+    }
+
+    private Counter newRequestErrorCounter(String endpoint, String method) {
+        return Counter.builder("http.request.errors")
+            .tag("endpoint", endpoint)
+            .tag("method", method)
+            .description("Request error count")
+            .register(meterRegistry);
+    }
+
+    private Counter newCustomCounter(MeterKey key) {
+        var builder = Counter.builder(key.name());
+
+        // Add tags in pairs (key, value)
+        for (int i = 0; i < key.tags().length - 1; i += 2) {
+            builder.tag(key.tags()[i], key.tags()[i + 1]);
+        }
+
+        return builder.register(meterRegistry);
+    }
+
+    private Timer newCustomTimer(MeterKey key) {
+        var builder = Timer.builder(key.name());
+
+        for (int i = 0; i < key.tags().length - 1; i += 2) {
+            builder.tag(key.tags()[i], key.tags()[i + 1]);
         }
 
-        builder.register(meterRegistry).record(duration);
+        return builder.register(meterRegistry);
+    }
+
+    /**
+     * Look up a cached meter, registering it on first use only.
+     */
+    private static <K, M> M cached(Map<K, M> cache, K key, Function<K, M> factory) {
+        M meter = cache.get(key);
+        return meter != null ? meter : cache.computeIfAbsent(key, factory);
+    }
+
+    private static <M> M cached(Map<String, Map<String, M>> cache, String outerKey, String innerKey,
+                                BiFunction<String, String, M> factory) {
+        Map<String, M> inner = cache.get(outerKey);
+        if (inner == null) {
+            inner = cache.computeIfAbsent(outerKey, key -> new ConcurrentHashMap<>());
+        }
+        M meter = inner.get(innerKey);
+        return meter != null ? meter : inner.computeIfAbsent(innerKey, key -> factory.apply(outerKey, key));
+    }
+
+    /**
+     * Cache key for meters with caller-supplied tags. The tags are copied so a caller reusing
+     * its varargs array cannot change a key already in the cache.
+     */
+    private record MeterKey(String name, String[] tags) {
+
+        MeterKey {
+            tags = Arrays.copyOf(tags, tags.length);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof MeterKey key && name.equals(key.name) && Arrays.equals(tags, key.tags);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * name.hashCode() + Arrays.hashCode(tags);
+        }
     }
 }
@@ -0,0 +1,134 @@
+package com.westbethel.motel_booking.performance;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Pre-resolved HTTP request timers, cached per (route, method, status class).
+ *
+ * Each route owns a small array indexed by method and status class, so the lookup on the
+ * request path is one map get plus an array read. No strings, tags or meter IDs are built
+ * once a combination has been seen.
+ *
+ * The timers are named {@code app.http.requests} rather than Boot's {@code http.server.requests}:
+ * their status tag is the status class and their URI tag falls back to NOT_FOUND/UNKNOWN, so
+ * mixing them into Boot's meter would give one name two incompatible tag sets.
+ */
+class RequestMeters {
+
+    static final String REQUESTS = "app.http.requests";
+    static final String SLOW_REQUESTS = "app.http.requests.slow";
+    static final String UNKNOWN_ROUTE = "UNKNOWN";
+    static final String NOT_FOUND_ROUTE = "NOT_FOUND";
+
+    private static final String[] METHODS = {"GET", "POST", "PUT", "PATCH", "DELETE", "HEAD", "OPTIONS", "OTHER"};
+    private static final String[] STATUS_CLASSES = {"1xx", "2xx", "3xx", "4xx", "5xx", "UNKNOWN"};
+    private static final String[] OUTCOMES = {"INFORMATIONAL", "SUCCESS", "REDIRECTION", "CLIENT_ERROR", "SERVER_ERROR", "UNKNOWN"};
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, RouteTimers> routes = new ConcurrentHashMap<>();
+
+    RequestMeters(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Timer for all requests of this combination.
+     */
+    Timer requestTimer(String route, String method, int status) {
+        return routeTimers(route).get(false, methodIndex(method), statusClassIndex(status));
+    }
+
+    /**
+     * Timer for slow requests of this combination.
+     */
+    Timer slowRequestTimer(String route, String method, int status) {
+        return routeTimers(route).get(true, methodIndex(method), statusClassIndex(status));
+    }
+
+    private RouteTimers routeTimers(String route) {
+        RouteTimers timers = routes.get(route);
+        if (timers == null) {
+            timers = routes.computeIfAbsent(route, RouteTimers::new);
+        }
+        return timers;
+    }
+
+    /**
+     * Route template from Spring's best-matching handler pattern.
+     * Unmatched requests share a single tag value to keep metric cardinality bounded.
+     */
+    static String route(HttpServletRequest request, int status) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern instanceof String route) {
+            return route;
+        }
+        return status == 404 ? NOT_FOUND_ROUTE : UNKNOWN_ROUTE;
+    }
+
+    static int methodIndex(String method) {
+        return switch (method) {
+            case "GET" -> 0;
+            case "POST" -> 1;
+            case "PUT" -> 2;
+            case "PATCH" -> 3;
+            case "DELETE" -> 4;
+            case "HEAD" -> 5;
+            case "OPTIONS" -> 6;
+            default -> 7;
+        };
+    }
+
+    static int statusClassIndex(int status) {
+        int statusClass = status / 100;
+        return statusClass >= 1 && statusClass <= 5 ? statusClass - 1 : 5;
+    }
+
+    private final class RouteTimers {
+
+        private final String route;
+        private final AtomicReferenceArray<Timer> timers = new AtomicReferenceArray<>(METHODS.length * STATUS_CLASSES.length);
+        private final AtomicReferenceArray<Timer> slowTimers = new AtomicReferenceArray<>(METHODS.length * STATUS_CLASSES.length);
+
+        private RouteTimers(String route) {
+            this.route = route;
+        }
+
+        private Timer get(boolean slow, int method, int statusClass) {
+            AtomicReferenceArray<Timer> cache = slow ? slowTimers : timers;
+            int slot = method * STATUS_CLASSES.length + statusClass;
+            Timer timer = cache.get(slot);
+            if (timer == null) {
+                // Registering twice returns the same meter, so a race here is harmless
+                timer = slow ? registerSlow(method, statusClass) : register(method, statusClass);
+                cache.set(slot, timer);
+            }
+            return timer;
+        }
+
+        private Timer register(int method, int statusClass) {
+            return Timer.builder(REQUESTS)
+                    .tag("method", METHODS[method])
+                    .tag("uri", route)
+                    .tag("status", STATUS_CLASSES[statusClass])
+                    .tag("outcome", OUTCOMES[statusClass])
+                    .description("HTTP request duration")
+                    .register(meterRegistry);
+        }
+
+        private Timer registerSlow(int method, int statusClass) {
+            return Timer.builder(SLOW_REQUESTS)
+                    .tag("method", METHODS[method])
+                    .tag("uri", route)
+                    .tag("status", STATUS_CLASSES[statusClass])
+                    .description("Slow HTTP request duration")
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.westbethel.motel_booking.performance;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SQL Statement Budget Filter
+ *
+ * Counts the SQL statements each API request issues (see {@link SqlStatementCounter}) and:
+ * - records them per route in {@code app.http.requests.sql.statements}
+ * - logs and counts requests over {@code monitoring.sql.statement-budget}
+ * - logs and counts requests repeating one statement at least
+ *   {@code monitoring.sql.repeated-statement-threshold} times (likely N+1)
+ *
+ * Only the initial dispatch is counted; work done after a request goes async is not.
+ */
+@Slf4j
+@Component
+public class SqlStatementBudgetFilter extends OncePerRequestFilter {
+
+    private static final String API_PREFIX = "/api/";
+    private static final int MAX_LOGGED_SQL_LENGTH = 200;
+
+    private final MeterRegistry meterRegistry;
+    private final int statementBudget;
+    private final int repeatedStatementThreshold;
+    private final Map<String, RouteMeters> routes = new ConcurrentHashMap<>();
+
+    public SqlStatementBudgetFilter(
+            MeterRegistry meterRegistry,
+            @Value("${monitoring.sql.statement-budget:25}") int statementBudget,
+            @Value("${monitoring.sql.repeated-statement-threshold:5}") int repeatedStatementThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.statementBudget = statementBudget;
+        this.repeatedStatementThreshold = repeatedStatementThreshold;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(API_PREFIX, request.getContextPath().length());
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.open()) {
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                record(request, response, scope.stats(repeatedStatementThreshold));
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, SqlStatementStats stats) {
+        String route = RequestMeters.route(request, response.getStatus());
+        RouteMeters meters = routes.get(route);
+        if (meters == null) {
+            meters = routes.computeIfAbsent(route, RouteMeters::new);
+        }
+        meters.statements.record(stats.statements());
+
+        if (stats.statements() > statementBudget) {
+            meters.overBudget.increment();
+            log.warn("SQL BUDGET EXCEEDED: {} {} - {} statements ({} distinct), budget {}",
+                request.getMethod(), route, stats.statements(), stats.distinctStatements(), statementBudget);
+        }
+        if (!stats.repeated().isEmpty()) {
+            meters.repeated.increment();
+            SqlStatementStats.RepeatedStatement top = stats.repeated().get(0);
+            log.warn("REPEATED SQL (possible N+1): {} {} - {}x {}",
+                request.getMethod(), route, top.count(), abbreviate(top.sql()));
+        }
+    }
+
+    private static String abbreviate(String sql) {
+        return sql.length() <= MAX_LOGGED_SQL_LENGTH ? sql : sql.substring(0, MAX_LOGGED_SQL_LENGTH) + "...";
+    }
+
+    private final class RouteMeters {
+
+        private final DistributionSummary statements;
+        private final Counter overBudget;
+        private final Counter repeated;
+
+        private RouteMeters(String route) {
+            this.statements = DistributionSummary.builder("app.http.requests.sql.statements")
+                    .tag("uri", route)
+                    .description("SQL statements per request")
+                    .register(meterRegistry);
+            this.overBudget = Counter.builder("app.http.requests.sql.budget.exceeded")
+                    .tag("uri", route)
+                    .description("Requests over the SQL statement budget")
+                    .register(meterRegistry);
+            this.repeated = Counter.builder("app.http.requests.sql.repeated")
+                    .tag("uri", route)
+                    .description("Requests repeating one SQL statement (likely N+1)")
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.westbethel.motel_booking.performance;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-thread SQL statement counting.
+ *
+ * Hibernate statistics are global to the session factory, so they cannot say which request
+ * issued a statement. Instead {@link SqlStatementInspector} reports every statement Hibernate
+ * prepares to the scopes open on the current thread. A scope is opened per API request by
+ * {@link SqlStatementBudgetFilter}, and by tests to assert statement counts.
+ *
+ * Scopes nest: a statement counts towards every open scope on the thread. Statements are
+ * grouped by SQL text, which is parameterized, so the same text repeated many times within
+ * one scope is the signature of an N+1 access pattern.
+ */
+public final class SqlStatementCounter {
+
+    // Distinct statements tracked per scope; further new statements are still counted
+    static final int MAX_DISTINCT_STATEMENTS = 512;
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private SqlStatementCounter() {
+    }
+
+    /**
+     * Open a scope on the current thread. Close it on the same thread.
+     */
+    public static Scope open() {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * Count a statement in every scope open on the current thread.
+     */
+    static void record(String sql) {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.add(sql);
+        }
+    }
+
+    /**
+     * Statements counted in one scope.
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private final Scope parent;
+        private final Map<String, int[]> bySql = new HashMap<>();
+        private int statements;
+
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+
+        private void add(String sql) {
+            statements++;
+            int[] count = bySql.get(sql);
+            if (count == null) {
+                if (bySql.size() >= MAX_DISTINCT_STATEMENTS) {
+                    return;
+                }
+                count = new int[1];
+                bySql.put(sql, count);
+            }
+            count[0]++;
+        }
+
+        /**
+         * Statements so far
+         */
+        public int statements() {
+            return statements;
+        }
+
+        /**
+         * Statement counts, with statements issued at least {@code repeatThreshold} times
+         * listed most repeated first
+         */
+        public SqlStatementStats stats(int repeatThreshold) {
+            List<SqlStatementStats.RepeatedStatement> repeated = new ArrayList<>();
+            for (Map.Entry<String, int[]> entry : bySql.entrySet()) {
+                if (entry.getValue()[0] >= repeatThreshold) {
+                    repeated.add(new SqlStatementStats.RepeatedStatement(entry.getKey(), entry.getValue()[0]));
+                }
+            }
+            repeated.sort(Comparator.comparingInt(SqlStatementStats.RepeatedStatement::count).reversed());
+            return new SqlStatementStats(statements, bySql.size(), repeated);
+        }
+
+        @Override
+        public void close() {
+            if (CURRENT.get() != this) {
+                return;
+            }
+            if (parent == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(parent);
+            }
+        }
+    }
+}
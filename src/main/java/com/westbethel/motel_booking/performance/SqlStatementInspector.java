@@ -0,0 +1,16 @@
+package com.westbethel.motel_booking.performance;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate statement inspector that counts statements in the current thread's
+ * {@link SqlStatementCounter} scopes. Never alters the SQL.
+ */
+public class SqlStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        SqlStatementCounter.record(sql);
+        return sql;
+    }
+}
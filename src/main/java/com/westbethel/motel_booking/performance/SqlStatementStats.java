@@ -0,0 +1,19 @@
+package com.westbethel.motel_booking.performance;
+
+import java.util.List;
+
+/**
+ * SQL statements issued within one {@link SqlStatementCounter} scope.
+ *
+ * @param statements         statements prepared
+ * @param distinctStatements distinct SQL texts
+ * @param repeated           SQL texts issued at least the repeat threshold times, most repeated first
+ */
+public record SqlStatementStats(int statements, int distinctStatements, List<RepeatedStatement> repeated) {
+
+    /**
+     * A SQL text and how often it was issued.
+     */
+    public record RepeatedStatement(String sql, int count) {
+    }
+}
@@ -2,6 +2,7 @@ package com.westbethel.motel_booking.pricing.domain;
 
 import com.westbethel.motel_booking.common.model.BookingChannel;
 import com.westbethel.motel_booking.common.model.Money;
+import com.westbethel.motel_booking.common.reference.ReferenceDataEntityListener;
 import jakarta.persistence.AttributeOverride;
 import jakarta.persistence.AttributeOverrides;
 import jakarta.persistence.CollectionTable;
@@ -9,6 +10,7 @@ import jakarta.persistence.Column;
 import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
@@ -23,6 +25,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 @Entity
+@EntityListeners(ReferenceDataEntityListener.class)
 @Table(name = "rate_plans")
 @Getter
 @Builder
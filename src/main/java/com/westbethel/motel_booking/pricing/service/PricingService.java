@@ -1,9 +1,20 @@
 package com.westbethel.motel_booking.pricing.service;
 
+import com.westbethel.motel_booking.inventory.domain.RoomType;
+import com.westbethel.motel_booking.pricing.domain.RatePlan;
 import com.westbethel.motel_booking.pricing.model.PricingContext;
 import com.westbethel.motel_booking.pricing.model.PricingQuote;
+import com.westbethel.motel_booking.property.domain.Property;
+import java.util.Map;
+import java.util.UUID;
 
 public interface PricingService {
 
     PricingQuote quote(PricingContext context);
+
+    /**
+     * Quote against reference data the caller has already loaded, without repository lookups.
+     * Room types of the context missing from {@code roomTypes} are rejected as not found.
+     */
+    PricingQuote quote(PricingContext context, Property property, RatePlan ratePlan, Map<UUID, RoomType> roomTypes);
 }
@@ -1,65 +1,88 @@
 package com.westbethel.motel_booking.pricing.service.impl;
 
 import com.westbethel.motel_booking.common.model.Money;
+import com.westbethel.motel_booking.common.reference.ReferenceDataService;
+import com.westbethel.motel_booking.common.reference.ReferenceDataSnapshot;
 import com.westbethel.motel_booking.inventory.domain.RoomType;
-import com.westbethel.motel_booking.inventory.repository.RoomTypeRepository;
 import com.westbethel.motel_booking.pricing.domain.RatePlan;
 import com.westbethel.motel_booking.pricing.model.PricingContext;
 import com.westbethel.motel_booking.pricing.model.PricingQuote;
-import com.westbethel.motel_booking.pricing.repository.RatePlanRepository;
 import com.westbethel.motel_booking.pricing.service.PricingService;
 import com.westbethel.motel_booking.property.domain.Property;
-import com.westbethel.motel_booking.property.repository.PropertyRepository;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.temporal.ChronoUnit;
 import java.util.Collections;
 import java.util.Currency;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @Transactional(readOnly = true)
 public class DefaultPricingService implements PricingService {
 
-    private final PropertyRepository propertyRepository;
-    private final RoomTypeRepository roomTypeRepository;
-    private final RatePlanRepository ratePlanRepository;
-
-    public DefaultPricingService(
-            PropertyRepository propertyRepository,
-            RoomTypeRepository roomTypeRepository,
-            RatePlanRepository ratePlanRepository) {
-        this.propertyRepository = propertyRepository;
-        this.roomTypeRepository = roomTypeRepository;
-        this.ratePlanRepository = ratePlanRepository;
+    private final ReferenceDataService referenceDataService;
+
+    public DefaultPricingService(ReferenceDataService referenceDataService) {
+        this.referenceDataService = referenceDataService;
     }
 
     @Override
     public PricingQuote quote(PricingContext context) {
+        validateContext(context);
+        ReferenceDataSnapshot referenceData = referenceDataService.current();
+
+        Property property = referenceData.property(context.getPropertyId())
+                .orElseThrow(() -> new IllegalArgumentException("Property not found"));
+
+        RatePlan ratePlan = referenceData.ratePlan(property.getId(), context.getRatePlanId())
+                .orElseThrow(() -> new IllegalArgumentException("Rate plan not found for property"));
+
+        Map<UUID, RoomType> roomTypes = new HashMap<>();
+        for (UUID roomTypeId : context.getRoomTypeIds()) {
+            roomTypes.put(roomTypeId, referenceData.roomType(roomTypeId)
+                    .orElseThrow(() -> new IllegalArgumentException("Room type not found")));
+        }
+
+        return price(context, property, ratePlan, roomTypes);
+    }
+
+    /**
+     * No repository access, so no transaction is started; callers may quote many stays in parallel.
+     * Callers holding a {@link ReferenceDataSnapshot} pass its entities here.
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public PricingQuote quote(PricingContext context, Property property, RatePlan ratePlan, Map<UUID, RoomType> roomTypes) {
+        validateContext(context);
+        return price(context, property, ratePlan, roomTypes);
+    }
+
+    private void validateContext(PricingContext context) {
         if (context.getCheckIn() == null || context.getCheckOut() == null) {
             throw new IllegalArgumentException("Stay dates are required for pricing");
         }
-        long nights = ChronoUnit.DAYS.between(context.getCheckIn(), context.getCheckOut());
-        if (nights <= 0) {
+        if (!context.getCheckOut().isAfter(context.getCheckIn())) {
             throw new IllegalArgumentException("Check-out must be after check-in for pricing");
         }
         if (context.getRoomTypeIds() == null || context.getRoomTypeIds().isEmpty()) {
             throw new IllegalArgumentException("Room types are required for pricing");
         }
+    }
 
-        Property property = propertyRepository.findById(context.getPropertyId())
-                .orElseThrow(() -> new IllegalArgumentException("Property not found"));
-
-        RatePlan ratePlan = ratePlanRepository.findByPropertyIdAndId(property.getId(), context.getRatePlanId())
-                .orElseThrow(() -> new IllegalArgumentException("Rate plan not found for property"));
-
+    private PricingQuote price(PricingContext context, Property property, RatePlan ratePlan, Map<UUID, RoomType> roomTypes) {
+        long nights = ChronoUnit.DAYS.between(context.getCheckIn(), context.getCheckOut());
         Currency currency = property.getDefaultCurrency();
         BigDecimal baseTotal = BigDecimal.ZERO;
         for (UUID roomTypeId : context.getRoomTypeIds()) {
-            RoomType roomType = roomTypeRepository.findById(roomTypeId)
-                    .orElseThrow(() -> new IllegalArgumentException("Room type not found"));
+            RoomType roomType = roomTypes.get(roomTypeId);
+            if (roomType == null) {
+                throw new IllegalArgumentException("Room type not found");
+            }
 
             Money baseRate = roomType.getBaseRate() != null ? roomType.getBaseRate() : ratePlan.getDefaultRate();
             BigDecimal nightly = baseRate != null && baseRate.getAmount() != null
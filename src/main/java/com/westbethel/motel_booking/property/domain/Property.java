@@ -2,9 +2,11 @@ package com.westbethel.motel_booking.property.domain;
 
 import com.westbethel.motel_booking.common.model.Address;
 import com.westbethel.motel_booking.common.model.ContactDetails;
+import com.westbethel.motel_booking.common.reference.ReferenceDataEntityListener;
 import jakarta.persistence.Column;
 import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import java.time.ZoneId;
@@ -16,6 +18,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 @Entity
+@EntityListeners(ReferenceDataEntityListener.class)
 @Table(name = "properties")
 @Getter
 @Builder
@@ -1,24 +1,28 @@
 package com.westbethel.motel_booking.reporting.service.impl;
 
+import com.westbethel.motel_booking.common.datasource.Workload;
+import com.westbethel.motel_booking.common.datasource.WorkloadClass;
 import com.westbethel.motel_booking.common.model.BookingStatus;
 import com.westbethel.motel_booking.reporting.model.ReportRequest;
 import com.westbethel.motel_booking.reporting.model.ReportResult;
 import com.westbethel.motel_booking.reporting.service.ReportingService;
-import com.westbethel.motel_booking.reservation.domain.Booking;
+import com.westbethel.motel_booking.reservation.dto.DailyRevenueProjection;
+import com.westbethel.motel_booking.reservation.dto.NightlyOccupancyProjection;
 import com.westbethel.motel_booking.reservation.repository.BookingRepository;
+import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.EnumSet;
-import java.util.List;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @Transactional(readOnly = true)
+@Workload(WorkloadClass.REPORTING)
 public class DefaultReportingService implements ReportingService {
 
     private static final EnumSet<BookingStatus> REPORTABLE_STATUSES = EnumSet.of(
@@ -42,54 +46,46 @@ public class DefaultReportingService implements ReportingService {
     }
 
     private ReportResult buildDailyOccupancyReport(UUID propertyId, LocalDate from, LocalDate to) {
-        List<Booking> bookings = bookingRepository.findOverlappingBookings(
+        // Occupied rooms per night, indexed by days since 'from'
+        long fromDay = from.toEpochDay();
+        int days = Math.toIntExact(to.toEpochDay() - fromDay + 1);
+        long[] occupied = new long[days];
+
+        for (NightlyOccupancyProjection night : bookingRepository.countOccupiedRoomsByNight(
                 propertyId,
                 REPORTABLE_STATUSES,
                 from,
-                to.plusDays(1));
-
-        Map<LocalDate, Long> occupancyByDate = bookings.stream()
-                .flatMap(booking -> bookingStayDates(booking).stream())
-                .filter(date -> !date.isBefore(from) && !date.isAfter(to))
-                .collect(Collectors.groupingBy(date -> date, Collectors.counting()));
+                to.plusDays(1))) {
+            occupied[(int) (night.getStayDate().toEpochDay() - fromDay)] = night.getOccupiedRooms();
+        }
 
         StringBuilder csv = new StringBuilder("date,occupied_rooms\n");
-        LocalDate cursor = from;
-        while (!cursor.isAfter(to)) {
-            long occupied = occupancyByDate.getOrDefault(cursor, 0L);
-            csv.append(cursor).append(',').append(occupied).append('\n');
-            cursor = cursor.plusDays(1);
+        for (int day = 0; day < days; day++) {
+            csv.append(from.plusDays(day)).append(',').append(occupied[day]).append('\n');
         }
         return toCsvResult("daily-occupancy", csv.toString());
     }
 
     private ReportResult buildRevenueSummaryReport(UUID propertyId, LocalDate from, LocalDate to) {
-        List<Booking> bookings = bookingRepository.findOverlappingBookings(
+        Map<LocalDate, BigDecimal> revenueByDate = new HashMap<>();
+        for (DailyRevenueProjection row : bookingRepository.sumRevenueByCheckIn(
                 propertyId,
                 REPORTABLE_STATUSES,
                 from,
-                to.plusDays(1));
-
-        Map<LocalDate, Double> revenueByDate = bookings.stream()
-                .collect(Collectors.groupingBy(Booking::getCheckIn,
-                        Collectors.summingDouble(booking -> booking.getTotalAmount().getAmount().doubleValue())));
+                to.plusDays(1))) {
+            revenueByDate.put(row.getCheckIn(), row.getRevenue());
+        }
 
         StringBuilder csv = new StringBuilder("date,revenue\n");
         LocalDate cursor = from;
         while (!cursor.isAfter(to)) {
-            double revenue = revenueByDate.getOrDefault(cursor, 0.0);
+            BigDecimal revenue = revenueByDate.getOrDefault(cursor, BigDecimal.ZERO);
             csv.append(cursor).append(',').append(String.format("%.2f", revenue)).append('\n');
             cursor = cursor.plusDays(1);
         }
         return toCsvResult("revenue-summary", csv.toString());
     }
 
-    private List<LocalDate> bookingStayDates(Booking booking) {
-        LocalDate cursor = booking.getCheckIn();
-        LocalDate end = booking.getCheckOut();
-        return cursor.datesUntil(end).collect(Collectors.toList());
-    }
-
     private ReportResult toCsvResult(String prefix, String csv) {
         return ReportResult.builder()
                 .reportId(prefix + '-' + UUID.randomUUID())
@@ -0,0 +1,38 @@
+package com.westbethel.motel_booking.reservation.api;
+
+import com.westbethel.motel_booking.reservation.api.dto.RoomBlockCancelRequest;
+import com.westbethel.motel_booking.reservation.lifecycle.BookingBulkOperations;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * Admin API for bulk booking lifecycle operations.
+ * Requires ADMIN role for access.
+ */
+@RestController
+@RequestMapping("/api/v1/admin/bookings")
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+public class BookingBulkOperationsController {
+
+    private final BookingBulkOperations bookingBulkOperations;
+
+    /**
+     * Cancel every held or confirmed booking of the given rooms for nights in [from, to),
+     * e.g. when a wing is closed for renovation.
+     */
+    @PostMapping("/room-block-cancellations")
+    public ResponseEntity<Map<String, Integer>> cancelRoomBlock(@Valid @RequestBody RoomBlockCancelRequest request) {
+        int cancelled = bookingBulkOperations.cancelForRooms(
+                request.getPropertyId(), request.getRoomIds(), request.getFrom(), request.getTo());
+        return ResponseEntity.ok(Map.of("cancelled", cancelled));
+    }
+}
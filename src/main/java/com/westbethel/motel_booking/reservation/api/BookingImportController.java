@@ -0,0 +1,55 @@
+package com.westbethel.motel_booking.reservation.api;
+
+import com.westbethel.motel_booking.reservation.imports.BookingImportFormat;
+import com.westbethel.motel_booking.reservation.imports.BookingImportResult;
+import com.westbethel.motel_booking.reservation.imports.BookingImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.UUID;
+
+/**
+ * Admin API for bulk booking imports (rooming lists, OTA backfills).
+ * Requires ADMIN role for access.
+ *
+ * The request body is the file itself, streamed rather than sent as multipart; the
+ * Content-Type selects the format. Rows that cannot be imported are listed in the
+ * response with their line numbers while the remaining rows are imported.
+ */
+@RestController
+@RequestMapping("/api/v1/admin/bookings/import")
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+public class BookingImportController {
+
+    private final BookingImportService bookingImportService;
+
+    /**
+     * Import a CSV rooming list with a header row.
+     */
+    @PostMapping(consumes = "text/csv")
+    public ResponseEntity<BookingImportResult> importCsv(
+            @RequestParam UUID propertyId,
+            @RequestParam(defaultValue = "false") boolean dryRun,
+            InputStream body) throws IOException {
+        return ResponseEntity.ok(bookingImportService.importBookings(propertyId, BookingImportFormat.CSV, body, dryRun));
+    }
+
+    /**
+     * Import newline-delimited JSON, one booking object per line.
+     */
+    @PostMapping(consumes = "application/x-ndjson")
+    public ResponseEntity<BookingImportResult> importNdjson(
+            @RequestParam UUID propertyId,
+            @RequestParam(defaultValue = "false") boolean dryRun,
+            InputStream body) throws IOException {
+        return ResponseEntity.ok(bookingImportService.importBookings(propertyId, BookingImportFormat.NDJSON, body, dryRun));
+    }
+}
@@ -0,0 +1,81 @@
+package com.westbethel.motel_booking.reservation.api;
+
+import com.westbethel.motel_booking.common.model.BookingStatus;
+import com.westbethel.motel_booking.reservation.dto.BookingPage;
+import com.westbethel.motel_booking.reservation.service.BookingListService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Admin API for listing bookings with keyset pagination.
+ * Requires ADMIN role for access.
+ *
+ * Pass the returned {@code nextCursor} as {@code cursor} to fetch the next page.
+ * {@code estimateTotal=true} adds the planner's row estimate instead of an exact count.
+ */
+@RestController
+@RequestMapping("/api/v1/admin/bookings")
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+public class BookingListController {
+
+    private final BookingListService bookingListService;
+
+    /**
+     * Bookings of a guest, newest first. {@code includeArchived=true} adds bookings already
+     * moved to the archive tier.
+     */
+    @GetMapping("/by-guest/{guestId}")
+    public ResponseEntity<BookingPage> byGuest(
+            @PathVariable UUID guestId,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(defaultValue = "false") boolean estimateTotal) {
+        return ResponseEntity.ok(bookingListService.listByGuest(guestId, includeArchived, cursor, size, estimateTotal));
+    }
+
+    /**
+     * Bookings of a property, latest check-in first. With both {@code from} and {@code to},
+     * only stays inside that window are listed, earliest check-in first.
+     */
+    @GetMapping("/by-property/{propertyId}")
+    public ResponseEntity<BookingPage> byProperty(
+            @PathVariable UUID propertyId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(defaultValue = "false") boolean estimateTotal) {
+        if (from == null && to == null) {
+            return ResponseEntity.ok(bookingListService.listByProperty(propertyId, cursor, size, estimateTotal));
+        }
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Both from and to are required for a date-range listing");
+        }
+        return ResponseEntity.ok(bookingListService.listByPropertyAndDateRange(
+                propertyId, from, to, cursor, size, estimateTotal));
+    }
+
+    /**
+     * Bookings in a status, latest check-in first.
+     */
+    @GetMapping("/by-status/{status}")
+    public ResponseEntity<BookingPage> byStatus(
+            @PathVariable BookingStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(defaultValue = "false") boolean estimateTotal) {
+        return ResponseEntity.ok(bookingListService.listByStatus(status, cursor, size, estimateTotal));
+    }
+}
@@ -0,0 +1,27 @@
+package com.westbethel.motel_booking.reservation.api.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.UUID;
+
+@Getter
+@Setter
+public class RoomBlockCancelRequest {
+
+    @NotNull
+    private UUID propertyId;
+
+    @NotEmpty
+    private Set<UUID> roomIds;
+
+    @NotNull
+    private LocalDate from;
+
+    @NotNull
+    private LocalDate to;
+}
@@ -0,0 +1,107 @@
+package com.westbethel.motel_booking.reservation.archive;
+
+import com.westbethel.motel_booking.common.datasource.Workload;
+import com.westbethel.motel_booking.common.datasource.WorkloadClass;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * Moves finished bookings into the archive tier (see V14 migration).
+ *
+ * - Bookings that are CHECKED_OUT, CANCELLED or NO_SHOW and checked out before the first
+ *   day of the month {@code booking.archive.retain-months} ago move to archive.bookings
+ * - The cutoff is a month boundary, so each archive partition receives whole months
+ * - Batches of {@code booking.archive.batch-size} run in their own short transactions,
+ *   keeping row locks on the hot tables brief
+ *
+ * Runs nightly on the background connection pool.
+ */
+@Component
+@Slf4j
+public class BookingArchiver {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final boolean enabled;
+    private final int retainMonths;
+    private final int batchSize;
+
+    @Autowired
+    public BookingArchiver(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${booking.archive.enabled:true}") boolean enabled,
+            @Value("${booking.archive.retain-months:13}") int retainMonths,
+            @Value("${booking.archive.batch-size:1000}") int batchSize) {
+        this(jdbcTemplate, transactionManager, Clock.systemUTC(), enabled, retainMonths, batchSize);
+    }
+
+    BookingArchiver(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, Clock clock,
+                    boolean enabled, int retainMonths, int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.enabled = enabled;
+        this.retainMonths = retainMonths;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Archive every finished booking past the retention window.
+     */
+    @Scheduled(cron = "${booking.archive.cron:0 45 3 * * *}")
+    @Workload(WorkloadClass.BACKGROUND)
+    public void archive() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            LocalDate cutoff = cutoff();
+            long moved = archiveBefore(cutoff);
+            if (moved > 0) {
+                log.info("Archived {} bookings checked out before {}", moved, cutoff);
+            }
+        } catch (Exception e) {
+            log.error("Booking archival failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * First day of the oldest month kept in the hot tables.
+     */
+    LocalDate cutoff() {
+        return YearMonth.now(clock).minusMonths(retainMonths).atDay(1);
+    }
+
+    /**
+     * Move finished bookings checked out before the cutoff, one batch per transaction.
+     *
+     * @return number of bookings moved
+     */
+    long archiveBefore(LocalDate cutoff) {
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.queryForObject("SELECT archive.prepare_booking_partitions(?)", Integer.class, cutoff));
+
+        long total = 0;
+        int moved;
+        do {
+            Integer batch = transactionTemplate.execute(status ->
+                    jdbcTemplate.queryForObject("SELECT archive.move_bookings(?, ?)", Integer.class, cutoff, batchSize));
+            moved = batch != null ? batch : 0;
+            total += moved;
+        } while (moved == batchSize);
+        return total;
+    }
+}
@@ -0,0 +1,18 @@
+package com.westbethel.motel_booking.reservation.dto;
+
+import java.util.List;
+
+/**
+ * One keyset page of a booking list.
+ *
+ * @param bookings       bookings in list order
+ * @param nextCursor     opaque cursor for the following page, or null on the last page
+ * @param estimatedTotal planner estimate of the whole list's size when requested, otherwise null;
+ *                       an estimate, not an exact count
+ */
+public record BookingPage(List<BookingListDto> bookings, String nextCursor, Long estimatedTotal) {
+
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,12 @@
+package com.westbethel.motel_booking.reservation.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Booking revenue summed per check-in date by the database
+ */
+public interface DailyRevenueProjection {
+    LocalDate getCheckIn();
+    BigDecimal getRevenue();
+}
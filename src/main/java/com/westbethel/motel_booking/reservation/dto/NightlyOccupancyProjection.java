@@ -0,0 +1,11 @@
+package com.westbethel.motel_booking.reservation.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Rooms occupied on one night, counted by the database
+ */
+public interface NightlyOccupancyProjection {
+    LocalDate getStayDate();
+    Long getOccupiedRooms();
+}
@@ -0,0 +1,18 @@
+package com.westbethel.motel_booking.reservation.dto;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * One booked room and its stay, read straight from booking_rooms
+ *
+ * Performance Optimization:
+ * - Flat (room_id, check_in, check_out) tuple, no Booking entity hydration
+ * - No EAGER room collection or embedded Money values loaded
+ * - Nothing enters the persistence context
+ */
+public interface RoomStayProjection {
+    UUID getRoomId();
+    LocalDate getCheckIn();
+    LocalDate getCheckOut();
+}
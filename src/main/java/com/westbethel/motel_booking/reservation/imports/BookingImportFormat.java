@@ -0,0 +1,17 @@
+package com.westbethel.motel_booking.reservation.imports;
+
+/**
+ * Input formats accepted by the bulk booking import.
+ */
+public enum BookingImportFormat {
+
+    /**
+     * Comma-separated values with a header row naming the columns.
+     */
+    CSV,
+
+    /**
+     * One JSON object per line (newline-delimited JSON).
+     */
+    NDJSON
+}
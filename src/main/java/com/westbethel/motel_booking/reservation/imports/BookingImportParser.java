@@ -0,0 +1,228 @@
+package com.westbethel.motel_booking.reservation.imports;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.westbethel.motel_booking.common.model.BookingChannel;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Parses rooming list lines into {@link BookingImportRow}s.
+ *
+ * Both formats use the same field names:
+ * reference, guestId, ratePlanId, roomTypes, checkIn, checkOut, adults, children, channel, source, notes.
+ * - CSV: the first line is a header naming the columns (any order, case-insensitive);
+ *   values may be double-quoted, with "" for a literal quote; records span one line
+ * - NDJSON: one object per line; roomTypes may be an array or a string
+ * - roomTypes as a string separates room type codes with {@code |}
+ *
+ * Stateless after construction, so lines can be parsed in parallel.
+ */
+final class BookingImportParser {
+
+    static final List<String> REQUIRED_FIELDS = List.of("guestId", "ratePlanId", "roomTypes", "checkIn", "checkOut", "adults");
+
+    private static final int MAX_REFERENCE_LENGTH = 32;
+    private static final int MAX_SOURCE_LENGTH = 64;
+    private static final int MAX_NOTES_LENGTH = 2048;
+
+    private final Map<String, Integer> csvColumns;
+    private final ObjectMapper objectMapper;
+
+    private BookingImportParser(Map<String, Integer> csvColumns, ObjectMapper objectMapper) {
+        this.csvColumns = csvColumns;
+        this.objectMapper = objectMapper;
+    }
+
+    static BookingImportParser csv(String headerLine) {
+        if (headerLine == null || headerLine.isBlank()) {
+            throw new IllegalArgumentException("CSV import requires a header row");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = splitCsv(headerLine);
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String field : REQUIRED_FIELDS) {
+            if (!columns.containsKey(field.toLowerCase(Locale.ROOT))) {
+                throw new IllegalArgumentException("CSV header is missing column: " + field);
+            }
+        }
+        return new BookingImportParser(Map.copyOf(columns), null);
+    }
+
+    static BookingImportParser ndjson(ObjectMapper objectMapper) {
+        return new BookingImportParser(null, objectMapper);
+    }
+
+    /**
+     * @throws IllegalArgumentException describing the first problem with the line
+     */
+    BookingImportRow parse(int line, String text) {
+        Function<String, String> field = csvColumns != null ? csvFields(text) : jsonFields(text);
+
+        LocalDate checkIn = date(field, "checkIn");
+        LocalDate checkOut = date(field, "checkOut");
+        return new BookingImportRow(
+                line,
+                bounded(field.apply("reference"), "reference", MAX_REFERENCE_LENGTH),
+                uuid(field, "guestId"),
+                uuid(field, "ratePlanId"),
+                roomTypeCodes(required(field, "roomTypes")),
+                checkIn,
+                checkOut,
+                integer(field, "adults", 1),
+                field.apply("children") == null ? 0 : integer(field, "children", 0),
+                channel(field.apply("channel")),
+                bounded(field.apply("source"), "source", MAX_SOURCE_LENGTH),
+                bounded(field.apply("notes"), "notes", MAX_NOTES_LENGTH));
+    }
+
+    private Function<String, String> csvFields(String text) {
+        List<String> values = splitCsv(text);
+        return name -> {
+            Integer index = csvColumns.get(name.toLowerCase(Locale.ROOT));
+            return index == null || index >= values.size() ? null : blankToNull(values.get(index));
+        };
+    }
+
+    private Function<String, String> jsonFields(String text) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(text);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed JSON");
+        }
+        if (node == null || !node.isObject()) {
+            throw new IllegalArgumentException("Expected a JSON object");
+        }
+        return name -> {
+            JsonNode value = node.get(name);
+            if (value == null || value.isNull()) {
+                return null;
+            }
+            if (value.isArray()) {
+                List<String> items = new ArrayList<>();
+                value.forEach(item -> items.add(item.asText()));
+                return blankToNull(String.join("|", items));
+            }
+            return blankToNull(value.asText());
+        };
+    }
+
+    private static String required(Function<String, String> field, String name) {
+        String value = field.apply(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing " + name);
+        }
+        return value;
+    }
+
+    private static UUID uuid(Function<String, String> field, String name) {
+        String value = required(field, name);
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+    }
+
+    private static LocalDate date(Function<String, String> field, String name) {
+        String value = required(field, name);
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+    }
+
+    private static int integer(Function<String, String> field, String name, int min) {
+        String value = required(field, name);
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed < min) {
+                throw new IllegalArgumentException(name + " must be at least " + min);
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+    }
+
+    private static BookingChannel channel(String value) {
+        if (value == null) {
+            return BookingChannel.DIRECT;
+        }
+        try {
+            return BookingChannel.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid channel: " + value);
+        }
+    }
+
+    private static List<String> roomTypeCodes(String value) {
+        List<String> codes = Arrays.stream(value.split("\\|"))
+                .map(String::trim)
+                .filter(code -> !code.isEmpty())
+                .toList();
+        if (codes.isEmpty()) {
+            throw new IllegalArgumentException("Missing roomTypes");
+        }
+        return codes;
+    }
+
+    private static String bounded(String value, String name, int maxLength) {
+        if (value != null && value.length() > maxLength) {
+            throw new IllegalArgumentException(name + " exceeds " + maxLength + " characters");
+        }
+        return value;
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    /**
+     * Splits one CSV record, honouring double quotes and "" escapes.
+     */
+    static List<String> splitCsv(String text) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted value");
+        }
+        values.add(current.toString());
+        return values;
+    }
+}
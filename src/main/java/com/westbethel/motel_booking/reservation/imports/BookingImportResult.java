@@ -0,0 +1,24 @@
+package com.westbethel.motel_booking.reservation.imports;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk booking import.
+ *
+ * @param received number of data rows in the file
+ * @param imported bookings written (or, on a dry run, that would have been written)
+ * @param failed   rows rejected
+ * @param dryRun   true if nothing was written
+ * @param errors   rejected rows in file order, capped at {@link BookingImportService#MAX_REPORTED_ERRORS}
+ */
+public record BookingImportResult(int received, int imported, int failed, boolean dryRun, List<RowError> errors) {
+
+    /**
+     * Why one row was rejected.
+     *
+     * @param line      line number in the uploaded file
+     * @param reference the row's booking reference, if it had one
+     */
+    public record RowError(int line, String reference, String message) {
+    }
+}
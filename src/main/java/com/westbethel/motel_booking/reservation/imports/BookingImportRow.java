@@ -0,0 +1,29 @@
+package com.westbethel.motel_booking.reservation.imports;
+
+import com.westbethel.motel_booking.common.model.BookingChannel;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One parsed line of a rooming list: a booking of one or more rooms for one guest.
+ *
+ * @param line          line number in the uploaded file, for error reporting
+ * @param reference     booking reference to keep (e.g. the OTA confirmation), or null to generate one
+ * @param roomTypeCodes room type codes of the property, one room each
+ */
+record BookingImportRow(
+        int line,
+        String reference,
+        UUID guestId,
+        UUID ratePlanId,
+        List<String> roomTypeCodes,
+        LocalDate checkIn,
+        LocalDate checkOut,
+        int adults,
+        int children,
+        BookingChannel channel,
+        String source,
+        String notes) {
+}
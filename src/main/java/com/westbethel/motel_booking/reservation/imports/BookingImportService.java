@@ -0,0 +1,502 @@
+package com.westbethel.motel_booking.reservation.imports;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.westbethel.motel_booking.cache.CacheService;
+import com.westbethel.motel_booking.common.datasource.Workload;
+import com.westbethel.motel_booking.common.datasource.WorkloadClass;
+import com.westbethel.motel_booking.common.model.BookingStatus;
+import com.westbethel.motel_booking.common.model.Money;
+import com.westbethel.motel_booking.common.model.PaymentStatus;
+import com.westbethel.motel_booking.common.model.RoomStatus;
+import com.westbethel.motel_booking.config.CacheConfiguration;
+import com.westbethel.motel_booking.inventory.domain.Room;
+import com.westbethel.motel_booking.inventory.domain.RoomType;
+import com.westbethel.motel_booking.inventory.repository.RoomRepository;
+import com.westbethel.motel_booking.inventory.repository.RoomTypeRepository;
+import com.westbethel.motel_booking.pricing.domain.RatePlan;
+import com.westbethel.motel_booking.pricing.model.PricingContext;
+import com.westbethel.motel_booking.pricing.repository.RatePlanRepository;
+import com.westbethel.motel_booking.pricing.service.PricingService;
+import com.westbethel.motel_booking.property.domain.Property;
+import com.westbethel.motel_booking.property.repository.PropertyRepository;
+import com.westbethel.motel_booking.reservation.domain.Booking;
+import com.westbethel.motel_booking.reservation.dto.RoomStayProjection;
+import com.westbethel.motel_booking.reservation.repository.BookingRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Bulk booking import for rooming lists and OTA backfills of one property.
+ *
+ * The file is processed in four stages instead of one {@code BookingService.create} per row:
+ * - Parse and validate: rows are parsed, checked and priced in parallel against reference
+ *   data loaded once (rate plans, room types, rooms, known guests and references)
+ * - Allocate: rows claim rooms in file order against an in-memory {@link OccupancySnapshot}
+ *   of the stays already booked over the file's date span
+ * - Write: bookings and booking_rooms are inserted as multi-row statements,
+ *   {@code booking.import.batch-size} bookings per transaction
+ * - A batch that fails (e.g. a room booked concurrently, caught by the V13 exclusion
+ *   constraint) is retried row by row, so only the offending rows are rejected
+ *
+ * Rejected rows are reported with their line number. Runs on the background connection pool.
+ */
+@Service
+@Slf4j
+public class BookingImportService {
+
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final String CREATED_BY = "import";
+    private static final List<BookingStatus> BLOCKING_STATUSES =
+            List.of(BookingStatus.HOLD, BookingStatus.CONFIRMED, BookingStatus.CHECKED_IN);
+    private static final int LOOKUP_CHUNK_SIZE = 1000;
+    // 21 parameters per booking row; PostgreSQL allows 65535 per statement
+    private static final int MAX_BATCH_SIZE = 3000;
+
+    private static final String BOOKING_INSERT_PREFIX = "INSERT INTO bookings (id, property_id, reference, guest_id, "
+            + "status, payment_status, channel, source, created_by, check_in, check_out, adults, children, "
+            + "rate_plan_id, total_amount, total_currency, balance_due_amount, balance_due_currency, notes, "
+            + "created_at, version) VALUES ";
+    private static final String BOOKING_INSERT_ROW = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String ROOM_INSERT_PREFIX = "INSERT INTO booking_rooms (booking_id, room_id) VALUES ";
+    private static final String ROOM_INSERT_ROW = "(?, ?)";
+
+    private final PropertyRepository propertyRepository;
+    private final RatePlanRepository ratePlanRepository;
+    private final RoomTypeRepository roomTypeRepository;
+    private final RoomRepository roomRepository;
+    private final BookingRepository bookingRepository;
+    private final PricingService pricingService;
+    private final CacheService cacheService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final int maxRows;
+
+    private final Counter importedCounter;
+    private final Counter failedCounter;
+
+    public BookingImportService(
+            PropertyRepository propertyRepository,
+            RatePlanRepository ratePlanRepository,
+            RoomTypeRepository roomTypeRepository,
+            RoomRepository roomRepository,
+            BookingRepository bookingRepository,
+            PricingService pricingService,
+            CacheService cacheService,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${booking.import.batch-size:1000}") int batchSize,
+            @Value("${booking.import.max-rows:100000}") int maxRows) {
+        this.propertyRepository = propertyRepository;
+        this.ratePlanRepository = ratePlanRepository;
+        this.roomTypeRepository = roomTypeRepository;
+        this.roomRepository = roomRepository;
+        this.bookingRepository = bookingRepository;
+        this.pricingService = pricingService;
+        this.cacheService = cacheService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.batchSize = Math.max(1, Math.min(batchSize, MAX_BATCH_SIZE));
+        this.maxRows = maxRows;
+
+        this.importedCounter = Counter.builder("booking.import.rows")
+                .tag("outcome", "imported")
+                .description("Rooming list rows imported as bookings")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("booking.import.rows")
+                .tag("outcome", "failed")
+                .description("Rooming list rows rejected by the import")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Import a rooming list into one property.
+     *
+     * @param dryRun validate and allocate only; nothing is written
+     * @throws IllegalArgumentException if the property is unknown, the CSV header is unusable
+     *                                  or the file exceeds {@code booking.import.max-rows}
+     */
+    @Workload(WorkloadClass.BACKGROUND)
+    public BookingImportResult importBookings(UUID propertyId, BookingImportFormat format, InputStream input,
+                                              boolean dryRun) throws IOException {
+        Property property = propertyRepository.findById(propertyId)
+                .orElseThrow(() -> new IllegalArgumentException("Property not found"));
+
+        List<Line> lines = new ArrayList<>();
+        BookingImportParser parser = read(format, input, lines);
+        List<BookingImportResult.RowError> errors = Collections.synchronizedList(new ArrayList<>());
+
+        // Stage 1: parse in parallel (pure CPU, no connections used)
+        List<BookingImportRow> rows = lines.parallelStream()
+                .map(line -> {
+                    try {
+                        return parser.parse(line.number(), line.text());
+                    } catch (IllegalArgumentException e) {
+                        errors.add(new BookingImportResult.RowError(line.number(), null, e.getMessage()));
+                        return null;
+                    }
+                })
+                .filter(Objects::nonNull)
+                .toList();
+
+        // Stage 2: validate and price in parallel against reference data loaded once
+        ReferenceData reference = loadReferenceData(property, rows);
+        List<ValidatedRow> validated = rows.parallelStream()
+                .map(row -> {
+                    try {
+                        return validate(row, reference);
+                    } catch (IllegalArgumentException e) {
+                        errors.add(new BookingImportResult.RowError(row.line(), row.reference(), e.getMessage()));
+                        return null;
+                    }
+                })
+                .filter(Objects::nonNull)
+                .toList();
+
+        // Stage 3: allocate rooms in file order against the occupancy snapshot
+        List<Allocated> allocated = allocate(property, validated, reference, errors);
+
+        // Stage 4: write in batches
+        int imported = dryRun ? allocated.size() : write(allocated, errors);
+        if (!dryRun && imported > 0) {
+            cacheService.evictCache(CacheConfiguration.AVAILABILITY_CACHE);
+        }
+
+        importedCounter.increment(dryRun ? 0 : imported);
+        failedCounter.increment(errors.size());
+        log.info("Booking import for property {}: {} rows, {} {}, {} rejected",
+                property.getCode(), lines.size(), imported, dryRun ? "importable (dry run)" : "imported", errors.size());
+
+        List<BookingImportResult.RowError> reported = errors.stream()
+                .sorted(Comparator.comparingInt(BookingImportResult.RowError::line))
+                .limit(MAX_REPORTED_ERRORS)
+                .toList();
+        return new BookingImportResult(lines.size(), imported, errors.size(), dryRun, reported);
+    }
+
+    private BookingImportParser read(BookingImportFormat format, InputStream input, List<Line> lines) throws IOException {
+        BookingImportParser parser = format == BookingImportFormat.NDJSON ? BookingImportParser.ndjson(objectMapper) : null;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String text;
+            int number = 0;
+            while ((text = reader.readLine()) != null) {
+                number++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                if (parser == null) {
+                    parser = BookingImportParser.csv(text);
+                    continue;
+                }
+                if (lines.size() == maxRows) {
+                    throw new IllegalArgumentException("Import exceeds " + maxRows + " rows");
+                }
+                lines.add(new Line(number, text));
+            }
+        }
+        if (parser == null) {
+            throw new IllegalArgumentException("CSV import requires a header row");
+        }
+        return parser;
+    }
+
+    private ReferenceData loadReferenceData(Property property, List<BookingImportRow> rows) {
+        Set<UUID> ratePlanIds = rows.stream().map(BookingImportRow::ratePlanId).collect(Collectors.toSet());
+        Map<UUID, RatePlan> ratePlans = ratePlanRepository.findAllById(ratePlanIds).stream()
+                .filter(plan -> property.getId().equals(plan.getPropertyId()))
+                .collect(Collectors.toMap(RatePlan::getId, Function.identity()));
+
+        Map<String, RoomType> roomTypes = roomTypeRepository.findByPropertyId(property.getId()).stream()
+                .collect(Collectors.toMap(RoomType::getCode, Function.identity(), (first, second) -> first));
+
+        Map<UUID, List<Room>> rooms = roomRepository.findByPropertyId(property.getId()).stream()
+                .filter(room -> room.getStatus() == RoomStatus.AVAILABLE)
+                .sorted(Comparator.comparing(Room::getRoomNumber, Comparator.nullsLast(Comparator.naturalOrder())))
+                .collect(Collectors.groupingBy(Room::getRoomTypeId));
+
+        Set<UUID> guests = existing("SELECT id FROM guests WHERE id IN ",
+                rows.stream().map(BookingImportRow::guestId).collect(Collectors.toSet()), UUID.class);
+
+        Set<String> references = existing(
+                "SELECT reference FROM bookings WHERE reference IN ",
+                rows.stream().map(BookingImportRow::reference).filter(Objects::nonNull).collect(Collectors.toSet()),
+                String.class);
+
+        return new ReferenceData(property, ratePlans, roomTypes, rooms, guests, references);
+    }
+
+    /**
+     * Values of {@code candidates} present in the database, looked up in chunks of IN lists.
+     */
+    private <T> Set<T> existing(String sqlPrefix, Collection<T> candidates, Class<T> type) {
+        Set<T> found = new HashSet<>();
+        List<T> values = new ArrayList<>(candidates);
+        for (int from = 0; from < values.size(); from += LOOKUP_CHUNK_SIZE) {
+            List<T> chunk = values.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, values.size()));
+            String sql = sqlPrefix + "(" + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+            found.addAll(jdbcTemplate.queryForList(sql, type, chunk.toArray()));
+        }
+        return found;
+    }
+
+    private ValidatedRow validate(BookingImportRow row, ReferenceData reference) {
+        if (!row.checkOut().isAfter(row.checkIn())) {
+            throw new IllegalArgumentException("Check-out must be after check-in");
+        }
+        if (!reference.guests().contains(row.guestId())) {
+            throw new IllegalArgumentException("Guest not found: " + row.guestId());
+        }
+        if (row.reference() != null && reference.references().contains(row.reference())) {
+            throw new IllegalArgumentException("Reference already exists: " + row.reference());
+        }
+        RatePlan ratePlan = reference.ratePlans().get(row.ratePlanId());
+        if (ratePlan == null) {
+            throw new IllegalArgumentException("Rate plan not found for property: " + row.ratePlanId());
+        }
+
+        Map<UUID, RoomType> roomTypes = new HashMap<>();
+        Set<UUID> roomTypeIds = new LinkedHashSet<>();
+        for (String code : row.roomTypeCodes()) {
+            RoomType roomType = reference.roomTypes().get(code);
+            if (roomType == null) {
+                throw new IllegalArgumentException("Room type not found for property: " + code);
+            }
+            if (!roomTypeIds.add(roomType.getId())) {
+                throw new IllegalArgumentException("Room type listed twice: " + code);
+            }
+            roomTypes.put(roomType.getId(), roomType);
+        }
+
+        PricingContext context = PricingContext.builder()
+                .propertyId(reference.property().getId())
+                .ratePlanId(ratePlan.getId())
+                .checkIn(row.checkIn())
+                .checkOut(row.checkOut())
+                .adults(row.adults())
+                .children(row.children())
+                .guestId(row.guestId())
+                .roomTypeIds(roomTypeIds)
+                .build();
+        Money total = pricingService.quote(context, reference.property(), ratePlan, roomTypes).getTotalAmount();
+        return new ValidatedRow(row, List.copyOf(roomTypeIds), total);
+    }
+
+    private List<Allocated> allocate(Property property, List<ValidatedRow> rows, ReferenceData reference,
+                                     List<BookingImportResult.RowError> errors) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        OccupancySnapshot snapshot = snapshot(property.getId(), rows);
+        Set<String> references = new HashSet<>();
+        OffsetDateTime now = OffsetDateTime.now();
+
+        List<Allocated> allocated = new ArrayList<>(rows.size());
+        for (ValidatedRow validated : rows) {
+            BookingImportRow row = validated.row();
+            if (row.reference() != null && !references.add(row.reference())) {
+                errors.add(new BookingImportResult.RowError(row.line(), row.reference(), "Reference repeated in file"));
+                continue;
+            }
+
+            Set<UUID> roomIds = new LinkedHashSet<>();
+            for (UUID roomTypeId : validated.roomTypeIds()) {
+                reference.rooms().getOrDefault(roomTypeId, List.of()).stream()
+                        .map(Room::getId)
+                        .filter(roomId -> !roomIds.contains(roomId) && snapshot.isFree(roomId, row.checkIn(), row.checkOut()))
+                        .findFirst()
+                        .ifPresent(roomIds::add);
+            }
+            if (roomIds.size() < validated.roomTypeIds().size()) {
+                errors.add(new BookingImportResult.RowError(row.line(), row.reference(),
+                        String.format("No available rooms for %s to %s", row.checkIn(), row.checkOut())));
+                continue;
+            }
+            roomIds.forEach(roomId -> snapshot.occupy(roomId, row.checkIn(), row.checkOut()));
+
+            String bookingReference = row.reference() != null ? row.reference() : generateReference(property.getCode());
+            allocated.add(new Allocated(row.line(), Booking.builder()
+                    .id(UUID.randomUUID())
+                    .propertyId(property.getId())
+                    .reference(bookingReference)
+                    .guestId(row.guestId())
+                    .status(BookingStatus.CONFIRMED)
+                    .paymentStatus(PaymentStatus.INITIATED)
+                    .channel(row.channel())
+                    .source(row.source())
+                    .createdBy(CREATED_BY)
+                    .checkIn(row.checkIn())
+                    .checkOut(row.checkOut())
+                    .adults(row.adults())
+                    .children(row.children())
+                    .ratePlanId(row.ratePlanId())
+                    .roomIds(roomIds)
+                    .totalAmount(validated.total())
+                    .balanceDue(validated.total())
+                    .notes(row.notes())
+                    .createdAt(now)
+                    .version(0L)
+                    .build()));
+        }
+        return allocated;
+    }
+
+    /**
+     * Stays already blocking rooms of the property anywhere in the file's date span.
+     */
+    private OccupancySnapshot snapshot(UUID propertyId, List<ValidatedRow> rows) {
+        LocalDate start = rows.stream().map(row -> row.row().checkIn()).min(Comparator.naturalOrder()).orElseThrow();
+        LocalDate end = rows.stream().map(row -> row.row().checkOut()).max(Comparator.naturalOrder()).orElseThrow();
+
+        OccupancySnapshot snapshot = new OccupancySnapshot();
+        readOnlyTransactionTemplate.executeWithoutResult(status -> {
+            try (Stream<RoomStayProjection> stays = bookingRepository.streamRoomStays(propertyId, BLOCKING_STATUSES, start, end)) {
+                stays.forEach(stay -> snapshot.occupy(stay.getRoomId(), stay.getCheckIn(), stay.getCheckOut()));
+            }
+        });
+        return snapshot;
+    }
+
+    /**
+     * @return number of bookings written
+     */
+    private int write(List<Allocated> allocated, List<BookingImportResult.RowError> errors) {
+        int written = 0;
+        for (int from = 0; from < allocated.size(); from += batchSize) {
+            List<Allocated> batch = allocated.subList(from, Math.min(from + batchSize, allocated.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> insert(batch));
+                written += batch.size();
+            } catch (DataAccessException e) {
+                log.warn("Import batch of {} bookings failed, retrying row by row: {}", batch.size(), e.getMessage());
+                written += writeIndividually(batch, errors);
+            }
+        }
+        return written;
+    }
+
+    private int writeIndividually(List<Allocated> batch, List<BookingImportResult.RowError> errors) {
+        int written = 0;
+        for (Allocated row : batch) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> insert(List.of(row)));
+                written++;
+            } catch (DataAccessException e) {
+                // Any failure, not only constraint violations, rejects just this row. The database
+                // message names the violated constraint, e.g. a concurrent double booking
+                errors.add(new BookingImportResult.RowError(row.line(), row.booking().getReference(),
+                        "Rejected by the database: " + e.getMostSpecificCause().getMessage()));
+            }
+        }
+        return written;
+    }
+
+    private void insert(List<Allocated> rows) {
+        List<Object> bookingArgs = new ArrayList<>(rows.size() * 21);
+        List<Object> roomArgs = new ArrayList<>();
+        for (Allocated row : rows) {
+            Booking booking = row.booking();
+            Money total = booking.getTotalAmount();
+            Money balance = booking.getBalanceDue();
+            bookingArgs.add(booking.getId());
+            bookingArgs.add(booking.getPropertyId());
+            bookingArgs.add(booking.getReference());
+            bookingArgs.add(booking.getGuestId());
+            bookingArgs.add(booking.getStatus().name());
+            bookingArgs.add(booking.getPaymentStatus().name());
+            bookingArgs.add(booking.getChannel().name());
+            bookingArgs.add(booking.getSource());
+            bookingArgs.add(booking.getCreatedBy());
+            bookingArgs.add(booking.getCheckIn());
+            bookingArgs.add(booking.getCheckOut());
+            bookingArgs.add(booking.getAdults());
+            bookingArgs.add(booking.getChildren());
+            bookingArgs.add(booking.getRatePlanId());
+            bookingArgs.add(total != null ? total.getAmount() : null);
+            bookingArgs.add(total != null && total.getCurrency() != null ? total.getCurrency().getCurrencyCode() : null);
+            bookingArgs.add(balance != null ? balance.getAmount() : null);
+            bookingArgs.add(balance != null && balance.getCurrency() != null ? balance.getCurrency().getCurrencyCode() : null);
+            bookingArgs.add(booking.getNotes());
+            bookingArgs.add(booking.getCreatedAt());
+            bookingArgs.add(booking.getVersion());
+            for (UUID roomId : booking.getRoomIds()) {
+                roomArgs.add(booking.getId());
+                roomArgs.add(roomId);
+            }
+        }
+        // Bookings first: the booking_rooms trigger reads each room's stay from its booking
+        jdbcTemplate.update(insertSql(BOOKING_INSERT_PREFIX, BOOKING_INSERT_ROW, rows.size()), bookingArgs.toArray());
+        jdbcTemplate.update(insertSql(ROOM_INSERT_PREFIX, ROOM_INSERT_ROW, roomArgs.size() / 2), roomArgs.toArray());
+    }
+
+    private static String insertSql(String prefix, String row, int rows) {
+        StringBuilder sql = new StringBuilder(prefix.length() + rows * (row.length() + 2));
+        sql.append(prefix);
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(row);
+        }
+        return sql.toString();
+    }
+
+    private static String generateReference(String propertyCode) {
+        return propertyCode.toUpperCase() + "-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    }
+
+    private record Line(int number, String text) {
+    }
+
+    private record ReferenceData(
+            Property property,
+            Map<UUID, RatePlan> ratePlans,
+            Map<String, RoomType> roomTypes,
+            Map<UUID, List<Room>> rooms,
+            Set<UUID> guests,
+            Set<String> references) {
+    }
+
+    private record ValidatedRow(BookingImportRow row, List<UUID> roomTypeIds, Money total) {
+    }
+
+    private record Allocated(int line, Booking booking) {
+    }
+}
@@ -0,0 +1,38 @@
+package com.westbethel.motel_booking.reservation.imports;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * In-memory room occupancy of one property, used to allocate a whole import without a
+ * database round trip per booking.
+ *
+ * Each room keeps its stays as half-open [checkIn, checkOut) ranges keyed by check-in, so
+ * a free check is one floor lookup. Not thread-safe; allocation runs in file order.
+ * The snapshot can go stale while an import runs; the V13 exclusion constraint still
+ * rejects any overlap at write time.
+ */
+final class OccupancySnapshot {
+
+    private final Map<UUID, NavigableMap<LocalDate, LocalDate>> stays = new HashMap<>();
+
+    void occupy(UUID roomId, LocalDate checkIn, LocalDate checkOut) {
+        stays.computeIfAbsent(roomId, id -> new TreeMap<>())
+                .merge(checkIn, checkOut, (existing, added) -> existing.isAfter(added) ? existing : added);
+    }
+
+    boolean isFree(UUID roomId, LocalDate checkIn, LocalDate checkOut) {
+        NavigableMap<LocalDate, LocalDate> roomStays = stays.get(roomId);
+        if (roomStays == null) {
+            return true;
+        }
+        // Stored stays never overlap each other, so only the last one starting before
+        // checkOut can reach into the requested range
+        Map.Entry<LocalDate, LocalDate> previous = roomStays.lowerEntry(checkOut);
+        return previous == null || !previous.getValue().isAfter(checkIn);
+    }
+}
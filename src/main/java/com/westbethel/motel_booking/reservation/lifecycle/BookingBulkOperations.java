@@ -0,0 +1,254 @@
+package com.westbethel.motel_booking.reservation.lifecycle;
+
+import com.westbethel.motel_booking.cache.CacheService;
+import com.westbethel.motel_booking.common.datasource.Workload;
+import com.westbethel.motel_booking.common.datasource.WorkloadClass;
+import com.westbethel.motel_booking.common.model.BookingStatus;
+import com.westbethel.motel_booking.config.CacheConfiguration;
+import com.westbethel.motel_booking.exception.InvalidDateRangeException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Set-based booking lifecycle operations: hold expiry, no-show sweep, room block cancellation.
+ *
+ * Each batch is one {@code UPDATE ... FROM (SELECT ... LIMIT n FOR UPDATE) RETURNING} in its
+ * own short transaction, instead of loading, dirty-checking and saving bookings one by one.
+ * - Rows get the same status, updated_at and version increment a JPA save would give them,
+ *   so concurrent edits of a swept booking still fail optimistic locking
+ * - The V13/V16 triggers release the rooms and room nights in the same statement
+ * - One {@link BookingsTransitionedEvent} is published per committed batch
+ * - The availability cache is evicted once per operation, not per booking
+ *
+ * Sweeps skip rows locked by in-flight requests; the next run picks them up. Sweeps run
+ * on the background connection pool.
+ *
+ * The no-show sweep is off unless {@code booking.lifecycle.no-show-enabled} is set: nothing
+ * moves a booking to CHECKED_IN yet, so a CONFIRMED booking may be a guest in house. It only
+ * marks stays whose check-out day has passed, so it never releases nights still to come.
+ */
+@Component
+@Slf4j
+public class BookingBulkOperations {
+
+    private static final String UPDATE_TEMPLATE = """
+            WITH batch AS (
+                %s
+                LIMIT ?
+                FOR UPDATE OF b%s
+            )
+            UPDATE bookings t
+            SET status = ?, updated_at = ?, version = COALESCE(t.version, 0) + 1
+            FROM batch
+            WHERE t.id = batch.id
+            RETURNING t.id, t.reference, t.guest_id, t.property_id, batch.previous_status, t.check_in, t.check_out
+            """;
+
+    private static final String EXPIRED_HOLDS = """
+            SELECT b.id, b.status AS previous_status
+                FROM bookings b
+                WHERE b.status = 'HOLD'
+                  AND b.created_at < ?
+                ORDER BY b.created_at""";
+
+    // Check-out day already over in the property's own timezone
+    private static final String NO_SHOWS = """
+            SELECT b.id, b.status AS previous_status
+                FROM bookings b
+                JOIN properties p ON p.id = b.property_id
+                WHERE b.status = 'CONFIRMED'
+                  AND b.check_out < CAST(NOW() AT TIME ZONE p.timezone AS DATE) - ?
+                ORDER BY b.check_out""";
+
+    private static final String ROOM_BLOCK = """
+            SELECT b.id, b.status AS previous_status
+                FROM bookings b
+                WHERE b.property_id = ?
+                  AND b.status IN ('HOLD', 'CONFIRMED')
+                  AND EXISTS (
+                      SELECT 1 FROM booking_rooms br
+                      WHERE br.booking_id = b.id
+                        AND br.room_id IN (%s)
+                        AND br.stay && daterange(?, ?, '[)'))
+                ORDER BY b.check_in""";
+
+    private static final RowMapper<BookingTransition> TRANSITION_MAPPER = (rs, rowNum) -> new BookingTransition(
+            rs.getObject("id", UUID.class),
+            rs.getString("reference"),
+            rs.getObject("guest_id", UUID.class),
+            rs.getObject("property_id", UUID.class),
+            BookingStatus.valueOf(rs.getString("previous_status")),
+            rs.getObject("check_in", LocalDate.class),
+            rs.getObject("check_out", LocalDate.class));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheService cacheService;
+    private final Clock clock;
+    private final boolean enabled;
+    private final boolean noShowEnabled;
+    private final Duration holdTtl;
+    private final int noShowGraceDays;
+    private final int batchSize;
+    private final Map<BulkOperation, Counter> transitions = new EnumMap<>(BulkOperation.class);
+
+    @Autowired
+    public BookingBulkOperations(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ApplicationEventPublisher eventPublisher,
+            CacheService cacheService,
+            MeterRegistry meterRegistry,
+            @Value("${booking.lifecycle.enabled:true}") boolean enabled,
+            @Value("${booking.lifecycle.no-show-enabled:false}") boolean noShowEnabled,
+            @Value("${booking.lifecycle.hold-ttl-minutes:30}") long holdTtlMinutes,
+            @Value("${booking.lifecycle.no-show-grace-days:0}") int noShowGraceDays,
+            @Value("${booking.lifecycle.batch-size:1000}") int batchSize) {
+        this(jdbcTemplate, transactionManager, eventPublisher, cacheService, meterRegistry, Clock.systemUTC(),
+                enabled, noShowEnabled, Duration.ofMinutes(holdTtlMinutes), noShowGraceDays, batchSize);
+    }
+
+    BookingBulkOperations(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                          ApplicationEventPublisher eventPublisher, CacheService cacheService,
+                          MeterRegistry meterRegistry, Clock clock, boolean enabled, boolean noShowEnabled,
+                          Duration holdTtl, int noShowGraceDays, int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.cacheService = cacheService;
+        this.clock = clock;
+        this.enabled = enabled;
+        this.noShowEnabled = noShowEnabled;
+        this.holdTtl = holdTtl;
+        this.noShowGraceDays = noShowGraceDays;
+        this.batchSize = batchSize;
+        for (BulkOperation operation : BulkOperation.values()) {
+            transitions.put(operation, Counter.builder("booking.lifecycle.transitions")
+                    .tag("operation", operation.name().toLowerCase())
+                    .description("Bookings changed by bulk lifecycle operations")
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Cancel HOLD bookings older than {@code booking.lifecycle.hold-ttl-minutes}.
+     */
+    @Scheduled(fixedDelayString = "${booking.lifecycle.hold-expiry-interval-ms:60000}")
+    @Workload(WorkloadClass.BACKGROUND)
+    public void expireHolds() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            int expired = expireHoldsCreatedBefore(OffsetDateTime.now(clock).minus(holdTtl));
+            if (expired > 0) {
+                log.info("Expired {} booking holds", expired);
+            }
+        } catch (Exception e) {
+            log.error("Hold expiry failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Mark CONFIRMED bookings whose check-out day ended more than
+     * {@code booking.lifecycle.no-show-grace-days} ago, in property time, as NO_SHOW.
+     */
+    @Scheduled(cron = "${booking.lifecycle.no-show-cron:0 30 2 * * *}")
+    @Workload(WorkloadClass.BACKGROUND)
+    public void markNoShows() {
+        if (!enabled || !noShowEnabled) {
+            return;
+        }
+        try {
+            int marked = run(BulkOperation.NO_SHOW, BookingStatus.NO_SHOW, NO_SHOWS, true, noShowGraceDays);
+            if (marked > 0) {
+                log.info("Marked {} bookings as no-show", marked);
+            }
+        } catch (Exception e) {
+            log.error("No-show sweep failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Cancel every HOLD and CONFIRMED booking holding any of the rooms on a night of [from, to).
+     * Waits for rows locked by in-flight requests rather than skipping them.
+     *
+     * @return number of bookings cancelled
+     */
+    @Workload(WorkloadClass.BACKGROUND)
+    public int cancelForRooms(UUID propertyId, Collection<UUID> roomIds, LocalDate from, LocalDate to) {
+        if (!to.isAfter(from)) {
+            throw new InvalidDateRangeException("Room block end date must be after start date");
+        }
+        if (roomIds.isEmpty()) {
+            return 0;
+        }
+        String select = String.format(ROOM_BLOCK, String.join(", ", Collections.nCopies(roomIds.size(), "?")));
+        List<Object> args = new ArrayList<>();
+        args.add(propertyId);
+        args.addAll(roomIds);
+        args.add(from);
+        args.add(to);
+        int cancelled = run(BulkOperation.ROOM_BLOCK_CANCEL, BookingStatus.CANCELLED, select, false, args.toArray());
+        log.info("Cancelled {} bookings for {} closed rooms from {} to {}", cancelled, roomIds.size(), from, to);
+        return cancelled;
+    }
+
+    int expireHoldsCreatedBefore(OffsetDateTime cutoff) {
+        return run(BulkOperation.HOLD_EXPIRY, BookingStatus.CANCELLED, EXPIRED_HOLDS, true, cutoff);
+    }
+
+    /**
+     * Apply one transition in batches until a batch comes back short.
+     *
+     * @return number of bookings changed
+     */
+    private int run(BulkOperation operation, BookingStatus status, String select, boolean skipLocked, Object... selectArgs) {
+        String sql = String.format(UPDATE_TEMPLATE, select, skipLocked ? " SKIP LOCKED" : "");
+        Object[] args = new Object[selectArgs.length + 3];
+        System.arraycopy(selectArgs, 0, args, 0, selectArgs.length);
+        args[selectArgs.length] = batchSize;
+        args[selectArgs.length + 1] = status.name();
+        args[selectArgs.length + 2] = OffsetDateTime.now(clock);
+
+        int total = 0;
+        List<BookingTransition> batch;
+        do {
+            batch = transactionTemplate.execute(tx -> jdbcTemplate.query(sql, TRANSITION_MAPPER, args));
+            if (batch == null || batch.isEmpty()) {
+                break;
+            }
+            total += batch.size();
+            transitions.get(operation).increment(batch.size());
+            eventPublisher.publishEvent(new BookingsTransitionedEvent(operation, status, List.copyOf(batch)));
+        } while (batch.size() == batchSize);
+
+        if (total > 0) {
+            cacheService.evictCache(CacheConfiguration.AVAILABILITY_CACHE);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,19 @@
+package com.westbethel.motel_booking.reservation.lifecycle;
+
+import com.westbethel.motel_booking.common.model.BookingStatus;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * One booking changed by a bulk operation, as returned by the UPDATE.
+ */
+public record BookingTransition(
+        UUID bookingId,
+        String reference,
+        UUID guestId,
+        UUID propertyId,
+        BookingStatus previousStatus,
+        LocalDate checkIn,
+        LocalDate checkOut) {
+}
@@ -0,0 +1,15 @@
+package com.westbethel.motel_booking.reservation.lifecycle;
+
+import com.westbethel.motel_booking.common.model.BookingStatus;
+
+import java.util.List;
+
+/**
+ * Published once per committed batch of a bulk lifecycle operation, instead of one event
+ * per booking. Listeners run after the batch is committed.
+ *
+ * @param status   status every booking of the batch now has
+ * @param bookings the bookings changed in this batch
+ */
+public record BookingsTransitionedEvent(BulkOperation operation, BookingStatus status, List<BookingTransition> bookings) {
+}
@@ -0,0 +1,22 @@
+package com.westbethel.motel_booking.reservation.lifecycle;
+
+/**
+ * Set-based booking lifecycle operations run by {@link BookingBulkOperations}.
+ */
+public enum BulkOperation {
+
+    /**
+     * HOLD bookings older than the hold time-to-live become CANCELLED.
+     */
+    HOLD_EXPIRY,
+
+    /**
+     * CONFIRMED bookings whose check-in day has passed at the property become NO_SHOW.
+     */
+    NO_SHOW,
+
+    /**
+     * HOLD and CONFIRMED bookings of a closed block of rooms become CANCELLED.
+     */
+    ROOM_BLOCK_CANCEL
+}
@@ -3,6 +3,9 @@ package com.westbethel.motel_booking.reservation.repository;
 import com.westbethel.motel_booking.common.model.BookingStatus;
 import com.westbethel.motel_booking.reservation.domain.Booking;
 import com.westbethel.motel_booking.reservation.dto.BookingProjection;
+import com.westbethel.motel_booking.reservation.dto.DailyRevenueProjection;
+import com.westbethel.motel_booking.reservation.dto.NightlyOccupancyProjection;
+import com.westbethel.motel_booking.reservation.dto.RoomStayProjection;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -11,9 +14,12 @@ import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Booking Repository with Performance Optimizations
@@ -23,24 +29,187 @@ import java.util.UUID;
  * - Pagination support
  * - Indexed query hints
  * - JOIN FETCH for eager loading
+ * - GiST range overlap (&&) for stay lookups
+ * - Flat room-stay projections for availability and reporting
+ * - Booked rooms and nightly occupancy read from the room_nights table
+ * - Reports read the partitioned archive tier with pruning-friendly check_out bounds
  */
 public interface BookingRepository extends JpaRepository<Booking, UUID> {
 
     Optional<Booking> findByReference(String reference);
 
     /**
-     * Find overlapping bookings (optimized with index hint)
+     * Find bookings whose stay overlaps [startDate, endDate)
+     * Uses the GiST index on (property_id, daterange(check_in, check_out)) via &&
      */
-    @Query("""
-            select b from Booking b
-            where b.propertyId = :propertyId
-              and b.status in :statuses
-              and b.checkIn < :endDate
-              and b.checkOut > :startDate
-            """)
-    List<Booking> findOverlappingBookings(
+    default List<Booking> findOverlappingBookings(
+            UUID propertyId,
+            Collection<BookingStatus> statuses,
+            LocalDate startDate,
+            LocalDate endDate) {
+        return findOverlappingBookingsByStatusNames(
+                propertyId,
+                statusNames(statuses),
+                startDate,
+                endDate);
+    }
+
+    @Query(value = """
+            select b.* from bookings b
+            where b.property_id = :propertyId
+              and daterange(b.check_in, b.check_out, '[)') && daterange(:startDate, :endDate, '[)')
+              and b.status in (:statuses)
+            """, nativeQuery = true)
+    List<Booking> findOverlappingBookingsByStatusNames(
+            @Param("propertyId") UUID propertyId,
+            @Param("statuses") Collection<String> statuses,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    /**
+     * IDs of rooms booked for any night of [startDate, endDate), without loading bookings
+     * Reads room_nights, so only HOLD, CONFIRMED, CHECKED_IN and CHECKED_OUT nights are visible
+     * Returns a mutable set so callers can add rooms as they allocate them
+     */
+    default Set<UUID> findBookedRoomIds(
+            UUID propertyId,
+            Collection<BookingStatus> statuses,
+            LocalDate startDate,
+            LocalDate endDate) {
+        return new HashSet<>(findBookedRoomIdsByStatusNames(
+                propertyId,
+                statusNames(statuses),
+                startDate,
+                endDate));
+    }
+
+    @Query(value = """
+            select distinct rn.room_id from room_nights rn
+            where rn.property_id = :propertyId
+              and rn.stay_date >= :startDate
+              and rn.stay_date < :endDate
+              and rn.status in (:statuses)
+            """, nativeQuery = true)
+    List<UUID> findBookedRoomIdsByStatusNames(
+            @Param("propertyId") UUID propertyId,
+            @Param("statuses") Collection<String> statuses,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    /**
+     * Booked rooms and their stays overlapping [startDate, endDate), one row per room
+     * Includes archived bookings; the check_out bound prunes archive partitions before startDate
+     * Must be consumed inside a transaction and closed
+     */
+    default Stream<RoomStayProjection> streamRoomStays(
+            UUID propertyId,
+            Collection<BookingStatus> statuses,
+            LocalDate startDate,
+            LocalDate endDate) {
+        return streamRoomStaysByStatusNames(propertyId, statusNames(statuses), startDate, endDate);
+    }
+
+    @Query(value = """
+            select br.room_id as roomId,
+                   b.check_in as checkIn,
+                   b.check_out as checkOut
+            from bookings b
+            join booking_rooms br on br.booking_id = b.id
+            where b.property_id = :propertyId
+              and daterange(b.check_in, b.check_out, '[)') && daterange(:startDate, :endDate, '[)')
+              and b.status in (:statuses)
+            union all
+            select br.room_id, b.check_in, b.check_out
+            from archive.bookings b
+            join archive.booking_rooms br on br.booking_id = b.id and br.check_out = b.check_out
+            where b.property_id = :propertyId
+              and b.check_out > :startDate
+              and b.check_in < :endDate
+              and b.status in (:statuses)
+            """, nativeQuery = true)
+    Stream<RoomStayProjection> streamRoomStaysByStatusNames(
             @Param("propertyId") UUID propertyId,
-            @Param("statuses") Collection<BookingStatus> statuses,
+            @Param("statuses") Collection<String> statuses,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    /**
+     * Booked rooms per night of [startDate, endDate); nights without bookings are omitted
+     * Counts room_nights plus the nights of archived bookings, pruned to archive partitions after startDate
+     */
+    default List<NightlyOccupancyProjection> countOccupiedRoomsByNight(
+            UUID propertyId,
+            Collection<BookingStatus> statuses,
+            LocalDate startDate,
+            LocalDate endDate) {
+        return countOccupiedRoomsByNightByStatusNames(propertyId, statusNames(statuses), startDate, endDate);
+    }
+
+    @Query(value = """
+            select nights.stay_date as stayDate,
+                   count(*) as occupiedRooms
+            from (
+                select rn.stay_date
+                from room_nights rn
+                where rn.property_id = :propertyId
+                  and rn.stay_date >= :startDate
+                  and rn.stay_date < :endDate
+                  and rn.status in (:statuses)
+                union all
+                select cast(night as date)
+                from archive.bookings b
+                join archive.booking_rooms br on br.booking_id = b.id and br.check_out = b.check_out
+                cross join generate_series(
+                        greatest(b.check_in, cast(:startDate as date)),
+                        least(b.check_out, cast(:endDate as date)) - 1,
+                        interval '1 day') as night
+                where b.property_id = :propertyId
+                  and b.check_out > :startDate
+                  and b.check_in < :endDate
+                  and b.status in (:statuses)
+            ) nights
+            group by nights.stay_date
+            """, nativeQuery = true)
+    List<NightlyOccupancyProjection> countOccupiedRoomsByNightByStatusNames(
+            @Param("propertyId") UUID propertyId,
+            @Param("statuses") Collection<String> statuses,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    /**
+     * Total amount of bookings overlapping [startDate, endDate), summed per check-in date
+     * Includes archived bookings, pruned to archive partitions after startDate
+     */
+    default List<DailyRevenueProjection> sumRevenueByCheckIn(
+            UUID propertyId,
+            Collection<BookingStatus> statuses,
+            LocalDate startDate,
+            LocalDate endDate) {
+        return sumRevenueByCheckInByStatusNames(propertyId, statusNames(statuses), startDate, endDate);
+    }
+
+    @Query(value = """
+            select stays.check_in as checkIn,
+                   coalesce(sum(stays.total_amount), 0) as revenue
+            from (
+                select b.check_in, b.total_amount
+                from bookings b
+                where b.property_id = :propertyId
+                  and daterange(b.check_in, b.check_out, '[)') && daterange(:startDate, :endDate, '[)')
+                  and b.status in (:statuses)
+                union all
+                select b.check_in, b.total_amount
+                from archive.bookings b
+                where b.property_id = :propertyId
+                  and b.check_out > :startDate
+                  and b.check_in < :endDate
+                  and b.status in (:statuses)
+            ) stays
+            group by stays.check_in
+            """, nativeQuery = true)
+    List<DailyRevenueProjection> sumRevenueByCheckInByStatusNames(
+            @Param("propertyId") UUID propertyId,
+            @Param("statuses") Collection<String> statuses,
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate);
 
@@ -160,4 +329,11 @@ public interface BookingRepository extends JpaRepository<Booking, UUID> {
      */
     @Query("select count(b) from Booking b where b.propertyId = :propertyId and b.status = :status")
     long countByPropertyIdAndStatus(@Param("propertyId") UUID propertyId, @Param("status") BookingStatus status);
+
+    /**
+     * Status names as stored in bookings.status, for native queries
+     */
+    private static List<String> statusNames(Collection<BookingStatus> statuses) {
+        return statuses.stream().map(BookingStatus::name).toList();
+    }
 }
@@ -0,0 +1,49 @@
+package com.westbethel.motel_booking.reservation.repository;
+
+import org.hibernate.exception.ConstraintViolationException;
+
+/**
+ * Database constraints that reject two blocking bookings of one room on the same night.
+ *
+ * Whether a write failed on one of them is decided from the constraint name Hibernate extracts
+ * for a flush ({@code AppPostgreSQLDialect} adds the exclusion constraint), never from the
+ * error message text. Plain JdbcTemplate writes carry no extracted name and are not recognised.
+ */
+public final class DoubleBookingConstraints {
+
+    /**
+     * Exclusion constraint on booking_rooms rejecting overlapping blocking stays of one room (V13).
+     */
+    public static final String NO_DOUBLE_BOOKING_CONSTRAINT = "booking_rooms_no_double_booking";
+
+    /**
+     * Unique index on room_nights allowing one blocking booking per room and night (V16).
+     */
+    public static final String ROOM_NIGHT_UNIQUE_INDEX = "uq_room_nights_room_date";
+
+    private DoubleBookingConstraints() {
+    }
+
+    /**
+     * @param e a failed write, typically a {@code DataIntegrityViolationException}
+     * @return true if it failed because a room was already booked for one of the nights
+     */
+    public static boolean isViolatedBy(Throwable e) {
+        String constraint = constraintName(e);
+        return NO_DOUBLE_BOOKING_CONSTRAINT.equals(constraint) || ROOM_NIGHT_UNIQUE_INDEX.equals(constraint);
+    }
+
+    /**
+     * Name of the violated constraint as extracted by Hibernate.
+     *
+     * @return the constraint name, or null if none was extracted
+     */
+    private static String constraintName(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                return violation.getConstraintName();
+            }
+        }
+        return null;
+    }
+}
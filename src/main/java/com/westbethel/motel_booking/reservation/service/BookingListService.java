@@ -0,0 +1,39 @@
+package com.westbethel.motel_booking.reservation.service;
+
+import com.westbethel.motel_booking.common.model.BookingStatus;
+import com.westbethel.motel_booking.reservation.dto.BookingPage;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Keyset-paginated booking lists.
+ *
+ * Each page continues from the last row of the previous one (pass back {@code nextCursor}),
+ * so deep pages cost the same as the first and no COUNT query runs. Set
+ * {@code estimateTotal} to get a planner-based size estimate instead of an exact count.
+ */
+public interface BookingListService {
+
+    /**
+     * Bookings of a guest, newest first. With {@code includeArchived}, bookings already moved
+     * to the archive tier are listed too; the other lists cover only bookings not yet archived.
+     */
+    BookingPage listByGuest(UUID guestId, boolean includeArchived, String cursor, int size, boolean estimateTotal);
+
+    /**
+     * Bookings of a property, latest check-in first.
+     */
+    BookingPage listByProperty(UUID propertyId, String cursor, int size, boolean estimateTotal);
+
+    /**
+     * Bookings in a status, latest check-in first.
+     */
+    BookingPage listByStatus(BookingStatus status, String cursor, int size, boolean estimateTotal);
+
+    /**
+     * Bookings of a property staying entirely within [startDate, endDate], earliest check-in first.
+     */
+    BookingPage listByPropertyAndDateRange(UUID propertyId, LocalDate startDate, LocalDate endDate,
+                                           String cursor, int size, boolean estimateTotal);
+}
@@ -0,0 +1,217 @@
+package com.westbethel.motel_booking.reservation.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.westbethel.motel_booking.common.model.BookingStatus;
+import com.westbethel.motel_booking.common.model.PaymentStatus;
+import com.westbethel.motel_booking.exception.InvalidDateRangeException;
+import com.westbethel.motel_booking.reservation.dto.BookingListDto;
+import com.westbethel.motel_booking.reservation.dto.BookingPage;
+import com.westbethel.motel_booking.reservation.service.BookingListService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Keyset pagination over {@code bookings} (indexes in V15).
+ *
+ * Every list is ordered by its sort column plus {@code id} as a tiebreaker, and continues with
+ * a row-value comparison against the last row of the previous page. One extra row is fetched to
+ * learn whether another page exists, so no COUNT runs; totals, when asked for, come from the
+ * planner's row estimate.
+ *
+ * Guest history can include archived bookings (V14): the same keyset page is taken from
+ * each tier and the two are merged, so a page still costs two index range scans.
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class DefaultBookingListService implements BookingListService {
+
+    static final int MAX_PAGE_SIZE = 200;
+
+    private static final String SELECT = """
+            SELECT id, reference, guest_id, property_id, status, payment_status, check_in, check_out,
+                   adults, children, total_amount, total_currency, created_at
+            FROM\s""";
+
+    private static final String HOT_TIER = "bookings";
+    private static final String ARCHIVE_TIER = "archive.bookings";
+
+    private static final RowMapper<BookingListDto> ROW_MAPPER = (rs, rowNum) -> BookingListDto.builder()
+            .id(rs.getObject("id", UUID.class))
+            .reference(rs.getString("reference"))
+            .guestId(rs.getObject("guest_id", UUID.class))
+            .propertyId(rs.getObject("property_id", UUID.class))
+            .status(BookingStatus.valueOf(rs.getString("status")))
+            .paymentStatus(PaymentStatus.valueOf(rs.getString("payment_status")))
+            .checkIn(rs.getObject("check_in", LocalDate.class))
+            .checkOut(rs.getObject("check_out", LocalDate.class))
+            .adults(rs.getInt("adults"))
+            .children(rs.getInt("children"))
+            .totalAmount(rs.getBigDecimal("total_amount"))
+            .totalCurrency(rs.getString("total_currency"))
+            .createdAt(rs.getObject("created_at", OffsetDateTime.class))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public BookingPage listByGuest(UUID guestId, boolean includeArchived, String cursor, int size,
+                                   boolean estimateTotal) {
+        return page(Listing.GUEST, "guest_id = ?", List.of(guestId), includeArchived, cursor, size, estimateTotal);
+    }
+
+    @Override
+    public BookingPage listByProperty(UUID propertyId, String cursor, int size, boolean estimateTotal) {
+        return page(Listing.PROPERTY, "property_id = ?", List.of(propertyId), false, cursor, size, estimateTotal);
+    }
+
+    @Override
+    public BookingPage listByStatus(BookingStatus status, String cursor, int size, boolean estimateTotal) {
+        return page(Listing.STATUS, "status = ?", List.of(status.name()), false, cursor, size, estimateTotal);
+    }
+
+    @Override
+    public BookingPage listByPropertyAndDateRange(UUID propertyId, LocalDate startDate, LocalDate endDate,
+                                                  String cursor, int size, boolean estimateTotal) {
+        if (endDate.isBefore(startDate)) {
+            throw new InvalidDateRangeException("Booking list end date must not be before start date");
+        }
+        return page(Listing.PROPERTY_DATES, "property_id = ? AND check_in >= ? AND check_out <= ?",
+                List.of(propertyId, startDate, endDate), false, cursor, size, estimateTotal);
+    }
+
+    private BookingPage page(Listing listing, String filter, List<Object> filterArgs, boolean includeArchived,
+                             String cursor, int size, boolean estimateTotal) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        StringBuilder where = new StringBuilder(" WHERE ").append(filter);
+        List<Object> tierArgs = new ArrayList<>(filterArgs);
+
+        if (cursor != null && !cursor.isBlank()) {
+            Cursor position = Cursor.decode(cursor, listing);
+            where.append(" AND (").append(listing.column).append(", id) ")
+                    .append(listing.descending ? "<" : ">").append(" (?, ?)");
+            tierArgs.add(listing.parseKey.apply(position.key()));
+            tierArgs.add(position.id());
+        }
+
+        String direction = listing.descending ? " DESC" : " ASC";
+        String order = " ORDER BY " + listing.column + direction + ", id" + direction + " LIMIT ?";
+        tierArgs.add(pageSize + 1);
+
+        String sql;
+        List<Object> args;
+        if (includeArchived) {
+            sql = "SELECT * FROM ((" + SELECT + HOT_TIER + where + order + ") UNION ALL ("
+                    + SELECT + ARCHIVE_TIER + where + order + ")) b" + order;
+            args = new ArrayList<>(tierArgs);
+            args.addAll(tierArgs);
+            args.add(pageSize + 1);
+        } else {
+            sql = SELECT + HOT_TIER + where + order;
+            args = tierArgs;
+        }
+
+        List<BookingListDto> rows = jdbcTemplate.query(sql, ROW_MAPPER, args.toArray());
+        Long estimatedTotal = estimateTotal ? estimateTotal(filter, filterArgs, includeArchived) : null;
+        if (rows.size() <= pageSize) {
+            return new BookingPage(rows, null, estimatedTotal);
+        }
+
+        List<BookingListDto> page = List.copyOf(rows.subList(0, pageSize));
+        BookingListDto last = page.get(pageSize - 1);
+        String next = new Cursor(listing, listing.key.apply(last).toString(), last.getId()).encode();
+        return new BookingPage(page, next, estimatedTotal);
+    }
+
+    private Long estimateTotal(String filter, List<Object> filterArgs, boolean includeArchived) {
+        Long hot = estimateRows(HOT_TIER, filter, filterArgs);
+        if (!includeArchived || hot == null) {
+            return hot;
+        }
+        Long archived = estimateRows(ARCHIVE_TIER, filter, filterArgs);
+        return archived != null ? hot + archived : null;
+    }
+
+    /**
+     * Planner row estimate for the list's filter on one tier; null if the estimate is unavailable.
+     */
+    Long estimateRows(String table, String filter, List<Object> filterArgs) {
+        try {
+            String plan = jdbcTemplate.queryForObject(
+                    "EXPLAIN (FORMAT JSON) SELECT 1 FROM " + table + " WHERE " + filter, String.class, filterArgs.toArray());
+            JsonNode rows = objectMapper.readTree(plan).path(0).path("Plan").path("Plan Rows");
+            return rows.isNumber() ? rows.asLong() : null;
+        } catch (DataAccessException | IOException e) {
+            log.debug("Booking count estimate unavailable: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Sort order of each list. The cursor records which list it belongs to, so a cursor
+     * cannot be replayed against a list with a different sort key.
+     */
+    enum Listing {
+        GUEST("created_at", true, BookingListDto::getCreatedAt, OffsetDateTime::parse),
+        PROPERTY("check_in", true, BookingListDto::getCheckIn, LocalDate::parse),
+        STATUS("check_in", true, BookingListDto::getCheckIn, LocalDate::parse),
+        PROPERTY_DATES("check_in", false, BookingListDto::getCheckIn, LocalDate::parse);
+
+        private final String column;
+        private final boolean descending;
+        private final Function<BookingListDto, Object> key;
+        private final Function<String, Object> parseKey;
+
+        Listing(String column, boolean descending, Function<BookingListDto, Object> key,
+                Function<String, Object> parseKey) {
+            this.column = column;
+            this.descending = descending;
+            this.key = key;
+            this.parseKey = parseKey;
+        }
+    }
+
+    /**
+     * Position of the last row of a page, encoded as URL-safe Base64 of {@code listing|key|id}.
+     */
+    record Cursor(Listing listing, String key, UUID id) {
+
+        String encode() {
+            String raw = listing + "|" + key + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor, Listing expected) {
+            Cursor decoded;
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 3);
+                decoded = new Cursor(Listing.valueOf(parts[0]), parts[1], UUID.fromString(parts[2]));
+                expected.parseKey.apply(decoded.key());
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid booking list cursor");
+            }
+            if (decoded.listing() != expected) {
+                throw new IllegalArgumentException("Booking list cursor belongs to a different list");
+            }
+            return decoded;
+        }
+    }
+}
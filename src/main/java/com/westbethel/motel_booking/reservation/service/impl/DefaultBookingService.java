@@ -3,87 +3,89 @@ package com.westbethel.motel_booking.reservation.service.impl;
 import com.westbethel.motel_booking.common.model.BookingChannel;
 import com.westbethel.motel_booking.common.model.BookingStatus;
 import com.westbethel.motel_booking.common.model.PaymentStatus;
-import com.westbethel.motel_booking.common.model.RoomStatus;
+import com.westbethel.motel_booking.common.reference.ReferenceDataService;
+import com.westbethel.motel_booking.common.reference.ReferenceDataSnapshot;
+import com.westbethel.motel_booking.exception.RoomNotAvailableException;
 import com.westbethel.motel_booking.inventory.domain.Room;
 import com.westbethel.motel_booking.inventory.domain.RoomType;
-import com.westbethel.motel_booking.inventory.repository.RoomRepository;
-import com.westbethel.motel_booking.inventory.repository.RoomTypeRepository;
 import com.westbethel.motel_booking.pricing.domain.RatePlan;
 import com.westbethel.motel_booking.pricing.model.PricingContext;
 import com.westbethel.motel_booking.pricing.model.PricingQuote;
-import com.westbethel.motel_booking.pricing.repository.RatePlanRepository;
 import com.westbethel.motel_booking.pricing.service.PricingService;
 import com.westbethel.motel_booking.property.domain.Property;
-import com.westbethel.motel_booking.property.repository.PropertyRepository;
 import com.westbethel.motel_booking.reservation.domain.Booking;
 import com.westbethel.motel_booking.reservation.model.BookingRequest;
 import com.westbethel.motel_booking.reservation.model.BookingResponse;
 import com.westbethel.motel_booking.reservation.model.CancellationRequest;
 import com.westbethel.motel_booking.reservation.repository.BookingRepository;
+import com.westbethel.motel_booking.reservation.repository.DoubleBookingConstraints;
 import com.westbethel.motel_booking.reservation.service.BookingService;
 import com.westbethel.motel_booking.guest.repository.GuestRepository;
 import java.time.OffsetDateTime;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Property, rate plan, room type and room lookups read one {@link ReferenceDataSnapshot} per
+ * call, which is also handed to pricing, so a booking only queries guests and bookings.
+ */
 @Service
 @Transactional
 public class DefaultBookingService implements BookingService {
 
     private final BookingRepository bookingRepository;
-    private final PropertyRepository propertyRepository;
     private final GuestRepository guestRepository;
-    private final RoomTypeRepository roomTypeRepository;
-    private final RoomRepository roomRepository;
-    private final RatePlanRepository ratePlanRepository;
+    private final ReferenceDataService referenceDataService;
     private final PricingService pricingService;
 
     public DefaultBookingService(
             BookingRepository bookingRepository,
-            PropertyRepository propertyRepository,
             GuestRepository guestRepository,
-            RoomTypeRepository roomTypeRepository,
-            RoomRepository roomRepository,
-            RatePlanRepository ratePlanRepository,
+            ReferenceDataService referenceDataService,
             PricingService pricingService) {
         this.bookingRepository = bookingRepository;
-        this.propertyRepository = propertyRepository;
         this.guestRepository = guestRepository;
-        this.roomTypeRepository = roomTypeRepository;
-        this.roomRepository = roomRepository;
-        this.ratePlanRepository = ratePlanRepository;
+        this.referenceDataService = referenceDataService;
         this.pricingService = pricingService;
     }
 
     @Override
     public PricingQuote quote(BookingRequest request) {
         validateRequest(request);
-        Property property = propertyRepository.findById(request.getPropertyId())
+        ReferenceDataSnapshot referenceData = referenceDataService.current();
+        Property property = referenceData.property(request.getPropertyId())
                 .orElseThrow(() -> new IllegalArgumentException("Property not found"));
+        RatePlan ratePlan = referenceData.ratePlan(property.getId(), request.getRatePlanId())
+                .orElseThrow(() -> new IllegalArgumentException("Rate plan not found for property"));
 
-        return pricingService.quote(buildPricingContext(request, property));
+        return pricingService.quote(buildPricingContext(request, property), property, ratePlan,
+                resolveRoomTypes(referenceData, property.getId(), request));
     }
 
     @Override
     public BookingResponse create(BookingRequest request) {
         validateRequest(request);
+        ReferenceDataSnapshot referenceData = referenceDataService.current();
 
-        Property property = propertyRepository.findById(request.getPropertyId())
+        Property property = referenceData.property(request.getPropertyId())
                 .orElseThrow(() -> new IllegalArgumentException("Property not found"));
         guestRepository.findById(request.getGuestId())
                 .orElseThrow(() -> new IllegalArgumentException("Guest not found"));
 
-        RatePlan ratePlan = ratePlanRepository.findByPropertyIdAndId(property.getId(), request.getRatePlanId())
+        RatePlan ratePlan = referenceData.ratePlan(property.getId(), request.getRatePlanId())
                 .orElseThrow(() -> new IllegalArgumentException("Rate plan not found for property"));
 
-        Set<UUID> allocatedRoomIds = allocateRooms(property.getId(), request);
+        Map<UUID, RoomType> roomTypes = resolveRoomTypes(referenceData, property.getId(), request);
+        Set<UUID> allocatedRoomIds = allocateRooms(referenceData, property.getId(), request, roomTypes);
 
-        PricingQuote quote = pricingService.quote(buildPricingContext(request, property));
+        PricingQuote quote = pricingService.quote(buildPricingContext(request, property), property, ratePlan, roomTypes);
 
         Booking booking = Booking.builder()
                 .id(UUID.randomUUID())
@@ -107,7 +109,7 @@ public class DefaultBookingService implements BookingService {
 
         booking.markConfirmed();
 
-        Booking saved = bookingRepository.save(booking);
+        Booking saved = saveAllocated(booking);
         return toResponse(saved);
     }
 
@@ -116,7 +118,9 @@ public class DefaultBookingService implements BookingService {
         Booking booking = bookingRepository.findByReference(confirmationNumber)
                 .orElseThrow(() -> new IllegalArgumentException("Reservation not found: " + confirmationNumber));
 
-        allocateRooms(booking.getPropertyId(), request); // ensure availability before amendments
+        ReferenceDataSnapshot referenceData = referenceDataService.current();
+        allocateRooms(referenceData, booking.getPropertyId(), request,
+                resolveRoomTypes(referenceData, booking.getPropertyId(), request)); // ensure availability before amendments
         booking.markConfirmed();
         Booking saved = bookingRepository.save(booking);
         return toResponse(saved);
@@ -149,28 +153,32 @@ public class DefaultBookingService implements BookingService {
                 .build();
     }
 
-    private Set<UUID> allocateRooms(UUID propertyId, BookingRequest request) {
-        List<Booking> overlapping = bookingRepository.findOverlappingBookings(
-                propertyId,
-                List.of(BookingStatus.CONFIRMED, BookingStatus.HOLD, BookingStatus.CHECKED_IN),
-                request.getCheckIn(),
-                request.getCheckOut());
-
-        Set<UUID> bookedRoomIds = overlapping.stream()
-                .flatMap(booking -> booking.getRoomIds().stream())
-                .collect(Collectors.toSet());
-
-        Set<UUID> allocated = new HashSet<>();
+    private Map<UUID, RoomType> resolveRoomTypes(ReferenceDataSnapshot referenceData, UUID propertyId,
+                                                 BookingRequest request) {
+        Map<UUID, RoomType> roomTypes = new HashMap<>();
         for (UUID roomTypeId : request.getRoomTypeIds()) {
-            RoomType roomType = roomTypeRepository.findById(roomTypeId)
+            RoomType roomType = referenceData.roomType(roomTypeId)
                     .orElseThrow(() -> new IllegalArgumentException("Room type not found"));
 
             if (!roomType.getPropertyId().equals(propertyId)) {
                 throw new IllegalArgumentException("Room type does not belong to the property");
             }
+            roomTypes.put(roomTypeId, roomType);
+        }
+        return roomTypes;
+    }
 
-            List<Room> candidates = roomRepository.findByPropertyIdAndRoomTypeIdAndStatus(
-                    propertyId, roomType.getId(), RoomStatus.AVAILABLE);
+    private Set<UUID> allocateRooms(ReferenceDataSnapshot referenceData, UUID propertyId, BookingRequest request,
+                                    Map<UUID, RoomType> roomTypes) {
+        Set<UUID> bookedRoomIds = bookingRepository.findBookedRoomIds(
+                propertyId,
+                List.of(BookingStatus.CONFIRMED, BookingStatus.HOLD, BookingStatus.CHECKED_IN),
+                request.getCheckIn(),
+                request.getCheckOut());
+
+        Set<UUID> allocated = new HashSet<>();
+        for (RoomType roomType : roomTypes.values()) {
+            List<Room> candidates = referenceData.availableRooms(propertyId, roomType.getId());
 
             Room room = candidates.stream()
                     .filter(candidate -> !bookedRoomIds.contains(candidate.getId()))
@@ -183,6 +191,22 @@ public class DefaultBookingService implements BookingService {
         return allocated;
     }
 
+    /**
+     * Flushes so a concurrent allocation of the same room nights surfaces here, via the
+     * exclusion constraint or the room_nights unique index, rather than at commit.
+     */
+    private Booking saveAllocated(Booking booking) {
+        try {
+            return bookingRepository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            if (DoubleBookingConstraints.isViolatedBy(e)) {
+                throw new RoomNotAvailableException(String.format(
+                        "Rooms were booked concurrently for %s to %s", booking.getCheckIn(), booking.getCheckOut()));
+            }
+            throw e;
+        }
+    }
+
     private void validateRequest(BookingRequest request) {
         if (request.getCheckIn() == null || request.getCheckOut() == null) {
             throw new IllegalArgumentException("Stay dates are required");
@@ -196,17 +196,4 @@ public class AuthenticationController {
     public ResponseEntity<Map<String, String>> handleIllegalArgumentException(IllegalArgumentException e) {
         return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
     }
-
-    /**
-     * Exception handler for general exceptions.
-     *
-     * @param e exception
-     * @return error response
-     */
-    @ExceptionHandler(Exception.class)
-    public ResponseEntity<Map<String, String>> handleException(Exception e) {
-        log.error("Unexpected error in authentication controller", e);
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body(Map.of("error", "An unexpected error occurred"));
-    }
 }
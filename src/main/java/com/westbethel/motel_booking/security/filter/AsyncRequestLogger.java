@@ -0,0 +1,236 @@
+package com.westbethel.motel_booking.security.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+/**
+ * Sampled, asynchronous, lossy request log.
+ *
+ * Request threads only decide whether a request is logged and, if so, enqueue one small
+ * event. Formatting and appender I/O happen on a single background thread. When the queue
+ * is full the event is dropped and counted rather than slowing the request down.
+ *
+ * Sampling:
+ * - Errors (status >= 400 or an exception) and slow requests are always logged
+ * - Successful requests are logged with the per-route rate from
+ *   {@code logging.requests.route-sample-rates}, or {@code logging.requests.sample-rate}
+ *
+ * Metrics: {@code http.requests.log.written}, {@code http.requests.log.sampled_out},
+ * {@code http.requests.log.dropped} and {@code http.requests.log.queue.depth}.
+ */
+@Component
+public class AsyncRequestLogger {
+
+    static final String LOGGER_NAME = "com.westbethel.motel_booking.access";
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncRequestLogger.class);
+    private static final Logger accessLog = LoggerFactory.getLogger(LOGGER_NAME);
+    private static final int WRITE_BATCH = 256;
+    private static final String FIELDS_FORMAT = "{} {} {} {} {} {} {} {}";
+
+    private final boolean enabled;
+    private final double defaultSampleRate;
+    private final Map<String, Double> routeSampleRates;
+    private final long slowThresholdMillis;
+    private final BlockingQueue<RequestLogEvent> queue;
+
+    private final Counter writtenCounter;
+    private final Counter sampledOutCounter;
+    private final Counter droppedCounter;
+
+    private volatile boolean running = true;
+    private Thread writer;
+
+    public AsyncRequestLogger(
+            MeterRegistry meterRegistry,
+            @Value("${logging.requests.enabled:true}") boolean enabled,
+            @Value("${logging.requests.sample-rate:0.05}") double defaultSampleRate,
+            @Value("${logging.requests.route-sample-rates:}") String routeSampleRates,
+            @Value("${logging.requests.slow-threshold-ms:1000}") long slowThresholdMillis,
+            @Value("${logging.requests.queue-capacity:4096}") int queueCapacity) {
+        this.enabled = enabled;
+        this.defaultSampleRate = defaultSampleRate;
+        this.routeSampleRates = parseRouteSampleRates(routeSampleRates);
+        this.slowThresholdMillis = slowThresholdMillis;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        this.writtenCounter = Counter.builder("http.requests.log.written")
+                .description("Request log lines written")
+                .register(meterRegistry);
+        this.sampledOutCounter = Counter.builder("http.requests.log.sampled_out")
+                .description("Successful requests skipped by sampling")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("http.requests.log.dropped")
+                .description("Request log lines dropped because the log queue was full")
+                .register(meterRegistry);
+        Gauge.builder("http.requests.log.queue.depth", queue, BlockingQueue::size)
+                .description("Request log lines waiting to be written")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        writer = new Thread(this::writeLoop, "request-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        // No interrupt: the writer notices within one poll interval and flushes what is queued
+        running = false;
+        if (writer != null) {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    /**
+     * Decide whether a completed request should be logged. Cheap enough to call on every request.
+     *
+     * @param route          matched route pattern (or raw path if no handler matched)
+     * @param status         response status
+     * @param durationMillis request duration
+     * @param failed         whether the request ended with an exception
+     * @return true if the request should be passed to {@link #submit(RequestLogEvent)}
+     */
+    public boolean shouldLog(String route, int status, long durationMillis, boolean failed) {
+        if (!enabled) {
+            return false;
+        }
+        if (failed || status >= 400 || durationMillis >= slowThresholdMillis) {
+            return true;
+        }
+
+        double rate = routeSampleRates.getOrDefault(route, defaultSampleRate);
+        if (rate >= 1.0 || (rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate)) {
+            return true;
+        }
+        sampledOutCounter.increment();
+        return false;
+    }
+
+    /**
+     * Enqueue a request log event without blocking. Dropped (and counted) if the queue is full.
+     *
+     * @param event the request to log
+     */
+    public void submit(RequestLogEvent event) {
+        if (!queue.offer(event)) {
+            droppedCounter.increment();
+        }
+    }
+
+    private void writeLoop() {
+        List<RequestLogEvent> batch = new ArrayList<>(WRITE_BATCH);
+        while (running || !queue.isEmpty()) {
+            try {
+                RequestLogEvent first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, WRITE_BATCH - 1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                queue.drainTo(batch);
+                running = false;
+            }
+
+            for (RequestLogEvent event : batch) {
+                try {
+                    write(event);
+                } catch (Exception e) {
+                    logger.warn("Failed to write request log line: {}", e.getMessage());
+                }
+            }
+            writtenCounter.increment(batch.size());
+            batch.clear();
+        }
+    }
+
+    private void write(RequestLogEvent event) {
+        String path = event.query() == null || event.query().isEmpty()
+                ? event.path()
+                : event.path() + "?" + sanitizeQueryString(event.query());
+        Object[] fields = {
+                kv("method", event.method()),
+                kv("route", event.route()),
+                kv("path", path),
+                kv("status", event.status()),
+                kv("durationMs", event.durationMillis()),
+                kv("clientIp", event.clientIp()),
+                kv("correlationId", event.correlationId()),
+                kv("error", event.error())
+        };
+
+        if (event.error() != null) {
+            accessLog.error("Request failed " + FIELDS_FORMAT, fields);
+        } else if (event.status() >= 400) {
+            accessLog.warn("Request " + FIELDS_FORMAT, fields);
+        } else if (event.durationMillis() >= slowThresholdMillis) {
+            accessLog.warn("Slow request " + FIELDS_FORMAT, fields);
+        } else {
+            accessLog.info("Request " + FIELDS_FORMAT, fields);
+        }
+    }
+
+    /**
+     * Sanitize query string to remove sensitive data
+     */
+    static String sanitizeQueryString(String queryString) {
+        String lowerQuery = queryString.toLowerCase();
+        if (lowerQuery.contains("password") ||
+            lowerQuery.contains("token") ||
+            lowerQuery.contains("secret") ||
+            lowerQuery.contains("card")) {
+            return "[sanitized]";
+        }
+        return queryString;
+    }
+
+    /**
+     * Parse {@code "/api/v1/availability/**=0.01,/actuator/health=0"} into a route to rate map.
+     */
+    static Map<String, Double> parseRouteSampleRates(String spec) {
+        Map<String, Double> rates = new HashMap<>();
+        if (spec == null || spec.isBlank()) {
+            return rates;
+        }
+        for (String entry : spec.split(",")) {
+            int separator = entry.lastIndexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Invalid route sample rate entry: " + entry);
+            }
+            rates.put(entry.substring(0, separator).trim(), Double.parseDouble(entry.substring(separator + 1).trim()));
+        }
+        return rates;
+    }
+
+    /**
+     * One completed request. Built on the request thread, formatted on the writer thread.
+     *
+     * @param query raw query string, or null if it must not be logged (sensitive paths)
+     * @param error exception class name if the request failed with an exception, otherwise null
+     */
+    public record RequestLogEvent(String method, String route, String path, String query, int status,
+                                  long durationMillis, String clientIp, String correlationId, String error) {
+    }
+}
@@ -14,15 +14,19 @@ import org.slf4j.MDC;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerMapping;
 
 import java.io.IOException;
-import java.util.Enumeration;
 import java.util.UUID;
 
 /**
  * Filter for logging all incoming HTTP requests and responses.
  * Adds correlation IDs for request tracking and logs request details.
  * Does NOT log sensitive data like passwords, tokens, or credit card information.
+ *
+ * Each completed request produces at most one structured log line, handed to
+ * {@link AsyncRequestLogger}: errors and slow requests are always logged, successful
+ * requests are sampled per route, and formatting and appender I/O happen off the request thread.
  */
 @Component
 @Order(Ordered.HIGHEST_PRECEDENCE)
@@ -32,21 +36,18 @@ public class LoggingFilter implements Filter {
     private static final String CORRELATION_ID_HEADER = "X-Correlation-ID";
     private static final String CORRELATION_ID_MDC_KEY = "correlationId";
 
-    // Sensitive headers that should not be logged
-    private static final String[] SENSITIVE_HEADERS = {
-            "authorization",
-            "cookie",
-            "set-cookie",
-            "x-api-key",
-            "x-auth-token"
-    };
-
     // Sensitive path patterns that should have minimal logging
     private static final String[] SENSITIVE_PATHS = {
             "/api/v1/auth",
             "/api/v1/payments"
     };
 
+    private final AsyncRequestLogger requestLogger;
+
+    public LoggingFilter(AsyncRequestLogger requestLogger) {
+        this.requestLogger = requestLogger;
+    }
+
     @Override
     public void init(FilterConfig filterConfig) throws ServletException {
         logger.info("LoggingFilter initialized");
@@ -68,20 +69,19 @@ public class LoggingFilter implements Filter {
         // Add correlation ID to response header
         httpResponse.setHeader(CORRELATION_ID_HEADER, correlationId);
 
-        long startTime = System.currentTimeMillis();
+        long startTime = System.nanoTime();
+        Throwable failure = null;
 
         try {
-            // Log request
-            logRequest(httpRequest, correlationId);
-
             // Continue with the filter chain
             chain.doFilter(request, response);
-
-            // Log response
-            long duration = System.currentTimeMillis() - startTime;
-            logResponse(httpRequest, httpResponse, correlationId, duration);
-
+        } catch (IOException | ServletException | RuntimeException e) {
+            failure = e;
+            throw e;
         } finally {
+            long duration = (System.nanoTime() - startTime) / 1_000_000;
+            logRequest(httpRequest, httpResponse, correlationId, duration, failure);
+
             // Clean up MDC
             MDC.remove(CORRELATION_ID_MDC_KEY);
         }
@@ -104,83 +104,33 @@ public class LoggingFilter implements Filter {
     }
 
     /**
-     * Log incoming request details
+     * Hand the completed request to the asynchronous request log if sampling selects it
      */
-    private void logRequest(HttpServletRequest request, String correlationId) {
+    private void logRequest(HttpServletRequest request, HttpServletResponse response,
+                            String correlationId, long duration, Throwable failure) {
         String path = request.getRequestURI();
-        String method = request.getMethod();
-        String queryString = request.getQueryString();
-        String remoteAddr = getClientIpAddress(request);
-
-        if (isSensitivePath(path)) {
-            // Minimal logging for sensitive paths
-            logger.info("Incoming request: {} {} from {}", method, path, remoteAddr);
-        } else {
-            // Detailed logging for non-sensitive paths
-            StringBuilder logMessage = new StringBuilder();
-            logMessage.append("Incoming request: ")
-                    .append(method)
-                    .append(" ")
-                    .append(path);
-
-            if (queryString != null && !queryString.isEmpty()) {
-                logMessage.append("?").append(sanitizeQueryString(queryString));
-            }
-
-            logMessage.append(" from ").append(remoteAddr);
-
-            logger.info(logMessage.toString());
+        int status = failure != null ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus();
+        String route = resolveRoute(request, path);
 
-            // Log headers (excluding sensitive ones)
-            if (logger.isDebugEnabled()) {
-                logHeaders(request);
-            }
+        if (!requestLogger.shouldLog(route, status, duration, failure != null)) {
+            return;
         }
-    }
 
-    /**
-     * Log response details
-     */
-    private void logResponse(HttpServletRequest request, HttpServletResponse response,
-                             String correlationId, long duration) {
-        String path = request.getRequestURI();
-        String method = request.getMethod();
-        int status = response.getStatus();
-
-        if (status >= 400) {
-            logger.warn("Response: {} {} returned status {} in {}ms",
-                    method, path, status, duration);
-        } else {
-            logger.info("Response: {} {} returned status {} in {}ms",
-                    method, path, status, duration);
-        }
-    }
+        // Query strings are never logged for sensitive paths
+        String queryString = isSensitivePath(path) ? null : request.getQueryString();
 
-    /**
-     * Log request headers (excluding sensitive ones)
-     */
-    private void logHeaders(HttpServletRequest request) {
-        Enumeration<String> headerNames = request.getHeaderNames();
-        while (headerNames.hasMoreElements()) {
-            String headerName = headerNames.nextElement();
-            if (!isSensitiveHeader(headerName)) {
-                String headerValue = request.getHeader(headerName);
-                logger.debug("Header: {} = {}", headerName, headerValue);
-            }
-        }
+        requestLogger.submit(new AsyncRequestLogger.RequestLogEvent(
+                request.getMethod(), route, path, queryString, status, duration,
+                getClientIpAddress(request), correlationId,
+                failure != null ? failure.getClass().getSimpleName() : null));
     }
 
     /**
-     * Check if a header is sensitive and should not be logged
+     * Matched handler pattern (e.g. /api/v1/reservations/{id}), so sampling is per route rather than per URL
      */
-    private boolean isSensitiveHeader(String headerName) {
-        String lowerHeaderName = headerName.toLowerCase();
-        for (String sensitive : SENSITIVE_HEADERS) {
-            if (lowerHeaderName.equals(sensitive)) {
-                return true;
-            }
-        }
-        return false;
+    private String resolveRoute(HttpServletRequest request, String path) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : path;
     }
 
     /**
@@ -195,25 +145,6 @@ public class LoggingFilter implements Filter {
         return false;
     }
 
-    /**
-     * Sanitize query string to remove sensitive data
-     */
-    private String sanitizeQueryString(String queryString) {
-        if (queryString == null) {
-            return "";
-        }
-
-        String lowerQuery = queryString.toLowerCase();
-        if (lowerQuery.contains("password") ||
-            lowerQuery.contains("token") ||
-            lowerQuery.contains("secret") ||
-            lowerQuery.contains("card")) {
-            return "[sanitized]";
-        }
-
-        return queryString;
-    }
-
     /**
      * Get the client's IP address, considering proxy headers
      */
@@ -0,0 +1,18 @@
+package com.westbethel.motel_booking.security.mfa;
+
+/**
+ * Hash scheme used to store an MFA backup code.
+ *
+ * @author Security Agent 1 - Phase 2
+ */
+public enum BackupCodeHashAlgorithm {
+    /**
+     * Legacy per-code BCrypt hash; verification needs one BCrypt match per stored code.
+     */
+    BCRYPT,
+
+    /**
+     * Keyed HMAC-SHA256 with the server pepper; verification is a single indexed lookup.
+     */
+    HMAC_SHA256
+}
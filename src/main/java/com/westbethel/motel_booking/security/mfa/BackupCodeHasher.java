@@ -0,0 +1,80 @@
+package com.westbethel.motel_booking.security.mfa;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Keyed hashing of MFA backup codes.
+ *
+ * Backup codes are high-entropy random values, so a keyed HMAC with a server-side
+ * pepper is sufficient: a database dump alone does not allow offline guessing, and
+ * verification becomes one HMAC plus one indexed lookup instead of a BCrypt match
+ * against every stored code.
+ *
+ * @author Security Agent 1 - Phase 2
+ */
+@Component
+public class BackupCodeHasher {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    /**
+     * Shape of every code {@link TotpService#generateBackupCodes()} has issued, including the
+     * legacy BCrypt-hashed ones.
+     */
+    private static final Pattern BACKUP_CODE = Pattern.compile("[A-Z0-9]{8}");
+
+    private final SecretKeySpec key;
+
+    public BackupCodeHasher(@Value("${security.mfa.backup-code-pepper}") String pepper) {
+        if (pepper == null || pepper.isBlank()) {
+            throw new IllegalStateException("security.mfa.backup-code-pepper (MFA_BACKUP_CODE_PEPPER) must be configured");
+        }
+        this.key = new SecretKeySpec(pepper.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+    }
+
+    /**
+     * Normalize a backup code as entered by the user (dashes removed, upper case).
+     *
+     * @param code the code
+     * @return normalized code
+     */
+    public String normalize(String code) {
+        return code.replace("-", "").trim().toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Whether a presented value can be a backup code at all. A mistyped six-digit TOTP code
+     * cannot, so it never reaches the database or the legacy BCrypt checks.
+     *
+     * @param code the code, formatted or not
+     * @return true if the normalized code has the backup code shape
+     */
+    public boolean isWellFormed(String code) {
+        return code != null && BACKUP_CODE.matcher(normalize(code)).matches();
+    }
+
+    /**
+     * Compute the lookup hash of a backup code.
+     *
+     * @param code the code, formatted or not
+     * @return hex-encoded HMAC-SHA256
+     */
+    public String hash(String code) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            return HexFormat.of().formatHex(mac.doFinal(normalize(code).getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to hash backup code", e);
+        }
+    }
+}
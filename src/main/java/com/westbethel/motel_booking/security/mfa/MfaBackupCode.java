@@ -10,14 +10,15 @@ import java.util.UUID;
 
 /**
  * Entity representing an MFA backup code.
- * Backup codes are single-use and hashed for security.
+ * Backup codes are single-use and stored as a keyed hash (see {@link BackupCodeHasher}).
  *
  * @author Security Agent 1 - Phase 2
  */
 @Entity
 @Table(name = "mfa_backup_codes", indexes = {
         @Index(name = "idx_mfa_backup_codes_user_id", columnList = "user_id"),
-        @Index(name = "idx_mfa_backup_codes_used", columnList = "used")
+        @Index(name = "idx_mfa_backup_codes_used", columnList = "used"),
+        @Index(name = "idx_mfa_backup_codes_user_hash", columnList = "user_id, code_hash")
 })
 @Getter
 @Setter
@@ -38,6 +39,11 @@ public class MfaBackupCode {
     @Column(name = "code_hash", nullable = false, length = 255)
     private String codeHash;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "hash_algorithm", nullable = false, length = 16)
+    @Builder.Default
+    private BackupCodeHashAlgorithm hashAlgorithm = BackupCodeHashAlgorithm.HMAC_SHA256;
+
     @Column(name = "used", nullable = false)
     @Builder.Default
     private Boolean used = false;
@@ -8,6 +8,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -35,6 +36,29 @@ public interface MfaBackupCodeRepository extends JpaRepository<MfaBackupCode, UU
     @Query("SELECT mbc FROM MfaBackupCode mbc WHERE mbc.user = :user AND mbc.used = false")
     List<MfaBackupCode> findUnusedByUser(@Param("user") User user);
 
+    /**
+     * Find an unused backup code by its keyed lookup hash.
+     *
+     * @param user the user
+     * @param codeHash HMAC of the presented code
+     * @return matching backup code, if any
+     */
+    @Query("SELECT mbc FROM MfaBackupCode mbc WHERE mbc.user = :user AND mbc.codeHash = :codeHash " +
+           "AND mbc.hashAlgorithm = com.westbethel.motel_booking.security.mfa.BackupCodeHashAlgorithm.HMAC_SHA256 " +
+           "AND mbc.used = false")
+    Optional<MfaBackupCode> findUnusedByUserAndCodeHash(@Param("user") User user, @Param("codeHash") String codeHash);
+
+    /**
+     * Find unused legacy (BCrypt-hashed) backup codes for a user.
+     *
+     * @param user the user
+     * @return list of unused legacy backup codes
+     */
+    @Query("SELECT mbc FROM MfaBackupCode mbc WHERE mbc.user = :user " +
+           "AND mbc.hashAlgorithm = com.westbethel.motel_booking.security.mfa.BackupCodeHashAlgorithm.BCRYPT " +
+           "AND mbc.used = false")
+    List<MfaBackupCode> findUnusedLegacyByUser(@Param("user") User user);
+
     /**
      * Delete all backup codes for a user.
      *
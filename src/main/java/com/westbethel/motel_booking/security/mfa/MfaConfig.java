@@ -15,6 +15,21 @@ import java.util.concurrent.TimeUnit;
 @Configuration
 public class MfaConfig {
 
+    /**
+     * TOTP time step (30 seconds).
+     */
+    public static final long TIME_STEP_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+    /**
+     * Number of time steps accepted around the current one (current step +/- 1).
+     */
+    public static final int WINDOW_SIZE = 3;
+
+    /**
+     * Digits per TOTP code.
+     */
+    public static final int CODE_DIGITS = 6;
+
     /**
      * Configure Google Authenticator for TOTP.
      * Uses standard TOTP parameters: 30 second time step, 6 digit codes.
@@ -24,9 +39,9 @@ public class MfaConfig {
     @Bean
     public GoogleAuthenticator googleAuthenticator() {
         GoogleAuthenticatorConfig config = new GoogleAuthenticatorConfig.GoogleAuthenticatorConfigBuilder()
-                .setTimeStepSizeInMillis(TimeUnit.SECONDS.toMillis(30))
-                .setWindowSize(3) // Allow 1.5 minutes window (3 * 30 seconds)
-                .setCodeDigits(6)
+                .setTimeStepSizeInMillis(TIME_STEP_MILLIS)
+                .setWindowSize(WINDOW_SIZE) // Allow 1.5 minutes window (3 * 30 seconds)
+                .setCodeDigits(CODE_DIGITS)
                 .build();
 
         return new GoogleAuthenticator(config);
@@ -14,6 +14,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.io.IOException;
 import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -31,6 +32,7 @@ public class MfaService {
     private final MfaBackupCodeRepository backupCodeRepository;
     private final TotpService totpService;
     private final PasswordEncoder passwordEncoder;
+    private final BackupCodeHasher backupCodeHasher;
     private final AuditService auditService;
 
     /**
@@ -116,7 +118,7 @@ public class MfaService {
         }
 
         // Verify the code
-        if (!totpService.verifyCode(user.getMfaSecret(), verificationCode)) {
+        if (!totpService.verifyCode(username, user.getMfaSecret(), verificationCode)) {
             log.warn("Invalid MFA verification code for user: {}", username);
             throw new IllegalArgumentException("Invalid verification code");
         }
@@ -164,7 +166,7 @@ public class MfaService {
         }
 
         // Try TOTP code first
-        if (totpService.verifyCode(user.getMfaSecret(), code)) {
+        if (totpService.verifyCode(username, user.getMfaSecret(), code)) {
             auditService.record(AuditEntry.builder()
                     .id(UUID.randomUUID())
                     .entityType("SECURITY_EVENT")
@@ -295,20 +297,21 @@ public class MfaService {
     }
 
     /**
-     * Store backup codes in hashed form.
+     * Store backup codes in keyed-hash form.
      *
      * @param user the user
      * @param backupCodes the plaintext backup codes
      */
     private void storeBackupCodes(User user, List<String> backupCodes) {
-        for (String code : backupCodes) {
-            MfaBackupCode backupCode = MfaBackupCode.builder()
-                    .user(user)
-                    .codeHash(passwordEncoder.encode(code.replaceAll("-", "")))
-                    .used(false)
-                    .build();
-            backupCodeRepository.save(backupCode);
-        }
+        List<MfaBackupCode> codes = backupCodes.stream()
+                .map(code -> MfaBackupCode.builder()
+                        .user(user)
+                        .codeHash(backupCodeHasher.hash(code))
+                        .hashAlgorithm(BackupCodeHashAlgorithm.HMAC_SHA256)
+                        .used(false)
+                        .build())
+                .collect(Collectors.toList());
+        backupCodeRepository.saveAll(codes);
         log.debug("Stored {} backup codes for user: {}", backupCodes.size(), user.getUsername());
     }
 
@@ -326,26 +329,61 @@ public class MfaService {
 
     /**
      * Verify and use a backup code.
-     * Backup codes are single-use.
+     * Backup codes are single-use. The code is first looked up by its keyed hash, one indexed
+     * query. Only if that misses, and only for users that still hold codes stored before the
+     * keyed scheme, is it checked with BCrypt against those legacy codes. Values that cannot be
+     * backup codes, such as a mistyped TOTP code, are rejected before either.
      *
      * @param user the user
      * @param code the backup code
      * @return true if code is valid and unused
      */
     private boolean verifyAndUseBackupCode(User user, String code) {
-        String cleanCode = code.replaceAll("-", "").toUpperCase();
+        if (!backupCodeHasher.isWellFormed(code)) {
+            return false;
+        }
 
-        List<MfaBackupCode> unusedCodes = backupCodeRepository.findUnusedByUser(user);
+        Optional<MfaBackupCode> match = backupCodeRepository
+                .findUnusedByUserAndCodeHash(user, backupCodeHasher.hash(code));
 
-        for (MfaBackupCode backupCode : unusedCodes) {
-            if (passwordEncoder.matches(cleanCode, backupCode.getCodeHash())) {
-                backupCode.markAsUsed();
-                backupCodeRepository.save(backupCode);
-                log.info("Backup code used for user: {}", user.getUsername());
-                return true;
+        if (match.isEmpty()) {
+            match = findLegacyBackupCode(user, backupCodeHasher.normalize(code));
+        }
+
+        if (match.isPresent()) {
+            MfaBackupCode backupCode = match.get();
+            if (backupCode.getHashAlgorithm() == BackupCodeHashAlgorithm.BCRYPT) {
+                // Rehash on first use: the row leaves the legacy set instead of keeping a BCrypt hash
+                backupCode.setCodeHash(backupCodeHasher.hash(code));
+                backupCode.setHashAlgorithm(BackupCodeHashAlgorithm.HMAC_SHA256);
             }
+            backupCode.markAsUsed();
+            backupCodeRepository.save(backupCode);
+            log.info("Backup code used for user: {}", user.getUsername());
+            return true;
         }
 
         return false;
     }
+
+    /**
+     * Match a code against legacy BCrypt-hashed backup codes.
+     *
+     * @param user the user
+     * @param cleanCode the normalized code
+     * @return matching legacy backup code, if any
+     */
+    private Optional<MfaBackupCode> findLegacyBackupCode(User user, String cleanCode) {
+        List<MfaBackupCode> legacyCodes = backupCodeRepository.findUnusedLegacyByUser(user);
+        if (!legacyCodes.isEmpty()) {
+            log.debug("Checking {} legacy backup codes for user: {}", legacyCodes.size(), user.getUsername());
+        }
+
+        for (MfaBackupCode backupCode : legacyCodes) {
+            if (passwordEncoder.matches(cleanCode, backupCode.getCodeHash())) {
+                return Optional.of(backupCode);
+            }
+        }
+        return Optional.empty();
+    }
 }
@@ -0,0 +1,88 @@
+package com.westbethel.motel_booking.security.mfa;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Remembers the last TOTP time step accepted for each user. A code is only accepted for
+ * a later step, so neither the same code nor an older code from the window can be
+ * replayed once a login has succeeded.
+ *
+ * A local cache rejects replays against this instance without a network hop; a Redis
+ * script compares and advances the step atomically across instances. If Redis is
+ * unavailable the local cache still protects against replays on this instance.
+ *
+ * @author Security Agent 1 - Phase 2
+ */
+@Component
+@Slf4j
+public class TotpReplayCache {
+
+    private static final String KEY_PREFIX = "mfa:totp:last-step:";
+
+    /**
+     * The last step only matters while an earlier step can still fall inside some
+     * verification window.
+     */
+    private static final Duration RETENTION =
+            Duration.ofMillis(MfaConfig.TIME_STEP_MILLIS * (MfaConfig.WINDOW_SIZE + 1));
+
+    /**
+     * Advance the stored step if the presented one is later. Returns 1 when advanced.
+     */
+    private static final RedisScript<Long> ADVANCE_SCRIPT = new DefaultRedisScript<>(
+            "local last = redis.call('GET', KEYS[1]) "
+                    + "if last and tonumber(last) >= tonumber(ARGV[1]) then return 0 end "
+                    + "redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2]) "
+                    + "return 1",
+            Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final Cache<String, Long> localLastSteps = Caffeine.newBuilder()
+            .expireAfterWrite(RETENTION)
+            .maximumSize(100_000)
+            .build();
+
+    public TotpReplayCache(RedisTemplate<String, String> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * Atomically claim a time step for a user.
+     *
+     * @param username the user
+     * @param timeStep the TOTP time step the presented code matched
+     * @return true if the step is later than the last accepted one and is now recorded,
+     *         false if it is a replay
+     */
+    public boolean claim(String username, long timeStep) {
+        boolean[] advancedLocally = new boolean[1];
+        localLastSteps.asMap().compute(username, (key, last) -> {
+            if (last != null && last >= timeStep) {
+                return last;
+            }
+            advancedLocally[0] = true;
+            return timeStep;
+        });
+        if (!advancedLocally[0]) {
+            return false;
+        }
+
+        try {
+            Long advanced = redisTemplate.execute(ADVANCE_SCRIPT, List.of(KEY_PREFIX + username),
+                    Long.toString(timeStep), Long.toString(RETENTION.toMillis()));
+            return !Long.valueOf(0L).equals(advanced);
+        } catch (Exception e) {
+            log.warn("TOTP replay check fell back to local cache: {}", e.getMessage());
+            return true;
+        }
+    }
+}
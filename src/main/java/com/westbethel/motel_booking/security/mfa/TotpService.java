@@ -1,5 +1,7 @@
 package com.westbethel.motel_booking.security.mfa;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.zxing.BarcodeFormat;
 import com.google.zxing.WriterException;
 import com.google.zxing.client.j2se.MatrixToImageWriter;
@@ -10,15 +12,28 @@ import com.warrenstrange.googleauth.GoogleAuthenticatorKey;
 import com.warrenstrange.googleauth.GoogleAuthenticatorQRGenerator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.binary.Base32;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Base64;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 /**
  * Service for Time-based One-Time Password (TOTP) operations.
@@ -32,6 +47,30 @@ import java.util.List;
 public class TotpService {
 
     private final GoogleAuthenticator googleAuthenticator;
+    private final TotpReplayCache replayCache;
+
+    /**
+     * HMAC instances are not thread-safe; keep one per thread instead of a provider lookup per code.
+     */
+    private static final ThreadLocal<Mac> HMAC_SHA1 = ThreadLocal.withInitial(() -> {
+        try {
+            return Mac.getInstance("HmacSHA1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("HmacSHA1 not available", e);
+        }
+    });
+
+    private static final int CODE_MODULUS = (int) Math.pow(10, MfaConfig.CODE_DIGITS);
+
+    /**
+     * Expected codes for the current window, per user. Recomputed once per time step or when
+     * the user's secret changes, so repeated verifications within a step are a map lookup.
+     * Windows hold a SHA-256 digest of the secret, never the secret itself.
+     */
+    private final Cache<String, CodeWindow> codeWindows = Caffeine.newBuilder()
+            .expireAfterAccess(Duration.ofMillis(MfaConfig.TIME_STEP_MILLIS * MfaConfig.WINDOW_SIZE))
+            .maximumSize(10_000)
+            .build();
 
     @Value("${app.name:West Bethel Motel}")
     private String appName;
@@ -91,19 +130,117 @@ public class TotpService {
     /**
      * Verify a TOTP code against a secret.
      * Accepts codes within a time window to account for clock skew.
+     * Does not track used codes; use {@link #verifyCode(String, String, String)} for logins.
      *
      * @param secret the TOTP secret
      * @param code the code to verify (6 digits)
      * @return true if code is valid
      */
     public boolean verifyCode(String secret, String code) {
+        return matchTimeStep(null, secret, code) != null;
+    }
+
+    /**
+     * Verify a TOTP code for a user and consume its time step.
+     * A code is rejected as a replay unless its time step is later than the last one
+     * accepted for this user.
+     *
+     * @param username the user presenting the code
+     * @param secret the TOTP secret
+     * @param code the code to verify (6 digits)
+     * @return true if code is valid and has not been used before
+     */
+    public boolean verifyCode(String username, String secret, String code) {
+        Long timeStep = matchTimeStep(username, secret, code);
+        if (timeStep == null) {
+            return false;
+        }
+        if (!replayCache.claim(username, timeStep)) {
+            log.warn("Replayed TOTP code rejected for user: {}", username);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Find the time step within the current window whose code matches.
+     *
+     * @param username the user whose window is cached, or null to compute it uncached
+     * @param secret the TOTP secret
+     * @param code the presented code
+     * @return matching time step, or null if the code is invalid
+     */
+    private Long matchTimeStep(String username, String secret, String code) {
+        if (secret == null || code == null || code.length() != MfaConfig.CODE_DIGITS) {
+            log.warn("Invalid TOTP code format: {}", code);
+            return null;
+        }
+
+        int verificationCode;
         try {
-            int verificationCode = Integer.parseInt(code);
-            return googleAuthenticator.authorize(secret, verificationCode);
+            verificationCode = Integer.parseInt(code);
         } catch (NumberFormatException e) {
             log.warn("Invalid TOTP code format: {}", code);
-            return false;
+            return null;
+        }
+
+        long currentStep = System.currentTimeMillis() / MfaConfig.TIME_STEP_MILLIS;
+        byte[] secretDigest = sha256(secret);
+        CodeWindow window = username == null
+                ? CodeWindow.of(secret, secretDigest, currentStep)
+                : codeWindows.asMap().compute(username, (key, existing) ->
+                        existing != null && existing.matches(secretDigest, currentStep)
+                                ? existing
+                                : CodeWindow.of(secret, secretDigest, currentStep));
+        return window.expected().get(verificationCode);
+    }
+
+    /**
+     * Expected codes for one window, keyed by code with the matching time step as value.
+     */
+    private record CodeWindow(byte[] secretDigest, long currentStep, Map<Integer, Long> expected) {
+
+        static CodeWindow of(String secret, byte[] secretDigest, long currentStep) {
+            byte[] key = new Base32().decode(secret.toUpperCase(Locale.ROOT));
+            int radius = (MfaConfig.WINDOW_SIZE - 1) / 2;
+            Map<Integer, Long> expected = new HashMap<>(MfaConfig.WINDOW_SIZE * 2);
+            for (long step = currentStep - radius; step <= currentStep + radius; step++) {
+                expected.putIfAbsent(computeCode(key, step), step);
+            }
+            return new CodeWindow(secretDigest, currentStep, expected);
         }
+
+        boolean matches(byte[] digest, long step) {
+            return currentStep == step && MessageDigest.isEqual(secretDigest, digest);
+        }
+    }
+
+    private static byte[] sha256(String secret) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(secret.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * RFC 6238 code for a time step (HMAC-SHA1, dynamic truncation).
+     */
+    private static int computeCode(byte[] key, long timeStep) {
+        Mac mac = HMAC_SHA1.get();
+        try {
+            mac.init(new SecretKeySpec(key, "HmacSHA1"));
+        } catch (InvalidKeyException e) {
+            throw new IllegalStateException("Invalid TOTP secret", e);
+        }
+        byte[] hash = mac.doFinal(ByteBuffer.allocate(Long.BYTES).putLong(timeStep).array());
+
+        int offset = hash[hash.length - 1] & 0x0F;
+        int binary = ((hash[offset] & 0x7F) << 24)
+                | ((hash[offset + 1] & 0xFF) << 16)
+                | ((hash[offset + 2] & 0xFF) << 8)
+                | (hash[offset + 3] & 0xFF);
+        return binary % CODE_MODULUS;
     }
 
     /**
@@ -0,0 +1,169 @@
+package com.westbethel.motel_booking.security.service;
+
+import com.westbethel.motel_booking.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * BCrypt password encoder that runs every hash on a dedicated, CPU-sized, bounded executor.
+ *
+ * During a credential-stuffing burst at most one hash per worker thread is in flight; once the
+ * queue is full further attempts are shed immediately with {@link TooManyRequestsException}
+ * (HTTP 429) instead of saturating every core and starving the rest of the API.
+ *
+ * The BCrypt work factor is fixed by configuration so every node hashes at the same cost.
+ * At startup a short probe logs the strength that would hit the target latency on this
+ * hardware, as a hint for tuning; it never changes the configured strength. Because
+ * {@link #upgradeEncoding(String)} reports hashes with a lower cost, Spring Security
+ * re-encodes them transparently on the next successful login after the strength is raised.
+ */
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private static final int PROBE_STRENGTH = 8;
+    private static final int MIN_STRENGTH = 4;
+    private static final int MAX_STRENGTH = 31;
+    private static final int PROBE_ROUNDS = 3;
+
+    private final BCryptPasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+    private final int strength;
+    private final Counter rejectedCounter;
+    private final Timer hashTimer;
+
+    public BoundedPasswordEncoder(int strength, int threads, int queueCapacity, long timeoutMillis,
+                                  MeterRegistry meterRegistry) {
+        this.strength = strength;
+        this.delegate = new BCryptPasswordEncoder(strength);
+        this.timeoutMillis = timeoutMillis;
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.rejectedCounter = Counter.builder("security.password.hash.rejected")
+                .description("Password hashing requests shed because the queue was full")
+                .register(meterRegistry);
+        this.hashTimer = Timer.builder("security.password.hash.duration")
+                .description("Time spent computing BCrypt hashes")
+                .register(meterRegistry);
+        Gauge.builder("security.password.hash.queue.depth", executor, e -> e.getQueue().size())
+                .description("Password hashing requests waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("security.password.hash.strength", this, e -> e.strength)
+                .description("Configured BCrypt work factor")
+                .register(meterRegistry);
+
+        log.info("Password hashing executor started: {} threads, queue {}, BCrypt strength {}",
+                poolSize, queueCapacity, strength);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Get the configured BCrypt work factor.
+     *
+     * @return BCrypt strength
+     */
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private <T> T submit(Callable<T> hashing) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> hashTimer.recordCallable(hashing));
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new TooManyRequestsException("Too many concurrent authentication attempts. Please retry shortly.", 1);
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedCounter.increment();
+            throw new TooManyRequestsException("Authentication is temporarily overloaded. Please retry shortly.", 1, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", cause);
+        }
+    }
+
+    /**
+     * Log the BCrypt strength whose hash time on this host is closest to (without exceeding)
+     * the target, next to the configured one. Each strength step doubles the cost, so a cheap
+     * probe is timed and extrapolated.
+     *
+     * @return the suggested strength
+     */
+    public int logCalibration(long targetLatencyMillis) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(PROBE_STRENGTH);
+        String sample = "calibration-sample";
+        probe.encode(sample); // warm up
+
+        long bestNanos = Long.MAX_VALUE;
+        for (int i = 0; i < PROBE_ROUNDS; i++) {
+            long start = System.nanoTime();
+            probe.encode(sample);
+            bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+        }
+
+        double probeMillis = Math.max(bestNanos / 1_000_000.0, 0.01);
+        int steps = (int) Math.floor(Math.log(targetLatencyMillis / probeMillis) / Math.log(2));
+        int suggested = Math.max(MIN_STRENGTH, Math.min(MAX_STRENGTH, PROBE_STRENGTH + steps));
+
+        log.info("BCrypt calibration: strength {} took {} ms, target {} ms -> suggested strength {}, configured {}",
+                PROBE_STRENGTH, String.format("%.2f", probeMillis), targetLatencyMillis, suggested, strength);
+        return suggested;
+    }
+}
@@ -7,37 +7,13 @@ import java.util.regex.Pattern;
 /**
  * Service for sanitizing user input to prevent injection attacks.
  * Uses allowlist approach where possible.
+ *
+ * Injection detection is delegated to {@link ThreatScanner}, which checks all four threat
+ * classes in a single pass over the input.
  */
 @Service
 public class InputSanitizer {
 
-    // Patterns for detecting various injection attempts
-    private static final Pattern SQL_INJECTION_PATTERN = Pattern.compile(
-            "('.+--)|(--)|(;)|(\\bOR\\b.+[=>])|" +
-            "(\\bUNION\\b.+\\bSELECT\\b)|(\\bDROP\\b.+\\bTABLE\\b)|" +
-            "(\\bINSERT\\b.+\\bINTO\\b)|(\\bDELETE\\b.+\\bFROM\\b)|" +
-            "(\\bUPDATE\\b.+\\bSET\\b)|(\\bEXEC\\b)|(\\bEXECUTE\\b)",
-            Pattern.CASE_INSENSITIVE
-    );
-
-    private static final Pattern XSS_PATTERN = Pattern.compile(
-            "(<script[^>]*>)|(</script>)|" +
-            "(<iframe[^>]*>)|(</iframe>)|" +
-            "(javascript:)|(onerror\\s*=)|(onload\\s*=)|" +
-            "(eval\\()|(alert\\()",
-            Pattern.CASE_INSENSITIVE
-    );
-
-    private static final Pattern PATH_TRAVERSAL_PATTERN = Pattern.compile(
-            "(\\.\\./)|(\\.\\\\)|(%2e%2e/)|(\\\\\\.\\.)",
-            Pattern.CASE_INSENSITIVE
-    );
-
-    private static final Pattern COMMAND_INJECTION_PATTERN = Pattern.compile(
-            "(;\\s*(rm|del|format|shutdown))|(\\||&&|`|\\$\\()",
-            Pattern.CASE_INSENSITIVE
-    );
-
     /**
      * Sanitize HTML input by removing script tags and dangerous attributes.
      */
@@ -155,7 +131,7 @@ public class InputSanitizer {
         if (input == null || input.isEmpty()) {
             return false;
         }
-        return SQL_INJECTION_PATTERN.matcher(input).find();
+        return (ThreatScanner.scan(input) & ThreatScanner.SQL_INJECTION) != 0;
     }
 
     /**
@@ -165,7 +141,7 @@ public class InputSanitizer {
         if (input == null || input.isEmpty()) {
             return false;
         }
-        return XSS_PATTERN.matcher(input).find();
+        return (ThreatScanner.scan(input) & ThreatScanner.XSS) != 0;
     }
 
     /**
@@ -175,7 +151,7 @@ public class InputSanitizer {
         if (input == null || input.isEmpty()) {
             return false;
         }
-        return PATH_TRAVERSAL_PATTERN.matcher(input).find();
+        return (ThreatScanner.scan(input) & ThreatScanner.PATH_TRAVERSAL) != 0;
     }
 
     /**
@@ -185,7 +161,7 @@ public class InputSanitizer {
         if (input == null || input.isEmpty()) {
             return false;
         }
-        return COMMAND_INJECTION_PATTERN.matcher(input).find();
+        return (ThreatScanner.scan(input) & ThreatScanner.COMMAND_INJECTION) != 0;
     }
 
     /**
@@ -228,7 +204,7 @@ public class InputSanitizer {
     }
 
     /**
-     * Comprehensive input validation check.
+     * Comprehensive input validation check. Scans the input once for all threat classes.
      */
     public ValidationResult validate(String input) {
         ValidationResult result = new ValidationResult();
@@ -238,23 +214,25 @@ public class InputSanitizer {
             return result;
         }
 
-        if (containsSqlInjection(input)) {
-            result.setValid(false);
+        int threats = ThreatScanner.scan(input);
+        if (threats == 0) {
+            return result;
+        }
+
+        result.setValid(false);
+        if ((threats & ThreatScanner.SQL_INJECTION) != 0) {
             result.addViolation("Potential SQL injection detected");
         }
 
-        if (containsXss(input)) {
-            result.setValid(false);
+        if ((threats & ThreatScanner.XSS) != 0) {
             result.addViolation("Potential XSS attack detected");
         }
 
-        if (containsPathTraversal(input)) {
-            result.setValid(false);
+        if ((threats & ThreatScanner.PATH_TRAVERSAL) != 0) {
             result.addViolation("Potential path traversal attack detected");
         }
 
-        if (containsCommandInjection(input)) {
-            result.setValid(false);
+        if ((threats & ThreatScanner.COMMAND_INJECTION) != 0) {
             result.addViolation("Potential command injection detected");
         }
 
@@ -266,7 +244,7 @@ public class InputSanitizer {
      */
     public static class ValidationResult {
         private boolean valid = true;
-        private final StringBuilder violations = new StringBuilder();
+        private StringBuilder violations;
 
         public boolean isValid() {
             return valid;
@@ -277,14 +255,16 @@ public class InputSanitizer {
         }
 
         public void addViolation(String violation) {
-            if (violations.length() > 0) {
+            if (violations == null) {
+                violations = new StringBuilder();
+            } else {
                 violations.append("; ");
             }
             violations.append(violation);
         }
 
         public String getViolations() {
-            return violations.toString();
+            return violations == null ? "" : violations.toString();
         }
     }
 }
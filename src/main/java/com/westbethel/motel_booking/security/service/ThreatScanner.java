@@ -0,0 +1,275 @@
+package com.westbethel.motel_booking.security.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Single-pass detector for SQL injection, XSS, path traversal and command injection markers.
+ *
+ * All keywords and literal markers are compiled into one Aho-Corasick automaton (a full
+ * transition table over lower-cased ASCII), so the input is read exactly once regardless of
+ * how many rules exist. Rules that need context (word boundaries, "keyword ... keyword" on
+ * the same line, {@code onerror\s*=}, {@code ;\s*rm}) are resolved with a few integers of
+ * state carried along the scan. Scanning allocates nothing.
+ *
+ * The rules are equivalent to the case-insensitive regular expressions previously used by
+ * {@link InputSanitizer}.
+ *
+ * @author Security Agent 1 - Phase 2
+ */
+public final class ThreatScanner {
+
+    public static final int SQL_INJECTION = 1;
+    public static final int XSS = 1 << 1;
+    public static final int PATH_TRAVERSAL = 1 << 2;
+    public static final int COMMAND_INJECTION = 1 << 3;
+
+    private static final int ALL = SQL_INJECTION | XSS | PATH_TRAVERSAL | COMMAND_INJECTION;
+    private static final int ALPHABET = 128;
+
+    // Token kinds
+    private static final int LITERAL = 0;       // marker anywhere -> violation
+    private static final int WORD = 1;          // whole word -> violation
+    private static final int OR_WORD = 2;       // \bOR\b followed later on the line by = or >
+    private static final int PAIR_FIRST = 3;    // \bUNION\b .+ \bSELECT\b etc.
+    private static final int PAIR_SECOND = 4;
+    private static final int OPEN_TAG = 5;      // <script[^>]*> and <iframe[^>]*>
+    private static final int EVENT_HANDLER = 6; // onerror\s*= and onload\s*=
+    private static final int SHELL_COMMAND = 7; // ;\s*(rm|del|format|shutdown)
+
+    private static final Token[] TOKENS = {
+            new Token("--", LITERAL, SQL_INJECTION),
+            new Token("or", OR_WORD, 0),
+            new Token("union", PAIR_FIRST, 0),
+            new Token("select", PAIR_SECOND, 0),
+            new Token("drop", PAIR_FIRST, 1),
+            new Token("table", PAIR_SECOND, 1),
+            new Token("insert", PAIR_FIRST, 2),
+            new Token("into", PAIR_SECOND, 2),
+            new Token("delete", PAIR_FIRST, 3),
+            new Token("from", PAIR_SECOND, 3),
+            new Token("update", PAIR_FIRST, 4),
+            new Token("set", PAIR_SECOND, 4),
+            new Token("exec", WORD, SQL_INJECTION),
+            new Token("execute", WORD, SQL_INJECTION),
+
+            new Token("<script", OPEN_TAG, 0),
+            new Token("</script>", LITERAL, XSS),
+            new Token("<iframe", OPEN_TAG, 0),
+            new Token("</iframe>", LITERAL, XSS),
+            new Token("javascript:", LITERAL, XSS),
+            new Token("onerror", EVENT_HANDLER, 0),
+            new Token("onload", EVENT_HANDLER, 0),
+            new Token("eval(", LITERAL, XSS),
+            new Token("alert(", LITERAL, XSS),
+
+            new Token("../", LITERAL, PATH_TRAVERSAL),
+            new Token(".\\", LITERAL, PATH_TRAVERSAL),
+            new Token("%2e%2e/", LITERAL, PATH_TRAVERSAL),
+            new Token("\\..", LITERAL, PATH_TRAVERSAL),
+
+            new Token("|", LITERAL, COMMAND_INJECTION),
+            new Token("&&", LITERAL, COMMAND_INJECTION),
+            new Token("`", LITERAL, COMMAND_INJECTION),
+            new Token("$(", LITERAL, COMMAND_INJECTION),
+            new Token("rm", SHELL_COMMAND, 0),
+            new Token("del", SHELL_COMMAND, 0),
+            new Token("format", SHELL_COMMAND, 0),
+            new Token("shutdown", SHELL_COMMAND, 0)
+    };
+
+    private static final char[] LOWER = new char[ALPHABET];
+    private static final int[][] TRANSITIONS;
+    private static final int[][] OUTPUTS;
+
+    static {
+        for (char c = 0; c < ALPHABET; c++) {
+            LOWER[c] = (c >= 'A' && c <= 'Z') ? (char) (c + ('a' - 'A')) : c;
+        }
+
+        List<int[]> transitions = new ArrayList<>();
+        List<List<Integer>> outputs = new ArrayList<>();
+        transitions.add(newRow());
+        outputs.add(new ArrayList<>());
+
+        for (int token = 0; token < TOKENS.length; token++) {
+            int state = 0;
+            for (char c : TOKENS[token].text.toCharArray()) {
+                int symbol = LOWER[c];
+                if (transitions.get(state)[symbol] < 0) {
+                    transitions.get(state)[symbol] = transitions.size();
+                    transitions.add(newRow());
+                    outputs.add(new ArrayList<>());
+                }
+                state = transitions.get(state)[symbol];
+            }
+            outputs.get(state).add(token);
+        }
+
+        // Breadth-first failure links, folded directly into a complete transition table
+        int[] fail = new int[transitions.size()];
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int symbol = 0; symbol < ALPHABET; symbol++) {
+            int next = transitions.get(0)[symbol];
+            if (next < 0) {
+                transitions.get(0)[symbol] = 0;
+            } else {
+                fail[next] = 0;
+                queue.add(next);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int symbol = 0; symbol < ALPHABET; symbol++) {
+                int next = transitions.get(state)[symbol];
+                if (next < 0) {
+                    transitions.get(state)[symbol] = transitions.get(fail[state])[symbol];
+                } else {
+                    fail[next] = transitions.get(fail[state])[symbol];
+                    outputs.get(next).addAll(outputs.get(fail[next]));
+                    queue.add(next);
+                }
+            }
+        }
+
+        TRANSITIONS = transitions.toArray(new int[0][]);
+        OUTPUTS = new int[outputs.size()][];
+        for (int state = 0; state < OUTPUTS.length; state++) {
+            OUTPUTS[state] = outputs.get(state).stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    private ThreatScanner() {
+    }
+
+    /**
+     * Scan input once and report every violation class found.
+     *
+     * @param input text to scan
+     * @return bit mask of {@link #SQL_INJECTION}, {@link #XSS}, {@link #PATH_TRAVERSAL} and
+     *         {@link #COMMAND_INJECTION}; 0 for clean input
+     */
+    public static int scan(CharSequence input) {
+        if (input == null) {
+            return 0;
+        }
+
+        int found = 0;
+        int state = 0;
+        int length = input.length();
+
+        int orEnd = -1;                 // end of the first OR on this line
+        int pairMask = 0;               // PAIR_FIRST keywords seen on this line
+        boolean tagOpen = false;        // <script or <iframe seen, waiting for >
+        boolean awaitingAssign = false; // after onerror/onload, skipping whitespace
+        boolean afterSemicolon = false; // after ;, skipping whitespace
+        int commandStart = -1;          // first non-whitespace index after a ;
+
+        for (int i = 0; i < length && found != ALL; i++) {
+            char c = input.charAt(i);
+
+            if (awaitingAssign && !isWhitespace(c)) {
+                if (c == '=') {
+                    found |= XSS;
+                }
+                awaitingAssign = false;
+            }
+            if (afterSemicolon && !isWhitespace(c)) {
+                commandStart = i;
+                afterSemicolon = false;
+            }
+
+            switch (c) {
+                case ';' -> {
+                    found |= SQL_INJECTION;
+                    afterSemicolon = true;
+                }
+                case '=', '>' -> {
+                    if (orEnd >= 0 && i > orEnd + 1) {
+                        found |= SQL_INJECTION;
+                    }
+                    if (c == '>' && tagOpen) {
+                        found |= XSS;
+                    }
+                }
+                case '\n', '\r', '\u0085', '\u2028', '\u2029' -> {
+                    orEnd = -1;
+                    pairMask = 0;
+                }
+                default -> {
+                }
+            }
+
+            state = TRANSITIONS[state][c < ALPHABET ? LOWER[c] : 0];
+            int[] matches = OUTPUTS[state];
+            for (int m = 0; m < matches.length; m++) {
+                Token token = TOKENS[matches[m]];
+                int start = i - token.text.length() + 1;
+                switch (token.kind) {
+                    case LITERAL -> found |= token.arg;
+                    case WORD -> {
+                        if (isWord(input, start, i)) {
+                            found |= token.arg;
+                        }
+                    }
+                    case OR_WORD -> {
+                        if (orEnd < 0 && isWord(input, start, i)) {
+                            orEnd = i;
+                        }
+                    }
+                    case PAIR_FIRST -> {
+                        if (isWord(input, start, i)) {
+                            pairMask |= 1 << token.arg;
+                        }
+                    }
+                    case PAIR_SECOND -> {
+                        if ((pairMask & (1 << token.arg)) != 0 && isWord(input, start, i)) {
+                            found |= SQL_INJECTION;
+                        }
+                    }
+                    case OPEN_TAG -> tagOpen = true;
+                    case EVENT_HANDLER -> awaitingAssign = true;
+                    case SHELL_COMMAND -> {
+                        if (start == commandStart) {
+                            found |= COMMAND_INJECTION;
+                        }
+                    }
+                    default -> {
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Whether {@code [start, end]} is bounded by non-word characters, matching regex {@code \b}.
+     */
+    private static boolean isWord(CharSequence input, int start, int end) {
+        return (start == 0 || !isWordChar(input.charAt(start - 1)))
+                && (end + 1 == input.length() || !isWordChar(input.charAt(end + 1)));
+    }
+
+    private static boolean isWordChar(char c) {
+        return c == '_' || Character.isLetterOrDigit(c);
+    }
+
+    /**
+     * Regex {@code \s}: space, tab, newline, vertical tab, form feed, carriage return.
+     */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || (c >= '\t' && c <= '\r');
+    }
+
+    private static int[] newRow() {
+        int[] row = new int[ALPHABET];
+        Arrays.fill(row, -1);
+        return row;
+    }
+
+    private record Token(String text, int kind, int arg) {
+    }
+}
@@ -0,0 +1,216 @@
+package com.westbethel.motel_booking.security.session;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind accumulator for session activity timestamps.
+ *
+ * Activity touches are coalesced in memory per session (latest timestamp wins)
+ * and flushed to the {@code user_sessions} hashes in pipelined batches, so a
+ * session that sees hundreds of requests between flushes costs a single Redis
+ * write instead of a read plus a full hash rewrite per request.
+ *
+ * @author Security Agent 1 - Phase 2
+ */
+@Component
+@Slf4j
+public class SessionActivityTracker {
+
+    static final String SESSION_KEY_PREFIX = "user_sessions:";
+    private static final String LAST_ACTIVITY_FIELD = "lastActivityAt";
+
+    /**
+     * Only touch hashes that still exist so expired or deleted sessions are not resurrected
+     * as partial hashes; the TTL is refreshed the same way a full save would refresh it.
+     * Returns the owner while the session is active, so it can be re-scored in the owner's
+     * {@link UserSessionIndex}; the script only touches its own key, for Redis Cluster.
+     */
+    private static final byte[] TOUCH_SCRIPT = (
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return false end " +
+            "redis.call('HSET', KEYS[1], ARGV[1], ARGV[2]) " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[3]) " +
+            "local fields = redis.call('HMGET', KEYS[1], 'username', 'active') " +
+            "if fields[1] and fields[2] == '1' then return fields[1] end " +
+            "return false").getBytes(StandardCharsets.UTF_8);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final Map<String, OffsetDateTime> pending = new ConcurrentHashMap<>();
+    private final Counter touchCounter;
+    private final Counter writeCounter;
+    private final int batchSize;
+    private final long sessionTtlSeconds;
+
+    public SessionActivityTracker(
+            RedisTemplate<String, String> redisTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${security.session.activity-flush-batch-size:500}") int batchSize,
+            @Value("${security.session.ttl-seconds:86400}") long sessionTtlSeconds) {
+        this.redisTemplate = redisTemplate;
+        this.batchSize = batchSize;
+        this.sessionTtlSeconds = sessionTtlSeconds;
+        this.touchCounter = Counter.builder("session.activity.touches")
+                .description("Session activity updates accepted in memory")
+                .register(meterRegistry);
+        this.writeCounter = Counter.builder("session.activity.writes")
+                .description("Session activity updates written to Redis")
+                .register(meterRegistry);
+        Gauge.builder("session.activity.pending", pending, Map::size)
+                .description("Sessions with activity not yet flushed to Redis")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Record activity for a session. Only the most recent timestamp is kept.
+     *
+     * @param sessionId the session ID
+     * @param at activity timestamp
+     */
+    public void touch(String sessionId, OffsetDateTime at) {
+        pending.merge(sessionId, at, SessionActivityTracker::latest);
+        touchCounter.increment();
+    }
+
+    /**
+     * Get activity recorded for a session that has not been flushed yet.
+     *
+     * @param sessionId the session ID
+     * @return pending activity timestamp, if any
+     */
+    public Optional<OffsetDateTime> pendingActivity(String sessionId) {
+        return Optional.ofNullable(pending.get(sessionId));
+    }
+
+    /**
+     * Overlay pending activity onto a session loaded from Redis.
+     *
+     * @param session the stored session
+     * @return the same session with the freshest known activity timestamp
+     */
+    public UserSession merge(UserSession session) {
+        OffsetDateTime pendingAt = pending.get(session.getSessionId());
+        if (pendingAt != null) {
+            session.setLastActivityAt(latest(session.getLastActivityAt(), pendingAt));
+        }
+        return session;
+    }
+
+    /**
+     * Drop pending activity for a session, e.g. once it has been saved in full.
+     *
+     * @param sessionId the session ID
+     */
+    public void discard(String sessionId) {
+        pending.remove(sessionId);
+    }
+
+    /**
+     * Flush coalesced activity to Redis in pipelined batches.
+     */
+    @Scheduled(fixedDelayString = "${security.session.activity-flush-interval:5000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<Map.Entry<String, OffsetDateTime>> batch = new ArrayList<>(Math.min(pending.size(), batchSize));
+        for (Map.Entry<String, OffsetDateTime> entry : pending.entrySet()) {
+            // Conditional remove: a touch that raced in after we read the entry stays pending
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                batch.add(Map.entry(entry.getKey(), entry.getValue()));
+            }
+            if (batch.size() >= batchSize) {
+                writeBatch(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeBatch(batch);
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.warn("Failed to flush session activity on shutdown: {}", e.getMessage());
+        }
+    }
+
+    private void writeBatch(List<Map.Entry<String, OffsetDateTime>> batch) {
+        byte[] field = LAST_ACTIVITY_FIELD.getBytes(StandardCharsets.UTF_8);
+        byte[] ttl = Long.toString(sessionTtlSeconds).getBytes(StandardCharsets.UTF_8);
+        try {
+            List<Object> owners = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (Map.Entry<String, OffsetDateTime> entry : batch) {
+                    connection.scriptingCommands().eval(TOUCH_SCRIPT, ReturnType.VALUE, 1,
+                            (SESSION_KEY_PREFIX + entry.getKey()).getBytes(StandardCharsets.UTF_8),
+                            field,
+                            entry.getValue().toString().getBytes(StandardCharsets.UTF_8),
+                            ttl);
+                }
+                return null;
+            });
+            rescore(batch, owners);
+            writeCounter.increment(batch.size());
+            log.trace("Flushed activity for {} sessions", batch.size());
+        } catch (Exception e) {
+            // Put the timestamps back so the next flush retries them
+            log.warn("Failed to flush activity for {} sessions: {}", batch.size(), e.getMessage());
+            batch.forEach(entry -> pending.merge(entry.getKey(), entry.getValue(), SessionActivityTracker::latest));
+        }
+    }
+
+    /**
+     * Re-score still-active sessions in their owners' indexes, in a second pipeline.
+     */
+    private void rescore(List<Map.Entry<String, OffsetDateTime>> batch, List<Object> owners) {
+        if (owners == null || owners.stream().allMatch(Objects::isNull)) {
+            return;
+        }
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (int i = 0; i < batch.size() && i < owners.size(); i++) {
+                Object owner = owners.get(i);
+                if (owner == null) {
+                    continue;
+                }
+                String username = owner instanceof byte[] raw ? new String(raw, StandardCharsets.UTF_8) : owner.toString();
+                byte[] indexKey = UserSessionIndex.indexKey(username).getBytes(StandardCharsets.UTF_8);
+                Map.Entry<String, OffsetDateTime> entry = batch.get(i);
+                connection.zSetCommands().zAdd(indexKey, UserSessionIndex.toScore(entry.getValue()),
+                        entry.getKey().getBytes(StandardCharsets.UTF_8));
+                connection.keyCommands().expire(indexKey, sessionTtlSeconds);
+            }
+            return null;
+        });
+    }
+
+    private static OffsetDateTime latest(OffsetDateTime a, OffsetDateTime b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        return a.isAfter(b) ? a : b;
+    }
+}
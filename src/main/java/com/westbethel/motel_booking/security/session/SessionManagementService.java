@@ -10,6 +10,7 @@ import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 /**
  * Service for managing user sessions in Redis.
@@ -23,6 +24,8 @@ public class SessionManagementService {
 
     private final UserSessionRepository sessionRepository;
     private final AuditService auditService;
+    private final SessionActivityTracker activityTracker;
+    private final UserSessionIndex sessionIndex;
 
     private static final long SESSION_TTL_SECONDS = 24 * 60 * 60; // 24 hours
 
@@ -54,6 +57,7 @@ public class SessionManagementService {
                 .build();
 
         sessionRepository.save(session);
+        sessionIndex.add(session);
 
         // Audit log
         auditService.record(AuditEntry.builder()
@@ -72,12 +76,16 @@ public class SessionManagementService {
 
     /**
      * Get all active sessions for a user.
+     * Reads the user's session index and the indexed hashes in two pipelined round trips.
      *
      * @param username the username
-     * @return list of active sessions
+     * @return list of active sessions, most recently active first
      */
     public List<UserSession> getActiveSessions(String username) {
-        return sessionRepository.findByUsernameAndActive(username, true);
+        return sessionIndex.findSessions(username).stream()
+                .filter(session -> Boolean.TRUE.equals(session.getActive()))
+                .map(activityTracker::merge)
+                .collect(Collectors.toList());
     }
 
     /**
@@ -87,22 +95,19 @@ public class SessionManagementService {
      * @return optional session
      */
     public Optional<UserSession> getSession(String sessionId) {
-        return sessionRepository.findById(sessionId);
+        return sessionRepository.findById(sessionId).map(activityTracker::merge);
     }
 
     /**
      * Update session activity timestamp.
+     * The touch is recorded in memory and written behind to Redis by {@link SessionActivityTracker};
+     * reads through this service see it immediately.
      *
      * @param sessionId the session ID
      */
     public void updateActivity(String sessionId) {
-        Optional<UserSession> sessionOpt = sessionRepository.findById(sessionId);
-        if (sessionOpt.isPresent()) {
-            UserSession session = sessionOpt.get();
-            session.setLastActivityAt(OffsetDateTime.now());
-            sessionRepository.save(session);
-            log.trace("Updated activity for session: {}", sessionId);
-        }
+        activityTracker.touch(sessionId, OffsetDateTime.now());
+        log.trace("Recorded activity for session: {}", sessionId);
     }
 
     /**
@@ -115,7 +120,7 @@ public class SessionManagementService {
     public void invalidateSession(String sessionId, String username) {
         log.info("Invalidating session: {} for user: {}", sessionId, username);
 
-        UserSession session = sessionRepository.findById(sessionId)
+        UserSession session = getSession(sessionId)
                 .orElseThrow(() -> new IllegalArgumentException("Session not found"));
 
         // Verify ownership
@@ -127,6 +132,8 @@ public class SessionManagementService {
 
         session.setActive(false);
         sessionRepository.save(session);
+        sessionIndex.remove(username, sessionId);
+        activityTracker.discard(sessionId);
 
         // Audit log
         auditService.record(AuditEntry.builder()
@@ -151,12 +158,8 @@ public class SessionManagementService {
     public void invalidateAllSessions(String username) {
         log.info("Invalidating all sessions for user: {}", username);
 
-        List<UserSession> sessions = sessionRepository.findByUsernameAndActive(username, true);
-
-        for (UserSession session : sessions) {
-            session.setActive(false);
-            sessionRepository.save(session);
-        }
+        List<String> sessionIds = sessionIndex.deactivateAll(username);
+        sessionIds.forEach(activityTracker::discard);
 
         // Audit log
         auditService.record(AuditEntry.builder()
@@ -165,11 +168,11 @@ public class SessionManagementService {
                 .entityId(username)
                 .action("ALL_SESSIONS_INVALIDATED")
                 .performedBy(username)
-                .details(String.format("All sessions invalidated (%d sessions)", sessions.size()))
+                .details(String.format("All sessions invalidated (%d sessions)", sessionIds.size()))
                 .occurredAt(OffsetDateTime.now())
                 .build());
 
-        log.info("Invalidated {} sessions for user: {}", sessions.size(), username);
+        log.info("Invalidated {} sessions for user: {}", sessionIds.size(), username);
     }
 
     /**
@@ -182,7 +185,7 @@ public class SessionManagementService {
      * @return true if suspicious activity detected
      */
     public boolean detectSuspiciousActivity(String username, String ipAddress, String userAgent) {
-        List<UserSession> recentSessions = sessionRepository.findByUsernameAndActive(username, true);
+        List<UserSession> recentSessions = getActiveSessions(username);
 
         if (recentSessions.isEmpty()) {
             return false;
@@ -7,7 +7,6 @@ import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.redis.core.RedisHash;
 import org.springframework.data.redis.core.TimeToLive;
-import org.springframework.data.redis.core.index.Indexed;
 
 import java.time.OffsetDateTime;
 
@@ -31,9 +30,8 @@ public class UserSession {
     private String sessionId;
 
     /**
-     * Username of the session owner
+     * Username of the session owner (sessions are listed through {@link UserSessionIndex})
      */
-    @Indexed
     private String username;
 
     /**
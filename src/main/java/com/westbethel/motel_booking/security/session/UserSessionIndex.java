@@ -0,0 +1,285 @@
+package com.westbethel.motel_booking.security.session;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisZSetCommands.ZAddArgs;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.convert.Bucket;
+import org.springframework.data.redis.core.convert.RedisConverter;
+import org.springframework.data.redis.core.convert.RedisData;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Explicit per-user session index in Redis.
+ *
+ * Each user has a sorted set of session IDs scored by last activity (epoch millis).
+ * Listing reads the user's members and then fetches their hashes in one pipeline, instead of
+ * intersecting Spring Data secondary-index sets and fetching each hash separately. Members
+ * whose hash has expired are pruned as they are encountered, and members older than the
+ * session TTL are trimmed by score.
+ *
+ * Every command and script touches a single key, so the index works on Redis Cluster.
+ *
+ * Sessions saved before the index existed are only in the Spring Data secondary-index set
+ * ({@code user_sessions:username:<username>}). Listing and revoking merge that set into the
+ * index first and then delete it, so those sessions are still found and revoked.
+ *
+ * @author Security Agent 1 - Phase 2
+ */
+@Component
+@Slf4j
+public class UserSessionIndex {
+
+    static final String INDEX_KEY_PREFIX = SessionActivityTracker.SESSION_KEY_PREFIX + "idx:";
+    static final String LEGACY_INDEX_KEY_PREFIX = SessionActivityTracker.SESSION_KEY_PREFIX + "username:";
+
+    private static final byte[] DEACTIVATE_SCRIPT = (
+            "if redis.call('HGET', KEYS[1], 'active') == '1' then " +
+            "  redis.call('HSET', KEYS[1], 'active', '0') " +
+            "  return 1 " +
+            "end " +
+            "return 0").getBytes(StandardCharsets.UTF_8);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisConverter redisConverter;
+    private final long sessionTtlSeconds;
+    private final Clock clock;
+
+    public UserSessionIndex(
+            RedisTemplate<String, String> redisTemplate,
+            RedisConverter redisConverter,
+            @Value("${security.session.ttl-seconds:86400}") long sessionTtlSeconds) {
+        this(redisTemplate, redisConverter, sessionTtlSeconds, Clock.systemUTC());
+    }
+
+    UserSessionIndex(RedisTemplate<String, String> redisTemplate, RedisConverter redisConverter,
+                     long sessionTtlSeconds, Clock clock) {
+        this.redisTemplate = redisTemplate;
+        this.redisConverter = redisConverter;
+        this.sessionTtlSeconds = sessionTtlSeconds;
+        this.clock = clock;
+    }
+
+    /**
+     * Redis key of the index for a user.
+     *
+     * @param username the username
+     * @return index key
+     */
+    static String indexKey(String username) {
+        return INDEX_KEY_PREFIX + username;
+    }
+
+    /**
+     * Redis key of the Spring Data secondary-index set written before the index existed.
+     *
+     * @param username the username
+     * @return legacy index key
+     */
+    static String legacyIndexKey(String username) {
+        return LEGACY_INDEX_KEY_PREFIX + username;
+    }
+
+    /**
+     * Add a session to its owner's index.
+     *
+     * @param session the session
+     */
+    public void add(UserSession session) {
+        String key = indexKey(session.getUsername());
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            byte[] rawKey = bytes(key);
+            connection.zSetCommands().zAdd(rawKey, toScore(session.getLastActivityAt()),
+                    bytes(session.getSessionId()));
+            connection.keyCommands().expire(rawKey, sessionTtlSeconds);
+            return null;
+        });
+    }
+
+    /**
+     * Remove a session from its owner's index.
+     *
+     * @param username the username
+     * @param sessionId the session ID
+     */
+    public void remove(String username, String sessionId) {
+        redisTemplate.opsForZSet().remove(indexKey(username), sessionId);
+    }
+
+    /**
+     * Load all indexed sessions of a user, most recently active first.
+     * Two round trips: the index members, then their hashes.
+     *
+     * @param username the username
+     * @return the user's sessions
+     */
+    public List<UserSession> findSessions(String username) {
+        String key = indexKey(username);
+        double cutoff = clock.millis() - sessionTtlSeconds * 1000;
+        List<Object> index = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.setCommands().sMembers(bytes(legacyIndexKey(username)));
+            connection.zSetCommands().zRemRangeByScore(bytes(key), Double.NEGATIVE_INFINITY, cutoff);
+            connection.zSetCommands().zRevRange(bytes(key), 0, -1);
+            return null;
+        });
+
+        Set<String> legacyIds = strings(result(index, 0));
+        Set<String> sessionIds = strings(result(index, 2));
+        if (!legacyIds.isEmpty()) {
+            migrateLegacy(username, legacyIds);
+            // Migrated members are scored now, so they lead the most-recent-first order
+            Set<String> merged = new LinkedHashSet<>(legacyIds);
+            merged.addAll(sessionIds);
+            sessionIds = merged;
+        }
+        if (sessionIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<String> ids = new ArrayList<>(sessionIds);
+        List<Object> hashes = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String sessionId : ids) {
+                connection.hashCommands().hGetAll(bytes(sessionKey(sessionId)));
+            }
+            return null;
+        });
+
+        List<UserSession> sessions = new ArrayList<>(ids.size());
+        List<String> expired = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            Map<?, ?> hash = (Map<?, ?>) result(hashes, i);
+            if (hash == null || hash.isEmpty()) {
+                expired.add(ids.get(i));
+            } else {
+                sessions.add(readSession(ids.get(i), hash));
+            }
+        }
+        if (!expired.isEmpty()) {
+            redisTemplate.opsForZSet().remove(key, expired.toArray());
+        }
+        return sessions;
+    }
+
+    /**
+     * Mark every active session of a user inactive and remove them from the index.
+     * Sessions added while this runs stay indexed.
+     *
+     * @param username the username
+     * @return IDs of the sessions that were deactivated
+     */
+    public List<String> deactivateAll(String username) {
+        String key = indexKey(username);
+        String legacyKey = legacyIndexKey(username);
+        List<Object> index = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.setCommands().sMembers(bytes(legacyKey));
+            connection.zSetCommands().zRange(bytes(key), 0, -1);
+            return null;
+        });
+
+        Set<String> sessionIds = new LinkedHashSet<>(strings(result(index, 0)));
+        boolean hasLegacy = !sessionIds.isEmpty();
+        sessionIds.addAll(strings(result(index, 1)));
+        if (sessionIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<String> ids = new ArrayList<>(sessionIds);
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String sessionId : ids) {
+                connection.scriptingCommands().eval(DEACTIVATE_SCRIPT, ReturnType.INTEGER, 1,
+                        bytes(sessionKey(sessionId)));
+            }
+            connection.zSetCommands().zRem(bytes(key), ids.stream().map(UserSessionIndex::bytes).toArray(byte[][]::new));
+            if (hasLegacy) {
+                connection.keyCommands().del(bytes(legacyKey));
+            }
+            return null;
+        });
+
+        List<String> deactivated = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            if (result(results, i) instanceof Number changed && changed.longValue() == 1) {
+                deactivated.add(ids.get(i));
+            }
+        }
+        return deactivated;
+    }
+
+    /**
+     * Score used for a session's last activity.
+     *
+     * @param lastActivityAt last activity timestamp
+     * @return epoch millis
+     */
+    static double toScore(OffsetDateTime lastActivityAt) {
+        return lastActivityAt != null ? lastActivityAt.toInstant().toEpochMilli() : System.currentTimeMillis();
+    }
+
+    /**
+     * Move members of the legacy secondary-index set into the index, scored now. Members whose
+     * hash has already expired are pruned by the next listing.
+     */
+    private void migrateLegacy(String username, Collection<String> sessionIds) {
+        String key = indexKey(username);
+        double now = clock.millis();
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            byte[] rawKey = bytes(key);
+            for (String sessionId : sessionIds) {
+                connection.zSetCommands().zAdd(rawKey, now, bytes(sessionId), ZAddArgs.ifNotExists());
+            }
+            connection.keyCommands().expire(rawKey, sessionTtlSeconds);
+            connection.keyCommands().del(bytes(legacyIndexKey(username)));
+            return null;
+        });
+        log.debug("Migrated {} legacy session index entries for user: {}", sessionIds.size(), username);
+    }
+
+    private UserSession readSession(String sessionId, Map<?, ?> hash) {
+        Map<String, String> fields = new LinkedHashMap<>(hash.size());
+        hash.forEach((field, value) -> fields.put(string(field), string(value)));
+        RedisData data = new RedisData(Bucket.newBucketFromStringMap(fields));
+        data.setId(sessionId);
+        return redisConverter.read(UserSession.class, data);
+    }
+
+    private static String sessionKey(String sessionId) {
+        return SessionActivityTracker.SESSION_KEY_PREFIX + sessionId;
+    }
+
+    private static Object result(List<Object> results, int index) {
+        return results != null && index < results.size() ? results.get(index) : null;
+    }
+
+    /**
+     * Pipeline results are deserialized by the template, except empty collections; accept both forms.
+     */
+    private static Set<String> strings(Object members) {
+        Set<String> values = new LinkedHashSet<>();
+        if (members instanceof Collection<?> collection) {
+            collection.forEach(member -> values.add(string(member)));
+        }
+        return values;
+    }
+
+    private static String string(Object value) {
+        return value instanceof byte[] raw ? new String(raw, StandardCharsets.UTF_8) : String.valueOf(value);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
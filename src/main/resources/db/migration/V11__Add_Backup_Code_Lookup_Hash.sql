@@ -0,0 +1,22 @@
+-- V11__Add_Backup_Code_Lookup_Hash.sql
+-- MFA backup codes are stored as a keyed HMAC-SHA256 (server pepper) so that
+-- verification is a single indexed lookup instead of one BCrypt match per code.
+--
+-- Existing rows keep their BCrypt hashes and are tagged 'BCRYPT'; they remain
+-- usable until consumed or until the user regenerates their backup codes.
+
+ALTER TABLE mfa_backup_codes
+    ADD COLUMN hash_algorithm VARCHAR(16) NOT NULL DEFAULT 'BCRYPT';
+
+-- Keyed lookup: user + HMAC of the presented code
+CREATE INDEX IF NOT EXISTS idx_mfa_backup_codes_user_hash
+    ON mfa_backup_codes(user_id, code_hash)
+    WHERE used = FALSE;
+
+-- Legacy BCrypt rows still awaiting migration
+CREATE INDEX IF NOT EXISTS idx_mfa_backup_codes_legacy
+    ON mfa_backup_codes(user_id)
+    WHERE hash_algorithm = 'BCRYPT' AND used = FALSE;
+
+COMMENT ON COLUMN mfa_backup_codes.code_hash IS 'HMAC-SHA256 (hex) of the backup code keyed with the server pepper, or BCrypt hash for legacy rows';
+COMMENT ON COLUMN mfa_backup_codes.hash_algorithm IS 'HMAC_SHA256 for keyed lookup hashes, BCRYPT for legacy rows';
@@ -0,0 +1,88 @@
+-- V12__Partition_Audit_Entries.sql
+-- Range-partition audit_entries by month on occurred_at.
+--
+-- - Inserts land in a small, hot partition whose indexes stay in memory
+-- - Time-bounded investigation queries only touch the partitions they need
+-- - Retention drops whole partitions (AuditPartitionMaintenance) instead of DELETEs
+--
+-- Partitioned tables require the partition key in every unique constraint, so the
+-- primary key becomes (id, occurred_at). IDs are still random UUIDs and stay unique.
+
+ALTER TABLE audit_entries RENAME TO audit_entries_legacy;
+
+CREATE TABLE audit_entries (
+    id UUID NOT NULL,
+    entity_type VARCHAR(128) NOT NULL,
+    entity_id VARCHAR(64) NOT NULL,
+    action VARCHAR(32) NOT NULL,
+    performed_by VARCHAR(64),
+    details VARCHAR(2048),
+    occurred_at TIMESTAMPTZ NOT NULL,
+    PRIMARY KEY (id, occurred_at)
+) PARTITION BY RANGE (occurred_at);
+
+-- Creates the monthly partition containing the given instant if it does not exist yet.
+-- Partitions are named audit_entries_pYYYYMM.
+CREATE OR REPLACE FUNCTION create_audit_partition(month_start TIMESTAMPTZ)
+RETURNS VOID AS $$
+DECLARE
+    lower_bound TIMESTAMPTZ := date_trunc('month', month_start AT TIME ZONE 'UTC') AT TIME ZONE 'UTC';
+    upper_bound TIMESTAMPTZ := lower_bound + INTERVAL '1 month';
+    partition_name TEXT := 'audit_entries_p' || to_char(lower_bound AT TIME ZONE 'UTC', 'YYYYMM');
+BEGIN
+    IF to_regclass(partition_name) IS NULL THEN
+        EXECUTE format(
+            'CREATE TABLE %I PARTITION OF audit_entries FOR VALUES FROM (%L) TO (%L)',
+            partition_name, lower_bound, upper_bound);
+    END IF;
+END;
+$$ LANGUAGE plpgsql;
+
+-- One partition per month of existing history, plus three months ahead
+DO $$
+DECLARE
+    month_cursor TIMESTAMPTZ := date_trunc('month',
+            COALESCE((SELECT MIN(occurred_at) FROM audit_entries_legacy), NOW()) AT TIME ZONE 'UTC') AT TIME ZONE 'UTC';
+BEGIN
+    WHILE month_cursor < NOW() + INTERVAL '4 months' LOOP
+        PERFORM create_audit_partition(month_cursor);
+        month_cursor := month_cursor + INTERVAL '1 month';
+    END LOOP;
+END;
+$$;
+
+-- Safety net for rows outside the pre-created range (clock skew, replayed old entries)
+CREATE TABLE audit_entries_default PARTITION OF audit_entries DEFAULT;
+
+INSERT INTO audit_entries (id, entity_type, entity_id, action, performed_by, details, occurred_at)
+SELECT id, entity_type, entity_id, action, performed_by, details, occurred_at
+FROM audit_entries_legacy;
+
+DROP TABLE audit_entries_legacy;
+
+-- =====================================================
+-- INDEXES (created on the parent, inherited by every partition)
+-- =====================================================
+
+-- Time-range scans: audit rows arrive in time order, so a BRIN index is tiny and
+-- replaces the V10 B-tree on occurred_at
+CREATE INDEX idx_audit_entries_occurred_at_brin
+    ON audit_entries USING BRIN (occurred_at) WITH (pages_per_range = 32);
+
+-- Audit trail by entity, ordered for keyset pagination on (occurred_at, id)
+CREATE INDEX idx_audit_entries_entity_date
+    ON audit_entries(entity_type, entity_id, occurred_at DESC, id DESC);
+
+-- Audit trail by user
+CREATE INDEX idx_audit_entries_performed_by
+    ON audit_entries(performed_by, occurred_at DESC, id DESC)
+    WHERE performed_by IS NOT NULL;
+
+-- Audit trail by action (e.g. all LOGIN_FAILURE events in a window)
+CREATE INDEX idx_audit_entries_action_date
+    ON audit_entries(action, occurred_at DESC, id DESC);
+
+ANALYZE audit_entries;
+
+COMMENT ON TABLE audit_entries IS 'Audit log, range-partitioned by month on occurred_at (audit_entries_pYYYYMM)';
+COMMENT ON FUNCTION create_audit_partition(TIMESTAMPTZ) IS 'Creates the monthly audit_entries partition containing the given instant';
@@ -0,0 +1,82 @@
+-- V13__Booking_Room_Stay_Exclusion.sql
+-- Room-night occupancy: each booked room carries its stay as a daterange.
+--
+-- - booking_rooms.stay is the half-open [check_in, check_out) range of the booking
+-- - booking_rooms.blocking is true while the booking holds the room (HOLD, CONFIRMED, CHECKED_IN)
+-- - An exclusion constraint rejects two blocking stays of the same room that overlap,
+--   so double booking is prevented by the database even under concurrent allocation
+-- - Overlap lookups use && on GiST indexes instead of two-sided B-tree range scans
+--
+-- Both columns are maintained by triggers from bookings, so the JPA mapping of
+-- booking_rooms (booking_id, room_id) is unchanged.
+--
+-- Existing overlapping blocking stays make the constraint fail to build; resolve them
+-- before running this migration.
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE booking_rooms
+    ADD COLUMN stay DATERANGE,
+    ADD COLUMN blocking BOOLEAN NOT NULL DEFAULT TRUE;
+
+UPDATE booking_rooms br
+SET stay = daterange(b.check_in, b.check_out, '[)'),
+    blocking = b.status IN ('HOLD', 'CONFIRMED', 'CHECKED_IN')
+FROM bookings b
+WHERE b.id = br.booking_id;
+
+ALTER TABLE booking_rooms ALTER COLUMN stay SET NOT NULL;
+
+-- Copies the stay and blocking flag of the owning booking onto new booking_rooms rows.
+-- Hibernate inserts the booking before its room collection, so the booking is visible here.
+CREATE OR REPLACE FUNCTION booking_rooms_fill_stay()
+RETURNS TRIGGER AS $$
+BEGIN
+    SELECT daterange(b.check_in, b.check_out, '[)'),
+           b.status IN ('HOLD', 'CONFIRMED', 'CHECKED_IN')
+    INTO NEW.stay, NEW.blocking
+    FROM bookings b
+    WHERE b.id = NEW.booking_id;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_booking_rooms_fill_stay
+    BEFORE INSERT OR UPDATE OF booking_id ON booking_rooms
+    FOR EACH ROW EXECUTE FUNCTION booking_rooms_fill_stay();
+
+-- Propagates date and status changes of a booking to its rooms. Moving a booking onto
+-- nights already held by another booking, or reinstating a cancelled booking whose rooms
+-- were taken in the meantime, fails on the exclusion constraint.
+CREATE OR REPLACE FUNCTION bookings_sync_room_stays()
+RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE booking_rooms
+    SET stay = daterange(NEW.check_in, NEW.check_out, '[)'),
+        blocking = NEW.status IN ('HOLD', 'CONFIRMED', 'CHECKED_IN')
+    WHERE booking_id = NEW.id;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_bookings_sync_room_stays
+    AFTER UPDATE OF check_in, check_out, status ON bookings
+    FOR EACH ROW
+    WHEN (OLD.check_in IS DISTINCT FROM NEW.check_in
+        OR OLD.check_out IS DISTINCT FROM NEW.check_out
+        OR OLD.status IS DISTINCT FROM NEW.status)
+    EXECUTE FUNCTION bookings_sync_room_stays();
+
+-- No two blocking stays of one room may overlap.
+-- Backed by a partial GiST index on (room_id, stay) that also serves room-level overlap lookups.
+ALTER TABLE booking_rooms
+    ADD CONSTRAINT booking_rooms_no_double_booking
+    EXCLUDE USING gist (room_id WITH =, stay WITH &&) WHERE (blocking);
+
+-- Property-wide overlap lookups (availability, allocation, occupancy reports) for any status set.
+-- Replaces the two-sided B-tree scan on (property_id, check_in, check_out).
+CREATE INDEX IF NOT EXISTS idx_bookings_property_stay
+    ON bookings USING gist (property_id, daterange(check_in, check_out, '[)'));
+
+ANALYZE booking_rooms;
+ANALYZE bookings;
@@ -0,0 +1,185 @@
+-- V14__Booking_Archive_Tier.sql
+-- Archive tier for finished bookings.
+--
+-- - bookings / booking_rooms stay unpartitioned hot tables: the booking_rooms exclusion
+--   constraint (V13) and the unique booking reference need global uniqueness, which
+--   partitioned tables only offer per partition
+-- - Finished bookings (CHECKED_OUT, CANCELLED, NO_SHOW) whose check-out is older than the
+--   retention window are moved by BookingArchiver into the archive schema, so the hot
+--   tables and their V10/V13 indexes only hold the forward-looking window plus recent history
+-- - archive.bookings / archive.booking_rooms are range-partitioned by check-out month,
+--   append-only (fillfactor 100) and carry only the indexes history lookups need
+--
+-- archive.bookings mirrors the bookings columns plus archived_at; columns added to bookings
+-- later must be added here and to the column lists in archive.move_bookings too.
+--
+-- Archived bookings leave the hot table, so reads by id or reference (amend, cancel) and the
+-- keyset lists see only the hot tier; guest history can include the archive on request
+-- (DefaultBookingListService) and reports read both tiers.
+
+CREATE SCHEMA IF NOT EXISTS archive;
+
+CREATE TABLE archive.bookings (
+    LIKE bookings INCLUDING DEFAULTS,
+    archived_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    PRIMARY KEY (id, check_out)
+) PARTITION BY RANGE (check_out);
+
+CREATE TABLE archive.booking_rooms (
+    booking_id UUID NOT NULL,
+    room_id UUID NOT NULL,
+    check_out DATE NOT NULL,
+    stay DATERANGE NOT NULL,
+    PRIMARY KEY (booking_id, room_id, check_out)
+) PARTITION BY RANGE (check_out);
+
+-- Safety net for rows outside the monthly partitions
+CREATE TABLE archive.bookings_default PARTITION OF archive.bookings DEFAULT;
+CREATE TABLE archive.booking_rooms_default PARTITION OF archive.booking_rooms DEFAULT;
+
+-- History by property and stay (reports), by guest and by reference
+CREATE INDEX idx_archive_bookings_property_checkout ON archive.bookings(property_id, check_out);
+CREATE INDEX idx_archive_bookings_guest ON archive.bookings(guest_id, created_at DESC, id DESC);
+CREATE INDEX idx_archive_bookings_reference ON archive.bookings(reference);
+CREATE INDEX idx_archive_booking_rooms_room ON archive.booking_rooms(room_id, check_out);
+
+-- Invoices outlive the hot booking row and reference bookings in either tier, which a foreign
+-- key cannot express. The key is replaced by constraint triggers that check both tiers. They
+-- are deferred to commit, so a booking deleted and re-inserted into the archive by one
+-- archive.move_bookings statement is checked once it is in place.
+ALTER TABLE invoices DROP CONSTRAINT IF EXISTS invoices_booking_id_fkey;
+
+CREATE OR REPLACE FUNCTION booking_exists_in_any_tier(p_booking_id UUID)
+RETURNS BOOLEAN AS $$
+    SELECT EXISTS (SELECT 1 FROM bookings WHERE id = p_booking_id)
+        OR EXISTS (SELECT 1 FROM archive.bookings WHERE id = p_booking_id);
+$$ LANGUAGE sql STABLE;
+
+-- An invoice must reference a booking in either tier.
+CREATE OR REPLACE FUNCTION invoices_check_booking()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF NOT booking_exists_in_any_tier(NEW.booking_id) THEN
+        RAISE EXCEPTION 'invoice % references missing booking %', NEW.id, NEW.booking_id
+            USING ERRCODE = 'foreign_key_violation', CONSTRAINT = 'invoices_booking_id_fkey';
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE CONSTRAINT TRIGGER invoices_booking_id_fkey
+    AFTER INSERT OR UPDATE OF booking_id ON invoices
+    DEFERRABLE INITIALLY DEFERRED
+    FOR EACH ROW EXECUTE FUNCTION invoices_check_booking();
+
+-- A booking with an invoice may only leave the hot table into the archive.
+CREATE OR REPLACE FUNCTION bookings_check_invoices()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM invoices WHERE booking_id = OLD.id)
+       AND NOT booking_exists_in_any_tier(OLD.id) THEN
+        RAISE EXCEPTION 'booking % is still referenced by an invoice', OLD.id
+            USING ERRCODE = 'foreign_key_violation', CONSTRAINT = 'invoices_booking_id_fkey';
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE CONSTRAINT TRIGGER bookings_invoices_fkey
+    AFTER DELETE ON bookings
+    DEFERRABLE INITIALLY DEFERRED
+    FOR EACH ROW EXECUTE FUNCTION bookings_check_invoices();
+
+-- Creates the archive partitions of the month containing the given date if they do not exist yet.
+-- Partitions are named archive.bookings_pYYYYMM and archive.booking_rooms_pYYYYMM.
+CREATE OR REPLACE FUNCTION archive.create_booking_partitions(month_start DATE)
+RETURNS VOID AS $$
+DECLARE
+    lower_bound DATE := date_trunc('month', month_start)::DATE;
+    upper_bound DATE := (lower_bound + INTERVAL '1 month')::DATE;
+    suffix TEXT := to_char(lower_bound, 'YYYYMM');
+BEGIN
+    IF to_regclass('archive.bookings_p' || suffix) IS NULL THEN
+        EXECUTE format(
+            'CREATE TABLE archive.%I PARTITION OF archive.bookings FOR VALUES FROM (%L) TO (%L) WITH (fillfactor = 100)',
+            'bookings_p' || suffix, lower_bound, upper_bound);
+    END IF;
+    IF to_regclass('archive.booking_rooms_p' || suffix) IS NULL THEN
+        EXECUTE format(
+            'CREATE TABLE archive.%I PARTITION OF archive.booking_rooms FOR VALUES FROM (%L) TO (%L) WITH (fillfactor = 100)',
+            'booking_rooms_p' || suffix, lower_bound, upper_bound);
+    END IF;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Creates the archive partitions for every month that has bookings to archive before the cutoff.
+CREATE OR REPLACE FUNCTION archive.prepare_booking_partitions(cutoff DATE)
+RETURNS INTEGER AS $$
+DECLARE
+    month_start DATE;
+    months INTEGER := 0;
+BEGIN
+    FOR month_start IN
+        SELECT DISTINCT date_trunc('month', check_out)::DATE
+        FROM bookings
+        WHERE check_out < cutoff
+          AND status IN ('CHECKED_OUT', 'CANCELLED', 'NO_SHOW')
+    LOOP
+        PERFORM archive.create_booking_partitions(month_start);
+        months := months + 1;
+    END LOOP;
+    RETURN months;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Moves up to batch_limit finished bookings checked out before the cutoff, with their rooms,
+-- into the archive in one statement. Returns the number of bookings moved.
+CREATE OR REPLACE FUNCTION archive.move_bookings(cutoff DATE, batch_limit INTEGER)
+RETURNS INTEGER AS $$
+DECLARE
+    moved INTEGER;
+BEGIN
+    WITH batch AS (
+        SELECT id
+        FROM bookings
+        WHERE check_out < cutoff
+          AND status IN ('CHECKED_OUT', 'CANCELLED', 'NO_SHOW')
+        ORDER BY check_out
+        LIMIT batch_limit
+        FOR UPDATE SKIP LOCKED
+    ),
+    archived_rooms AS (
+        INSERT INTO archive.booking_rooms (booking_id, room_id, check_out, stay)
+        SELECT br.booking_id, br.room_id, upper(br.stay), br.stay
+        FROM booking_rooms br
+        JOIN batch ON batch.id = br.booking_id
+    ),
+    removed AS (
+        -- booking_rooms rows go with them (ON DELETE CASCADE)
+        DELETE FROM bookings b
+        USING batch
+        WHERE b.id = batch.id
+        RETURNING b.id, b.property_id, b.reference, b.guest_id, b.status, b.payment_status, b.channel,
+                  b.source, b.created_by, b.check_in, b.check_out, b.adults, b.children, b.rate_plan_id,
+                  b.total_amount, b.total_currency, b.balance_due_amount, b.balance_due_currency,
+                  b.notes, b.created_at, b.updated_at, b.version
+    )
+    INSERT INTO archive.bookings (
+        id, property_id, reference, guest_id, status, payment_status, channel,
+        source, created_by, check_in, check_out, adults, children, rate_plan_id,
+        total_amount, total_currency, balance_due_amount, balance_due_currency,
+        notes, created_at, updated_at, version, archived_at)
+    SELECT id, property_id, reference, guest_id, status, payment_status, channel,
+           source, created_by, check_in, check_out, adults, children, rate_plan_id,
+           total_amount, total_currency, balance_due_amount, balance_due_currency,
+           notes, created_at, updated_at, version, NOW()
+    FROM removed;
+
+    GET DIAGNOSTICS moved = ROW_COUNT;
+    RETURN moved;
+END;
+$$ LANGUAGE plpgsql;
+
+COMMENT ON TABLE archive.bookings IS 'Finished bookings moved out of bookings, range-partitioned by check-out month (bookings_pYYYYMM)';
+COMMENT ON TABLE archive.booking_rooms IS 'Rooms of archived bookings, range-partitioned by check-out month (booking_rooms_pYYYYMM)';
+COMMENT ON FUNCTION archive.move_bookings(DATE, INTEGER) IS 'Moves one batch of finished bookings checked out before the cutoff into the archive';
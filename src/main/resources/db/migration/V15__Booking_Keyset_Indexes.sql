@@ -0,0 +1,22 @@
+-- V15__Booking_Keyset_Indexes.sql
+-- Indexes for the keyset-paginated booking lists (DefaultBookingListService).
+--
+-- Each list is ordered by (sort column, id) and continues with a row-value comparison
+-- against the last row of the previous page, so each index matches its list's filter,
+-- sort column and id tiebreaker: a page is one index range scan of size + 1 rows,
+-- however deep the page.
+
+-- Guest history, newest first
+CREATE INDEX IF NOT EXISTS idx_bookings_guest_keyset
+    ON bookings(guest_id, created_at DESC, id DESC);
+
+-- Property list (latest check-in first) and property date-range list (earliest first);
+-- the ascending list scans this index backwards
+CREATE INDEX IF NOT EXISTS idx_bookings_property_keyset
+    ON bookings(property_id, check_in DESC, id DESC);
+
+-- Status list, latest check-in first (all statuses, unlike idx_bookings_status_dates)
+CREATE INDEX IF NOT EXISTS idx_bookings_status_keyset
+    ON bookings(status, check_in DESC, id DESC);
+
+ANALYZE bookings;
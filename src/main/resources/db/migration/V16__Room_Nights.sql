@@ -0,0 +1,102 @@
+-- V16__Room_Nights.sql
+-- Denormalized occupancy: one row per booked room per night.
+--
+-- - room_nights holds the nights of bookings that occupy rooms: HOLD, CONFIRMED and
+--   CHECKED_IN (blocking) plus CHECKED_OUT (history for occupancy reports)
+-- - A unique index on (room_id, stay_date) over blocking nights rejects double booking
+--   at insert time, alongside the V13 exclusion constraint
+-- - Availability reads booked rooms and occupancy reports count rooms per night with
+--   index range scans over this narrow table instead of expanding booking date ranges
+--
+-- Rows are written by triggers in the same transaction as the booking change, so
+-- create, amend, cancel, the bulk import and status transitions all keep it current.
+-- Archiving a booking deletes its nights with it (ON DELETE CASCADE); reports read
+-- archived nights from the archive tier.
+
+CREATE TABLE room_nights (
+    property_id UUID NOT NULL,
+    room_type_id UUID NOT NULL,
+    room_id UUID NOT NULL,
+    stay_date DATE NOT NULL,
+    booking_id UUID NOT NULL REFERENCES bookings(id) ON DELETE CASCADE,
+    status VARCHAR(32) NOT NULL,
+    PRIMARY KEY (booking_id, room_id, stay_date)
+);
+
+-- One blocking booking per room and night
+CREATE UNIQUE INDEX uq_room_nights_room_date
+    ON room_nights(room_id, stay_date)
+    WHERE status IN ('HOLD', 'CONFIRMED', 'CHECKED_IN');
+
+-- Availability and occupancy: nights of a property in a date window
+CREATE INDEX idx_room_nights_property_date
+    ON room_nights(property_id, stay_date)
+    INCLUDE (room_id, room_type_id, status);
+
+-- Writes the nights of one booked room, if the booking occupies it.
+CREATE OR REPLACE FUNCTION room_nights_insert(p_booking_id UUID, p_room_id UUID)
+RETURNS VOID AS $$
+BEGIN
+    INSERT INTO room_nights (property_id, room_type_id, room_id, stay_date, booking_id, status)
+    SELECT b.property_id, r.room_type_id, r.id, night::DATE, b.id, b.status
+    FROM bookings b
+    JOIN rooms r ON r.id = p_room_id
+    CROSS JOIN generate_series(b.check_in, b.check_out - 1, INTERVAL '1 day') AS night
+    WHERE b.id = p_booking_id
+      AND b.status IN ('HOLD', 'CONFIRMED', 'CHECKED_IN', 'CHECKED_OUT');
+END;
+$$ LANGUAGE plpgsql;
+
+-- Keeps room_nights in step with booking_rooms rows being added or removed.
+CREATE OR REPLACE FUNCTION booking_rooms_sync_nights()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP IN ('DELETE', 'UPDATE') THEN
+        DELETE FROM room_nights WHERE booking_id = OLD.booking_id AND room_id = OLD.room_id;
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        PERFORM room_nights_insert(NEW.booking_id, NEW.room_id);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_booking_rooms_sync_nights
+    AFTER INSERT OR DELETE OR UPDATE OF booking_id, room_id ON booking_rooms
+    FOR EACH ROW EXECUTE FUNCTION booking_rooms_sync_nights();
+
+-- Rewrites a booking's nights when its dates or status change. Moving a booking onto
+-- nights already held, or reinstating one whose rooms were taken, fails on the unique index.
+CREATE OR REPLACE FUNCTION bookings_sync_room_nights()
+RETURNS TRIGGER AS $$
+DECLARE
+    booked_room UUID;
+BEGIN
+    DELETE FROM room_nights WHERE booking_id = NEW.id;
+    FOR booked_room IN SELECT room_id FROM booking_rooms WHERE booking_id = NEW.id LOOP
+        PERFORM room_nights_insert(NEW.id, booked_room);
+    END LOOP;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_bookings_sync_room_nights
+    AFTER UPDATE OF check_in, check_out, status ON bookings
+    FOR EACH ROW
+    WHEN (OLD.check_in IS DISTINCT FROM NEW.check_in
+        OR OLD.check_out IS DISTINCT FROM NEW.check_out
+        OR OLD.status IS DISTINCT FROM NEW.status)
+    EXECUTE FUNCTION bookings_sync_room_nights();
+
+-- Backfill from the current hot tables
+INSERT INTO room_nights (property_id, room_type_id, room_id, stay_date, booking_id, status)
+SELECT b.property_id, r.room_type_id, r.id, night::DATE, b.id, b.status
+FROM bookings b
+JOIN booking_rooms br ON br.booking_id = b.id
+JOIN rooms r ON r.id = br.room_id
+CROSS JOIN generate_series(b.check_in, b.check_out - 1, INTERVAL '1 day') AS night
+WHERE b.status IN ('HOLD', 'CONFIRMED', 'CHECKED_IN', 'CHECKED_OUT');
+
+COMMENT ON TABLE room_nights IS 'One row per booked room per night, maintained by triggers on bookings and booking_rooms';
+
+ANALYZE room_nights;
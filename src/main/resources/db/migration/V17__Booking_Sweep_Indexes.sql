@@ -0,0 +1,11 @@
+-- V17__Booking_Sweep_Indexes.sql
+-- Indexes for the bulk lifecycle sweeps (BookingBulkOperations).
+--
+-- - Hold expiry scans HOLD bookings by age; holds are few, so a partial index stays tiny
+-- - The no-show sweep scans CONFIRMED bookings by check-in and is served by
+--   idx_bookings_status_keyset (V15); room block cancellation by the V13 GiST index
+--   on booking_rooms (room_id, stay)
+
+CREATE INDEX IF NOT EXISTS idx_bookings_hold_created
+    ON bookings(created_at)
+    WHERE status = 'HOLD';
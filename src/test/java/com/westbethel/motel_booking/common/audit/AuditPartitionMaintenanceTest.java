@@ -0,0 +1,86 @@
+package com.westbethel.motel_booking.common.audit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Audit Partition Maintenance Tests
+ *
+ * Validates:
+ * - Partition name parsing
+ * - Only partitions entirely past retention are detached and dropped
+ * - The default partition is never dropped
+ * - Expired rows in the default partition are deleted in batches until a short batch
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Audit Partition Maintenance Tests")
+class AuditPartitionMaintenanceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AuditPartitionMaintenance maintenance;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(Instant.parse("2026-03-10T00:00:00Z"), ZoneOffset.UTC);
+        maintenance = new AuditPartitionMaintenance(jdbcTemplate, transactionManager, clock, true, 12, 3);
+    }
+
+    @Test
+    void testPartitionMonthParsing() {
+        assertThat(AuditPartitionMaintenance.partitionMonth("audit_entries_p202401")).isEqualTo(YearMonth.of(2024, 1));
+        assertThat(AuditPartitionMaintenance.partitionMonth("audit_entries_default")).isNull();
+    }
+
+    @Test
+    void testDropsOnlyExpiredPartitions() {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(List.of(
+                "audit_entries_p202502", "audit_entries_p202503", "audit_entries_p202604", "audit_entries_default"));
+
+        List<String> dropped = maintenance.dropExpiredPartitions();
+
+        assertThat(dropped).containsExactly("audit_entries_p202502");
+        verify(jdbcTemplate).execute("ALTER TABLE audit_entries DETACH PARTITION audit_entries_p202502");
+        verify(jdbcTemplate).execute("DROP TABLE IF EXISTS audit_entries_p202502");
+        verify(jdbcTemplate, never()).execute("DROP TABLE IF EXISTS audit_entries_default");
+    }
+
+    @Test
+    void testPurgesExpiredRowsFromDefaultPartition() {
+        OffsetDateTime cutoff = OffsetDateTime.parse("2025-03-01T00:00:00Z");
+        when(jdbcTemplate.update(AuditPartitionMaintenance.PURGE_DEFAULT_PARTITION_SQL,
+                cutoff, AuditPartitionMaintenance.PURGE_BATCH_SIZE))
+                .thenReturn(AuditPartitionMaintenance.PURGE_BATCH_SIZE, 7);
+
+        long deleted = maintenance.purgeExpiredDefaultRows();
+
+        assertThat(deleted).isEqualTo(AuditPartitionMaintenance.PURGE_BATCH_SIZE + 7L);
+        verify(jdbcTemplate, times(2)).update(AuditPartitionMaintenance.PURGE_DEFAULT_PARTITION_SQL,
+                cutoff, AuditPartitionMaintenance.PURGE_BATCH_SIZE);
+    }
+}
@@ -0,0 +1,106 @@
+package com.westbethel.motel_booking.common.audit;
+
+import com.westbethel.motel_booking.exception.InvalidDateRangeException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.when;
+
+/**
+ * Audit Search Service Tests
+ *
+ * Validates:
+ * - Cursor encoding round-trip
+ * - Next cursor points at the last row of a full page
+ * - Window and cursor validation
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Audit Search Service Tests")
+class AuditSearchServiceTest {
+
+    private static final OffsetDateTime FROM = OffsetDateTime.of(2026, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+    private static final OffsetDateTime TO = FROM.plusDays(7);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private AuditSearchService auditSearchService;
+
+    @Test
+    void testCursorRoundTrip() {
+        AuditSearchService.Cursor cursor = new AuditSearchService.Cursor(FROM.plusHours(3), UUID.randomUUID());
+
+        assertThat(AuditSearchService.Cursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFullPageReturnsCursorForLastRow() {
+        List<AuditEntry> rows = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            rows.add(entry(TO.minusHours(i + 1)));
+        }
+        when(jdbcTemplate.query(contains("LIMIT ?"), any(RowMapper.class), any(Object[].class))).thenReturn(rows);
+
+        AuditPage page = auditSearchService.search("SECURITY", "alice", null, null, FROM, TO, null, 2);
+
+        assertThat(page.entries()).hasSize(2);
+        assertThat(page.hasMore()).isTrue();
+        AuditSearchService.Cursor next = AuditSearchService.Cursor.decode(page.nextCursor());
+        assertThat(next.id()).isEqualTo(rows.get(1).getId());
+        assertThat(next.occurredAt()).isEqualTo(rows.get(1).getOccurredAt());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testLastPageHasNoCursor() {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class)))
+                .thenReturn(List.of(entry(TO.minusHours(1))));
+
+        AuditPage page = auditSearchService.search(null, null, "alice", null, FROM, TO, null, 50);
+
+        assertThat(page.hasMore()).isFalse();
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void testRejectsInvertedWindow() {
+        assertThatThrownBy(() -> auditSearchService.search(null, null, null, null, TO, FROM, null, 50))
+                .isInstanceOf(InvalidDateRangeException.class);
+    }
+
+    @Test
+    void testRejectsMalformedCursor() {
+        assertThatThrownBy(() -> auditSearchService.search(null, null, null, null, FROM, TO, "not-a-cursor", 50))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static AuditEntry entry(OffsetDateTime occurredAt) {
+        return AuditEntry.builder()
+                .id(UUID.randomUUID())
+                .entityType("SECURITY")
+                .entityId("alice")
+                .action("LOGIN_SUCCESS")
+                .performedBy("alice")
+                .occurredAt(occurredAt)
+                .build();
+    }
+}
@@ -0,0 +1,116 @@
+package com.westbethel.motel_booking.common.audit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Audit Write-Ahead Log Tests
+ *
+ * Validates:
+ * - Entries round-trip through the spill file
+ * - Entries survive reopening the log (crash recovery)
+ * - Truncation after commit
+ * - Flushed and synced entries are in the file, also after truncation
+ * - Torn trailing lines are skipped
+ */
+@DisplayName("Audit Write-Ahead Log Tests")
+class AuditWriteAheadLogTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testAppendAndReadBack() throws Exception {
+        AuditEntry entry = entry("LOGIN_SUCCESS", null);
+        try (AuditWriteAheadLog log = new AuditWriteAheadLog(tempDir.resolve("wal.log"))) {
+            log.append(entry);
+
+            List<AuditEntry> entries = log.readAll();
+
+            assertThat(entries).hasSize(1);
+            assertThat(entries.get(0).getId()).isEqualTo(entry.getId());
+            assertThat(entries.get(0).getAction()).isEqualTo("LOGIN_SUCCESS");
+            assertThat(entries.get(0).getDetails()).isNull();
+            assertThat(entries.get(0).getOccurredAt()).isEqualTo(entry.getOccurredAt());
+        }
+    }
+
+    @Test
+    void testEntriesSurviveReopen() throws Exception {
+        Path file = tempDir.resolve("wal.log");
+        try (AuditWriteAheadLog log = new AuditWriteAheadLog(file)) {
+            log.append(entry("LOGIN_FAILURE", "{\"reason\":\"bad password\"}"));
+            log.append(entry("LOGOUT", null));
+        }
+
+        try (AuditWriteAheadLog reopened = new AuditWriteAheadLog(file)) {
+            assertThat(reopened.size()).isEqualTo(2);
+            assertThat(reopened.readAll()).extracting(AuditEntry::getAction)
+                    .containsExactly("LOGIN_FAILURE", "LOGOUT");
+        }
+    }
+
+    @Test
+    void testTruncateDiscardsEntries() throws Exception {
+        try (AuditWriteAheadLog log = new AuditWriteAheadLog(tempDir.resolve("wal.log"))) {
+            log.append(entry("LOGIN_SUCCESS", null));
+
+            log.truncate();
+
+            assertThat(log.size()).isZero();
+            assertThat(log.readAll()).isEmpty();
+        }
+    }
+
+    @Test
+    void testSyncedEntriesAreOnDiskAfterTruncate() throws Exception {
+        Path file = tempDir.resolve("wal.log");
+        try (AuditWriteAheadLog log = new AuditWriteAheadLog(file)) {
+            log.append(entry("LOGIN_SUCCESS", null));
+            log.truncate();
+            log.append(entry("LOGOUT", null));
+
+            long length = log.flush();
+            log.sync();
+
+            assertThat(Files.size(file)).isEqualTo(length);
+            assertThat(Files.readString(file)).contains("LOGOUT").doesNotContain("LOGIN_SUCCESS");
+        }
+    }
+
+    @Test
+    void testTornLineIsSkipped() throws Exception {
+        Path file = tempDir.resolve("wal.log");
+        try (AuditWriteAheadLog log = new AuditWriteAheadLog(file)) {
+            log.append(entry("LOGIN_SUCCESS", null));
+        }
+        Files.writeString(file, "{\"id\":\"trunc", StandardOpenOption.APPEND);
+
+        try (AuditWriteAheadLog reopened = new AuditWriteAheadLog(file)) {
+            assertThat(reopened.readAll()).hasSize(1);
+        }
+    }
+
+    private static AuditEntry entry(String action, String details) {
+        return AuditEntry.builder()
+                .id(UUID.randomUUID())
+                .entityType("SECURITY")
+                .entityId("alice")
+                .action(action)
+                .performedBy("alice")
+                .details(details)
+                .occurredAt(OffsetDateTime.of(2024, 5, 1, 12, 0, 0, 0, ZoneOffset.UTC))
+                .build();
+    }
+}
@@ -0,0 +1,202 @@
+package com.westbethel.motel_booking.common.audit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Buffered Audit Writer Tests
+ *
+ * Validates:
+ * - Buffered entries are inserted in batches of at most batch-size rows
+ * - A failed batch stays in the write-ahead log
+ * - Spilled and failed entries are replayed once the database recovers, resuming at the
+ *   last committed replay batch
+ * - Entries left in the log by a previous run are replayed on start
+ * - Entries are only dropped when neither the buffer nor the log can take them
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Buffered Audit Writer Tests")
+class BufferedAuditWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private Path walFile;
+    private List<List<UUID>> inserted;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        walFile = tempDir.resolve("audit-wal.log");
+        inserted = new ArrayList<>();
+    }
+
+    @Test
+    void testWritesBufferedEntriesInBatches() throws Exception {
+        succeed();
+        BufferedAuditWriter writer = writer(10, 2, true);
+        List<AuditEntry> entries = List.of(entry(), entry(), entry());
+        entries.forEach(writer::submit);
+
+        assertThat(writer.drainOnce()).isTrue();
+        assertThat(writer.drainOnce()).isTrue();
+
+        assertThat(inserted).containsExactly(
+                List.of(entries.get(0).getId(), entries.get(1).getId()),
+                List.of(entries.get(2).getId()));
+        assertThat(writer.pending()).isZero();
+        assertThat(count("audit.entries.written")).isEqualTo(3.0);
+        assertThat(Files.size(walFile)).isZero();
+    }
+
+    @Test
+    void testFailedBatchStaysInWriteAheadLog() throws Exception {
+        when(jdbcTemplate.update(anyString(), any(Object[].class)))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"));
+        BufferedAuditWriter writer = writer(10, 2, true);
+        writer.submit(entry());
+        writer.submit(entry());
+
+        assertThat(writer.drainOnce()).isFalse();
+
+        assertThat(count("audit.batch.failures")).isEqualTo(1.0);
+        assertThat(count("audit.entries.written")).isZero();
+        assertThat(Files.readAllLines(walFile)).hasSize(2);
+    }
+
+    @Test
+    void testReplaysAfterRecoveryFromLastCommittedBatch() throws Exception {
+        List<AuditEntry> entries = List.of(entry(), entry(), entry(), entry(), entry());
+        when(jdbcTemplate.update(anyString(), any(Object[].class)))
+                .thenAnswer(this::record)
+                .thenAnswer(this::record)
+                .thenThrow(new DataAccessResourceFailureException("connection refused"))
+                .thenAnswer(this::record);
+        BufferedAuditWriter writer = writer(1, 2, true);
+        entries.forEach(writer::submit);
+        assertThat(count("audit.entries.spilled")).isEqualTo(4.0);
+
+        // Buffered entry, then the replay fails on its second batch
+        assertThat(writer.drainOnce()).isFalse();
+        // The next replay starts at that batch, not at the start of the file
+        assertThat(writer.drainOnce()).isTrue();
+
+        assertThat(inserted).containsExactly(
+                List.of(entries.get(0).getId()),
+                List.of(entries.get(0).getId(), entries.get(1).getId()),
+                List.of(entries.get(2).getId(), entries.get(3).getId()),
+                List.of(entries.get(4).getId()));
+        assertThat(count("audit.entries.dropped")).isZero();
+        assertThat(Files.size(walFile)).isZero();
+    }
+
+    @Test
+    void testReplaysEntriesLeftByPreviousRun() throws Exception {
+        succeed();
+        AuditEntry leftOver = entry();
+        try (AuditWriteAheadLog log = new AuditWriteAheadLog(walFile)) {
+            log.append(leftOver);
+        }
+        BufferedAuditWriter writer = new BufferedAuditWriter(jdbcTemplate, transactionManager, task -> { },
+                meterRegistry, 10, 2, 1, true, walFile.toString());
+        writer.start();
+
+        assertThat(writer.drainOnce()).isTrue();
+
+        assertThat(inserted).containsExactly(List.of(leftOver.getId()));
+        assertThat(Files.size(walFile)).isZero();
+    }
+
+    @Test
+    void testDropsEntriesOnlyWithoutLogWhenBufferFull() {
+        BufferedAuditWriter writer = writer(1, 2, false);
+
+        writer.submit(entry());
+        writer.submit(entry());
+
+        assertThat(writer.pending()).isEqualTo(1);
+        assertThat(count("audit.entries.dropped")).isEqualTo(1.0);
+        assertThat(count("audit.entries.spilled")).isZero();
+    }
+
+    @Test
+    void testFailedBatchWithoutLogIsRequeuedWhileBufferHasRoom() throws Exception {
+        BufferedAuditWriter writer = writer(2, 2, false);
+        writer.submit(entry());
+        writer.submit(entry());
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenAnswer(invocation -> {
+            // The buffer fills up again while the batch is in flight
+            writer.submit(entry());
+            throw new DataAccessResourceFailureException("connection refused");
+        });
+
+        assertThat(writer.drainOnce()).isFalse();
+
+        assertThat(writer.pending()).isEqualTo(2);
+        assertThat(count("audit.entries.dropped")).isEqualTo(1.0);
+    }
+
+    private BufferedAuditWriter writer(int capacity, int batchSize, boolean writeAheadLog) {
+        return new BufferedAuditWriter(jdbcTemplate, transactionManager, task -> { }, meterRegistry,
+                capacity, batchSize, 1, writeAheadLog, walFile.toString());
+    }
+
+    private void succeed() {
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenAnswer(this::record);
+    }
+
+    private Object record(InvocationOnMock invocation) {
+        Object[] args = (Object[]) invocation.getRawArguments()[1];
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < args.length; i += 7) {
+            ids.add((UUID) args[i]);
+        }
+        inserted.add(ids);
+        return ids.size();
+    }
+
+    private double count(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+
+    private static AuditEntry entry() {
+        return AuditEntry.builder()
+                .id(UUID.randomUUID())
+                .entityType("SECURITY")
+                .entityId("alice")
+                .action("LOGIN_SUCCESS")
+                .performedBy("alice")
+                .occurredAt(OffsetDateTime.of(2024, 5, 1, 12, 0, 0, 0, ZoneOffset.UTC))
+                .build();
+    }
+}
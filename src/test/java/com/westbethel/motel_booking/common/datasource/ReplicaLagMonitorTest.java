@@ -0,0 +1,90 @@
+package com.westbethel.motel_booking.common.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Replica Lag Monitor Tests
+ *
+ * Validates:
+ * - Replica is unusable before the first check
+ * - Lag above the limit makes it unusable
+ * - Results older than three check intervals make it unusable
+ * - Failed checks do not refresh the last result
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Replica Lag Monitor Tests")
+class ReplicaLagMonitorTest {
+
+    private static final long MAX_LAG_MS = 5000;
+    private static final long CHECK_INTERVAL_MS = 1000;
+
+    @Mock
+    private DataSource replica;
+
+    private final AtomicLong clock = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+    private ReplicaLagMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        monitor = new ReplicaLagMonitor(replica, meterRegistry, MAX_LAG_MS, CHECK_INTERVAL_MS, clock::get);
+    }
+
+    @Test
+    void testUnusableBeforeFirstCheck() {
+        assertThat(monitor.isUsable()).isFalse();
+        assertThat(monitor.getLagMs()).isEqualTo(-1);
+    }
+
+    @Test
+    void testUsableWithinLagLimit() {
+        monitor.record(MAX_LAG_MS);
+
+        assertThat(monitor.isUsable()).isTrue();
+        assertThat(meterRegistry.get("db.replica.lag").gauge().value()).isEqualTo(5000.0);
+    }
+
+    @Test
+    void testUnusableAboveLagLimit() {
+        monitor.record(MAX_LAG_MS + 1);
+
+        assertThat(monitor.isUsable()).isFalse();
+    }
+
+    @Test
+    void testUnusableWhenResultIsStale() {
+        monitor.record(0);
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(CHECK_INTERVAL_MS * 3 + 1));
+
+        assertThat(monitor.isUsable()).isFalse();
+    }
+
+    @Test
+    void testFailedCheckLeavesResultToAgeOut() throws SQLException {
+        monitor.record(0);
+        when(replica.getConnection()).thenThrow(new SQLException("connection refused"));
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(CHECK_INTERVAL_MS * 2));
+        monitor.check();
+        assertThat(monitor.isUsable()).isTrue();
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(CHECK_INTERVAL_MS * 2));
+        monitor.check();
+        assertThat(monitor.isUsable()).isFalse();
+    }
+}
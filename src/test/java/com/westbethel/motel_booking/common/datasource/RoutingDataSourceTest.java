@@ -0,0 +1,123 @@
+package com.westbethel.motel_booking.common.datasource;
+
+import com.westbethel.motel_booking.common.datasource.RoutingDataSource.Decision;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Routing DataSource Tests
+ *
+ * Validates:
+ * - Read-write transactions always use the primary
+ * - Read-only transactions use the replica only while it is usable
+ * - Recent writers read from the primary
+ * - Without a replica everything uses the primary
+ * - Workloads with their own pool use it; others fall back to normal routing
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Routing DataSource Tests")
+class RoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica;
+
+    @Mock
+    private DataSource reporting;
+
+    @Mock
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        routingDataSource = new RoutingDataSource(primary, Map.of(WorkloadClass.REPORTING, reporting), replica, replicaLagMonitor, Duration.ofSeconds(10), meterRegistry);
+    }
+
+    @Test
+    void testReadWriteUsesPrimary() {
+        assertThat(routingDataSource.decide(WorkloadClass.OLTP, false, "guest@example.com")).isEqualTo(Decision.READ_WRITE);
+        assertThat(Decision.READ_WRITE.route()).isEqualTo(DataSourceRoute.PRIMARY);
+    }
+
+    @Test
+    void testReadOnlyUsesUsableReplica() {
+        when(replicaLagMonitor.isUsable()).thenReturn(true);
+
+        assertThat(routingDataSource.decide(WorkloadClass.OLTP, true, "guest@example.com")).isEqualTo(Decision.READ_ONLY);
+        assertThat(Decision.READ_ONLY.route()).isEqualTo(DataSourceRoute.REPLICA);
+    }
+
+    @Test
+    void testReadOnlyFallsBackWhenReplicaLags() {
+        when(replicaLagMonitor.isUsable()).thenReturn(false);
+
+        assertThat(routingDataSource.decide(WorkloadClass.OLTP, true, null)).isEqualTo(Decision.REPLICA_UNAVAILABLE);
+    }
+
+    @Test
+    void testRecentWriterReadsFromPrimary() {
+        routingDataSource.recordWrite("guest@example.com");
+
+        assertThat(routingDataSource.decide(WorkloadClass.OLTP, true, "guest@example.com")).isEqualTo(Decision.READ_YOUR_WRITES);
+    }
+
+    @Test
+    void testOtherUsersStillUseReplica() {
+        when(replicaLagMonitor.isUsable()).thenReturn(true);
+        routingDataSource.recordWrite("guest@example.com");
+
+        assertThat(routingDataSource.decide(WorkloadClass.OLTP, true, "other@example.com")).isEqualTo(Decision.READ_ONLY);
+    }
+
+    @Test
+    void testWithoutReplicaReadOnlyUsesPrimary() {
+        RoutingDataSource primaryOnly = new RoutingDataSource(primary, Map.of(), null, null, Duration.ofSeconds(10), meterRegistry);
+
+        assertThat(primaryOnly.decide(WorkloadClass.OLTP, true, "guest@example.com")).isEqualTo(Decision.NO_REPLICA);
+    }
+
+    @Test
+    void testDetermineLookupKeyCountsDecision() {
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(DataSourceRoute.PRIMARY);
+
+        assertThat(meterRegistry.get("db.routing").tag("reason", "read_write").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void testReportingWorkloadUsesItsPool() {
+        assertThat(routingDataSource.decide(WorkloadClass.REPORTING, true, "admin@example.com"))
+                .isEqualTo(Decision.REPORTING_WORKLOAD);
+        assertThat(Decision.REPORTING_WORKLOAD.route()).isEqualTo(DataSourceRoute.REPORTING);
+    }
+
+    @Test
+    void testWorkloadWithoutPoolUsesNormalRouting() {
+        assertThat(routingDataSource.decide(WorkloadClass.BACKGROUND, false, null)).isEqualTo(Decision.READ_WRITE);
+    }
+
+    @Test
+    void testDetermineLookupKeyUsesThreadWorkload() {
+        try (WorkloadContext.Scope ignored = WorkloadContext.enter(WorkloadClass.REPORTING)) {
+            assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(DataSourceRoute.REPORTING);
+        }
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(DataSourceRoute.PRIMARY);
+    }
+}
@@ -0,0 +1,145 @@
+package com.westbethel.motel_booking.common.reference;
+
+import com.westbethel.motel_booking.cache.CacheService;
+import com.westbethel.motel_booking.config.CacheConfiguration;
+import com.westbethel.motel_booking.inventory.repository.RoomRepository;
+import com.westbethel.motel_booking.inventory.repository.RoomTypeRepository;
+import com.westbethel.motel_booking.pricing.repository.RatePlanRepository;
+import com.westbethel.motel_booking.property.domain.Property;
+import com.westbethel.motel_booking.property.repository.PropertyRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Reference Data Service Tests
+ *
+ * Validates:
+ * - The snapshot is loaded once and reused until a change marks it stale
+ * - A stale snapshot is served while a single background reload runs
+ * - Each reload gets a new version
+ * - The availability cache is evicted only once the reloaded version is in place
+ * - A failed reload keeps serving the previous version
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Reference Data Service Tests")
+class ReferenceDataServiceTest {
+
+    @Mock
+    private PropertyRepository propertyRepository;
+
+    @Mock
+    private RoomTypeRepository roomTypeRepository;
+
+    @Mock
+    private RatePlanRepository ratePlanRepository;
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private CacheService cacheService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private List<Runnable> deferredLoads;
+    private boolean deferLoads;
+    private ReferenceDataService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        deferredLoads = new ArrayList<>();
+        deferLoads = false;
+        Executor executor = task -> {
+            if (deferLoads) {
+                deferredLoads.add(task);
+            } else {
+                task.run();
+            }
+        };
+        service = new ReferenceDataService(propertyRepository, roomTypeRepository, ratePlanRepository,
+                roomRepository, cacheService, transactionManager, executor, meterRegistry,
+                Clock.fixed(Instant.parse("2026-07-10T12:00:00Z"), ZoneOffset.UTC));
+    }
+
+    @Test
+    void testLoadsOnceUntilChanged() {
+        ReferenceDataSnapshot first = service.current();
+        ReferenceDataSnapshot second = service.current();
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.version()).isEqualTo(1);
+        verify(propertyRepository, times(1)).findAll();
+        verify(cacheService, never()).evictCache(CacheConfiguration.AVAILABILITY_CACHE);
+    }
+
+    @Test
+    void testChangeServesPreviousVersionWhileOneReloadRuns() {
+        UUID propertyId = UUID.randomUUID();
+        ReferenceDataSnapshot first = service.current();
+        when(propertyRepository.findAll()).thenReturn(List.of(Property.builder().id(propertyId).code("WBM").build()));
+        deferLoads = true;
+
+        service.onChange(new ReferenceDataChangedEvent(Property.class, propertyId));
+
+        assertThat(service.current()).isSameAs(first);
+        assertThat(service.current()).isSameAs(first);
+        assertThat(deferredLoads).hasSize(1);
+        verify(cacheService, never()).evictCache(CacheConfiguration.AVAILABILITY_CACHE);
+
+        deferredLoads.get(0).run();
+        ReferenceDataSnapshot second = service.current();
+
+        assertThat(second.version()).isEqualTo(2);
+        assertThat(first.property(propertyId)).isEmpty();
+        assertThat(second.property(propertyId)).isPresent();
+        assertThat(meterRegistry.get("booking.reference.version").gauge().value()).isEqualTo(2.0);
+        verify(propertyRepository, times(2)).findAll();
+        verify(cacheService).evictCache(CacheConfiguration.AVAILABILITY_CACHE);
+    }
+
+    @Test
+    void testFailedReloadServesPreviousVersion() {
+        ReferenceDataSnapshot first = service.current();
+        when(propertyRepository.findAll()).thenThrow(new DataAccessResourceFailureException("connection refused"));
+
+        service.onChange(new ReferenceDataChangedEvent(Property.class, UUID.randomUUID()));
+
+        assertThat(service.current()).isSameAs(first);
+        assertThat(service.current()).isSameAs(first);
+        verify(propertyRepository, times(3)).findAll();
+        assertThatThrownBy(service::refresh).isInstanceOf(DataAccessResourceFailureException.class);
+        verify(cacheService, never()).evictCache(CacheConfiguration.AVAILABILITY_CACHE);
+    }
+
+    @Test
+    void testFailedFirstLoadPropagates() {
+        when(propertyRepository.findAll()).thenThrow(new DataAccessResourceFailureException("connection refused"));
+
+        assertThatThrownBy(service::current).isInstanceOf(DataAccessResourceFailureException.class);
+    }
+}
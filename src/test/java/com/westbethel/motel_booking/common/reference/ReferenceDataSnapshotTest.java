@@ -0,0 +1,94 @@
+package com.westbethel.motel_booking.common.reference;
+
+import com.westbethel.motel_booking.common.model.RoomStatus;
+import com.westbethel.motel_booking.inventory.domain.Room;
+import com.westbethel.motel_booking.inventory.domain.RoomType;
+import com.westbethel.motel_booking.pricing.domain.RatePlan;
+import com.westbethel.motel_booking.property.domain.Property;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Reference Data Snapshot Tests
+ *
+ * Validates:
+ * - Rate plans are only found for their own property
+ * - Room types are listed per property, ordered by code
+ * - Only AVAILABLE rooms of the property are allocation candidates, ordered by room number
+ */
+@DisplayName("Reference Data Snapshot Tests")
+class ReferenceDataSnapshotTest {
+
+    private static final UUID PROPERTY_ID = UUID.randomUUID();
+    private static final UUID OTHER_PROPERTY_ID = UUID.randomUUID();
+
+    private RoomType standard;
+    private RoomType deluxe;
+    private RatePlan ratePlan;
+    private ReferenceDataSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        standard = RoomType.builder().id(UUID.randomUUID()).propertyId(PROPERTY_ID).code("STD").build();
+        deluxe = RoomType.builder().id(UUID.randomUUID()).propertyId(PROPERTY_ID).code("DLX").build();
+        RoomType otherProperty = RoomType.builder().id(UUID.randomUUID()).propertyId(OTHER_PROPERTY_ID).code("STD").build();
+        ratePlan = RatePlan.builder().id(UUID.randomUUID()).propertyId(PROPERTY_ID).build();
+
+        snapshot = new ReferenceDataSnapshot(
+                3,
+                Instant.parse("2026-07-10T12:00:00Z"),
+                List.of(Property.builder().id(PROPERTY_ID).code("WBM").build()),
+                List.of(standard, deluxe, otherProperty),
+                List.of(ratePlan),
+                List.of(
+                        room("103", standard, RoomStatus.AVAILABLE),
+                        room("101", standard, RoomStatus.AVAILABLE),
+                        room("102", standard, RoomStatus.OUT_OF_ORDER),
+                        room("201", deluxe, RoomStatus.AVAILABLE)));
+    }
+
+    @Test
+    void testFindsReferenceDataById() {
+        assertThat(snapshot.version()).isEqualTo(3);
+        assertThat(snapshot.property(PROPERTY_ID)).map(Property::getCode).contains("WBM");
+        assertThat(snapshot.property(OTHER_PROPERTY_ID)).isEmpty();
+        assertThat(snapshot.roomType(standard.getId())).contains(standard);
+    }
+
+    @Test
+    void testRatePlanLookupIsScopedToProperty() {
+        assertThat(snapshot.ratePlan(PROPERTY_ID, ratePlan.getId())).contains(ratePlan);
+        assertThat(snapshot.ratePlan(OTHER_PROPERTY_ID, ratePlan.getId())).isEmpty();
+    }
+
+    @Test
+    void testListsRoomTypesOfPropertyByCode() {
+        assertThat(snapshot.roomTypes(PROPERTY_ID)).containsExactly(deluxe, standard);
+        assertThat(snapshot.roomTypes(UUID.randomUUID())).isEmpty();
+    }
+
+    @Test
+    void testListsAvailableRoomsByRoomNumber() {
+        assertThat(snapshot.availableRooms(PROPERTY_ID, standard.getId()))
+                .extracting(Room::getRoomNumber)
+                .containsExactly("101", "103");
+        assertThat(snapshot.availableRooms(OTHER_PROPERTY_ID, standard.getId())).isEmpty();
+    }
+
+    private static Room room(String number, RoomType roomType, RoomStatus status) {
+        return Room.builder()
+                .id(UUID.randomUUID())
+                .propertyId(roomType.getPropertyId())
+                .roomTypeId(roomType.getId())
+                .roomNumber(number)
+                .status(status)
+                .build();
+    }
+}
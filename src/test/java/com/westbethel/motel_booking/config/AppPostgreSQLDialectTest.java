@@ -0,0 +1,49 @@
+package com.westbethel.motel_booking.config;
+
+import org.hibernate.exception.spi.ViolatedConstraintNameExtractor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * App PostgreSQL Dialect Tests
+ *
+ * Validates:
+ * - Exclusion constraint violations are named
+ * - Other violations keep Hibernate's PostgreSQL extraction
+ * - The cause of a batched write is found through getNextException()
+ */
+@DisplayName("App PostgreSQL Dialect Tests")
+class AppPostgreSQLDialectTest {
+
+    private final ViolatedConstraintNameExtractor extractor =
+            new AppPostgreSQLDialect().getViolatedConstraintNameExtractor();
+
+    @Test
+    void testNamesExclusionConstraint() {
+        SQLException e = new SQLException("ERROR: conflicting key value violates exclusion constraint "
+                + "\"booking_rooms_no_double_booking\"\n  Detail: Key (room_id, stay) conflicts", "23P01");
+
+        assertThat(extractor.extractConstraintName(e)).isEqualTo("booking_rooms_no_double_booking");
+    }
+
+    @Test
+    void testKeepsUniqueConstraintExtraction() {
+        SQLException e = new SQLException("ERROR: duplicate key value violates unique constraint "
+                + "\"uq_room_nights_room_date\"", "23505");
+
+        assertThat(extractor.extractConstraintName(e)).isEqualTo("uq_room_nights_room_date");
+    }
+
+    @Test
+    void testFollowsNextExceptionOfBatch() {
+        SQLException batch = new SQLException("Batch entry 0 was aborted", "23P01");
+        batch.setNextException(new SQLException("ERROR: conflicting key value violates exclusion constraint "
+                + "\"booking_rooms_no_double_booking\"", "23P01"));
+
+        assertThat(extractor.extractConstraintName(batch)).isEqualTo("booking_rooms_no_double_booking");
+    }
+}
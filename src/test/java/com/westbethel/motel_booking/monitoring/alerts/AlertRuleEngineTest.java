@@ -0,0 +1,120 @@
+package com.westbethel.motel_booking.monitoring.alerts;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Alert Rule Engine Tests
+ *
+ * Validates:
+ * - A rule fires once and is not re-reported while firing
+ * - A firing rule resolves only below the clear threshold (hysteresis)
+ * - forEvaluations requires consecutive breaches
+ * - Missing data (NaN) leaves the state unchanged
+ */
+@DisplayName("Alert Rule Engine Tests")
+class AlertRuleEngineTest {
+
+    private final AtomicReference<Double> value = new AtomicReference<>(0.0);
+
+    @Test
+    @DisplayName("Should fire once while the value stays above the threshold")
+    void shouldFireOnce() {
+        AlertRuleEngine engine = engine(1);
+
+        value.set(0.9);
+        List<AlertRuleEngine.Transition> first = engine.evaluate();
+        List<AlertRuleEngine.Transition> second = engine.evaluate();
+
+        assertThat(first).singleElement().satisfies(transition -> {
+            assertThat(transition.firing()).isTrue();
+            assertThat(transition.value()).isEqualTo(0.9);
+        });
+        assertThat(second).isEmpty();
+        assertThat(engine.state(Alert.Type.HIGH_ERROR_RATE)).isEqualTo(AlertRuleEngine.State.FIRING);
+    }
+
+    @Test
+    @DisplayName("Should resolve only below the clear threshold")
+    void shouldApplyHysteresis() {
+        AlertRuleEngine engine = engine(1);
+        value.set(0.9);
+        engine.evaluate();
+
+        // Between clear threshold and threshold: keeps firing
+        value.set(0.45);
+        assertThat(engine.evaluate()).isEmpty();
+        assertThat(engine.state(Alert.Type.HIGH_ERROR_RATE)).isEqualTo(AlertRuleEngine.State.FIRING);
+
+        value.set(0.3);
+        assertThat(engine.evaluate()).singleElement()
+            .satisfies(transition -> assertThat(transition.firing()).isFalse());
+        assertThat(engine.state(Alert.Type.HIGH_ERROR_RATE)).isEqualTo(AlertRuleEngine.State.OK);
+    }
+
+    @Test
+    @DisplayName("Should require consecutive breaches before firing")
+    void shouldRequireConsecutiveBreaches() {
+        AlertRuleEngine engine = engine(3);
+
+        value.set(0.9);
+        assertThat(engine.evaluate()).isEmpty();
+        assertThat(engine.state(Alert.Type.HIGH_ERROR_RATE)).isEqualTo(AlertRuleEngine.State.PENDING);
+
+        // A dip below the threshold starts over
+        value.set(0.1);
+        engine.evaluate();
+        value.set(0.9);
+        assertThat(engine.evaluate()).isEmpty();
+        assertThat(engine.evaluate()).isEmpty();
+        assertThat(engine.evaluate()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should keep state when there is not enough data")
+    void shouldIgnoreMissingData() {
+        AlertRuleEngine engine = engine(1);
+        value.set(0.9);
+        engine.evaluate();
+
+        value.set(Double.NaN);
+
+        assertThat(engine.evaluate()).isEmpty();
+        assertThat(engine.state(Alert.Type.HIGH_ERROR_RATE)).isEqualTo(AlertRuleEngine.State.FIRING);
+    }
+
+    @Test
+    @DisplayName("Should describe the breach in the alert")
+    void shouldBuildAlert() {
+        Alert alert = rule(1).toAlert(0.123);
+
+        assertThat(alert.getSeverity()).isEqualTo(Alert.Severity.CRITICAL);
+        assertThat(alert.getCurrentValue()).isEqualTo(12.3);
+        assertThat(alert.getThreshold()).isEqualTo(50.0);
+        assertThat(alert.getMessage()).isEqualTo("Error rate is 12.30 %, exceeding threshold of 50.00 %");
+    }
+
+    private AlertRuleEngine engine(int forEvaluations) {
+        return new AlertRuleEngine(List.of(rule(forEvaluations)));
+    }
+
+    private AlertRule rule(int forEvaluations) {
+        return AlertRule.builder()
+            .type(Alert.Type.HIGH_ERROR_RATE)
+            .severity(Alert.Severity.CRITICAL)
+            .title("High Error Rate")
+            .description("Error rate")
+            .measure(value::get)
+            .threshold(0.5)
+            .clearThreshold(0.4)
+            .forEvaluations(forEvaluations)
+            .displayScale(100)
+            .unit("%")
+            .build();
+    }
+}
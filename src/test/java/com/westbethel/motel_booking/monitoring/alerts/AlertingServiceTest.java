@@ -1,5 +1,6 @@
 package com.westbethel.motel_booking.monitoring.alerts;
 
+import com.westbethel.motel_booking.monitoring.latency.LatencyTracker;
 import com.westbethel.motel_booking.monitoring.metrics.BusinessMetrics;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
@@ -9,6 +10,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -17,20 +19,27 @@ class AlertingServiceTest {
 
     private MeterRegistry meterRegistry;
     private BusinessMetrics businessMetrics;
+    private LatencyTracker latencyTracker;
     private AlertingService alertingService;
 
     @BeforeEach
     void setUp() {
         meterRegistry = new SimpleMeterRegistry();
         businessMetrics = new BusinessMetrics(meterRegistry);
-        alertingService = new AlertingService(businessMetrics, meterRegistry);
+        latencyTracker = new LatencyTracker(500, 0.99, 200);
+        alertingService = new AlertingService(businessMetrics, meterRegistry, latencyTracker);
 
         // Set test thresholds
         ReflectionTestUtils.setField(alertingService, "errorRateThreshold", 0.05);
         ReflectionTestUtils.setField(alertingService, "responseTimeThreshold", 1000L);
+        ReflectionTestUtils.setField(alertingService, "sloBurnRateThreshold", 14.4);
         ReflectionTestUtils.setField(alertingService, "memoryThreshold", 0.80);
         ReflectionTestUtils.setField(alertingService, "cacheMissThreshold", 0.50);
         ReflectionTestUtils.setField(alertingService, "emailQueueThreshold", 1000);
+        ReflectionTestUtils.setField(alertingService, "availabilityTarget", 0.999);
+        ReflectionTestUtils.setField(alertingService, "paymentFailureThreshold", 0.10);
+        ReflectionTestUtils.setField(alertingService, "authFailureThreshold", 0.20);
+        ReflectionTestUtils.setField(alertingService, "minWindowEvents", 0);
     }
 
     @Test
@@ -209,4 +218,94 @@ class AlertingServiceTest {
         // This test mainly verifies the method runs without error
         assertThat(alertingService.getActiveAlerts()).isNotNull();
     }
+
+    @Test
+    @DisplayName("Should alert on p99 response time even when the average is low")
+    void shouldAlertOnP99ResponseTime() {
+        // Given - 80 fast requests and 20 slow ones: mean ~416ms, p99 2s, 20% over the SLO
+        recordRequests(80, 20);
+        recordRequests(20, 2000);
+        latencyTracker.rotate();
+
+        // When
+        alertingService.checkAlertConditions();
+
+        // Then
+        assertThat(alertingService.getActiveAlerts())
+            .extracting(Alert::getType)
+            .contains(Alert.Type.SLOW_RESPONSE_TIME, Alert.Type.LATENCY_SLO_BURN);
+    }
+
+    @Test
+    @DisplayName("Should alert on latency within the minute in progress")
+    void shouldAlertOnLatencyBeforeRotation() {
+        // Given - no rotation yet, so all samples are in the open minute
+        recordRequests(80, 20);
+        recordRequests(20, 2000);
+
+        // When
+        alertingService.checkAlertConditions();
+
+        // Then
+        assertThat(alertingService.getActiveAlerts())
+            .extracting(Alert::getType)
+            .contains(Alert.Type.SLOW_RESPONSE_TIME, Alert.Type.LATENCY_SLO_BURN);
+    }
+
+    @Test
+    @DisplayName("Should not alert on latency with too few samples")
+    void shouldNotAlertOnLatencyWithTooFewSamples() {
+        // Given
+        recordRequests(3, 5000);
+        latencyTracker.rotate();
+
+        // When
+        alertingService.checkAlertConditions();
+
+        // Then
+        assertThat(alertingService.getActiveAlerts())
+            .extracting(Alert::getType)
+            .doesNotContain(Alert.Type.SLOW_RESPONSE_TIME, Alert.Type.LATENCY_SLO_BURN);
+    }
+
+    @Test
+    @DisplayName("Should alert on server error rate and error budget burn")
+    void shouldAlertOnServerErrors() {
+        // Given - 10% of requests fail, burning a 99.9% budget 100x too fast
+        recordRequests(90, 20);
+        for (int i = 0; i < 10; i++) {
+            latencyTracker.record("/api/v1/reservations", LatencyTracker.Outcome.SERVER_ERROR, TimeUnit.MILLISECONDS.toNanos(20));
+        }
+
+        // When
+        alertingService.checkAlertConditions();
+
+        // Then
+        assertThat(alertingService.getActiveAlerts())
+            .extracting(Alert::getType)
+            .contains(Alert.Type.HIGH_ERROR_RATE, Alert.Type.ERROR_BUDGET_BURN);
+    }
+
+    @Test
+    @DisplayName("Should not alert on client errors")
+    void shouldNotAlertOnClientErrors() {
+        // Given
+        for (int i = 0; i < 50; i++) {
+            latencyTracker.record("/api/v1/reservations", LatencyTracker.Outcome.CLIENT_ERROR, TimeUnit.MILLISECONDS.toNanos(20));
+        }
+
+        // When
+        alertingService.checkAlertConditions();
+
+        // Then
+        assertThat(alertingService.getActiveAlerts())
+            .extracting(Alert::getType)
+            .doesNotContain(Alert.Type.HIGH_ERROR_RATE, Alert.Type.ERROR_BUDGET_BURN);
+    }
+
+    private void recordRequests(int count, long millis) {
+        for (int i = 0; i < count; i++) {
+            latencyTracker.record("/api/v1/reservations", LatencyTracker.Outcome.SUCCESS, TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+    }
 }
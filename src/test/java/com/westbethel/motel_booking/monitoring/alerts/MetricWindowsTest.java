@@ -0,0 +1,90 @@
+package com.westbethel.motel_booking.monitoring.alerts;
+
+import com.westbethel.motel_booking.monitoring.alerts.MetricWindows.Signal;
+import com.westbethel.motel_booking.monitoring.latency.LatencyTracker;
+import com.westbethel.motel_booking.monitoring.metrics.BusinessMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Metric Windows Tests
+ *
+ * Validates:
+ * - Window values only count events inside the window
+ * - Short history falls back to the oldest sample
+ * - Ratios need a minimum number of events
+ */
+@DisplayName("Metric Windows Tests")
+class MetricWindowsTest {
+
+    private BusinessMetrics businessMetrics;
+    private LatencyTracker latencyTracker;
+    private long now;
+    private MetricWindows windows;
+
+    @BeforeEach
+    void setUp() {
+        businessMetrics = new BusinessMetrics(new SimpleMeterRegistry());
+        latencyTracker = new LatencyTracker(500, 0.99, 200);
+        windows = new MetricWindows(businessMetrics, latencyTracker, () -> now);
+    }
+
+    @Test
+    @DisplayName("Should only count events inside the window")
+    void shouldSlideWindow() {
+        // Old failures, two minutes ago
+        for (int i = 0; i < 10; i++) {
+            latencyTracker.record("/api/v1/reservations", LatencyTracker.Outcome.SERVER_ERROR, 1_000_000);
+        }
+        advance(Duration.ofSeconds(5));
+
+        // Recent healthy traffic
+        advance(Duration.ofMinutes(2));
+        for (int i = 0; i < 20; i++) {
+            latencyTracker.record("/api/v1/reservations", LatencyTracker.Outcome.SUCCESS, 1_000_000);
+        }
+        advance(Duration.ofSeconds(5));
+
+        assertThat(windows.ratio(Signal.SERVER_ERRORS, Duration.ofMinutes(1), 0, Signal.REQUESTS)).isZero();
+        assertThat(windows.ratio(Signal.SERVER_ERRORS, Duration.ofMinutes(5), 0, Signal.REQUESTS))
+            .isCloseTo(10.0 / 30, within(1e-9));
+        assertThat(windows.increase(Signal.REQUESTS, Duration.ofMinutes(1))).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("Should use all history when it is shorter than the window")
+    void shouldUseOldestSampleForShortHistory() {
+        businessMetrics.incrementCacheHits();
+        businessMetrics.incrementCacheMisses();
+        businessMetrics.incrementCacheMisses();
+        advance(Duration.ofSeconds(5));
+
+        assertThat(windows.ratio(Signal.CACHE_MISSES, Duration.ofHours(1), 0, Signal.CACHE_HITS, Signal.CACHE_MISSES))
+            .isCloseTo(2.0 / 3, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("Should not compute ratios from too few events")
+    void shouldRequireMinimumEvents() {
+        businessMetrics.incrementPaymentsFailure();
+        advance(Duration.ofSeconds(5));
+
+        assertThat(windows.ratio(Signal.PAYMENTS_FAILURE, Duration.ofMinutes(5), 10,
+            Signal.PAYMENTS_SUCCESS, Signal.PAYMENTS_FAILURE)).isNaN();
+        assertThat(windows.ratio(Signal.PAYMENTS_FAILURE, Duration.ofMinutes(5), 1,
+            Signal.PAYMENTS_SUCCESS, Signal.PAYMENTS_FAILURE)).isEqualTo(1.0);
+    }
+
+    private void advance(Duration duration) {
+        now += TimeUnit.NANOSECONDS.convert(duration);
+        windows.sample();
+    }
+}
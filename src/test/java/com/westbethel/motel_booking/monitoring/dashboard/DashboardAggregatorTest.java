@@ -0,0 +1,165 @@
+package com.westbethel.motel_booking.monitoring.dashboard;
+
+import com.westbethel.motel_booking.monitoring.metrics.BusinessMetrics;
+import com.westbethel.motel_booking.notification.events.BookingCreatedEvent;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Dashboard Aggregator Tests
+ *
+ * Validates:
+ * - Daily totals grow by meter deltas, not by re-reading cumulative values
+ * - Totals reset when the day changes
+ * - Error rate is computed over the last interval
+ * - Only the application's request timers are read, with errors matched by outcome
+ * - Recent bookings are kept from domain events, newest first
+ */
+@DisplayName("Dashboard Aggregator Tests")
+class DashboardAggregatorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private BusinessMetrics businessMetrics;
+    private MutableClock clock;
+    private DashboardAggregator aggregator;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        businessMetrics = new BusinessMetrics(meterRegistry);
+        clock = new MutableClock(Instant.parse("2026-03-10T10:00:00Z"));
+        aggregator = new DashboardAggregator(meterRegistry, clock);
+    }
+
+    @Test
+    @DisplayName("Should accumulate deltas into daily totals")
+    void shouldAccumulateDeltas() {
+        businessMetrics.incrementBookingsCreated();
+        businessMetrics.incrementBookingsCreated();
+        businessMetrics.addRevenue(12_550);
+        aggregator.accumulate();
+
+        businessMetrics.incrementBookingsCreated();
+        businessMetrics.incrementBookingsCancelled();
+        businessMetrics.incrementAuthSuccess();
+        businessMetrics.incrementAuthFailure();
+        DashboardAggregator.DailyTotals totals = aggregator.accumulate();
+
+        assertThat(totals.bookings()).isEqualTo(3);
+        assertThat(totals.cancellations()).isEqualTo(1);
+        assertThat(totals.revenue()).isEqualByComparingTo(new BigDecimal("125.50"));
+        assertThat(totals.authAttempts()).isEqualTo(2);
+        assertThat(totals.cancellationRate()).isCloseTo(1.0 / 3, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("Should reset totals when the day changes")
+    void shouldResetTotalsOnNewDay() {
+        businessMetrics.incrementBookingsCreated();
+        aggregator.accumulate();
+
+        clock.advance(Duration.ofDays(1));
+        businessMetrics.incrementBookingsCreated();
+        DashboardAggregator.DailyTotals totals = aggregator.accumulate();
+
+        assertThat(totals.bookings()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should compute error rate over the last interval")
+    void shouldComputeIntervalErrorRate() {
+        record("2xx", "SUCCESS", 9);
+        record("5xx", "SERVER_ERROR", 1);
+        assertThat(aggregator.accumulate().errorRate()).isCloseTo(0.1, within(1e-9));
+
+        record("2xx", "SUCCESS", 4);
+        assertThat(aggregator.accumulate().errorRate()).isZero();
+
+        assertThat(aggregator.accumulate().requestsPerSecond()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should count only the application's request timers")
+    void shouldIgnoreFrameworkRequestTimer() {
+        record("2xx", "SUCCESS", 3);
+        record("5xx", "SERVER_ERROR", 1);
+        record("http.server.requests", "200", "SUCCESS", 3);
+        record("http.server.requests", "503", "SERVER_ERROR", 1);
+
+        DashboardAggregator.DailyTotals totals = aggregator.accumulate();
+
+        assertThat(totals.errorRate()).isCloseTo(0.25, within(1e-9));
+        assertThat(totals.requestsPerSecond()).isPositive();
+        record("http.server.requests", "503", "SERVER_ERROR", 5);
+        assertThat(aggregator.accumulate().errorRate()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep the most recent bookings from events")
+    void shouldKeepRecentBookings() {
+        for (int i = 0; i < 12; i++) {
+            aggregator.onBookingCreated(BookingCreatedEvent.builder()
+                .firstName("Guest " + i)
+                .totalAmount(BigDecimal.TEN)
+                .build());
+        }
+
+        assertThat(aggregator.recentBookings()).hasSize(10);
+        assertThat(aggregator.recentBookings().get(0).getGuestName()).isEqualTo("Guest 11");
+        assertThat(aggregator.recentBookings().get(0).getStatus()).isEqualTo("CONFIRMED");
+    }
+
+    private void record(String status, String outcome, int times) {
+        record("app.http.requests", status, outcome, times);
+    }
+
+    private void record(String name, String status, String outcome, int times) {
+        Timer timer = Timer.builder(name)
+            .tags("uri", "/api/v1/reservations", "status", status, "outcome", outcome)
+            .register(meterRegistry);
+        for (int i = 0; i < times; i++) {
+            timer.record(Duration.ofMillis(5));
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
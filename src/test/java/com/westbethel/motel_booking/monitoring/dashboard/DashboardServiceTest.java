@@ -1,5 +1,6 @@
 package com.westbethel.motel_booking.monitoring.dashboard;
 
+import com.westbethel.motel_booking.monitoring.latency.LatencyTracker;
 import com.westbethel.motel_booking.monitoring.metrics.BusinessMetrics;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
@@ -15,8 +16,10 @@ import org.springframework.boot.actuate.health.Status;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,13 +32,18 @@ class DashboardServiceTest {
     @Mock
     private HealthEndpoint healthEndpoint;
 
+    private LatencyTracker latencyTracker;
+    private DashboardAggregator dashboardAggregator;
     private DashboardService dashboardService;
 
     @BeforeEach
     void setUp() {
         meterRegistry = new SimpleMeterRegistry();
         businessMetrics = new BusinessMetrics(meterRegistry);
-        dashboardService = new DashboardService(businessMetrics, meterRegistry, healthEndpoint);
+        latencyTracker = new LatencyTracker(500, 0.99, 200);
+        dashboardAggregator = new DashboardAggregator(meterRegistry);
+        dashboardService = new DashboardService(businessMetrics, meterRegistry, healthEndpoint, latencyTracker,
+            dashboardAggregator);
     }
 
     @Test
@@ -125,4 +133,25 @@ class DashboardServiceTest {
         // Then
         assertThat(metrics.getPaymentSuccessRate()).isEqualTo(0.75);
     }
+
+    @Test
+    @DisplayName("Should report response time percentiles from the latency tracker")
+    void shouldReportResponseTimePercentilesFromLatencyTracker() {
+        // Given
+        for (int i = 0; i < 99; i++) {
+            latencyTracker.record("/api/v1/availability", LatencyTracker.Outcome.SUCCESS, TimeUnit.MILLISECONDS.toNanos(20));
+        }
+        latencyTracker.record("/api/v1/reservations", LatencyTracker.Outcome.SUCCESS, TimeUnit.MILLISECONDS.toNanos(3000));
+        latencyTracker.rotate();
+
+        // When
+        DashboardMetrics metrics = dashboardService.getDashboardMetrics();
+
+        // Then
+        assertThat(metrics.getP50ResponseTimeMs()).isCloseTo(20.0, within(0.5));
+        assertThat(metrics.getP999ResponseTimeMs()).isGreaterThan(2900.0);
+        assertThat(metrics.getSlowestRoutes()).first()
+            .extracting(snapshot -> snapshot.route())
+            .isEqualTo("/api/v1/reservations");
+    }
 }
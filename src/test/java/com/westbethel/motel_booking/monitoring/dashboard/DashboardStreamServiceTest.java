@@ -0,0 +1,110 @@
+package com.westbethel.motel_booking.monitoring.dashboard;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.westbethel.motel_booking.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Dashboard Stream Service Tests
+ *
+ * Validates:
+ * - One snapshot is built per push regardless of the number of subscribers
+ * - Polling reads the latest pushed snapshot
+ * - The subscriber limit is enforced
+ * - Pushes are sent on the dashboard executor, at most one at a time
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Dashboard Stream Service Tests")
+class DashboardStreamServiceTest {
+
+    @Mock
+    private DashboardService dashboardService;
+
+    @Mock
+    private DashboardAggregator dashboardAggregator;
+
+    private final List<Runnable> pushes = new ArrayList<>();
+
+    private DashboardStreamService streamService;
+
+    @BeforeEach
+    void setUp() {
+        streamService = new DashboardStreamService(dashboardService, dashboardAggregator,
+            new ObjectMapper().findAndRegisterModules(), pushes::add, new SimpleMeterRegistry(), 60_000, 3);
+        when(dashboardService.getDashboardMetrics())
+            .thenAnswer(invocation -> DashboardMetrics.builder().timestamp(LocalDateTime.now()).build());
+    }
+
+    @Test
+    @DisplayName("Should build one snapshot per push for all subscribers")
+    void shouldBuildOneSnapshotPerPush() {
+        streamService.subscribe();
+        streamService.subscribe();
+        streamService.subscribe();
+
+        streamService.publish();
+        streamService.publish();
+
+        // One on first subscribe, then one per push
+        verify(dashboardService, times(3)).getDashboardMetrics();
+        verify(dashboardAggregator, times(3)).accumulate();
+        assertThat(streamService.subscriberCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should serve polls from the latest snapshot")
+    void shouldServePollsFromLatestSnapshot() {
+        DashboardMetrics first = streamService.latest();
+        DashboardMetrics second = streamService.latest();
+
+        assertThat(second).isSameAs(first);
+        verify(dashboardService, times(1)).getDashboardMetrics();
+
+        streamService.publish();
+        assertThat(streamService.latest()).isNotSameAs(first);
+    }
+
+    @Test
+    @DisplayName("Should reject subscribers over the limit")
+    void shouldRejectSubscribersOverLimit() {
+        streamService.subscribe();
+        streamService.subscribe();
+        streamService.subscribe();
+
+        assertThatThrownBy(() -> streamService.subscribe())
+            .isInstanceOf(TooManyRequestsException.class);
+    }
+
+    @Test
+    @DisplayName("Should send pushes on the dashboard executor and skip while one is in flight")
+    void shouldSendPushesOnDashboardExecutor() {
+        streamService.publish();
+        assertThat(pushes).isEmpty();
+
+        streamService.subscribe();
+        streamService.publish();
+        streamService.publish();
+        assertThat(pushes).hasSize(1);
+
+        pushes.remove(0).run();
+        streamService.publish();
+        assertThat(pushes).hasSize(1);
+        assertThat(streamService.subscriberCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,158 @@
+package com.westbethel.motel_booking.monitoring.latency;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Latency Tracker Tests
+ *
+ * Validates:
+ * - Percentiles per route and outcome
+ * - 1m, 5m and 1h windows include the minute in progress and roll over
+ * - SLO burn rate
+ * - Route cardinality is capped
+ */
+@DisplayName("Latency Tracker Tests")
+class LatencyTrackerTest {
+
+    private static final String ROUTE = "/api/v1/reservations/{id}";
+
+    private LatencyTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new LatencyTracker(500, 0.99, 3);
+    }
+
+    @Test
+    @DisplayName("Should report percentiles for a route")
+    void shouldReportPercentiles() {
+        for (int millis = 1; millis <= 1000; millis++) {
+            record(ROUTE, LatencyTracker.Outcome.SUCCESS, millis);
+        }
+        tracker.rotate();
+
+        LatencySnapshot snapshot = tracker.route(ROUTE, LatencyTracker.Outcome.SUCCESS, LatencyWindow.ONE_MINUTE);
+
+        assertThat(snapshot.count()).isEqualTo(1000);
+        assertThat(snapshot.p50Ms()).isCloseTo(500.0, within(5.0));
+        assertThat(snapshot.p90Ms()).isCloseTo(900.0, within(9.0));
+        assertThat(snapshot.p99Ms()).isCloseTo(990.0, within(10.0));
+        assertThat(snapshot.p999Ms()).isCloseTo(999.0, within(10.0));
+        assertThat(snapshot.maxMs()).isCloseTo(1000.0, within(10.0));
+    }
+
+    @Test
+    @DisplayName("Should keep outcomes separate")
+    void shouldKeepOutcomesSeparate() {
+        record(ROUTE, LatencyTracker.Outcome.SUCCESS, 10);
+        record(ROUTE, LatencyTracker.Outcome.SERVER_ERROR, 3000);
+        tracker.rotate();
+
+        assertThat(tracker.route(ROUTE, LatencyTracker.Outcome.SUCCESS, LatencyWindow.ONE_MINUTE).maxMs())
+            .isLessThan(20.0);
+        assertThat(tracker.route(ROUTE, LatencyTracker.Outcome.SERVER_ERROR, LatencyWindow.ONE_MINUTE).maxMs())
+            .isGreaterThan(2900.0);
+        assertThat(tracker.route(ROUTE, null, LatencyWindow.ONE_MINUTE).count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should include the minute in progress")
+    void shouldIncludeMinuteInProgress() {
+        record(ROUTE, LatencyTracker.Outcome.SUCCESS, 10);
+
+        assertThat(tracker.overall(LatencyWindow.ONE_MINUTE).count()).isEqualTo(1);
+        assertThat(tracker.overall(LatencyWindow.FIVE_MINUTES).count()).isEqualTo(1);
+        assertThat(tracker.overall(LatencyWindow.ONE_HOUR).count()).isEqualTo(1);
+
+        record(ROUTE, LatencyTracker.Outcome.SUCCESS, 10);
+        tracker.rotate();
+
+        // Reads before the rotation must not be counted twice once the minute is closed
+        assertThat(tracker.overall(LatencyWindow.ONE_MINUTE).count()).isEqualTo(2);
+        assertThat(tracker.overall(LatencyWindow.ONE_HOUR).count()).isEqualTo(2);
+
+        record(ROUTE, LatencyTracker.Outcome.SUCCESS, 10);
+
+        assertThat(tracker.overall(LatencyWindow.ONE_MINUTE).count()).isEqualTo(3);
+        assertThat(tracker.overall(LatencyWindow.FIVE_MINUTES).count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should roll windows over")
+    void shouldRollWindowsOver() {
+        record(ROUTE, LatencyTracker.Outcome.SUCCESS, 10);
+        tracker.rotate();
+        record(ROUTE, LatencyTracker.Outcome.SUCCESS, 10);
+        tracker.rotate();
+
+        assertThat(tracker.overall(LatencyWindow.ONE_MINUTE).count()).isEqualTo(1);
+        assertThat(tracker.overall(LatencyWindow.FIVE_MINUTES).count()).isEqualTo(2);
+
+        rotate(5);
+        assertThat(tracker.overall(LatencyWindow.ONE_MINUTE).count()).isZero();
+        assertThat(tracker.overall(LatencyWindow.FIVE_MINUTES).count()).isZero();
+        assertThat(tracker.overall(LatencyWindow.ONE_HOUR).count()).isEqualTo(2);
+
+        rotate(52);
+        assertThat(tracker.overall(LatencyWindow.ONE_HOUR).count()).isEqualTo(2);
+
+        rotate(1);
+        assertThat(tracker.overall(LatencyWindow.ONE_HOUR).count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should compute SLO burn rate")
+    void shouldComputeSloBurnRate() {
+        for (int i = 0; i < 98; i++) {
+            record(ROUTE, LatencyTracker.Outcome.SUCCESS, 100);
+        }
+        record(ROUTE, LatencyTracker.Outcome.SUCCESS, 800);
+        record(ROUTE, LatencyTracker.Outcome.SUCCESS, 900);
+        tracker.rotate();
+
+        // 2% of requests over 500ms against a 1% budget
+        assertThat(tracker.overall(LatencyWindow.ONE_MINUTE).sloBurnRate()).isCloseTo(2.0, within(0.001));
+    }
+
+    @Test
+    @DisplayName("Should order routes by p99 and cap route cardinality")
+    void shouldOrderRoutesAndCapCardinality() {
+        record("/a", LatencyTracker.Outcome.SUCCESS, 10);
+        record("/b", LatencyTracker.Outcome.SUCCESS, 200);
+        record("/c", LatencyTracker.Outcome.SUCCESS, 50);
+        record("/d", LatencyTracker.Outcome.SUCCESS, 30);
+        tracker.rotate();
+
+        List<LatencySnapshot> routes = tracker.routes(LatencyWindow.ONE_MINUTE);
+
+        assertThat(routes).extracting(LatencySnapshot::route)
+            .containsExactly("/b", "/c", LatencyTracker.OVERFLOW_ROUTE, "/a");
+    }
+
+    @Test
+    @DisplayName("Should reject unknown windows and invalid SLO targets")
+    void shouldRejectInvalidInput() {
+        assertThat(LatencyWindow.fromLabel("5M")).isEqualTo(LatencyWindow.FIVE_MINUTES);
+        assertThatThrownBy(() -> LatencyWindow.fromLabel("2h")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new LatencyTracker(500, 1.0, 10)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void record(String route, LatencyTracker.Outcome outcome, long millis) {
+        tracker.record(route, outcome, TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    private void rotate(int times) {
+        for (int i = 0; i < times; i++) {
+            tracker.rotate();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.westbethel.motel_booking.monitoring.profiling;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * JFR Profiler Tests
+ *
+ * Validates:
+ * - Time-boxed recordings are written and summarized
+ * - Only one on-demand recording runs at a time
+ * - Unknown settings and out-of-range durations are rejected
+ * - Slow requests dump the continuous recording at most once per interval
+ * - Only the newest recordings are kept
+ */
+@DisplayName("JFR Profiler Tests")
+class JfrProfilerTest {
+
+    @TempDir
+    Path directory;
+
+    private JfrProfiler profiler;
+
+    @BeforeEach
+    void setUp() {
+        profiler = new JfrProfiler(directory.toString(), "profile", 30, 60, true, "default", 1, 16, 60_000, 3);
+        profiler.startContinuous();
+    }
+
+    @AfterEach
+    void tearDown() {
+        profiler.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should record, write and summarize a time-boxed recording")
+    void shouldRecordAndSummarize() throws Exception {
+        ProfilingRecording started = profiler.start(Duration.ofSeconds(1), null);
+        assertThat(started.state()).isEqualTo(ProfilingRecording.State.RUNNING);
+        assertThat(started.settings()).isEqualTo("profile");
+        assertThat(profiler.summary(started.id())).isEmpty();
+
+        burnCpu(Duration.ofMillis(1500));
+        ProfilingRecording finished = awaitFinished(started.id());
+
+        assertThat(finished.state()).isEqualTo(ProfilingRecording.State.FINISHED);
+        assertThat(finished.sizeBytes()).isPositive();
+        assertThat(profiler.file(started.id())).hasValueSatisfying(file -> assertThat(file).exists());
+        assertThat(profiler.summary(started.id())).hasValueSatisfying(summary -> {
+            assertThat(summary.executionSamples()).isPositive();
+            assertThat(summary.hotMethods()).isNotEmpty();
+            assertThat(summary.hotMethods().get(0).weight())
+                .isGreaterThanOrEqualTo(summary.hotMethods().get(summary.hotMethods().size() - 1).weight());
+        });
+    }
+
+    @Test
+    @DisplayName("Should run one on-demand recording at a time")
+    void shouldRejectConcurrentRecordings() {
+        profiler.start(Duration.ofSeconds(5), "default");
+
+        assertThatThrownBy(() -> profiler.start(Duration.ofSeconds(5), "default"))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject unknown settings and out-of-range durations")
+    void shouldValidateRequest() {
+        assertThatThrownBy(() -> profiler.start(Duration.ofSeconds(5), "no-such-settings"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("profile");
+        assertThatThrownBy(() -> profiler.start(Duration.ofMinutes(5), null))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> profiler.start(Duration.ZERO, null))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should dump the continuous recording once per interval on slow requests")
+    void shouldRateLimitSlowRequestDumps() throws Exception {
+        assertThat(profiler.isContinuousRunning()).isTrue();
+
+        profiler.onSlowRequest("GET /api/v1/reservations/{id}", 2500);
+        profiler.onSlowRequest("GET /api/v1/reservations/{id}", 2600);
+
+        assertThat(profiler.recordings()).singleElement().satisfies(recording -> {
+            assertThat(recording.kind()).isEqualTo(ProfilingRecording.Kind.SLOW_REQUEST_DUMP);
+            assertThat(recording.reason()).contains("/api/v1/reservations/{id}");
+        });
+        String id = profiler.recordings().get(0).id();
+        assertThat(awaitFinished(id).state()).isEqualTo(ProfilingRecording.State.FINISHED);
+    }
+
+    @Test
+    @DisplayName("Should keep only the newest recordings")
+    void shouldEvictOldRecordings() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            awaitFinished(profiler.dumpContinuous("test " + i).id());
+        }
+
+        assertThat(profiler.recordings()).hasSize(3)
+            .extracting(ProfilingRecording::reason)
+            .containsExactly("test 2", "test 3", "test 4");
+        try (var files = Files.list(directory)) {
+            assertThat(files.count()).isEqualTo(3);
+        }
+    }
+
+    private ProfilingRecording awaitFinished(String id) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(15).toNanos();
+        ProfilingRecording recording = profiler.recording(id).orElseThrow();
+        while (recording.state() == ProfilingRecording.State.RUNNING && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+            recording = profiler.recording(id).orElseThrow();
+        }
+        return recording;
+    }
+
+    private static double burnCpu(Duration duration) {
+        long end = System.nanoTime() + duration.toNanos();
+        double sink = 0;
+        while (System.nanoTime() < end) {
+            for (int i = 1; i < 10_000; i++) {
+                sink += Math.sqrt(i * sink + i);
+            }
+        }
+        return sink;
+    }
+}
@@ -0,0 +1,124 @@
+package com.westbethel.motel_booking.performance;
+
+import com.westbethel.motel_booking.monitoring.latency.LatencyTracker;
+import com.westbethel.motel_booking.monitoring.latency.LatencyWindow;
+import com.westbethel.motel_booking.monitoring.profiling.JfrProfiler;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Performance Interceptor Tests
+ *
+ * Validates:
+ * - Requests are tagged with the matched route pattern, not the raw URI
+ * - Status is tagged by class
+ * - Unmatched requests share one tag value
+ * - Timers are reused across requests
+ * - Requests feed the latency tracker per route and outcome
+ * - Only slow requests trigger a profiler dump
+ */
+class PerformanceInterceptorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private LatencyTracker latencyTracker;
+    private JfrProfiler jfrProfiler;
+    private PerformanceInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        latencyTracker = new LatencyTracker(500, 0.99, 200);
+        jfrProfiler = mock(JfrProfiler.class);
+        interceptor = new PerformanceInterceptor(meterRegistry, latencyTracker, jfrProfiler);
+    }
+
+    @Test
+    void testTagsMatchedRoutePattern() {
+        handle("GET", "/api/v1/reservations/123", "/api/v1/reservations/{id}", 200);
+        handle("GET", "/api/v1/reservations/456", "/api/v1/reservations/{id}", 201);
+
+        Timer timer = meterRegistry.find("app.http.requests")
+            .tags("method", "GET", "uri", "/api/v1/reservations/{id}", "status", "2xx", "outcome", "SUCCESS")
+            .timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isEqualTo(2);
+        assertThat(meterRegistry.find("app.http.requests").timers()).hasSize(1);
+    }
+
+    @Test
+    void testUnmatchedRequestsShareTagValue() {
+        handle("GET", "/random/1", null, 404);
+        handle("GET", "/random/2", null, 404);
+        handle("POST", "/other", null, 500);
+
+        assertThat(meterRegistry.find("app.http.requests").tag("uri", "NOT_FOUND").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.find("app.http.requests").tag("uri", "UNKNOWN").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testRequestsWithoutStartTimeAreIgnored() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/availability");
+        interceptor.afterCompletion(request, new MockHttpServletResponse(), null, null);
+
+        assertThat(meterRegistry.find("app.http.requests").timer()).isNull();
+    }
+
+    @Test
+    void testFeedsLatencyTrackerPerRouteAndOutcome() {
+        handle("GET", "/api/v1/reservations/123", "/api/v1/reservations/{id}", 200);
+        handle("GET", "/api/v1/reservations/456", "/api/v1/reservations/{id}", 503);
+        latencyTracker.rotate();
+
+        assertThat(latencyTracker.route("/api/v1/reservations/{id}", LatencyTracker.Outcome.SUCCESS,
+            LatencyWindow.ONE_MINUTE).count()).isEqualTo(1);
+        assertThat(latencyTracker.route("/api/v1/reservations/{id}", LatencyTracker.Outcome.SERVER_ERROR,
+            LatencyWindow.ONE_MINUTE).count()).isEqualTo(1);
+    }
+
+    @Test
+    void testSlowRequestsTriggerProfilerDump() {
+        handle("GET", "/api/v1/reservations/123", "/api/v1/reservations/{id}", 200);
+        verify(jfrProfiler, never()).onSlowRequest(anyString(), anyLong());
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/reservations/123");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, new Object());
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/reservations/{id}");
+        // Pretend the request started three seconds ago
+        request.setAttribute(PerformanceInterceptor.START_TIME_ATTRIBUTE, System.nanoTime() - 3_000_000_000L);
+        interceptor.afterCompletion(request, response, null, null);
+
+        verify(jfrProfiler).onSlowRequest(eq("GET /api/v1/reservations/{id}"), anyLong());
+    }
+
+    @Test
+    void testStatusClassIndex() {
+        assertThat(RequestMeters.statusClassIndex(204)).isEqualTo(1);
+        assertThat(RequestMeters.statusClassIndex(503)).isEqualTo(4);
+        assertThat(RequestMeters.statusClassIndex(0)).isEqualTo(5);
+    }
+
+    private void handle(String method, String uri, String pattern, int status) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, new Object());
+        if (pattern != null) {
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+        }
+        response.setStatus(status);
+        interceptor.afterCompletion(request, response, null, null);
+    }
+}
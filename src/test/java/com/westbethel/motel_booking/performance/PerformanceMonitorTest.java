@@ -111,6 +111,18 @@ class PerformanceMonitorTest {
         assertThat(counter.count()).isEqualTo(42.0);
     }
 
+    @Test
+    void testReusedTagArrayDoesNotChangeCachedMeter() {
+        String[] tags = {"tag1", "value1"};
+        performanceMonitor.recordMetric("custom.metric", 1.0, tags);
+
+        tags[1] = "value2";
+        performanceMonitor.recordMetric("custom.metric", 1.0, tags);
+
+        assertThat(meterRegistry.find("custom.metric").tag("tag1", "value1").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.find("custom.metric").tag("tag1", "value2").counter().count()).isEqualTo(1.0);
+    }
+
     @Test
     void testTrackOperation() {
         String result = performanceMonitor.trackOperation("custom-operation", () -> "operation-result");
@@ -1,17 +1,21 @@
 package com.westbethel.motel_booking.performance;
 
 import com.westbethel.motel_booking.common.model.BookingStatus;
+import com.westbethel.motel_booking.config.JpaConfiguration;
 import com.westbethel.motel_booking.reservation.repository.BookingRepository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.util.UUID;
 
+import static com.westbethel.motel_booking.testutil.SqlStatementAssert.assertThatSql;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * Query Performance Tests
@@ -21,9 +25,11 @@ import static org.assertj.core.api.Assertions.assertThat;
  * - Projection queries
  * - Pagination
  * - Index usage
+ * - Statement counts (no N+1 regressions)
  */
 @DataJpaTest
 @ActiveProfiles("test")
+@Import(JpaConfiguration.class)
 class QueryPerformanceTest {
 
     @Autowired
@@ -156,4 +162,26 @@ class QueryPerformanceTest {
         assertThat(duration).isLessThan(100);
         assertThat(bookings).isNotNull();
     }
+
+    @Test
+    void testProjectionQueryStatementCount() {
+        UUID guestId = UUID.randomUUID();
+
+        // One select, plus a count query at most
+        assertThatSql(() -> bookingRepository.findByGuestIdProjection(guestId, PageRequest.of(0, 20)))
+            .hasAtMostStatements(2)
+            .hasNoRepeatedStatements();
+    }
+
+    @Test
+    void testDetectsRepeatedStatements() {
+        // Looking bookings up one by one is the N+1 pattern the assertion must catch
+        assertThatThrownBy(() -> assertThatSql(() -> {
+            for (int i = 0; i < 5; i++) {
+                bookingRepository.findById(UUID.randomUUID());
+            }
+        }).hasNoStatementRepeatedMoreThan(2))
+            .isInstanceOf(AssertionError.class)
+            .hasMessageContaining("5 times");
+    }
 }
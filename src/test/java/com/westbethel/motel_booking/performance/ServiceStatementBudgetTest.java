@@ -0,0 +1,172 @@
+package com.westbethel.motel_booking.performance;
+
+import com.westbethel.motel_booking.common.model.Money;
+import com.westbethel.motel_booking.common.model.RoomStatus;
+import com.westbethel.motel_booking.common.reference.ReferenceDataService;
+import com.westbethel.motel_booking.common.reference.ReferenceDataSnapshot;
+import com.westbethel.motel_booking.config.JpaConfiguration;
+import com.westbethel.motel_booking.inventory.domain.Room;
+import com.westbethel.motel_booking.inventory.domain.RoomType;
+import com.westbethel.motel_booking.pricing.domain.RatePlan;
+import com.westbethel.motel_booking.pricing.model.PricingContext;
+import com.westbethel.motel_booking.pricing.service.impl.DefaultPricingService;
+import com.westbethel.motel_booking.property.domain.Property;
+import com.westbethel.motel_booking.reservation.model.BookingRequest;
+import com.westbethel.motel_booking.reservation.service.impl.DefaultBookingService;
+import com.westbethel.motel_booking.testutil.PostgresMigrations;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Currency;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static com.westbethel.motel_booking.testutil.SqlStatementAssert.assertThatSql;
+import static org.mockito.Mockito.when;
+
+/**
+ * Service Statement Budget Tests
+ *
+ * Runs the booking and pricing services against the migrated PostgreSQL schema with a warm
+ * reference data snapshot and validates:
+ * - Creating a booking stays within its statement budget (guest, booked rooms, two inserts)
+ * - Pricing a stay issues no statements at all
+ * - Neither repeats a statement (no N+1)
+ *
+ * Skipped when Docker is not available.
+ */
+@DataJpaTest(properties = "spring.flyway.enabled=false")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({JpaConfiguration.class, DefaultBookingService.class, DefaultPricingService.class})
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Service Statement Budget Tests")
+class ServiceStatementBudgetTest {
+
+    private static final int CREATE_BUDGET = 4;
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres =
+            new PostgreSQLContainer<>(DockerImageName.parse("postgres:15-alpine"));
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) throws Exception {
+        PostgresMigrations.migrate(postgres);
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+    }
+
+    @Autowired
+    private DefaultBookingService bookingService;
+
+    @Autowired
+    private DefaultPricingService pricingService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private ReferenceDataService referenceDataService;
+
+    private Property property;
+    private RoomType roomType;
+    private RatePlan ratePlan;
+    private UUID guestId;
+
+    @BeforeEach
+    void setUp() {
+        Currency usd = Currency.getInstance("USD");
+        property = Property.builder()
+                .id(UUID.randomUUID())
+                .code(UUID.randomUUID().toString().substring(0, 8))
+                .name("West Bethel Motel")
+                .timezone(ZoneId.of("America/New_York"))
+                .defaultCurrency(usd)
+                .build();
+        roomType = RoomType.builder()
+                .id(UUID.randomUUID())
+                .propertyId(property.getId())
+                .code("STD")
+                .name("Standard")
+                .capacity(2)
+                .baseRate(new Money(new BigDecimal("90.00"), usd))
+                .build();
+        ratePlan = RatePlan.builder().id(UUID.randomUUID()).propertyId(property.getId()).name("Best Available").build();
+        Room room = Room.builder()
+                .id(UUID.randomUUID())
+                .propertyId(property.getId())
+                .roomTypeId(roomType.getId())
+                .roomNumber("101")
+                .status(RoomStatus.AVAILABLE)
+                .build();
+        guestId = UUID.randomUUID();
+
+        jdbcTemplate.update("INSERT INTO properties (id, code, name, timezone, default_currency) VALUES (?, ?, ?, ?, ?)",
+                property.getId(), property.getCode(), property.getName(), "America/New_York", "USD");
+        jdbcTemplate.update("INSERT INTO room_types (id, property_id, code, name, capacity) VALUES (?, ?, ?, ?, ?)",
+                roomType.getId(), property.getId(), roomType.getCode(), roomType.getName(), 2);
+        jdbcTemplate.update("INSERT INTO rooms (id, property_id, room_type_id, room_number, status, housekeeping_status) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", room.getId(), property.getId(), roomType.getId(), "101", "AVAILABLE", "CLEAN");
+        jdbcTemplate.update("INSERT INTO rate_plans (id, property_id, name, channel) VALUES (?, ?, ?, ?)",
+                ratePlan.getId(), property.getId(), ratePlan.getName(), "DIRECT");
+        jdbcTemplate.update("INSERT INTO guests (id, marketing_opt_in, created_at) VALUES (?, FALSE, NOW())", guestId);
+
+        when(referenceDataService.current()).thenReturn(new ReferenceDataSnapshot(1, Instant.now(),
+                List.of(property), List.of(roomType), List.of(ratePlan), List.of(room)));
+    }
+
+    @Test
+    void testCreateBookingStaysWithinBudget() {
+        BookingRequest request = BookingRequest.builder()
+                .propertyId(property.getId())
+                .guestId(guestId)
+                .checkIn(LocalDate.of(2030, 7, 10))
+                .checkOut(LocalDate.of(2030, 7, 13))
+                .adults(2)
+                .children(0)
+                .ratePlanId(ratePlan.getId())
+                .roomTypeIds(Set.of(roomType.getId()))
+                .build();
+
+        assertThatSql(() -> bookingService.create(request))
+                .hasAtMostStatements(CREATE_BUDGET)
+                .hasNoRepeatedStatements();
+    }
+
+    @Test
+    void testQuoteIssuesNoStatements() {
+        PricingContext context = PricingContext.builder()
+                .propertyId(property.getId())
+                .ratePlanId(ratePlan.getId())
+                .checkIn(LocalDate.of(2030, 7, 10))
+                .checkOut(LocalDate.of(2030, 7, 13))
+                .adults(2)
+                .children(0)
+                .guestId(guestId)
+                .roomTypeIds(Set.of(roomType.getId()))
+                .build();
+
+        assertThatSql(() -> pricingService.quote(context)).hasStatements(0);
+    }
+}
@@ -0,0 +1,101 @@
+package com.westbethel.motel_booking.performance;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SQL Statement Budget Filter Tests
+ *
+ * Validates:
+ * - Statements are counted per request and recorded by route
+ * - Requests over the budget are counted
+ * - Repeated identical statements (N+1) are counted
+ * - Scopes nest and are closed after the request
+ * - Non-API requests are not counted
+ */
+class SqlStatementBudgetFilterTest {
+
+    private static final String BY_ID = "select r.id, r.number from rooms r where r.id=?";
+    private static final String ROUTE = "/api/v1/reservations/{id}";
+
+    private SimpleMeterRegistry meterRegistry;
+    private SqlStatementBudgetFilter filter;
+    private final SqlStatementInspector inspector = new SqlStatementInspector();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new SqlStatementBudgetFilter(meterRegistry, 5, 3);
+    }
+
+    @Test
+    void testRecordsStatementsPerRoute() throws Exception {
+        handle("/api/v1/reservations/1", "select 1", "select 2");
+
+        assertThat(meterRegistry.get("app.http.requests.sql.statements").tag("uri", ROUTE).summary().totalAmount())
+            .isEqualTo(2);
+        assertThat(meterRegistry.get("app.http.requests.sql.budget.exceeded").counter().count()).isZero();
+        assertThat(meterRegistry.get("app.http.requests.sql.repeated").counter().count()).isZero();
+    }
+
+    @Test
+    void testCountsRequestsOverBudgetAndRepeatedStatements() throws Exception {
+        handle("/api/v1/reservations/1", "select 1", BY_ID, BY_ID, BY_ID, BY_ID, BY_ID);
+
+        assertThat(meterRegistry.get("app.http.requests.sql.budget.exceeded").tag("uri", ROUTE).counter().count())
+            .isEqualTo(1);
+        assertThat(meterRegistry.get("app.http.requests.sql.repeated").tag("uri", ROUTE).counter().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void testScopesNestAndClose() throws Exception {
+        try (SqlStatementCounter.Scope outer = SqlStatementCounter.open()) {
+            inspector.inspect("select 0");
+            handle("/api/v1/reservations/1", BY_ID, BY_ID, BY_ID);
+
+            SqlStatementStats stats = outer.stats(3);
+            assertThat(stats.statements()).isEqualTo(4);
+            assertThat(stats.distinctStatements()).isEqualTo(2);
+            assertThat(stats.repeated()).containsExactly(new SqlStatementStats.RepeatedStatement(BY_ID, 3));
+        }
+
+        // Nothing open any more: statements outside a scope are ignored
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.open()) {
+            assertThat(scope.statements()).isZero();
+        }
+    }
+
+    @Test
+    void testIgnoresNonApiRequests() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/actuator/health");
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(meterRegistry.find("app.http.requests.sql.statements").summary()).isNull();
+    }
+
+    private void handle(String uri, String... statements) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, ROUTE);
+                for (String sql : statements) {
+                    inspector.inspect(sql);
+                }
+            }
+        });
+        filter.doFilter(request, response, chain);
+    }
+}
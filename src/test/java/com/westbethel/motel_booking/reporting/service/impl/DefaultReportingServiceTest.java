@@ -0,0 +1,99 @@
+package com.westbethel.motel_booking.reporting.service.impl;
+
+import com.westbethel.motel_booking.reporting.model.ReportRequest;
+import com.westbethel.motel_booking.reporting.model.ReportRequest.ReportType;
+import com.westbethel.motel_booking.reservation.dto.DailyRevenueProjection;
+import com.westbethel.motel_booking.reservation.dto.NightlyOccupancyProjection;
+import com.westbethel.motel_booking.reservation.repository.BookingRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * Reporting Service Tests
+ *
+ * Validates:
+ * - Occupancy rows come from the per-night counts, with empty nights as zero
+ * - Revenue rows come from the per-check-in sums
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Reporting Service Tests")
+class DefaultReportingServiceTest {
+
+    private static final UUID PROPERTY_ID = UUID.randomUUID();
+    private static final LocalDate FROM = LocalDate.of(2026, 3, 1);
+    private static final LocalDate TO = LocalDate.of(2026, 3, 4);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @InjectMocks
+    private DefaultReportingService reportingService;
+
+    @Test
+    void testDailyOccupancyUsesCountsPerNight() {
+        when(bookingRepository.countOccupiedRoomsByNight(eq(PROPERTY_ID), any(), eq(FROM), eq(TO.plusDays(1))))
+                .thenReturn(List.of(
+                        new Night(FROM, 1L),
+                        new Night(FROM.plusDays(1), 3L),
+                        new Night(TO, 1L)));
+
+        String csv = payload(ReportType.DAILY_OCCUPANCY);
+
+        assertThat(csv).isEqualTo("""
+                date,occupied_rooms
+                2026-03-01,1
+                2026-03-02,3
+                2026-03-03,0
+                2026-03-04,1
+                """);
+    }
+
+    @Test
+    void testRevenueSummaryUsesSumsPerCheckIn() {
+        when(bookingRepository.sumRevenueByCheckIn(eq(PROPERTY_ID), any(), eq(FROM), eq(TO.plusDays(1))))
+                .thenReturn(List.of(
+                        new Revenue(FROM.minusDays(1), new BigDecimal("99.00")),
+                        new Revenue(FROM.plusDays(2), new BigDecimal("250.50"))));
+
+        String csv = payload(ReportType.REVENUE_SUMMARY);
+
+        assertThat(csv).isEqualTo("""
+                date,revenue
+                2026-03-01,0.00
+                2026-03-02,0.00
+                2026-03-03,250.50
+                2026-03-04,0.00
+                """);
+    }
+
+    private String payload(ReportType type) {
+        ReportRequest request = ReportRequest.builder()
+                .type(type)
+                .propertyId(PROPERTY_ID)
+                .fromDate(FROM)
+                .toDate(TO)
+                .build();
+        return new String(reportingService.generate(request).getPayload(), StandardCharsets.UTF_8);
+    }
+
+    private record Night(LocalDate getStayDate, Long getOccupiedRooms) implements NightlyOccupancyProjection {
+    }
+
+    private record Revenue(LocalDate getCheckIn, BigDecimal getRevenue) implements DailyRevenueProjection {
+    }
+}
@@ -0,0 +1,117 @@
+package com.westbethel.motel_booking.reservation.archive;
+
+import com.westbethel.motel_booking.testutil.PostgresMigrations;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Booking Archive Migration Tests
+ *
+ * Runs the V14 archive functions against the migrated PostgreSQL schema and validates:
+ * - Moved bookings keep every column in the archive
+ * - An invoiced booking can be archived, but not deleted outright
+ * - An invoice must reference a booking in either tier
+ *
+ * Skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Booking Archive Migration Tests")
+class BookingArchiveMigrationTest {
+
+    private static final LocalDate CUTOFF = LocalDate.of(2020, 4, 1);
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres =
+            new PostgreSQLContainer<>(DockerImageName.parse("postgres:15-alpine"));
+
+    private static JdbcTemplate jdbcTemplate;
+
+    private UUID propertyId;
+    private UUID guestId;
+    private UUID ratePlanId;
+
+    @BeforeAll
+    static void migrate() throws Exception {
+        jdbcTemplate = PostgresMigrations.migrate(postgres);
+    }
+
+    @BeforeEach
+    void setUp() {
+        propertyId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO properties (id, code, name, timezone, default_currency) VALUES (?, ?, ?, ?, ?)",
+                propertyId, UUID.randomUUID().toString().substring(0, 8), "West Bethel Motel", "UTC", "USD");
+        guestId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO guests (id, marketing_opt_in, created_at) VALUES (?, FALSE, NOW())", guestId);
+        ratePlanId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO rate_plans (id, property_id, name, channel) VALUES (?, ?, ?, ?)",
+                ratePlanId, propertyId, "Best Available", "DIRECT");
+    }
+
+    @Test
+    void testArchivedBookingKeepsItsColumnsAndInvoice() {
+        UUID bookingId = booking();
+        jdbcTemplate.update("UPDATE bookings SET notes = 'late arrival', version = 3 WHERE id = ?", bookingId);
+        invoice(bookingId);
+
+        jdbcTemplate.queryForObject("SELECT archive.prepare_booking_partitions(?)", Integer.class, Date.valueOf(CUTOFF));
+        jdbcTemplate.queryForObject("SELECT archive.move_bookings(?, ?)", Integer.class, Date.valueOf(CUTOFF), 100);
+
+        Map<String, Object> archived = jdbcTemplate.queryForMap(
+                "SELECT guest_id, status, notes, version, archived_at FROM archive.bookings WHERE id = ?", bookingId);
+        assertThat(archived).containsEntry("guest_id", guestId)
+                .containsEntry("status", "CHECKED_OUT")
+                .containsEntry("notes", "late arrival")
+                .containsEntry("version", 3L);
+        assertThat(archived.get("archived_at")).isNotNull();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bookings WHERE id = ?", Integer.class, bookingId))
+                .isZero();
+    }
+
+    @Test
+    void testInvoicedBookingCannotBeDeleted() {
+        UUID bookingId = booking();
+        invoice(bookingId);
+
+        assertThatThrownBy(() -> jdbcTemplate.update("DELETE FROM bookings WHERE id = ?", bookingId))
+                .isInstanceOf(DataAccessException.class)
+                .hasMessageContaining("still referenced by an invoice");
+    }
+
+    @Test
+    void testInvoiceNeedsBookingInEitherTier() {
+        assertThatThrownBy(() -> invoice(UUID.randomUUID()))
+                .isInstanceOf(DataAccessException.class)
+                .hasMessageContaining("references missing booking");
+    }
+
+    private UUID booking() {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO bookings (id, property_id, reference, guest_id, status, payment_status, channel, "
+                        + "check_in, check_out, adults, children, rate_plan_id, created_at) "
+                        + "VALUES (?, ?, ?, ?, 'CHECKED_OUT', 'CAPTURED', 'DIRECT', ?, ?, 2, 0, ?, NOW())",
+                id, propertyId, "T-" + id.toString().substring(0, 12), guestId,
+                Date.valueOf(LocalDate.of(2020, 3, 1)), Date.valueOf(LocalDate.of(2020, 3, 3)), ratePlanId);
+        return id;
+    }
+
+    private void invoice(UUID bookingId) {
+        jdbcTemplate.update("INSERT INTO invoices (id, booking_id, property_id, status, issued_at) "
+                + "VALUES (?, ?, ?, 'ISSUED', NOW())", UUID.randomUUID(), bookingId, propertyId);
+    }
+}
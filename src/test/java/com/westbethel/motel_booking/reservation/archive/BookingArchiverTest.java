@@ -0,0 +1,96 @@
+package com.westbethel.motel_booking.reservation.archive;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Booking Archiver Tests
+ *
+ * Validates:
+ * - The cutoff is the first day of the oldest retained month
+ * - Batches repeat until one comes back short
+ * - Archive partitions are prepared before moving
+ * - Nothing runs when disabled
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Booking Archiver Tests")
+class BookingArchiverTest {
+
+    private static final String PREPARE_SQL = "SELECT archive.prepare_booking_partitions(?)";
+    private static final String MOVE_SQL = "SELECT archive.move_bookings(?, ?)";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private Clock clock;
+
+    @BeforeEach
+    void setUp() {
+        clock = Clock.fixed(Instant.parse("2026-03-10T00:00:00Z"), ZoneOffset.UTC);
+    }
+
+    @Test
+    void testCutoffIsStartOfOldestRetainedMonth() {
+        BookingArchiver archiver = new BookingArchiver(jdbcTemplate, transactionManager, clock, true, 13, 100);
+
+        assertThat(archiver.cutoff()).isEqualTo(LocalDate.of(2025, 2, 1));
+    }
+
+    @Test
+    void testMovesBatchesUntilShortBatch() {
+        BookingArchiver archiver = new BookingArchiver(jdbcTemplate, transactionManager, clock, true, 13, 100);
+        LocalDate cutoff = LocalDate.of(2025, 2, 1);
+        when(jdbcTemplate.queryForObject(PREPARE_SQL, Integer.class, cutoff)).thenReturn(2);
+        when(jdbcTemplate.queryForObject(MOVE_SQL, Integer.class, cutoff, 100)).thenReturn(100, 100, 42);
+
+        long moved = archiver.archiveBefore(cutoff);
+
+        assertThat(moved).isEqualTo(242);
+        verify(jdbcTemplate).queryForObject(PREPARE_SQL, Integer.class, cutoff);
+        verify(jdbcTemplate, times(3)).queryForObject(MOVE_SQL, Integer.class, cutoff, 100);
+    }
+
+    @Test
+    void testDisabledDoesNothing() {
+        BookingArchiver archiver = new BookingArchiver(jdbcTemplate, transactionManager, clock, false, 13, 100);
+
+        archiver.archive();
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void testFailureIsLoggedNotThrown() {
+        BookingArchiver archiver = new BookingArchiver(jdbcTemplate, transactionManager, clock, true, 13, 100);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), any()))
+                .thenThrow(new IllegalStateException("archive schema missing"));
+
+        archiver.archive();
+
+        verify(jdbcTemplate, never()).queryForObject(eq(MOVE_SQL), eq(Integer.class), any(), any());
+    }
+}
@@ -0,0 +1,96 @@
+package com.westbethel.motel_booking.reservation.imports;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.westbethel.motel_booking.common.model.BookingChannel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Booking Import Parser Tests
+ *
+ * Validates:
+ * - CSV columns are matched by header name
+ * - Quoted CSV values and "" escapes
+ * - NDJSON rows with room type arrays
+ * - Defaults for optional fields
+ * - Row-level errors for missing and malformed values
+ */
+@DisplayName("Booking Import Parser Tests")
+class BookingImportParserTest {
+
+    private static final UUID GUEST_ID = UUID.randomUUID();
+    private static final UUID RATE_PLAN_ID = UUID.randomUUID();
+
+    @Test
+    void testParsesCsvByHeaderName() {
+        BookingImportParser parser = BookingImportParser.csv(
+                "checkIn,checkOut,guestId,ratePlanId,roomTypes,adults,children,reference,channel,notes");
+
+        BookingImportRow row = parser.parse(2, String.join(",",
+                "2026-07-01", "2026-07-04", GUEST_ID.toString(), RATE_PLAN_ID.toString(),
+                "DBL|SGL", "2", "1", "OTA-123", "ota", "\"Late arrival, \"\"VIP\"\"\""));
+
+        assertThat(row.line()).isEqualTo(2);
+        assertThat(row.guestId()).isEqualTo(GUEST_ID);
+        assertThat(row.ratePlanId()).isEqualTo(RATE_PLAN_ID);
+        assertThat(row.roomTypeCodes()).containsExactly("DBL", "SGL");
+        assertThat(row.checkIn()).isEqualTo(LocalDate.of(2026, 7, 1));
+        assertThat(row.checkOut()).isEqualTo(LocalDate.of(2026, 7, 4));
+        assertThat(row.adults()).isEqualTo(2);
+        assertThat(row.children()).isEqualTo(1);
+        assertThat(row.reference()).isEqualTo("OTA-123");
+        assertThat(row.channel()).isEqualTo(BookingChannel.OTA);
+        assertThat(row.notes()).isEqualTo("Late arrival, \"VIP\"");
+    }
+
+    @Test
+    void testParsesNdjsonWithRoomTypeArray() {
+        BookingImportParser parser = BookingImportParser.ndjson(new ObjectMapper());
+
+        BookingImportRow row = parser.parse(1, String.format(
+                "{\"guestId\":\"%s\",\"ratePlanId\":\"%s\",\"roomTypes\":[\"DBL\",\"KNG\"],"
+                        + "\"checkIn\":\"2026-07-01\",\"checkOut\":\"2026-07-02\",\"adults\":2}",
+                GUEST_ID, RATE_PLAN_ID));
+
+        assertThat(row.roomTypeCodes()).containsExactly("DBL", "KNG");
+        assertThat(row.children()).isZero();
+        assertThat(row.channel()).isEqualTo(BookingChannel.DIRECT);
+        assertThat(row.reference()).isNull();
+    }
+
+    @Test
+    void testRejectsHeaderWithoutRequiredColumn() {
+        assertThatThrownBy(() -> BookingImportParser.csv("guestId,ratePlanId,roomTypes,checkIn,checkOut"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("adults");
+    }
+
+    @Test
+    void testReportsFirstProblemOfRow() {
+        BookingImportParser parser = BookingImportParser.csv("guestId,ratePlanId,roomTypes,checkIn,checkOut,adults");
+        String prefix = GUEST_ID + "," + RATE_PLAN_ID + ",DBL,";
+
+        assertThatThrownBy(() -> parser.parse(3, prefix + "2026-02-30,2026-03-02,2"))
+                .hasMessage("Invalid checkIn: 2026-02-30");
+        assertThatThrownBy(() -> parser.parse(4, prefix + "2026-03-01,2026-03-02,0"))
+                .hasMessage("adults must be at least 1");
+        assertThatThrownBy(() -> parser.parse(5, "not-a-uuid," + RATE_PLAN_ID + ",DBL,2026-03-01,2026-03-02,2"))
+                .hasMessage("Invalid guestId: not-a-uuid");
+        assertThatThrownBy(() -> BookingImportParser.ndjson(new ObjectMapper()).parse(6, "[1, 2]"))
+                .hasMessage("Expected a JSON object");
+    }
+
+    @Test
+    void testSplitCsvKeepsEmptyValues() {
+        assertThat(BookingImportParser.splitCsv("a,,\"b,c\",")).isEqualTo(List.of("a", "", "b,c", ""));
+        assertThatThrownBy(() -> BookingImportParser.splitCsv("a,\"b"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
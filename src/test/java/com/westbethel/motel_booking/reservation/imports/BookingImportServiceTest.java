@@ -0,0 +1,248 @@
+package com.westbethel.motel_booking.reservation.imports;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.westbethel.motel_booking.cache.CacheService;
+import com.westbethel.motel_booking.common.model.Money;
+import com.westbethel.motel_booking.common.model.RoomStatus;
+import com.westbethel.motel_booking.config.CacheConfiguration;
+import com.westbethel.motel_booking.inventory.domain.Room;
+import com.westbethel.motel_booking.inventory.domain.RoomType;
+import com.westbethel.motel_booking.inventory.repository.RoomRepository;
+import com.westbethel.motel_booking.inventory.repository.RoomTypeRepository;
+import com.westbethel.motel_booking.pricing.domain.RatePlan;
+import com.westbethel.motel_booking.pricing.model.PricingQuote;
+import com.westbethel.motel_booking.pricing.repository.RatePlanRepository;
+import com.westbethel.motel_booking.pricing.service.PricingService;
+import com.westbethel.motel_booking.property.domain.Property;
+import com.westbethel.motel_booking.property.repository.PropertyRepository;
+import com.westbethel.motel_booking.reservation.repository.BookingRepository;
+import com.westbethel.motel_booking.reservation.repository.DoubleBookingConstraints;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Currency;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Booking Import Service Tests
+ *
+ * Validates:
+ * - Parse, validation and allocation rejects are reported with their line numbers
+ * - A dry run writes nothing
+ * - A failed batch is retried row by row, rejecting only the conflicting or failing rows
+ * - The row limit and the cap on reported errors
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Booking Import Service Tests")
+class BookingImportServiceTest {
+
+    private static final String HEADER = "checkIn,checkOut,guestId,ratePlanId,roomTypes,adults";
+    private static final UUID GUEST_ID = UUID.randomUUID();
+
+    @Mock
+    private PropertyRepository propertyRepository;
+
+    @Mock
+    private RatePlanRepository ratePlanRepository;
+
+    @Mock
+    private RoomTypeRepository roomTypeRepository;
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private PricingService pricingService;
+
+    @Mock
+    private CacheService cacheService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private Property property;
+    private RatePlan ratePlan;
+    private List<Room> rooms;
+
+    @BeforeEach
+    void setUp() {
+        property = Property.builder().id(UUID.randomUUID()).code("WBM").build();
+        ratePlan = RatePlan.builder().id(UUID.randomUUID()).propertyId(property.getId()).build();
+        RoomType standard = RoomType.builder().id(UUID.randomUUID()).propertyId(property.getId()).code("STD").build();
+        rooms = List.of(room("101", standard), room("102", standard), room("103", standard));
+
+        lenient().when(propertyRepository.findById(property.getId())).thenReturn(Optional.of(property));
+        lenient().when(ratePlanRepository.findAllById(any())).thenReturn(List.of(ratePlan));
+        lenient().when(roomTypeRepository.findByPropertyId(property.getId())).thenReturn(List.of(standard));
+        lenient().when(roomRepository.findByPropertyId(property.getId())).thenReturn(rooms);
+        lenient().when(jdbcTemplate.queryForList(startsWith("SELECT id FROM guests"), eq(UUID.class), any(Object[].class)))
+                .thenReturn(List.of(GUEST_ID));
+        lenient().when(pricingService.quote(any(), eq(property), eq(ratePlan), anyMap())).thenReturn(PricingQuote.builder()
+                .totalAmount(new Money(new BigDecimal("90.00"), Currency.getInstance("USD")))
+                .build());
+    }
+
+    @Test
+    void testReportsRejectedRowsWithLineNumbers() throws Exception {
+        BookingImportResult result = importCsv(service(10, 100), false,
+                row("2026-07-01", "2026-07-03", GUEST_ID, "STD"),
+                row("2026-07-01", "2026-07-03", UUID.randomUUID(), "STD"),
+                row("2026-07-01", "2026-07-03", GUEST_ID, "KNG"),
+                row("2026-07-03", "2026-07-01", GUEST_ID, "STD"),
+                "2026-02-30,2026-03-02," + GUEST_ID + "," + ratePlan.getId() + ",STD,2",
+                row("2026-07-01", "2026-07-03", GUEST_ID, "STD"),
+                row("2026-07-01", "2026-07-03", GUEST_ID, "STD"),
+                row("2026-07-02", "2026-07-04", GUEST_ID, "STD"));
+
+        assertThat(result.received()).isEqualTo(8);
+        assertThat(result.imported()).isEqualTo(3);
+        assertThat(result.failed()).isEqualTo(5);
+        assertThat(result.errors()).extracting(BookingImportResult.RowError::line).containsExactly(3, 4, 5, 6, 9);
+        assertThat(result.errors().get(0).message()).startsWith("Guest not found");
+        assertThat(result.errors().get(1).message()).startsWith("Room type not found");
+        assertThat(result.errors().get(2).message()).isEqualTo("Check-out must be after check-in");
+        assertThat(result.errors().get(3).message()).isEqualTo("Invalid checkIn: 2026-02-30");
+        assertThat(result.errors().get(4).message()).isEqualTo("No available rooms for 2026-07-02 to 2026-07-04");
+        verify(cacheService).evictCache(CacheConfiguration.AVAILABILITY_CACHE);
+    }
+
+    @Test
+    void testDryRunWritesNothing() throws Exception {
+        BookingImportResult result = importCsv(service(10, 100), true,
+                row("2026-07-01", "2026-07-03", GUEST_ID, "STD"),
+                row("2026-07-01", "2026-07-03", GUEST_ID, "STD"));
+
+        assertThat(result.dryRun()).isTrue();
+        assertThat(result.imported()).isEqualTo(2);
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+        verifyNoInteractions(cacheService);
+    }
+
+    @Test
+    void testFailedBatchRetriedRowByRow() throws Exception {
+        UUID conflictingRoom = rooms.get(1).getId();
+        UUID failingRoom = rooms.get(2).getId();
+        List<Integer> bookingRowsPerInsert = new ArrayList<>();
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenAnswer(invocation -> {
+            String sql = invocation.getArgument(0);
+            List<Object> args = Arrays.asList((Object[]) invocation.getRawArguments()[1]);
+            if (sql.startsWith("INSERT INTO bookings ")) {
+                bookingRowsPerInsert.add(args.size() / 21);
+                if (args.size() > 21) {
+                    throw new DataIntegrityViolationException("batch rejected");
+                }
+            } else if (args.contains(conflictingRoom)) {
+                throw doubleBooking();
+            } else if (args.contains(failingRoom)) {
+                throw new QueryTimeoutException("canceling statement due to statement timeout");
+            }
+            return args.size() / 2;
+        });
+
+        BookingImportResult result = importCsv(service(10, 100), false,
+                row("2026-07-01", "2026-07-03", GUEST_ID, "STD"),
+                row("2026-07-01", "2026-07-03", GUEST_ID, "STD"),
+                row("2026-07-01", "2026-07-03", GUEST_ID, "STD"));
+
+        assertThat(bookingRowsPerInsert).containsExactly(3, 1, 1, 1);
+        assertThat(result.imported()).isEqualTo(1);
+        assertThat(result.errors()).extracting(BookingImportResult.RowError::line).containsExactly(3, 4);
+        assertThat(result.errors().get(0).message()).startsWith("Rejected by the database")
+                .contains(DoubleBookingConstraints.NO_DOUBLE_BOOKING_CONSTRAINT);
+        assertThat(result.errors().get(1).message()).startsWith("Rejected by the database");
+    }
+
+    @Test
+    void testRejectsFileOverRowLimit() {
+        BookingImportService service = service(10, 2);
+
+        assertThatThrownBy(() -> importCsv(service, true,
+                row("2026-07-01", "2026-07-03", GUEST_ID, "STD"),
+                row("2026-07-01", "2026-07-03", GUEST_ID, "STD"),
+                row("2026-07-01", "2026-07-03", GUEST_ID, "STD")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Import exceeds 2 rows");
+    }
+
+    @Test
+    void testCapsReportedErrors() throws Exception {
+        String[] rows = new String[BookingImportService.MAX_REPORTED_ERRORS + 5];
+        Arrays.fill(rows, "not-a-date,2026-07-03," + GUEST_ID + "," + ratePlan.getId() + ",STD,2");
+
+        BookingImportResult result = importCsv(service(10, 2000), true, rows);
+
+        assertThat(result.failed()).isEqualTo(BookingImportService.MAX_REPORTED_ERRORS + 5);
+        assertThat(result.errors()).hasSize(BookingImportService.MAX_REPORTED_ERRORS);
+        assertThat(result.errors().get(0).line()).isEqualTo(2);
+        assertThat(result.errors().get(BookingImportService.MAX_REPORTED_ERRORS - 1).line())
+                .isEqualTo(BookingImportService.MAX_REPORTED_ERRORS + 1);
+    }
+
+    private BookingImportService service(int batchSize, int maxRows) {
+        return new BookingImportService(propertyRepository, ratePlanRepository, roomTypeRepository, roomRepository,
+                bookingRepository, pricingService, cacheService, jdbcTemplate, transactionManager,
+                new ObjectMapper(), new SimpleMeterRegistry(), batchSize, maxRows);
+    }
+
+    private BookingImportResult importCsv(BookingImportService service, boolean dryRun, String... rows) throws Exception {
+        String csv = HEADER + "\n" + String.join("\n", rows) + "\n";
+        return service.importBookings(property.getId(), BookingImportFormat.CSV,
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), dryRun);
+    }
+
+    private String row(String checkIn, String checkOut, UUID guestId, String roomType) {
+        return String.join(",", checkIn, checkOut, guestId.toString(), ratePlan.getId().toString(), roomType, "2");
+    }
+
+    private Room room(String number, RoomType roomType) {
+        return Room.builder()
+                .id(UUID.randomUUID())
+                .propertyId(property.getId())
+                .roomTypeId(roomType.getId())
+                .roomNumber(number)
+                .status(RoomStatus.AVAILABLE)
+                .build();
+    }
+
+    private static DataIntegrityViolationException doubleBooking() {
+        return new DataIntegrityViolationException("could not execute statement", new SQLException(
+                "ERROR: conflicting key value violates exclusion constraint \""
+                        + DoubleBookingConstraints.NO_DOUBLE_BOOKING_CONSTRAINT + "\"", "23P01"));
+    }
+}
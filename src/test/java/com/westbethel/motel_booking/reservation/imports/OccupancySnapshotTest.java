@@ -0,0 +1,56 @@
+package com.westbethel.motel_booking.reservation.imports;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Occupancy Snapshot Tests
+ *
+ * Validates:
+ * - Overlapping stays are not free
+ * - Back-to-back stays share the changeover day
+ * - Rooms are tracked independently
+ */
+@DisplayName("Occupancy Snapshot Tests")
+class OccupancySnapshotTest {
+
+    private static final LocalDate JULY_10 = LocalDate.of(2026, 7, 10);
+
+    @Test
+    void testOverlappingStayIsNotFree() {
+        UUID room = UUID.randomUUID();
+        OccupancySnapshot snapshot = new OccupancySnapshot();
+        snapshot.occupy(room, JULY_10, JULY_10.plusDays(3));
+
+        assertThat(snapshot.isFree(room, JULY_10.minusDays(1), JULY_10.plusDays(1))).isFalse();
+        assertThat(snapshot.isFree(room, JULY_10.plusDays(1), JULY_10.plusDays(2))).isFalse();
+        assertThat(snapshot.isFree(room, JULY_10.plusDays(2), JULY_10.plusDays(5))).isFalse();
+        assertThat(snapshot.isFree(room, JULY_10.minusDays(2), JULY_10.plusDays(6))).isFalse();
+    }
+
+    @Test
+    void testBackToBackStaysAreFree() {
+        UUID room = UUID.randomUUID();
+        OccupancySnapshot snapshot = new OccupancySnapshot();
+        snapshot.occupy(room, JULY_10, JULY_10.plusDays(3));
+        snapshot.occupy(room, JULY_10.plusDays(5), JULY_10.plusDays(7));
+
+        assertThat(snapshot.isFree(room, JULY_10.minusDays(2), JULY_10)).isTrue();
+        assertThat(snapshot.isFree(room, JULY_10.plusDays(3), JULY_10.plusDays(5))).isTrue();
+        assertThat(snapshot.isFree(room, JULY_10.plusDays(3), JULY_10.plusDays(6))).isFalse();
+    }
+
+    @Test
+    void testRoomsAreIndependent() {
+        UUID booked = UUID.randomUUID();
+        OccupancySnapshot snapshot = new OccupancySnapshot();
+        snapshot.occupy(booked, JULY_10, JULY_10.plusDays(3));
+
+        assertThat(snapshot.isFree(UUID.randomUUID(), JULY_10, JULY_10.plusDays(3))).isTrue();
+    }
+}
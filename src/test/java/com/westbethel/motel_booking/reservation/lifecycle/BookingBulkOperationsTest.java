@@ -0,0 +1,185 @@
+package com.westbethel.motel_booking.reservation.lifecycle;
+
+import com.westbethel.motel_booking.cache.CacheService;
+import com.westbethel.motel_booking.common.model.BookingStatus;
+import com.westbethel.motel_booking.config.CacheConfiguration;
+import com.westbethel.motel_booking.exception.InvalidDateRangeException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Booking Bulk Operations Tests
+ *
+ * Validates:
+ * - Batches repeat until one comes back short
+ * - One event per committed batch and one cache eviction per operation
+ * - Sweeps skip locked rows; room block cancellation waits for them
+ * - Nothing runs when disabled; the no-show sweep also needs its own flag
+ * - The no-show sweep only selects stays whose check-out day has passed
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Booking Bulk Operations Tests")
+class BookingBulkOperationsTest {
+
+    private static final LocalDate JULY_1 = LocalDate.of(2026, 7, 1);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CacheService cacheService;
+
+    private Clock clock;
+
+    @BeforeEach
+    void setUp() {
+        clock = Clock.fixed(Instant.parse("2026-07-10T12:00:00Z"), ZoneOffset.UTC);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testExpiresHoldsInBatchesUntilShortBatch() {
+        BookingBulkOperations operations = operations(true, 2);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class)))
+                .thenReturn(transitions(2), transitions(2), transitions(1));
+
+        int expired = operations.expireHoldsCreatedBefore(OffsetDateTime.now(clock).minusMinutes(30));
+
+        assertThat(expired).isEqualTo(5);
+        verify(jdbcTemplate, times(3)).query(
+                argThat((String sql) -> sql.contains("b.status = 'HOLD'") && sql.contains("SKIP LOCKED")),
+                any(RowMapper.class), any(Object[].class));
+        ArgumentCaptor<BookingsTransitionedEvent> events = ArgumentCaptor.forClass(BookingsTransitionedEvent.class);
+        verify(eventPublisher, times(3)).publishEvent(events.capture());
+        assertThat(events.getAllValues()).extracting(event -> event.bookings().size()).containsExactly(2, 2, 1);
+        assertThat(events.getAllValues()).allSatisfy(event -> {
+            assertThat(event.operation()).isEqualTo(BulkOperation.HOLD_EXPIRY);
+            assertThat(event.status()).isEqualTo(BookingStatus.CANCELLED);
+        });
+        verify(cacheService, times(1)).evictCache(CacheConfiguration.AVAILABILITY_CACHE);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testNothingToChangePublishesNothing() {
+        BookingBulkOperations operations = operations(true, true, 100);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenReturn(List.of());
+
+        operations.markNoShows();
+
+        verify(eventPublisher, never()).publishEvent(any());
+        verifyNoInteractions(cacheService);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRoomBlockCancellationWaitsForLockedRows() {
+        BookingBulkOperations operations = operations(true, 100);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenReturn(transitions(3));
+
+        int cancelled = operations.cancelForRooms(UUID.randomUUID(), Set.of(UUID.randomUUID(), UUID.randomUUID()),
+                JULY_1, JULY_1.plusDays(14));
+
+        assertThat(cancelled).isEqualTo(3);
+        verify(jdbcTemplate).query(
+                argThat((String sql) -> sql.contains("br.room_id IN (?, ?)") && !sql.contains("SKIP LOCKED")),
+                any(RowMapper.class), any(Object[].class));
+    }
+
+    @Test
+    void testRoomBlockRejectsEmptyRange() {
+        BookingBulkOperations operations = operations(true, 100);
+
+        assertThatThrownBy(() -> operations.cancelForRooms(UUID.randomUUID(), Set.of(UUID.randomUUID()), JULY_1, JULY_1))
+                .isInstanceOf(InvalidDateRangeException.class);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testNoShowSweepSelectsOnlyStaysAlreadyCheckedOut() {
+        BookingBulkOperations operations = operations(true, true, 100);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenReturn(List.of());
+
+        operations.markNoShows();
+
+        verify(jdbcTemplate).query(
+                argThat((String sql) -> sql.contains("b.check_out < CAST(NOW() AT TIME ZONE p.timezone AS DATE)")
+                        && !sql.contains("b.check_in <")),
+                any(RowMapper.class), any(Object[].class));
+    }
+
+    @Test
+    void testDisabledSweepsDoNothing() {
+        BookingBulkOperations operations = operations(false, true, 100);
+
+        operations.expireHolds();
+        operations.markNoShows();
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void testNoShowSweepOffByItsOwnFlag() {
+        BookingBulkOperations operations = operations(true, false, 100);
+
+        operations.markNoShows();
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private BookingBulkOperations operations(boolean enabled, int batchSize) {
+        return operations(enabled, false, batchSize);
+    }
+
+    private BookingBulkOperations operations(boolean enabled, boolean noShowEnabled, int batchSize) {
+        return new BookingBulkOperations(jdbcTemplate, transactionManager, eventPublisher, cacheService,
+                new SimpleMeterRegistry(), clock, enabled, noShowEnabled, Duration.ofMinutes(30), 0, batchSize);
+    }
+
+    private static List<BookingTransition> transitions(int count) {
+        List<BookingTransition> transitions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            transitions.add(new BookingTransition(UUID.randomUUID(), "WB-" + i, UUID.randomUUID(), UUID.randomUUID(),
+                    BookingStatus.HOLD, JULY_1, JULY_1.plusDays(2)));
+        }
+        return transitions;
+    }
+}
@@ -0,0 +1,109 @@
+package com.westbethel.motel_booking.reservation.lifecycle;
+
+import com.westbethel.motel_booking.cache.CacheService;
+import com.westbethel.motel_booking.testutil.PostgresMigrations;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.sql.Date;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * No-Show Sweep Tests
+ *
+ * Runs the no-show sweep against the migrated PostgreSQL schema and validates:
+ * - A CONFIRMED stay that is in house is left alone and keeps its room nights
+ * - A CONFIRMED stay whose check-out day has passed is marked NO_SHOW
+ *
+ * Skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("No-Show Sweep Tests")
+class NoShowSweepTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres =
+            new PostgreSQLContainer<>(DockerImageName.parse("postgres:15-alpine"));
+
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void migrate() throws Exception {
+        jdbcTemplate = PostgresMigrations.migrate(postgres);
+    }
+
+    @Test
+    void testMarksOnlyStaysWhoseCheckOutHasPassed() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        UUID propertyId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO properties (id, code, name, timezone, default_currency) VALUES (?, ?, ?, ?, ?)",
+                propertyId, "WBM", "West Bethel Motel", "UTC", "USD");
+        UUID roomTypeId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO room_types (id, property_id, code, name, capacity) VALUES (?, ?, ?, ?, ?)",
+                roomTypeId, propertyId, "STD", "Standard", 2);
+        UUID guestId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO guests (id, marketing_opt_in, created_at) VALUES (?, FALSE, NOW())", guestId);
+        UUID ratePlanId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO rate_plans (id, property_id, name, channel) VALUES (?, ?, ?, ?)",
+                ratePlanId, propertyId, "Best Available", "DIRECT");
+
+        UUID inHouse = booking(propertyId, guestId, ratePlanId, today.minusDays(1), today.plusDays(2));
+        assignRoom(inHouse, room(propertyId, roomTypeId, "101"));
+        UUID departed = booking(propertyId, guestId, ratePlanId, today.minusDays(4), today.minusDays(2));
+        assignRoom(departed, room(propertyId, roomTypeId, "102"));
+
+        sweep().markNoShows();
+
+        assertThat(status(inHouse)).isEqualTo("CONFIRMED");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM room_nights WHERE booking_id = ? AND status = 'CONFIRMED'", Integer.class, inHouse))
+                .isEqualTo(3);
+        assertThat(status(departed)).isEqualTo("NO_SHOW");
+    }
+
+    private BookingBulkOperations sweep() {
+        return new BookingBulkOperations(jdbcTemplate, new DataSourceTransactionManager(jdbcTemplate.getDataSource()),
+                event -> { }, mock(CacheService.class), new SimpleMeterRegistry(), Clock.systemUTC(),
+                true, true, Duration.ofMinutes(30), 0, 100);
+    }
+
+    private UUID room(UUID propertyId, UUID roomTypeId, String number) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO rooms (id, property_id, room_type_id, room_number, status, housekeeping_status) "
+                + "VALUES (?, ?, ?, ?, 'AVAILABLE', 'CLEAN')", id, propertyId, roomTypeId, number);
+        return id;
+    }
+
+    private UUID booking(UUID propertyId, UUID guestId, UUID ratePlanId, LocalDate checkIn, LocalDate checkOut) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO bookings (id, property_id, reference, guest_id, status, payment_status, channel, "
+                        + "check_in, check_out, adults, children, rate_plan_id, created_at) "
+                        + "VALUES (?, ?, ?, ?, 'CONFIRMED', 'PENDING', 'DIRECT', ?, ?, 2, 0, ?, NOW())",
+                id, propertyId, "T-" + id.toString().substring(0, 12), guestId,
+                Date.valueOf(checkIn), Date.valueOf(checkOut), ratePlanId);
+        return id;
+    }
+
+    private void assignRoom(UUID bookingId, UUID roomId) {
+        jdbcTemplate.update("INSERT INTO booking_rooms (booking_id, room_id) VALUES (?, ?)", bookingId, roomId);
+    }
+
+    private String status(UUID bookingId) {
+        return jdbcTemplate.queryForObject("SELECT status FROM bookings WHERE id = ?", String.class, bookingId);
+    }
+}
@@ -0,0 +1,188 @@
+package com.westbethel.motel_booking.reservation.repository;
+
+import com.westbethel.motel_booking.testutil.PostgresMigrations;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+/**
+ * Room Nights Trigger Tests
+ *
+ * Applies the db/migration scripts in version order to PostgreSQL (they use btree_gist,
+ * plpgsql triggers and partitioned tables, which the H2 test database cannot run) and
+ * validates the V16 triggers:
+ * - Assigning a room writes one room_nights row per night with the booking status
+ * - Amending the dates rewrites the nights; cancelling releases them for other bookings
+ * - Moving a booking onto nights already held fails on a double-booking constraint
+ * - Archiving a booking removes its nights with it
+ *
+ * Skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Room Nights Trigger Tests")
+class RoomNightsTriggerTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres =
+            new PostgreSQLContainer<>(DockerImageName.parse("postgres:15-alpine"));
+
+    private static JdbcTemplate jdbcTemplate;
+
+    private UUID propertyId;
+    private UUID guestId;
+    private UUID ratePlanId;
+    private UUID roomId;
+
+    @BeforeAll
+    static void migrate() throws Exception {
+        jdbcTemplate = PostgresMigrations.migrate(postgres);
+    }
+
+    @BeforeEach
+    void setUp() {
+        String code = UUID.randomUUID().toString().substring(0, 8);
+        propertyId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO properties (id, code, name, timezone, default_currency) VALUES (?, ?, ?, ?, ?)",
+                propertyId, code, "West Bethel Motel", "America/New_York", "USD");
+        UUID roomTypeId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO room_types (id, property_id, code, name, capacity) VALUES (?, ?, ?, ?, ?)",
+                roomTypeId, propertyId, "STD", "Standard", 2);
+        roomId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO rooms (id, property_id, room_type_id, room_number, status, housekeeping_status) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", roomId, propertyId, roomTypeId, "101", "AVAILABLE", "CLEAN");
+        guestId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO guests (id, marketing_opt_in, created_at) VALUES (?, FALSE, NOW())", guestId);
+        ratePlanId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO rate_plans (id, property_id, name, channel) VALUES (?, ?, ?, ?)",
+                ratePlanId, propertyId, "Best Available", "DIRECT");
+    }
+
+    @Test
+    void testAssigningRoomWritesOneRowPerNight() {
+        UUID bookingId = booking("HOLD", LocalDate.of(2030, 7, 10), LocalDate.of(2030, 7, 13));
+
+        assignRoom(bookingId);
+
+        assertThat(nights(bookingId)).containsExactly(
+                entry(LocalDate.of(2030, 7, 10), "HOLD"),
+                entry(LocalDate.of(2030, 7, 11), "HOLD"),
+                entry(LocalDate.of(2030, 7, 12), "HOLD"));
+    }
+
+    @Test
+    void testAmendingDatesRewritesNights() {
+        UUID bookingId = booking("CONFIRMED", LocalDate.of(2030, 7, 10), LocalDate.of(2030, 7, 13));
+        assignRoom(bookingId);
+
+        jdbcTemplate.update("UPDATE bookings SET check_in = ?, check_out = ? WHERE id = ?",
+                Date.valueOf(LocalDate.of(2030, 7, 12)), Date.valueOf(LocalDate.of(2030, 7, 14)), bookingId);
+
+        assertThat(nights(bookingId)).containsExactly(
+                entry(LocalDate.of(2030, 7, 12), "CONFIRMED"),
+                entry(LocalDate.of(2030, 7, 13), "CONFIRMED"));
+    }
+
+    @Test
+    void testStatusChangesFollowBookingAndCheckOutKeepsHistory() {
+        UUID bookingId = booking("CONFIRMED", LocalDate.of(2030, 7, 10), LocalDate.of(2030, 7, 12));
+        assignRoom(bookingId);
+
+        jdbcTemplate.update("UPDATE bookings SET status = 'CHECKED_OUT' WHERE id = ?", bookingId);
+
+        assertThat(nights(bookingId)).containsExactly(
+                entry(LocalDate.of(2030, 7, 10), "CHECKED_OUT"),
+                entry(LocalDate.of(2030, 7, 11), "CHECKED_OUT"));
+        UUID next = booking("CONFIRMED", LocalDate.of(2030, 7, 10), LocalDate.of(2030, 7, 12));
+        assignRoom(next);
+        assertThat(nights(next)).hasSize(2);
+    }
+
+    @Test
+    void testCancellingReleasesNights() {
+        UUID bookingId = booking("CONFIRMED", LocalDate.of(2030, 7, 10), LocalDate.of(2030, 7, 12));
+        assignRoom(bookingId);
+
+        jdbcTemplate.update("UPDATE bookings SET status = 'CANCELLED' WHERE id = ?", bookingId);
+
+        assertThat(nights(bookingId)).isEmpty();
+        UUID rebooked = booking("HOLD", LocalDate.of(2030, 7, 11), LocalDate.of(2030, 7, 12));
+        assignRoom(rebooked);
+        assertThat(nights(rebooked)).containsExactly(entry(LocalDate.of(2030, 7, 11), "HOLD"));
+    }
+
+    @Test
+    void testAssigningHeldRoomIsDoubleBooking() {
+        assignRoom(booking("CONFIRMED", LocalDate.of(2030, 7, 10), LocalDate.of(2030, 7, 13)));
+        UUID overlapping = booking("HOLD", LocalDate.of(2030, 7, 12), LocalDate.of(2030, 7, 14));
+
+        assertThatThrownBy(() -> assignRoom(overlapping))
+                .isInstanceOf(DataAccessException.class)
+                .satisfies(e -> assertThat(e.getMessage()).containsAnyOf(
+                        DoubleBookingConstraints.NO_DOUBLE_BOOKING_CONSTRAINT, DoubleBookingConstraints.ROOM_NIGHT_UNIQUE_INDEX));
+    }
+
+    @Test
+    void testAmendingOntoHeldNightsFailsOnRoomNightIndex() {
+        assignRoom(booking("CONFIRMED", LocalDate.of(2030, 7, 10), LocalDate.of(2030, 7, 12)));
+        UUID later = booking("CONFIRMED", LocalDate.of(2030, 7, 12), LocalDate.of(2030, 7, 14));
+        assignRoom(later);
+
+        assertThatThrownBy(() -> jdbcTemplate.update("UPDATE bookings SET check_in = ? WHERE id = ?",
+                Date.valueOf(LocalDate.of(2030, 7, 11)), later))
+                .isInstanceOf(DataAccessException.class)
+                .hasMessageContaining(DoubleBookingConstraints.ROOM_NIGHT_UNIQUE_INDEX);
+        assertThat(nights(later)).extracting(Map.Entry::getKey)
+                .containsExactly(LocalDate.of(2030, 7, 12), LocalDate.of(2030, 7, 13));
+    }
+
+    @Test
+    void testArchivingBookingRemovesItsNights() {
+        UUID bookingId = booking("CHECKED_OUT", LocalDate.of(2020, 3, 1), LocalDate.of(2020, 3, 3));
+        assignRoom(bookingId);
+        assertThat(nights(bookingId)).hasSize(2);
+        LocalDate cutoff = LocalDate.of(2020, 4, 1);
+
+        jdbcTemplate.queryForObject("SELECT archive.prepare_booking_partitions(?)", Integer.class, Date.valueOf(cutoff));
+        jdbcTemplate.queryForObject("SELECT archive.move_bookings(?, ?)", Integer.class, Date.valueOf(cutoff), 100);
+
+        assertThat(nights(bookingId)).isEmpty();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM archive.booking_rooms WHERE booking_id = ?",
+                Integer.class, bookingId)).isEqualTo(1);
+    }
+
+    private UUID booking(String status, LocalDate checkIn, LocalDate checkOut) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO bookings (id, property_id, reference, guest_id, status, payment_status, channel, "
+                        + "check_in, check_out, adults, children, rate_plan_id, created_at) "
+                        + "VALUES (?, ?, ?, ?, ?, 'PENDING', 'DIRECT', ?, ?, 2, 0, ?, NOW())",
+                id, propertyId, "T-" + id.toString().substring(0, 12), guestId, status,
+                Date.valueOf(checkIn), Date.valueOf(checkOut), ratePlanId);
+        return id;
+    }
+
+    private void assignRoom(UUID bookingId) {
+        jdbcTemplate.update("INSERT INTO booking_rooms (booking_id, room_id) VALUES (?, ?)", bookingId, roomId);
+    }
+
+    private List<Map.Entry<LocalDate, String>> nights(UUID bookingId) {
+        return jdbcTemplate.query("SELECT stay_date, status FROM room_nights WHERE booking_id = ? ORDER BY stay_date",
+                (rs, rowNum) -> Map.entry(rs.getDate("stay_date").toLocalDate(), rs.getString("status")), bookingId);
+    }
+}
@@ -0,0 +1,190 @@
+package com.westbethel.motel_booking.reservation.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.westbethel.motel_booking.common.model.BookingStatus;
+import com.westbethel.motel_booking.common.model.PaymentStatus;
+import com.westbethel.motel_booking.exception.InvalidDateRangeException;
+import com.westbethel.motel_booking.reservation.dto.BookingListDto;
+import com.westbethel.motel_booking.reservation.dto.BookingPage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Default Booking List Service Tests
+ *
+ * Validates:
+ * - Cursor encoding round-trip
+ * - Next cursor points at the last row of a full page
+ * - Keyset clause direction per list
+ * - Cursor and date range validation
+ * - Planner-based total estimate
+ * - Guest history merges the hot and archive tiers when asked to
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Default Booking List Service Tests")
+class DefaultBookingListServiceTest {
+
+    private static final UUID PROPERTY_ID = UUID.randomUUID();
+    private static final LocalDate START = LocalDate.of(2026, 6, 1);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private DefaultBookingListService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new DefaultBookingListService(jdbcTemplate, new ObjectMapper());
+    }
+
+    @Test
+    void testCursorRoundTrip() {
+        DefaultBookingListService.Cursor cursor = new DefaultBookingListService.Cursor(
+                DefaultBookingListService.Listing.PROPERTY, START.toString(), UUID.randomUUID());
+
+        assertThat(DefaultBookingListService.Cursor.decode(cursor.encode(), DefaultBookingListService.Listing.PROPERTY))
+                .isEqualTo(cursor);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFullPageReturnsCursorForLastRow() {
+        List<BookingListDto> rows = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            rows.add(booking(START.minusDays(i)));
+        }
+        when(jdbcTemplate.query(contains("LIMIT ?"), any(RowMapper.class), any(Object[].class))).thenReturn(rows);
+
+        BookingPage page = service.listByProperty(PROPERTY_ID, null, 2, false);
+
+        assertThat(page.bookings()).hasSize(2);
+        assertThat(page.hasMore()).isTrue();
+        assertThat(page.estimatedTotal()).isNull();
+        DefaultBookingListService.Cursor next = DefaultBookingListService.Cursor.decode(
+                page.nextCursor(), DefaultBookingListService.Listing.PROPERTY);
+        assertThat(next.id()).isEqualTo(rows.get(1).getId());
+        assertThat(next.key()).isEqualTo(rows.get(1).getCheckIn().toString());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testLastPageHasNoCursor() {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class)))
+                .thenReturn(List.of(booking(START)));
+
+        BookingPage page = service.listByGuest(UUID.randomUUID(), false, null, 50, false);
+
+        assertThat(page.hasMore()).isFalse();
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testDateRangeListContinuesAscending() {
+        String cursor = new DefaultBookingListService.Cursor(
+                DefaultBookingListService.Listing.PROPERTY_DATES, START.toString(), UUID.randomUUID()).encode();
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenReturn(List.of());
+
+        service.listByPropertyAndDateRange(PROPERTY_ID, START, START.plusDays(30), cursor, 50, false);
+
+        verify(jdbcTemplate).query(
+                contains("AND (check_in, id) > (?, ?) ORDER BY check_in ASC, id ASC"),
+                any(RowMapper.class), any(Object[].class));
+    }
+
+    @Test
+    void testRejectsCursorFromAnotherList() {
+        String cursor = new DefaultBookingListService.Cursor(
+                DefaultBookingListService.Listing.PROPERTY, START.toString(), UUID.randomUUID()).encode();
+
+        assertThatThrownBy(() -> service.listByStatus(BookingStatus.CONFIRMED, cursor, 50, false))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testRejectsMalformedCursor() {
+        assertThatThrownBy(() -> service.listByGuest(UUID.randomUUID(), false, "not-a-cursor", 50, false))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testRejectsInvertedDateRange() {
+        assertThatThrownBy(() -> service.listByPropertyAndDateRange(PROPERTY_ID, START, START.minusDays(1), null, 50, false))
+                .isInstanceOf(InvalidDateRangeException.class);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testEstimateTotalReadsPlannerRows() {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenReturn(List.of());
+        when(jdbcTemplate.queryForObject(contains("EXPLAIN (FORMAT JSON)"), eq(String.class), any(Object[].class)))
+                .thenReturn("[{\"Plan\": {\"Node Type\": \"Index Only Scan\", \"Plan Rows\": 1234}}]");
+
+        BookingPage page = service.listByStatus(BookingStatus.CONFIRMED, null, 50, true);
+
+        assertThat(page.estimatedTotal()).isEqualTo(1234L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGuestHistoryIncludingArchiveMergesBothTiers() {
+        UUID guestId = UUID.randomUUID();
+        String cursor = new DefaultBookingListService.Cursor(DefaultBookingListService.Listing.GUEST,
+                OffsetDateTime.of(2026, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC).toString(), UUID.randomUUID()).encode();
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenReturn(List.of());
+        when(jdbcTemplate.queryForObject(contains("EXPLAIN (FORMAT JSON)"), eq(String.class), any(Object[].class)))
+                .thenReturn("[{\"Plan\": {\"Plan Rows\": 10}}]", "[{\"Plan\": {\"Plan Rows\": 32}}]");
+
+        BookingPage page = service.listByGuest(guestId, true, cursor, 20, true);
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate).query(sql.capture(), any(RowMapper.class), args.capture());
+        assertThat(sql.getValue())
+                .contains("FROM bookings WHERE guest_id = ? AND (created_at, id) < (?, ?)")
+                .contains("UNION ALL")
+                .contains("FROM archive.bookings WHERE guest_id = ? AND (created_at, id) < (?, ?)")
+                .endsWith(") b ORDER BY created_at DESC, id DESC LIMIT ?");
+        assertThat(args.getValue()).hasSize(9).startsWith(guestId).endsWith(21);
+        assertThat(page.estimatedTotal()).isEqualTo(42L);
+    }
+
+    private static BookingListDto booking(LocalDate checkIn) {
+        return BookingListDto.builder()
+                .id(UUID.randomUUID())
+                .reference("WB-" + checkIn)
+                .guestId(UUID.randomUUID())
+                .propertyId(PROPERTY_ID)
+                .status(BookingStatus.CONFIRMED)
+                .paymentStatus(PaymentStatus.CAPTURED)
+                .checkIn(checkIn)
+                .checkOut(checkIn.plusDays(2))
+                .adults(2)
+                .children(0)
+                .createdAt(OffsetDateTime.of(2026, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC))
+                .build();
+    }
+}
@@ -0,0 +1,159 @@
+package com.westbethel.motel_booking.reservation.service.impl;
+
+import com.westbethel.motel_booking.common.model.Money;
+import com.westbethel.motel_booking.common.model.RoomStatus;
+import com.westbethel.motel_booking.common.reference.ReferenceDataService;
+import com.westbethel.motel_booking.common.reference.ReferenceDataSnapshot;
+import com.westbethel.motel_booking.exception.RoomNotAvailableException;
+import com.westbethel.motel_booking.guest.domain.Guest;
+import com.westbethel.motel_booking.guest.repository.GuestRepository;
+import com.westbethel.motel_booking.inventory.domain.Room;
+import com.westbethel.motel_booking.inventory.domain.RoomType;
+import com.westbethel.motel_booking.pricing.domain.RatePlan;
+import com.westbethel.motel_booking.pricing.model.PricingQuote;
+import com.westbethel.motel_booking.pricing.service.PricingService;
+import com.westbethel.motel_booking.property.domain.Property;
+import com.westbethel.motel_booking.reservation.domain.Booking;
+import com.westbethel.motel_booking.reservation.model.BookingRequest;
+import com.westbethel.motel_booking.reservation.repository.BookingRepository;
+import com.westbethel.motel_booking.reservation.repository.DoubleBookingConstraints;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * Default Booking Service Tests
+ *
+ * Validates:
+ * - A concurrent allocation rejected by the exclusion constraint or the room_nights unique
+ *   index becomes RoomNotAvailableException (409)
+ * - Other integrity violations are rethrown, including ones that only mention a
+ *   double-booking constraint in their message
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Default Booking Service Tests")
+class DefaultBookingServiceTest {
+
+    private static final LocalDate CHECK_IN = LocalDate.of(2026, 7, 10);
+    private static final LocalDate CHECK_OUT = LocalDate.of(2026, 7, 12);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private GuestRepository guestRepository;
+
+    @Mock
+    private ReferenceDataService referenceDataService;
+
+    @Mock
+    private PricingService pricingService;
+
+    private DefaultBookingService service;
+    private BookingRequest request;
+
+    @BeforeEach
+    void setUp() {
+        service = new DefaultBookingService(bookingRepository, guestRepository, referenceDataService, pricingService);
+
+        Property property = Property.builder().id(UUID.randomUUID()).code("WBM").build();
+        RoomType roomType = RoomType.builder().id(UUID.randomUUID()).propertyId(property.getId()).code("STD").build();
+        RatePlan ratePlan = RatePlan.builder().id(UUID.randomUUID()).propertyId(property.getId()).build();
+        Room room = Room.builder()
+                .id(UUID.randomUUID())
+                .propertyId(property.getId())
+                .roomTypeId(roomType.getId())
+                .roomNumber("101")
+                .status(RoomStatus.AVAILABLE)
+                .build();
+        request = BookingRequest.builder()
+                .propertyId(property.getId())
+                .guestId(UUID.randomUUID())
+                .checkIn(CHECK_IN)
+                .checkOut(CHECK_OUT)
+                .adults(2)
+                .children(0)
+                .ratePlanId(ratePlan.getId())
+                .roomTypeIds(Set.of(roomType.getId()))
+                .build();
+
+        when(referenceDataService.current()).thenReturn(new ReferenceDataSnapshot(1, Instant.now(),
+                List.of(property), List.of(roomType), List.of(ratePlan), List.of(room)));
+        when(guestRepository.findById(request.getGuestId()))
+                .thenReturn(Optional.of(Guest.builder().id(request.getGuestId()).build()));
+        when(bookingRepository.findBookedRoomIds(eq(property.getId()), anyCollection(), eq(CHECK_IN), eq(CHECK_OUT)))
+                .thenReturn(new HashSet<>());
+        when(pricingService.quote(any(), eq(property), eq(ratePlan), anyMap())).thenReturn(PricingQuote.builder()
+                .totalAmount(new Money(new BigDecimal("180.00"), Currency.getInstance("USD")))
+                .build());
+    }
+
+    @Test
+    void testExclusionConstraintViolationIsRoomNotAvailable() {
+        when(bookingRepository.saveAndFlush(any(Booking.class))).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement",
+                new ConstraintViolationException("could not execute statement",
+                        new SQLException("conflicting key value violates exclusion constraint", "23P01"),
+                        DoubleBookingConstraints.NO_DOUBLE_BOOKING_CONSTRAINT)));
+
+        assertThatThrownBy(() -> service.create(request))
+                .isInstanceOf(RoomNotAvailableException.class)
+                .hasMessageContaining("booked concurrently");
+    }
+
+    @Test
+    void testRoomNightIndexViolationIsRoomNotAvailable() {
+        when(bookingRepository.saveAndFlush(any(Booking.class))).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement",
+                new ConstraintViolationException("could not execute statement",
+                        new SQLException("duplicate key value violates unique constraint", "23505"),
+                        DoubleBookingConstraints.ROOM_NIGHT_UNIQUE_INDEX)));
+
+        assertThatThrownBy(() -> service.create(request)).isInstanceOf(RoomNotAvailableException.class);
+    }
+
+    @Test
+    void testOtherConstraintViolationIsRethrown() {
+        DataIntegrityViolationException violation = new DataIntegrityViolationException(
+                "could not execute statement",
+                new ConstraintViolationException("could not execute statement",
+                        new SQLException("duplicate key value violates unique constraint", "23505"),
+                        "bookings_reference_key"));
+        when(bookingRepository.saveAndFlush(any(Booking.class))).thenThrow(violation);
+
+        assertThatThrownBy(() -> service.create(request)).isSameAs(violation);
+    }
+
+    @Test
+    void testViolationWithoutConstraintNameIsRethrown() {
+        DataIntegrityViolationException violation = new DataIntegrityViolationException(
+                "could not execute statement",
+                new SQLException("trigger failed near " + DoubleBookingConstraints.NO_DOUBLE_BOOKING_CONSTRAINT, "23000"));
+        when(bookingRepository.saveAndFlush(any(Booking.class))).thenThrow(violation);
+
+        assertThatThrownBy(() -> service.create(request)).isSameAs(violation);
+    }
+}
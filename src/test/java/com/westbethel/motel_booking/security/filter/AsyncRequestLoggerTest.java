@@ -0,0 +1,79 @@
+package com.westbethel.motel_booking.security.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Async Request Logger Tests
+ *
+ * Validates:
+ * - Errors and slow requests bypass sampling
+ * - Per-route sample rates override the default
+ * - A full queue drops and counts instead of blocking
+ */
+@DisplayName("Async Request Logger Tests")
+class AsyncRequestLoggerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void testErrorsAndSlowRequestsAreAlwaysLogged() {
+        AsyncRequestLogger logger = new AsyncRequestLogger(registry, true, 0.0, "", 1000, 16);
+
+        assertThat(logger.shouldLog("/api/v1/reservations", 500, 5, false)).isTrue();
+        assertThat(logger.shouldLog("/api/v1/reservations", 404, 5, false)).isTrue();
+        assertThat(logger.shouldLog("/api/v1/reservations", 200, 5, true)).isTrue();
+        assertThat(logger.shouldLog("/api/v1/reservations", 200, 1500, false)).isTrue();
+    }
+
+    @Test
+    void testSuccessfulRequestsAreSampledPerRoute() {
+        AsyncRequestLogger logger = new AsyncRequestLogger(registry, true, 0.0,
+                "/api/v1/reservations/{id}=1.0", 1000, 16);
+
+        assertThat(logger.shouldLog("/api/v1/reservations/{id}", 200, 5, false)).isTrue();
+        assertThat(logger.shouldLog("/api/v1/availability", 200, 5, false)).isFalse();
+        assertThat(registry.find("http.requests.log.sampled_out").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void testDisabledLogsNothing() {
+        AsyncRequestLogger logger = new AsyncRequestLogger(registry, false, 1.0, "", 1000, 16);
+
+        assertThat(logger.shouldLog("/api/v1/reservations", 500, 5, true)).isFalse();
+    }
+
+    @Test
+    void testFullQueueDropsAndCounts() {
+        // Writer thread not started, so nothing drains the queue
+        AsyncRequestLogger logger = new AsyncRequestLogger(registry, true, 1.0, "", 1000, 2);
+
+        for (int i = 0; i < 5; i++) {
+            logger.submit(new AsyncRequestLogger.RequestLogEvent(
+                    "GET", "/api/v1/availability", "/api/v1/availability", null, 200, 3, "127.0.0.1", "c-" + i, null));
+        }
+
+        assertThat(registry.find("http.requests.log.dropped").counter().count()).isEqualTo(3.0);
+        assertThat(registry.find("http.requests.log.queue.depth").gauge().value()).isEqualTo(2.0);
+    }
+
+    @Test
+    void testRouteSampleRateParsing() {
+        assertThat(AsyncRequestLogger.parseRouteSampleRates(" /api/v1/availability = 0.01 ,/actuator/health=0"))
+                .isEqualTo(Map.of("/api/v1/availability", 0.01, "/actuator/health", 0.0));
+        assertThatThrownBy(() -> AsyncRequestLogger.parseRouteSampleRates("/api/v1/availability"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testQueryStringSanitization() {
+        assertThat(AsyncRequestLogger.sanitizeQueryString("reset_token=abc")).isEqualTo("[sanitized]");
+        assertThat(AsyncRequestLogger.sanitizeQueryString("checkIn=2026-01-01")).isEqualTo("checkIn=2026-01-01");
+    }
+}
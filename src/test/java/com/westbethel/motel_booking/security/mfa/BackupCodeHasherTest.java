@@ -0,0 +1,61 @@
+package com.westbethel.motel_booking.security.mfa;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BackupCodeHasher.
+ *
+ * @author Security Agent 1 - Phase 2
+ */
+@DisplayName("Backup Code Hasher Tests")
+class BackupCodeHasherTest {
+
+    private final BackupCodeHasher hasher = new BackupCodeHasher("test-backup-code-pepper");
+
+    @Test
+    @DisplayName("Should hash formatted and unformatted codes alike")
+    void hash_IgnoresDashesAndCase() {
+        // Act
+        String hash = hasher.hash("ABCD1234");
+
+        // Assert
+        assertEquals(64, hash.length());
+        assertTrue(hash.matches("[0-9a-f]{64}"));
+        assertEquals(hash, hasher.hash("abcd-1234"));
+        assertNotEquals(hash, hasher.hash("ABCD1235"));
+    }
+
+    @Test
+    @DisplayName("Should key the hash with the pepper")
+    void hash_DependsOnPepper() {
+        // Arrange
+        BackupCodeHasher otherPepper = new BackupCodeHasher("another-pepper");
+
+        // Act & Assert
+        assertNotEquals(hasher.hash("ABCD1234"), otherPepper.hash("ABCD1234"));
+    }
+
+    @Test
+    @DisplayName("Should accept only values shaped like backup codes")
+    void isWellFormed_ChecksShape() {
+        assertTrue(hasher.isWellFormed("ABCD-1234"));
+        assertTrue(hasher.isWellFormed("abcd1234"));
+        assertFalse(hasher.isWellFormed("123456"));
+        assertFalse(hasher.isWellFormed("ABCD12345"));
+        assertFalse(hasher.isWellFormed("ABCD-12#4"));
+        assertFalse(hasher.isWellFormed(null));
+    }
+
+    @Test
+    @DisplayName("Should refuse to start without a pepper")
+    void constructor_MissingPepper_Throws() {
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> new BackupCodeHasher(""));
+        assertTrue(exception.getMessage().contains("MFA_BACKUP_CODE_PEPPER"));
+        assertThrows(IllegalStateException.class, () -> new BackupCodeHasher("   "));
+        assertThrows(IllegalStateException.class, () -> new BackupCodeHasher(null));
+    }
+}
@@ -0,0 +1,185 @@
+package com.westbethel.motel_booking.security.mfa;
+
+import com.westbethel.motel_booking.common.service.AuditService;
+import com.westbethel.motel_booking.security.domain.User;
+import com.westbethel.motel_booking.security.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the backup code paths of MfaService.
+ *
+ * @author Security Agent 1 - Phase 2
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MFA Service Backup Code Tests")
+class MfaServiceTest {
+
+    private static final String USERNAME = "alice";
+    private static final String SECRET = "JBSWY3DPEHPK3PXP";
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private MfaBackupCodeRepository backupCodeRepository;
+
+    @Mock
+    private TotpService totpService;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private AuditService auditService;
+
+    private final BackupCodeHasher backupCodeHasher = new BackupCodeHasher("test-backup-code-pepper");
+
+    private MfaService mfaService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        mfaService = new MfaService(userRepository, backupCodeRepository, totpService, passwordEncoder,
+                backupCodeHasher, auditService);
+        user = User.builder().username(USERNAME).mfaEnabled(true).mfaSecret(SECRET).build();
+        when(userRepository.findByUsername(USERNAME)).thenReturn(Optional.of(user));
+    }
+
+    @Test
+    @DisplayName("Should store regenerated backup codes as keyed hashes")
+    void regenerateBackupCodes_StoresKeyedHashes() {
+        // Arrange
+        when(totpService.generateBackupCodes()).thenReturn(List.of("ABCD1234", "WXYZ5678"));
+        when(totpService.formatBackupCode(anyString())).thenAnswer(invocation -> {
+            String code = invocation.getArgument(0);
+            return code.substring(0, 4) + "-" + code.substring(4);
+        });
+
+        // Act
+        List<String> codes = mfaService.regenerateBackupCodes(USERNAME);
+
+        // Assert
+        assertEquals(List.of("ABCD-1234", "WXYZ-5678"), codes);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<MfaBackupCode>> stored = ArgumentCaptor.forClass(List.class);
+        verify(backupCodeRepository).deleteByUser(user);
+        verify(backupCodeRepository).saveAll(stored.capture());
+        assertEquals(List.of(backupCodeHasher.hash("ABCD1234"), backupCodeHasher.hash("WXYZ5678")),
+                stored.getValue().stream().map(MfaBackupCode::getCodeHash).toList());
+        assertTrue(stored.getValue().stream()
+                .allMatch(code -> code.getHashAlgorithm() == BackupCodeHashAlgorithm.HMAC_SHA256));
+        verifyNoInteractions(passwordEncoder);
+    }
+
+    @Test
+    @DisplayName("Should find a keyed backup code with one lookup and no BCrypt")
+    void verifyMfaCode_KeyedBackupCode_UsedWithoutBcrypt() {
+        // Arrange
+        MfaBackupCode backupCode = keyedCode("ABCD1234");
+        when(totpService.verifyCode(USERNAME, SECRET, "abcd-1234")).thenReturn(false);
+        when(backupCodeRepository.findUnusedByUserAndCodeHash(user, backupCodeHasher.hash("ABCD1234")))
+                .thenReturn(Optional.of(backupCode));
+
+        // Act
+        boolean verified = mfaService.verifyMfaCode(USERNAME, "abcd-1234");
+
+        // Assert
+        assertTrue(verified);
+        assertTrue(backupCode.getUsed());
+        assertNotNull(backupCode.getUsedAt());
+        verify(backupCodeRepository).save(backupCode);
+        verify(backupCodeRepository, never()).findUnusedLegacyByUser(user);
+        verifyNoInteractions(passwordEncoder);
+    }
+
+    @Test
+    @DisplayName("Should verify a legacy BCrypt code and rehash it on use")
+    void verifyMfaCode_LegacyBackupCode_RehashedOnUse() {
+        // Arrange
+        MfaBackupCode other = legacyCode("$2a$10$other");
+        MfaBackupCode legacy = legacyCode("$2a$10$legacy");
+        when(totpService.verifyCode(USERNAME, SECRET, "ABCD-1234")).thenReturn(false);
+        when(backupCodeRepository.findUnusedByUserAndCodeHash(user, backupCodeHasher.hash("ABCD1234")))
+                .thenReturn(Optional.empty());
+        when(backupCodeRepository.findUnusedLegacyByUser(user)).thenReturn(List.of(other, legacy));
+        when(passwordEncoder.matches("ABCD1234", "$2a$10$other")).thenReturn(false);
+        when(passwordEncoder.matches("ABCD1234", "$2a$10$legacy")).thenReturn(true);
+
+        // Act
+        boolean verified = mfaService.verifyMfaCode(USERNAME, "ABCD-1234");
+
+        // Assert
+        assertTrue(verified);
+        assertTrue(legacy.getUsed());
+        assertEquals(BackupCodeHashAlgorithm.HMAC_SHA256, legacy.getHashAlgorithm());
+        assertEquals(backupCodeHasher.hash("ABCD1234"), legacy.getCodeHash());
+        assertFalse(other.getUsed());
+        assertEquals(BackupCodeHashAlgorithm.BCRYPT, other.getHashAlgorithm());
+        verify(backupCodeRepository).save(legacy);
+    }
+
+    @Test
+    @DisplayName("Should reject a wrong backup code after checking each legacy code once")
+    void verifyMfaCode_WrongBackupCode_Rejected() {
+        // Arrange
+        MfaBackupCode legacy = legacyCode("$2a$10$legacy");
+        when(totpService.verifyCode(USERNAME, SECRET, "ZZZZ9999")).thenReturn(false);
+        when(backupCodeRepository.findUnusedByUserAndCodeHash(user, backupCodeHasher.hash("ZZZZ9999")))
+                .thenReturn(Optional.empty());
+        when(backupCodeRepository.findUnusedLegacyByUser(user)).thenReturn(List.of(legacy));
+        when(passwordEncoder.matches("ZZZZ9999", "$2a$10$legacy")).thenReturn(false);
+
+        // Act
+        boolean verified = mfaService.verifyMfaCode(USERNAME, "ZZZZ9999");
+
+        // Assert
+        assertFalse(verified);
+        assertFalse(legacy.getUsed());
+        verify(passwordEncoder, times(1)).matches(anyString(), anyString());
+        verify(backupCodeRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should not look up backup codes for a mistyped TOTP code")
+    void verifyMfaCode_MistypedTotp_NoBackupCodeChecks() {
+        // Arrange
+        when(totpService.verifyCode(USERNAME, SECRET, "123456")).thenReturn(false);
+
+        // Act
+        boolean verified = mfaService.verifyMfaCode(USERNAME, "123456");
+
+        // Assert
+        assertFalse(verified);
+        verifyNoInteractions(backupCodeRepository, passwordEncoder);
+    }
+
+    private MfaBackupCode keyedCode(String code) {
+        return MfaBackupCode.builder()
+                .user(user)
+                .codeHash(backupCodeHasher.hash(code))
+                .hashAlgorithm(BackupCodeHashAlgorithm.HMAC_SHA256)
+                .build();
+    }
+
+    private MfaBackupCode legacyCode(String bcryptHash) {
+        return MfaBackupCode.builder()
+                .user(user)
+                .codeHash(bcryptHash)
+                .hashAlgorithm(BackupCodeHashAlgorithm.BCRYPT)
+                .build();
+    }
+}
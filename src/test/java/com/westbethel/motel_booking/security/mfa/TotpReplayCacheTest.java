@@ -0,0 +1,97 @@
+package com.westbethel.motel_booking.security.mfa;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TotpReplayCache.
+ *
+ * @author Security Agent 1 - Phase 2
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TOTP Replay Cache Tests")
+class TotpReplayCacheTest {
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    private TotpReplayCache replayCache;
+
+    @BeforeEach
+    void setUp() {
+        replayCache = new TotpReplayCache(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("Should accept a later step and reject the same or an earlier step")
+    void claim_StepNotAfterLastAccepted_ReturnsFalse() {
+        // Act
+        boolean first = replayCache.claim("testuser", 100);
+        boolean same = replayCache.claim("testuser", 100);
+        boolean earlier = replayCache.claim("testuser", 99);
+        boolean later = replayCache.claim("testuser", 101);
+
+        // Assert
+        assertTrue(first);
+        assertFalse(same);
+        assertFalse(earlier);
+        assertTrue(later);
+        verify(redisTemplate, times(2)).execute(any(RedisScript.class), eq(List.of("mfa:totp:last-step:testuser")),
+                any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("Should track steps per user")
+    void claim_DifferentUsers_AreIndependent() {
+        // Act
+        boolean first = replayCache.claim("alice", 100);
+        boolean second = replayCache.claim("bob", 100);
+
+        // Assert
+        assertTrue(first);
+        assertTrue(second);
+    }
+
+    @Test
+    @DisplayName("Should reject a step another instance already accepted")
+    void claim_RedisRejects_ReturnsFalse() {
+        // Arrange
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of("mfa:totp:last-step:testuser")),
+                any(Object[].class))).thenReturn(0L);
+
+        // Act
+        boolean result = replayCache.claim("testuser", 100);
+
+        // Assert
+        assertFalse(result);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the local check when Redis is unavailable")
+    void claim_RedisUnavailable_UsesLocalCheck() {
+        // Arrange
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of("mfa:totp:last-step:testuser")),
+                any(Object[].class))).thenThrow(new IllegalStateException("Redis down"));
+
+        // Act
+        boolean first = replayCache.claim("testuser", 100);
+        boolean replay = replayCache.claim("testuser", 100);
+
+        // Assert
+        assertTrue(first);
+        assertFalse(replay);
+    }
+}
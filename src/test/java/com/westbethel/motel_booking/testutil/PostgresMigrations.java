@@ -0,0 +1,49 @@
+package com.westbethel.motel_booking.testutil;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Applies the db/migration scripts to a PostgreSQL container in version order.
+ *
+ * For tests of the PostgreSQL-only schema (exclusion constraints, triggers, partitioned
+ * tables) that the H2 test database cannot run. The scripts are executed over JDBC because
+ * Flyway 10 needs its separate PostgreSQL module to migrate PostgreSQL.
+ */
+public final class PostgresMigrations {
+
+    private PostgresMigrations() {
+    }
+
+    /**
+     * Migrate the container's database and return a template connected to it
+     */
+    public static JdbcTemplate migrate(PostgreSQLContainer<?> postgres) throws Exception {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword()));
+        Resource[] migrations = new PathMatchingResourcePatternResolver()
+                .getResources("classpath:db/migration/V*__*.sql");
+        Arrays.sort(migrations, Comparator.comparingInt(PostgresMigrations::version));
+        try (Connection connection = jdbcTemplate.getDataSource().getConnection();
+             Statement statement = connection.createStatement()) {
+            for (Resource migration : migrations) {
+                statement.execute(migration.getContentAsString(StandardCharsets.UTF_8));
+            }
+        }
+        return jdbcTemplate;
+    }
+
+    private static int version(Resource migration) {
+        String name = migration.getFilename();
+        return Integer.parseInt(name.substring(1, name.indexOf("__")));
+    }
+}
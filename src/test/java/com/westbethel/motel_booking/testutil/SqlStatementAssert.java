@@ -0,0 +1,88 @@
+package com.westbethel.motel_booking.testutil;
+
+import com.westbethel.motel_booking.performance.SqlStatementCounter;
+import com.westbethel.motel_booking.performance.SqlStatementStats;
+import org.assertj.core.api.AbstractAssert;
+import org.assertj.core.api.ThrowableAssert.ThrowingCallable;
+
+import java.util.stream.Collectors;
+
+/**
+ * Assertions on the SQL statements a block of code issues, to keep query counts from
+ * regressing.
+ *
+ * <pre>
+ * assertThatSql(() -> mockMvc.perform(post("/api/v1/reservations")...))
+ *     .hasAtMostStatements(12)
+ *     .hasNoStatementRepeatedMoreThan(2);
+ * </pre>
+ *
+ * Statements are counted by the Hibernate statement inspector on the calling thread, so the
+ * block must run on the test thread (MockMvc and direct service calls do; requests to a
+ * server on a random port do not).
+ */
+public class SqlStatementAssert extends AbstractAssert<SqlStatementAssert, SqlStatementStats> {
+
+    private SqlStatementAssert(SqlStatementStats stats) {
+        super(stats, SqlStatementAssert.class);
+    }
+
+    /**
+     * Run the block and capture the statements it issues
+     */
+    public static SqlStatementAssert assertThatSql(ThrowingCallable block) {
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.open()) {
+            try {
+                block.call();
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("Block under SQL assertion failed", e);
+            }
+            // Threshold 1 lists every distinct statement with its count
+            return new SqlStatementAssert(scope.stats(1));
+        }
+    }
+
+    public SqlStatementAssert hasStatements(int expected) {
+        isNotNull();
+        if (actual.statements() != expected) {
+            failWithMessage("Expected %d SQL statements but %d were issued:%n%s",
+                expected, actual.statements(), describe());
+        }
+        return this;
+    }
+
+    public SqlStatementAssert hasAtMostStatements(int max) {
+        isNotNull();
+        if (actual.statements() > max) {
+            failWithMessage("Expected at most %d SQL statements but %d were issued:%n%s",
+                max, actual.statements(), describe());
+        }
+        return this;
+    }
+
+    /**
+     * Fail if any single statement was issued more than {@code max} times (N+1)
+     */
+    public SqlStatementAssert hasNoStatementRepeatedMoreThan(int max) {
+        isNotNull();
+        actual.repeated().stream()
+            .filter(statement -> statement.count() > max)
+            .findFirst()
+            .ifPresent(statement -> failWithMessage(
+                "Expected no SQL statement issued more than %d times but this one was issued %d times (possible N+1):%n%s",
+                max, statement.count(), statement.sql()));
+        return this;
+    }
+
+    public SqlStatementAssert hasNoRepeatedStatements() {
+        return hasNoStatementRepeatedMoreThan(1);
+    }
+
+    private String describe() {
+        return actual.repeated().stream()
+            .map(statement -> "  " + statement.count() + "x " + statement.sql())
+            .collect(Collectors.joining(System.lineSeparator()));
+    }
+}